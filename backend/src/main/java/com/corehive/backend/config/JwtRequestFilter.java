@@ -1,6 +1,11 @@
 package com.corehive.backend.config;
 
+import com.corehive.backend.service.TokenRevocationService;
 import com.corehive.backend.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -29,38 +34,55 @@ import java.util.Arrays;
 public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final SecurityMetrics securityMetrics;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain chain) throws ServletException, IOException {
 
-        // 1. Extract JWT token from Authorization header   
+        // 1. Extract JWT token from Authorization header
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String email = null;
-        String jwtToken = null;
+        Claims claims = null;
 
-        // Check Bearer token format
+        // Check Bearer token format - parse (and verify signature/expiry) only once
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7); // Remove "Bearer " 
+            String jwtToken = requestTokenHeader.substring(7); // Remove "Bearer "
+            long parseStart = System.nanoTime();
             try {
-                email = jwtUtil.extractEmail(jwtToken);
+                claims = jwtUtil.extractAllClaims(jwtToken);
+            } catch (ExpiredJwtException e) {
+                securityMetrics.reject("expired");
+                log.debug("JWT token expired: {}", e.getMessage());
+            } catch (SignatureException e) {
+                securityMetrics.reject("bad_signature");
+                log.warn("JWT token validation failed: {}", e.getMessage());
+            } catch (MalformedJwtException e) {
+                securityMetrics.reject("malformed");
+                log.warn("JWT token validation failed: {}", e.getMessage());
             } catch (Exception e) {
+                securityMetrics.reject("invalid");
                 log.warn("JWT token validation failed: {}", e.getMessage());
+            } finally {
+                securityMetrics.recordStage("jwt.parse", parseStart);
             }
         }
 
+        String email = claims != null ? claims.getSubject() : null;
+
         // 2. If token is valid, set authentication
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            // Validate token
-            if (jwtUtil.validateToken(jwtToken, email)) {
+            // Reject revoked tokens (in-memory check, no DB hit)
+            if (!isRevoked(claims, email)) {
 
-                // Extract user roles 
-                String role = jwtUtil.extractRole(jwtToken);
-                String userType = jwtUtil.extractUserType(jwtToken);
+                // Extract user roles
+                String role = claims.get("role", String.class);
+                String userType = claims.get("userType", String.class);
 
-                // Spring Security authorities create 
+                // Spring Security authorities create
+                long authoritiesStart = System.nanoTime();
                 List<SimpleGrantedAuthority> authorities = createAuthorities(role);
 
                 // Create authentication object
@@ -69,15 +91,16 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                // Set authentication in Security context   
+                // Set authentication in Security context
                 SecurityContextHolder.getContext().setAuthentication(authToken);
 
                 // Store user info in request attributes (for Controller access)
-                request.setAttribute("userId", jwtUtil.extractUserId(jwtToken));
+                request.setAttribute("userId", jwtUtil.extractUserId(claims));
                 request.setAttribute("userEmail", email);
                 request.setAttribute("userRole", role);
                 request.setAttribute("userType", userType);
-                request.setAttribute("organizationUuid", jwtUtil.extractOrganizationUuid(jwtToken));
+                request.setAttribute("organizationUuid", claims.get("organizationUuid", String.class));
+                securityMetrics.recordStage("jwt.authorities", authoritiesStart);
 
                 log.debug("Authentication set for user: {} with role: {}", email, role);
             }
@@ -87,6 +110,21 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         chain.doFilter(request, response);
     }
 
+    /**
+     * Check token against password-change / suspension / logout revocations
+     */
+    private boolean isRevoked(Claims claims, String email) {
+        long start = System.nanoTime();
+        boolean revoked = tokenRevocationService.isRevoked(claims);
+        securityMetrics.recordStage("jwt.revocation", start);
+
+        if (revoked) {
+            securityMetrics.reject("revoked");
+            log.warn("Rejected revoked JWT token for user: {}", email);
+        }
+        return revoked;
+    }
+
     /**
      * Create Spring Security authorities based on user role
      */
@@ -106,14 +144,15 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         // Public endpoints (no token required)
         List<String> publicPaths = Arrays.asList(
             "/api/auth/login",
-            "/api/auth/signup"
+            "/api/auth/signup",
+            "/api/auth/refresh"
         );
         
         // Check if the path is in public paths
         boolean isPublicPath = publicPaths.stream().anyMatch(path::startsWith);
         
-        // Skip filter only for public paths and actuator
-        boolean shouldSkip = isPublicPath || path.startsWith("/actuator/");
+        // Skip filter only for public paths and the health check; metrics need a SYS_ADMIN token
+        boolean shouldSkip = isPublicPath || path.startsWith("/actuator/health");
         
         if (shouldSkip) {
             log.debug("Skipping JWT filter for public endpoint: {}", path);
@@ -0,0 +1,82 @@
+package com.corehive.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Outbound HTTP Client Factory
+ * One pooled Apache HttpClient per destination (own connection pool, timeouts)
+ * wrapped in a RestTemplate with ResilientHttpInterceptor. Pools are closed on shutdown.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboundHttpClientFactory {
+
+    private final OutboundHttpProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final List<CloseableHttpClient> clients = new CopyOnWriteArrayList<>();
+
+    public RestTemplate create(String destination) {
+        OutboundHttpProperties.Destination config = properties.forDestination(destination);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(config.getMaxConnections())
+                .setMaxConnPerRoute(config.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(config.getConnectTimeoutMs()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(config.getReadTimeoutMs()))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Waiting for a pooled connection counts against the connect budget
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(config.getConnectTimeoutMs()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(config.getReadTimeoutMs()))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .disableAutomaticRetries() // Retries belong to ResilientHttpInterceptor
+                .build();
+        clients.add(httpClient);
+
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.getInterceptors().add(new ResilientHttpInterceptor(destination, config, meterRegistry));
+
+        log.info("Outbound HTTP client '{}' created: pool={}, connect={}ms, read={}ms, bulkhead={}, retries={}",
+                destination, config.getMaxConnections(), config.getConnectTimeoutMs(), config.getReadTimeoutMs(),
+                config.getMaxConcurrentCalls(), config.getMaxRetries());
+        return restTemplate;
+    }
+
+    @PreDestroy
+    public void close() {
+        for (CloseableHttpClient client : clients) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                log.warn("Error closing outbound HTTP client: {}", e.getMessage());
+            }
+        }
+    }
+}
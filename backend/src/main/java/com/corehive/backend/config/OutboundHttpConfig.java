@@ -0,0 +1,25 @@
+package com.corehive.backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Shared RestTemplates for outbound destinations
+ */
+@Configuration
+public class OutboundHttpConfig {
+
+    public static final String AI_SERVICE = "ai-service";
+    public static final String RECAPTCHA = "recaptcha";
+
+    @Bean
+    public RestTemplate aiServiceRestTemplate(OutboundHttpClientFactory factory) {
+        return factory.create(AI_SERVICE);
+    }
+
+    @Bean
+    public RestTemplate recaptchaRestTemplate(OutboundHttpClientFactory factory) {
+        return factory.create(RECAPTCHA);
+    }
+}
@@ -0,0 +1,84 @@
+package com.corehive.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Outbound HTTP client settings, per destination
+ *
+ *  http.client.defaults.read-timeout-ms=5000
+ *  http.client.destinations.ai-service.max-retries=3
+ *
+ * A destination entry only overrides the fields it sets; every other field
+ * comes from the defaults.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "http.client")
+@Data
+public class OutboundHttpProperties {
+
+    private Destination defaults = new Destination();
+    private Map<String, Overrides> destinations = new HashMap<>();
+
+    public Destination forDestination(String name) {
+        Overrides overrides = destinations.get(name);
+        return overrides != null ? overrides.applyTo(defaults) : defaults;
+    }
+
+    @Data
+    public static class Destination {
+        // Pool
+        private int maxConnections = 20;
+        private long connectTimeoutMs = 2000;
+        private long readTimeoutMs = 5000;
+
+        // Bulkhead - concurrent in-flight calls, and how long to wait for a slot
+        private int maxConcurrentCalls = 10;
+        private long bulkheadWaitMs = 100;
+
+        // Retry (idempotent methods only) with full-jitter exponential backoff
+        private int maxRetries = 2;
+        private long retryBaseDelayMs = 100;
+        private long retryMaxDelayMs = 2000;
+
+        // Circuit breaker
+        private int failureThreshold = 5;
+        private long openDurationMs = 30000;
+    }
+
+    /**
+     * Per-destination settings; null fields fall back to the defaults
+     */
+    @Data
+    public static class Overrides {
+        private Integer maxConnections;
+        private Long connectTimeoutMs;
+        private Long readTimeoutMs;
+        private Integer maxConcurrentCalls;
+        private Long bulkheadWaitMs;
+        private Integer maxRetries;
+        private Long retryBaseDelayMs;
+        private Long retryMaxDelayMs;
+        private Integer failureThreshold;
+        private Long openDurationMs;
+
+        Destination applyTo(Destination defaults) {
+            Destination merged = new Destination();
+            merged.setMaxConnections(maxConnections != null ? maxConnections : defaults.getMaxConnections());
+            merged.setConnectTimeoutMs(connectTimeoutMs != null ? connectTimeoutMs : defaults.getConnectTimeoutMs());
+            merged.setReadTimeoutMs(readTimeoutMs != null ? readTimeoutMs : defaults.getReadTimeoutMs());
+            merged.setMaxConcurrentCalls(maxConcurrentCalls != null ? maxConcurrentCalls : defaults.getMaxConcurrentCalls());
+            merged.setBulkheadWaitMs(bulkheadWaitMs != null ? bulkheadWaitMs : defaults.getBulkheadWaitMs());
+            merged.setMaxRetries(maxRetries != null ? maxRetries : defaults.getMaxRetries());
+            merged.setRetryBaseDelayMs(retryBaseDelayMs != null ? retryBaseDelayMs : defaults.getRetryBaseDelayMs());
+            merged.setRetryMaxDelayMs(retryMaxDelayMs != null ? retryMaxDelayMs : defaults.getRetryMaxDelayMs());
+            merged.setFailureThreshold(failureThreshold != null ? failureThreshold : defaults.getFailureThreshold());
+            merged.setOpenDurationMs(openDurationMs != null ? openDurationMs : defaults.getOpenDurationMs());
+            return merged;
+        }
+    }
+}
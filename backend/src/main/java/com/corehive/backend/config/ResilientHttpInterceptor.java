@@ -0,0 +1,160 @@
+package com.corehive.backend.config;
+
+import com.corehive.backend.util.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resilience for one outbound destination: bulkhead, circuit breaker,
+ * retry with full jitter (idempotent methods only) and latency metrics.
+ *
+ *  corehive.http.client{destination, outcome=success|client_error|server_error|io_error}
+ *  corehive.http.client.rejects{destination, reason=circuit_open|bulkhead_full}
+ *  corehive.http.client.circuit.open{destination}  (1 = open)
+ */
+@Slf4j
+public class ResilientHttpInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Set<HttpMethod> IDEMPOTENT = Set.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final String destination;
+    private final OutboundHttpProperties.Destination config;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public ResilientHttpInterceptor(String destination, OutboundHttpProperties.Destination config,
+                                    MeterRegistry meterRegistry) {
+        this.destination = destination;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = new Semaphore(config.getMaxConcurrentCalls());
+        this.circuitBreaker = new CircuitBreaker(config.getFailureThreshold(), config.getOpenDurationMs());
+
+        Gauge.builder("corehive.http.client.circuit.open", circuitBreaker,
+                        cb -> cb.getState() == CircuitBreaker.State.OPEN ? 1 : 0)
+                .description("Whether the outbound circuit breaker is open")
+                .tag("destination", destination)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+
+        if (!acquireBulkhead()) {
+            reject("bulkhead_full");
+            throw new IOException("Too many concurrent calls to " + destination);
+        }
+
+        try {
+            int attempt = 0;
+            while (true) {
+                if (!circuitBreaker.allowRequest()) {
+                    reject("circuit_open");
+                    throw new IOException("Circuit open for " + destination);
+                }
+
+                long start = System.nanoTime();
+                try {
+                    ClientHttpResponse response = execution.execute(request, body);
+                    int status = response.getStatusCode().value();
+
+                    if (status >= 500) {
+                        record(start, "server_error");
+                        circuitBreaker.onFailure();
+                        if (canRetry(request, attempt)) {
+                            response.close();
+                            backoff(attempt++);
+                            continue;
+                        }
+                        return response;
+                    }
+
+                    // 4xx is the caller's problem, not the destination's health
+                    record(start, status >= 400 ? "client_error" : "success");
+                    circuitBreaker.onSuccess();
+                    return response;
+
+                } catch (IOException e) {
+                    record(start, "io_error");
+                    circuitBreaker.onFailure();
+                    if (canRetry(request, attempt)) {
+                        log.debug("Retrying {} {} after I/O error: {}", request.getMethod(), destination, e.getMessage());
+                        backoff(attempt++);
+                        continue;
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private boolean acquireBulkhead() throws InterruptedIOException {
+        try {
+            return bulkhead.tryAcquire(config.getBulkheadWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for " + destination);
+        }
+    }
+
+    private boolean canRetry(HttpRequest request, int attempt) {
+        return attempt < config.getMaxRetries() && IDEMPOTENT.contains(request.getMethod());
+    }
+
+    // Full jitter: uniform in [0, min(max, base * 2^attempt)]
+    private void backoff(int attempt) throws InterruptedIOException {
+        long cap = Math.min(config.getRetryMaxDelayMs(), config.getRetryBaseDelayMs() << Math.min(attempt, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during retry backoff for " + destination);
+        }
+    }
+
+    private void record(long startNanos, String outcome) {
+        timers.computeIfAbsent(outcome, o -> Timer.builder("corehive.http.client")
+                        .description("Outbound HTTP call latency per destination")
+                        .tag("destination", destination)
+                        .tag("outcome", o)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void reject(String reason) {
+        Counter.builder("corehive.http.client.rejects")
+                .description("Outbound calls refused locally by bulkhead or circuit breaker")
+                .tag("destination", destination)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
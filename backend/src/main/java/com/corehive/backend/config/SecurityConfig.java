@@ -9,10 +9,12 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Arrays;
@@ -28,6 +30,7 @@ public class SecurityConfig {
 
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtRequestFilter jwtRequestFilter;
+    private final SecurityMetrics securityMetrics;
 
     /**
      * Password Encoder Bean
@@ -61,8 +64,10 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/", "/index.html", "/favicon.ico").permitAll()
                         // Public endpoints (can access without authentication)
-                        .requestMatchers("/api/auth/signup", "/api/auth/login", "/api/auth/forgot-password").permitAll()
+                        .requestMatchers("/api/auth/signup", "/api/auth/login", "/api/auth/forgot-password", "/api/auth/refresh").permitAll()
                         .requestMatchers("/actuator/health").permitAll() // Health check
+                        // Metrics expose auth failures and per-endpoint traffic - system admins only
+                        .requestMatchers("/actuator/prometheus", "/actuator/metrics", "/actuator/metrics/**").hasRole("SYS_ADMIN")
                         .requestMatchers("/api/public/**").permitAll() // Future public APIs
                         .requestMatchers("/api/test").permitAll() // Test endpoint
                         .requestMatchers("/api/billing-plans", "/api/billing-plans/**").permitAll() // Billing plans for signup
@@ -122,7 +127,13 @@ public class SecurityConfig {
                         .authenticationEntryPoint(jwtAuthenticationEntryPoint))
 
                 // Add JWT filter before UsernamePasswordAuthenticationFilter
-                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Stage timing markers (see SecurityMetrics)
+                .addFilterBefore(securityMetrics.chainStartFilter(), CorsFilter.class)
+                .addFilterAfter(securityMetrics.corsDoneFilter(), CorsFilter.class)
+                .addFilterBefore(securityMetrics.authorizationStartFilter(), AuthorizationFilter.class)
+                .addFilterAfter(securityMetrics.chainEndFilter(), AuthorizationFilter.class);
 
         return http.build();
     }
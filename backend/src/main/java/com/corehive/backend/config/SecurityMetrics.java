@@ -0,0 +1,130 @@
+package com.corehive.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Security Filter Chain Metrics
+ * Micrometer timers per security stage + reject counters by reason.
+ *
+ *  corehive.security.stage{stage=cors|jwt.parse|jwt.revocation|jwt.authorities|authorization|chain}
+ *  corehive.security.rejects{reason=expired|bad_signature|malformed|invalid|revoked|unauthenticated|forbidden}
+ *
+ * Exposed through /actuator/metrics and /actuator/prometheus.
+ */
+@Component
+public class SecurityMetrics {
+
+    private static final String START_ATTR = SecurityMetrics.class.getName() + ".start";
+    private static final String AUTHZ_START_ATTR = SecurityMetrics.class.getName() + ".authzStart";
+    private static final String CHAIN_PASSED_ATTR = SecurityMetrics.class.getName() + ".passed";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejectCounters = new ConcurrentHashMap<>();
+
+    public SecurityMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordStage(String stage, long startNanos) {
+        stageTimers.computeIfAbsent(stage, s -> Timer.builder("corehive.security.stage")
+                        .description("Time spent in each security filter chain stage")
+                        .tag("stage", s)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void reject(String reason) {
+        rejectCounters.computeIfAbsent(reason, r -> Counter.builder("corehive.security.rejects")
+                        .description("Requests rejected by the security chain, by reason")
+                        .tag("reason", r)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    /**
+     * First filter in the chain (before CORS) - owns the whole-chain timer and
+     * counts 401/403 responses that never made it past authorization
+     */
+    public Filter chainStartFilter() {
+        return (request, response, chain) -> {
+            request.setAttribute(START_ATTR, System.nanoTime());
+            chain.doFilter(request, response);
+
+            if (request.getAttribute(CHAIN_PASSED_ATTR) == null && response instanceof HttpServletResponse http) {
+                if (http.getStatus() == HttpServletResponse.SC_UNAUTHORIZED) {
+                    reject("unauthenticated");
+                } else if (http.getStatus() == HttpServletResponse.SC_FORBIDDEN) {
+                    reject("forbidden");
+                }
+            }
+        };
+    }
+
+    /**
+     * Placed right after CorsFilter
+     */
+    public Filter corsDoneFilter() {
+        return markerFilter((request) -> {
+            Object start = request.getAttribute(START_ATTR);
+            if (start != null) {
+                recordStage("cors", (Long) start);
+            }
+        });
+    }
+
+    /**
+     * Placed right before AuthorizationFilter
+     */
+    public Filter authorizationStartFilter() {
+        return markerFilter((request) -> request.setAttribute(AUTHZ_START_ATTR, System.nanoTime()));
+    }
+
+    /**
+     * Placed right after AuthorizationFilter - only reached by permitted requests
+     */
+    public Filter chainEndFilter() {
+        return markerFilter((request) -> {
+            request.setAttribute(CHAIN_PASSED_ATTR, Boolean.TRUE);
+            Object authzStart = request.getAttribute(AUTHZ_START_ATTR);
+            if (authzStart != null) {
+                recordStage("authorization", (Long) authzStart);
+            }
+            Object start = request.getAttribute(START_ATTR);
+            if (start != null) {
+                recordStage("chain", (Long) start);
+            }
+        });
+    }
+
+    private Filter markerFilter(Marker marker) {
+        return new Filter() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                    throws IOException, ServletException {
+                marker.mark(request);
+                chain.doFilter(request, response);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Marker {
+        void mark(ServletRequest request);
+    }
+}
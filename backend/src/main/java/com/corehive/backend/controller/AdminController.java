@@ -380,19 +380,27 @@ public class AdminController {
      * Get Revenue Report
      * GET /api/sys_admin/reports/revenue
      *
-     * Generate revenue report with actual PaymentTransaction data
+     * Generate revenue report with actual PaymentTransaction data.
+     * startDate + endDate (inclusive) replace timePeriod with a custom range;
+     * bucket (DAILY / MONTHLY) sets the granularity of revenueByPeriod.
      */
     @GetMapping("/reports/revenue")
     @PreAuthorize("hasRole('SYS_ADMIN')")
     public ResponseEntity<ApiResponse<RevenueReportDTO>> getRevenueReport(
             @RequestParam(defaultValue = "THIS_MONTH") String timePeriod,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) RevenueReportDTO.Bucket bucket,
             HttpServletRequest request) {
 
         String adminEmail = (String) request.getAttribute("userEmail");
-        log.info("Revenue report request from admin: {} - Time Period: {}", adminEmail, timePeriod);
+        log.info("Revenue report request from admin: {} - Time Period: {}, Start: {}, End: {}, Bucket: {}",
+                adminEmail, timePeriod, startDate, endDate, bucket);
 
         try {
-            RevenueReportDTO report = reportService.getRevenueReport(timePeriod);
+            RevenueReportDTO report = startDate != null || endDate != null
+                    ? reportService.getRevenueReport(startDate, endDate, bucket)
+                    : reportService.getRevenueReport(timePeriod);
 
             ApiResponse<RevenueReportDTO> response =
                     ApiResponse.success(report, "Revenue report generated successfully");
@@ -402,6 +410,8 @@ public class AdminController {
 
             return ResponseEntity.ok(response);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             log.error("Error generating revenue report for admin: {}", adminEmail, e);
             ApiResponse<RevenueReportDTO> errorResponse =
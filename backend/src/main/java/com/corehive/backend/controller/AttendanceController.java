@@ -4,10 +4,16 @@ import com.corehive.backend.dto.attendance.AttendanceHistoryResponse;
 import com.corehive.backend.dto.attendance.FaceAttendanceRequest;
 import com.corehive.backend.dto.attendance.FaceAttendanceResponse;
 import com.corehive.backend.dto.attendance.TodayAttendanceDTO;
+import com.corehive.backend.dto.request.GpsAttendanceBatchRequest;
+import com.corehive.backend.dto.request.GpsAttendanceRequest;
 import com.corehive.backend.dto.request.ManualTimeRequest;
+import com.corehive.backend.dto.request.OfflineScanBatchRequest;
 import com.corehive.backend.dto.request.QrAttendanceRequest;
 import com.corehive.backend.dto.request.UpdateAttendanceRequest;
 import com.corehive.backend.dto.request.UpdateAttendanceStatusRequest;
+import com.corehive.backend.dto.response.BiometricImportResponse;
+import com.corehive.backend.dto.response.GpsAttendanceResponse;
+import com.corehive.backend.dto.response.OfflineScanBatchResponse;
 import com.corehive.backend.dto.response.QrAttendanceResponse;
 import com.corehive.backend.model.AppUser;
 import com.corehive.backend.model.Attendance;
@@ -16,6 +22,11 @@ import com.corehive.backend.repository.AppUserRepository;
 import com.corehive.backend.repository.AttendanceRepository;
 import com.corehive.backend.repository.EmployeeRepository;
 import com.corehive.backend.service.AttendanceService;
+import com.corehive.backend.service.BiometricImportService;
+import com.corehive.backend.service.FaceAttendanceCoalescer;
+import com.corehive.backend.service.GpsAttendanceService;
+import com.corehive.backend.service.OfflineScanService;
+import com.corehive.backend.service.QrKioskService;
 import com.corehive.backend.util.StandardResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -26,10 +37,14 @@ import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -46,6 +61,11 @@ public class AttendanceController {
     private final AppUserRepository appUserRepository;
     private final EmployeeRepository employeeRepository;
     private final AttendanceRepository attendanceRepository;
+    private final QrKioskService qrKioskService;
+    private final OfflineScanService offlineScanService;
+    private final FaceAttendanceCoalescer faceAttendanceCoalescer;
+    private final GpsAttendanceService gpsAttendanceService;
+    private final BiometricImportService biometricImportService;
 
     /**
      * Load attendance for a single day
@@ -254,13 +274,7 @@ public class AttendanceController {
         log.info("Check-in request from: {}", userEmail);
 
         try {
-            AppUser appUser = appUserRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
             Long employeeId = request.getEmployeeId();
-            String organizationUuid = request.getOrganizationUuid() != null
-                    ? request.getOrganizationUuid()
-                    : appUser.getOrganizationUuid();
 
             if (employeeId == null) {
                 return ResponseEntity.badRequest().body(
@@ -271,20 +285,32 @@ public class AttendanceController {
                 );
             }
 
-            // Verify employee exists
-            Employee employee = employeeRepository.findById(employeeId)
-                    .orElseThrow(() -> new RuntimeException("Employee not found"));
+            request.setIpAddress(getClientIpAddress(httpRequest));
 
-            if (!employee.getOrganizationUuid().equals(organizationUuid)) {
-                throw new RuntimeException("Employee does not belong to this organization");
-            }
+            String organizationKey = request.getOrganizationUuid() != null
+                    ? request.getOrganizationUuid()
+                    : (String) httpRequest.getAttribute("organizationUuid");
 
-            request.setIpAddress(getClientIpAddress(httpRequest));
+            // Repeated kiosk submissions for the same employee share one lookup + transaction
+            FaceAttendanceResponse response = faceAttendanceCoalescer.submit("CHECK_IN", organizationKey, employeeId, () -> {
+                AppUser appUser = appUserRepository.findByEmail(userEmail)
+                        .orElseThrow(() -> new RuntimeException("User not found"));
 
-            // Mark check-in only
-            FaceAttendanceResponse response = attendanceService.markCheckIn(
-                    employeeId, organizationUuid, request
-            );
+                String organizationUuid = request.getOrganizationUuid() != null
+                        ? request.getOrganizationUuid()
+                        : appUser.getOrganizationUuid();
+
+                // Verify employee exists
+                Employee employee = employeeRepository.findById(employeeId)
+                        .orElseThrow(() -> new RuntimeException("Employee not found"));
+
+                if (!employee.getOrganizationUuid().equals(organizationUuid)) {
+                    throw new RuntimeException("Employee does not belong to this organization");
+                }
+
+                // Mark check-in only
+                return attendanceService.markCheckIn(employeeId, organizationUuid, request);
+            });
 
             return ResponseEntity.ok(response);
 
@@ -322,13 +348,7 @@ public class AttendanceController {
         log.info("Check-out request from: {}", userEmail);
 
         try {
-            AppUser appUser = appUserRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
             Long employeeId = request.getEmployeeId();
-            String organizationUuid = request.getOrganizationUuid() != null
-                    ? request.getOrganizationUuid()
-                    : appUser.getOrganizationUuid();
 
             if (employeeId == null) {
                 return ResponseEntity.badRequest().body(
@@ -339,20 +359,32 @@ public class AttendanceController {
                 );
             }
 
-            // Verify employee exists
-            Employee employee = employeeRepository.findById(employeeId)
-                    .orElseThrow(() -> new RuntimeException("Employee not found"));
+            request.setIpAddress(getClientIpAddress(httpRequest));
 
-            if (!employee.getOrganizationUuid().equals(organizationUuid)) {
-                throw new RuntimeException("Employee does not belong to this organization");
-            }
+            String organizationKey = request.getOrganizationUuid() != null
+                    ? request.getOrganizationUuid()
+                    : (String) httpRequest.getAttribute("organizationUuid");
 
-            request.setIpAddress(getClientIpAddress(httpRequest));
+            // Repeated kiosk submissions for the same employee share one lookup + transaction
+            FaceAttendanceResponse response = faceAttendanceCoalescer.submit("CHECK_OUT", organizationKey, employeeId, () -> {
+                AppUser appUser = appUserRepository.findByEmail(userEmail)
+                        .orElseThrow(() -> new RuntimeException("User not found"));
 
-            // Mark check-out only
-            FaceAttendanceResponse response = attendanceService.markCheckOut(
-                    employeeId, organizationUuid, request
-            );
+                String organizationUuid = request.getOrganizationUuid() != null
+                        ? request.getOrganizationUuid()
+                        : appUser.getOrganizationUuid();
+
+                // Verify employee exists
+                Employee employee = employeeRepository.findById(employeeId)
+                        .orElseThrow(() -> new RuntimeException("Employee not found"));
+
+                if (!employee.getOrganizationUuid().equals(organizationUuid)) {
+                    throw new RuntimeException("Employee does not belong to this organization");
+                }
+
+                // Mark check-out only
+                return attendanceService.markCheckOut(employeeId, organizationUuid, request);
+            });
 
             return ResponseEntity.ok(response);
 
@@ -501,46 +533,16 @@ public class AttendanceController {
         log.info("Face attendance request from: {}", userEmail);
 
         try {
-            AppUser appUser = appUserRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-
-            Long employeeId;
-            String organizationUuid;
-
-            if (request.getEmployeeId() != null) {
-                log.info("Kiosk mode: Marking attendance for employee {}", request.getEmployeeId());
-
-                employeeId = request.getEmployeeId();
-                organizationUuid = request.getOrganizationUuid() != null
-                        ? request.getOrganizationUuid()
-                        : appUser.getOrganizationUuid();
-
-                Employee employee = employeeRepository.findById(employeeId)
-                        .orElseThrow(() -> new RuntimeException("Employee not found"));
-
-                if (!employee.getOrganizationUuid().equals(organizationUuid)) {
-                    throw new RuntimeException("Employee does not belong to this organization");
-                }
-
-            } else {
-                if (appUser.getLinkedEmployeeId() == null) {
-                    return ResponseEntity.badRequest().body(
-                            FaceAttendanceResponse.builder()
-                                    .success(false)
-                                    .message("Your account is not linked to an employee profile")
-                                    .build()
-                    );
-                }
-
-                employeeId = appUser.getLinkedEmployeeId();
-                organizationUuid = appUser.getOrganizationUuid();
-            }
-
             request.setIpAddress(getClientIpAddress(httpRequest));
 
-            FaceAttendanceResponse response = attendanceService.markFaceAttendance(
-                    employeeId, organizationUuid, request
-            );
+            Object employeeKey = request.getEmployeeId() != null ? request.getEmployeeId() : "user:" + userEmail;
+            String organizationKey = request.getOrganizationUuid() != null
+                    ? request.getOrganizationUuid()
+                    : (String) httpRequest.getAttribute("organizationUuid");
+
+            // Repeated kiosk submissions for the same employee share one lookup + transaction
+            FaceAttendanceResponse response = faceAttendanceCoalescer.submit("MARK_FACE", organizationKey, employeeKey,
+                    () -> markFaceAttendanceOnce(request, userEmail));
 
             return ResponseEntity.ok(response);
 
@@ -555,6 +557,42 @@ public class AttendanceController {
         }
     }
 
+    private FaceAttendanceResponse markFaceAttendanceOnce(FaceAttendanceRequest request, String userEmail) {
+        AppUser appUser = appUserRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        Long employeeId;
+        String organizationUuid;
+
+        if (request.getEmployeeId() != null) {
+            log.info("Kiosk mode: Marking attendance for employee {}", request.getEmployeeId());
+
+            employeeId = request.getEmployeeId();
+            organizationUuid = request.getOrganizationUuid() != null
+                    ? request.getOrganizationUuid()
+                    : appUser.getOrganizationUuid();
+
+            Employee employee = employeeRepository.findById(employeeId)
+                    .orElseThrow(() -> new RuntimeException("Employee not found"));
+
+            if (!employee.getOrganizationUuid().equals(organizationUuid)) {
+                throw new RuntimeException("Employee does not belong to this organization");
+            }
+
+        } else {
+            if (appUser.getLinkedEmployeeId() == null) {
+                throw new RuntimeException("Your account is not linked to an employee profile");
+            }
+
+            employeeId = appUser.getLinkedEmployeeId();
+            organizationUuid = appUser.getOrganizationUuid();
+        }
+
+        return attendanceService.markFaceAttendance(
+                employeeId, organizationUuid, request
+        );
+    }
+
     @GetMapping("/today/{employeeId}")
     public ResponseEntity<?> getTodayAttendanceForEmployee(
             @PathVariable Long employeeId,
@@ -769,6 +807,125 @@ public class AttendanceController {
         );
     }
 
+    //QR kiosk attendance - ACKs immediately, persisted in micro-batches
+    @PostMapping("/qr/kiosk")
+    @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
+    public ResponseEntity<StandardResponse> markAttendanceViaQrKiosk(
+            @Valid @RequestBody QrAttendanceRequest request,
+            HttpServletRequest http
+    ) throws BadRequestException {
+        QrAttendanceResponse response = qrKioskService.accept(
+                request.getQrToken(),
+                (String) http.getAttribute("organizationUuid"),
+                http.getRemoteAddr(),
+                http.getHeader("User-Agent")
+        );
+
+        HttpStatus status = "QUEUED".equals(response.getAction()) ? HttpStatus.ACCEPTED : HttpStatus.OK;
+        return new ResponseEntity<>(
+                new StandardResponse(
+                        status.value(),
+                        response.getMessage(),
+                        response
+                ),
+                status
+        );
+    }
+
+    //Offline kiosk upload - replays timestamped QR/face events, safe to re-send
+    @PostMapping("/kiosk/offline-batch")
+    @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
+    public ResponseEntity<StandardResponse> uploadOfflineScans(
+            @Valid @RequestBody OfflineScanBatchRequest request,
+            HttpServletRequest http
+    ) {
+        String orgUuid = (String) http.getAttribute("organizationUuid");
+        OfflineScanBatchResponse response = offlineScanService.replay(orgUuid, request, http.getRemoteAddr());
+
+        return ResponseEntity.ok(
+                new StandardResponse(
+                        200,
+                        "Offline scans processed",
+                        response
+                )
+        );
+    }
+
+    //Biometric punch log import - CSV/TSV export from fingerprint terminals, streamed
+    @PostMapping(value = "/biometric/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
+    public ResponseEntity<StandardResponse> importBiometricPunchLog(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "deviceInfo", required = false) String deviceInfo,
+            HttpServletRequest http
+    ) throws IOException {
+        if (file.isEmpty()) {
+            throw new BadRequestException("Punch log file is empty");
+        }
+
+        String orgUuid = (String) http.getAttribute("organizationUuid");
+        String source = deviceInfo != null ? deviceInfo : "Biometric import: " + file.getOriginalFilename();
+        BiometricImportResponse response;
+        try (InputStream in = file.getInputStream()) {
+            response = biometricImportService.importPunchLog(
+                    orgUuid, in, source.length() > 255 ? source.substring(0, 255) : source);
+        }
+
+        return ResponseEntity.ok(
+                new StandardResponse(
+                        200,
+                        "Punch log imported",
+                        response
+                )
+        );
+    }
+
+    //GPS attendance - employee's phone, must be inside an office geofence
+    @PostMapping("/gps/mark")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    public ResponseEntity<StandardResponse> markAttendanceViaGps(
+            @Valid @RequestBody GpsAttendanceRequest request,
+            HttpServletRequest http
+    ) throws BadRequestException {
+        GpsAttendanceResponse response = gpsAttendanceService.markAttendance(
+                (String) http.getAttribute("organizationUuid"),
+                (String) http.getAttribute("userEmail"),
+                request,
+                http.getRemoteAddr()
+        );
+
+        return ResponseEntity.ok(
+                new StandardResponse(
+                        200,
+                        response.getMessage(),
+                        response
+                )
+        );
+    }
+
+    //GPS offline upload - fixes recorded without connectivity, safe to re-send
+    @PostMapping("/gps/offline-batch")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    public ResponseEntity<StandardResponse> uploadOfflineGpsEvents(
+            @Valid @RequestBody GpsAttendanceBatchRequest request,
+            HttpServletRequest http
+    ) throws BadRequestException {
+        OfflineScanBatchResponse response = gpsAttendanceService.replay(
+                (String) http.getAttribute("organizationUuid"),
+                (String) http.getAttribute("userEmail"),
+                request,
+                http.getRemoteAddr()
+        );
+
+        return ResponseEntity.ok(
+                new StandardResponse(
+                        200,
+                        "Offline GPS events processed",
+                        response
+                )
+        );
+    }
+
     //=========Get Attendance summary report for date range===========//
     @GetMapping("/report/summary")
     @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
@@ -5,6 +5,7 @@ import com.corehive.backend.dto.request.ForgotPasswordRequest;
 import com.corehive.backend.dto.request.LoginRequest;
 import com.corehive.backend.dto.request.ModuleConfigurationRequest;
 import com.corehive.backend.dto.request.OrganizationSignupRequest;
+import com.corehive.backend.dto.request.RefreshTokenRequest;
 import com.corehive.backend.dto.response.ApiResponse;
 import com.corehive.backend.dto.response.LoginResponse;
 import com.corehive.backend.service.AuthService;
@@ -104,8 +105,21 @@ public class AuthController {
         }
     }
 
+    /**
+     * Token Refresh Endpoint
+     * POST /api/auth/refresh
+     *
+     * Exchange a refresh token for a new access/refresh pair (old refresh token is rotated out)
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<LoginResponse>> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        ApiResponse<LoginResponse> response = authService.refresh(request.getRefreshToken());
+        HttpStatus status = response.isSuccess() ? HttpStatus.OK : HttpStatus.UNAUTHORIZED;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @PostMapping("/change-password")
-    public ResponseEntity<ApiResponse<String>> changePassword(
+    public ResponseEntity<ApiResponse<LoginResponse>> changePassword(
             @RequestBody ChangePasswordRequest request,
             HttpServletRequest httpRequest) {
 
@@ -214,20 +228,22 @@ public class AuthController {
     }
 
     /**
-     * Logout Endpoint (Optional - No server-side logout needed for JWT stateless)
+     * Logout Endpoint
      * POST /api/auth/logout
      *
-     * Just tell client to clear token
+     * Revokes the current access token (and refresh token if sent), then tell client to clear token
      */
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<String>> logout(HttpServletRequest request) {
+    public ResponseEntity<ApiResponse<String>> logout(HttpServletRequest request,
+                                                      @RequestBody(required = false) RefreshTokenRequest body) {
         String userEmail = (String) request.getAttribute("userEmail");
         log.info("Logout request from: {}", userEmail);
 
-        // No server-side action needed for JWT stateless
-        // Just tell frontend to clear token
-        ApiResponse<String> response = ApiResponse.success(null, "Logout successful. Please clear your token.");
-        return ResponseEntity.ok(response);
+        String authHeader = request.getHeader("Authorization");
+        String token = authHeader != null && authHeader.startsWith("Bearer ") ? authHeader.substring(7) : null;
+        String refreshToken = body != null ? body.getRefreshToken() : null;
+
+        return ResponseEntity.ok(authService.logout(token, refreshToken));
     }
 
     /**
@@ -2,13 +2,24 @@ package com.corehive.backend.controller;
 
 import com.corehive.backend.dto.EmployeeRequestDTO;
 import com.corehive.backend.dto.paginated.PaginatedResponseItemDTO;
+import com.corehive.backend.dto.request.EmployeeOffboardingRequest;
 import com.corehive.backend.dto.response.ApiResponse;
+import com.corehive.backend.dto.response.EmployeeDirectoryPage;
+import com.corehive.backend.dto.response.EmployeeImportResponse;
 import com.corehive.backend.dto.response.EmployeeResponseDTO;
 import com.corehive.backend.model.Employee;
+import com.corehive.backend.model.EmployeeOffboardingJob;
+import com.corehive.backend.service.EmployeeDirectoryIndex;
+import com.corehive.backend.service.EmployeeImportService;
+import com.corehive.backend.service.EmployeeOffboardingService;
 import com.corehive.backend.service.EmployeeService;
+import com.corehive.backend.service.OrganizationService;
+import com.corehive.backend.service.QrBadgeSheetService;
 import com.corehive.backend.util.QrCodeUtil;
+import com.corehive.backend.util.QrImageCache;
 import com.corehive.backend.util.StandardResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -18,6 +29,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -30,9 +43,27 @@ import java.util.Optional;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
-
-    public EmployeeController(EmployeeService employeeService) {
+    private final OrganizationService organizationService;
+    private final QrImageCache qrImageCache;
+    private final QrBadgeSheetService qrBadgeSheetService;
+    private final EmployeeDirectoryIndex employeeDirectoryIndex;
+    private final EmployeeImportService employeeImportService;
+    private final EmployeeOffboardingService employeeOffboardingService;
+
+    public EmployeeController(EmployeeService employeeService,
+                              OrganizationService organizationService,
+                              QrImageCache qrImageCache,
+                              QrBadgeSheetService qrBadgeSheetService,
+                              EmployeeDirectoryIndex employeeDirectoryIndex,
+                              EmployeeImportService employeeImportService,
+                              EmployeeOffboardingService employeeOffboardingService) {
         this.employeeService = employeeService;
+        this.organizationService = organizationService;
+        this.qrImageCache = qrImageCache;
+        this.qrBadgeSheetService = qrBadgeSheetService;
+        this.employeeDirectoryIndex = employeeDirectoryIndex;
+        this.employeeImportService = employeeImportService;
+        this.employeeOffboardingService = employeeOffboardingService;
     }
 
 
@@ -55,6 +86,37 @@ public class EmployeeController {
         );
     }
 
+    //************************************************//
+    //SEARCH EMPLOYEE DIRECTORY//
+    //************************************************//
+    /**
+     * Ranked, typo-tolerant search over name, code, email and designation.
+     * Page with the returned nextCursor; a blank q lists employees by name.
+     */
+    @GetMapping("/directory")
+    @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
+    public ResponseEntity<StandardResponse> searchDirectory(
+            HttpServletRequest httpRequest,
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "departmentId", required = false) Long departmentId,
+            @RequestParam(value = "active", required = false) Boolean active) {
+
+        String organizationUuid = (String) httpRequest.getAttribute("organizationUuid");
+        try {
+            EmployeeDirectoryPage page = employeeDirectoryIndex.search(
+                    organizationUuid, query, departmentId, active, cursor, size);
+            return new ResponseEntity<>(
+                    new StandardResponse(200, "Employee directory fetched successfully", page), HttpStatus.OK
+            );
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(
+                    new StandardResponse(400, e.getMessage(), null), HttpStatus.BAD_REQUEST
+            );
+        }
+    }
+
     //************************************************//
     //GET ONE EMPLOYEE//
     //************************************************//
@@ -142,7 +204,7 @@ public class EmployeeController {
     public ResponseEntity<ApiResponse<String>> getNextEmployeeCode(HttpServletRequest request) {
         String organizationUuid = (String) request.getAttribute("organizationUuid");
         try {
-            String code = employeeService.generateEmployeeCode(organizationUuid);
+            String code = employeeService.peekEmployeeCode(organizationUuid);
             return ResponseEntity.ok(ApiResponse.success(code, "Next employee code generated successfully"));
         } catch (Exception ex) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResponse.error("Unable to generate employee code"));
@@ -195,7 +257,31 @@ public class EmployeeController {
         String qrToken = employeeService
                 .generatePermanentQrByEmployeeCode(employeeCode, orgUuid);
 
-        return QrCodeUtil.generateQrImage(qrToken);
+        return qrImageCache.getPng(qrToken, QrCodeUtil.DEFAULT_SIZE);
+    }
+
+    //*****************************************//
+// Download QR badge sheet (PDF) for all active employees / one department
+//*****************************************//
+    @GetMapping("/qr/badges")
+    @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
+    public void downloadQrBadgeSheet(
+            @RequestParam(value = "departmentId", required = false) Long departmentId,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        String orgUuid = (String) request.getAttribute("organizationUuid");
+        String orgName = organizationService.getOrganizationName(orgUuid);
+
+        List<Employee> employees = employeeService.getEmployeesForQrBadges(orgUuid, departmentId);
+
+        response.setContentType("application/pdf");
+        response.setHeader(
+                "Content-Disposition",
+                "attachment; filename=qr-badges.pdf"
+        );
+        // Pages are written straight to the response as they are completed
+        qrBadgeSheetService.writeBadgeSheet(employees, orgName, response.getOutputStream());
     }
 
     //************************************************//
@@ -205,11 +291,13 @@ public class EmployeeController {
     @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
     public ResponseEntity<StandardResponse> getYearlyEmployeeGrowthChartData(
             @RequestParam("year") int year,
+            @RequestParam(value = "toYear", required = false) Integer toYear,
             HttpServletRequest httpRequest) {
         String organizationUuid = (String) httpRequest.getAttribute("organizationUuid");
         
         try {
-            var yearlyGrowthData = employeeService.getYearlyEmployeeGrowthChartData(organizationUuid, year);
+            var yearlyGrowthData = employeeService.getYearlyEmployeeGrowthChartData(
+                    organizationUuid, year, toYear != null ? toYear : year);
             return new ResponseEntity<>(
                     new StandardResponse(200, "Yearly employee growth chart data fetched successfully", yearlyGrowthData),
                     HttpStatus.OK
@@ -223,6 +311,85 @@ public class EmployeeController {
         }
     }
 
+    //************************************************//
+    //BULK IMPORT EMPLOYEES (XLSX / CSV)//
+    //************************************************//
+    /**
+     * Creates every employee of the sheet, or none when any row is invalid.
+     * dryRun=true only validates and returns the row-level report.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
+    public ResponseEntity<StandardResponse> importEmployees(
+            HttpServletRequest httpRequest,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) throws IOException {
+
+        if (file.isEmpty()) {
+            return new ResponseEntity<>(
+                    new StandardResponse(400, "Import file is empty", null), HttpStatus.BAD_REQUEST
+            );
+        }
+        String organizationUuid = (String) httpRequest.getAttribute("organizationUuid");
+        EmployeeImportResponse response;
+        try (InputStream in = file.getInputStream()) {
+            response = employeeImportService.importEmployees(
+                    organizationUuid, in, file.getOriginalFilename(), dryRun);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(
+                    new StandardResponse(400, e.getMessage(), null), HttpStatus.BAD_REQUEST
+            );
+        }
+
+        if (response.getErrorCount() > 0) {
+            return new ResponseEntity<>(
+                    new StandardResponse(422, "Import has invalid rows - nothing was created", response),
+                    HttpStatus.UNPROCESSABLE_ENTITY
+            );
+        }
+        return new ResponseEntity<>(
+                new StandardResponse(200, dryRun ? "Import file is valid" : "Employees imported successfully", response),
+                HttpStatus.OK
+        );
+    }
+
+    //************************************************//
+    //DELETE / ARCHIVE MANY EMPLOYEES//
+    //************************************************//
+    @PostMapping("/offboarding")
+    @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
+    public ResponseEntity<StandardResponse> offboardEmployees(
+            HttpServletRequest httpRequest,
+            @Valid @RequestBody EmployeeOffboardingRequest body) {
+        String organizationUuid = (String) httpRequest.getAttribute("organizationUuid");
+        String userEmail = (String) httpRequest.getAttribute("userEmail");
+
+        EmployeeOffboardingJob job = employeeOffboardingService.offboard(
+                organizationUuid, body.getEmployeeIds(), body.getAction(), userEmail);
+        return new ResponseEntity<>(
+                new StandardResponse(202, job.getEmployeeCount() + " employees deactivated", job),
+                HttpStatus.ACCEPTED
+        );
+    }
+
+    @GetMapping("/offboarding")
+    @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
+    public ResponseEntity<StandardResponse> getOffboardingJobs(HttpServletRequest httpRequest) {
+        String organizationUuid = (String) httpRequest.getAttribute("organizationUuid");
+        return ResponseEntity.ok(new StandardResponse(200, "Offboarding jobs fetched successfully",
+                employeeOffboardingService.getRecentJobs(organizationUuid)));
+    }
+
+    @GetMapping("/offboarding/{jobId}")
+    @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
+    public ResponseEntity<StandardResponse> getOffboardingJob(
+            HttpServletRequest httpRequest,
+            @PathVariable Long jobId) {
+        String organizationUuid = (String) httpRequest.getAttribute("organizationUuid");
+        return ResponseEntity.ok(new StandardResponse(200, "Offboarding job fetched successfully",
+                employeeOffboardingService.getJob(organizationUuid, jobId)));
+    }
+
     //************************************************//
     //DELETE EMPLOYEE//
     //************************************************//
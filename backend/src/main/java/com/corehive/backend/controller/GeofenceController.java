@@ -0,0 +1,86 @@
+package com.corehive.backend.controller;
+
+import com.corehive.backend.model.OfficeGeofence;
+import com.corehive.backend.service.GeofenceService;
+import com.corehive.backend.util.StandardResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.apache.coyote.BadRequestException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/org-admin/geofences")
+@RequiredArgsConstructor
+public class GeofenceController {
+
+    private final GeofenceService geofenceService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
+    public ResponseEntity<StandardResponse> getGeofences(HttpServletRequest request) {
+        String orgUuid = (String) request.getAttribute("organizationUuid");
+
+        return ResponseEntity.ok(
+                new StandardResponse(
+                        200,
+                        "Geofences loaded",
+                        geofenceService.getGeofences(orgUuid)
+                )
+        );
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ORG_ADMIN')")
+    public ResponseEntity<StandardResponse> createGeofence(
+            @RequestBody OfficeGeofence geofence,
+            HttpServletRequest request) throws BadRequestException {
+
+        String orgUuid = (String) request.getAttribute("organizationUuid");
+
+        return ResponseEntity.ok(
+                new StandardResponse(
+                        201,
+                        "Geofence created successfully",
+                        geofenceService.createGeofence(geofence, orgUuid)
+                )
+        );
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ORG_ADMIN')")
+    public ResponseEntity<StandardResponse> updateGeofence(
+            @PathVariable Long id,
+            @RequestBody OfficeGeofence geofence,
+            HttpServletRequest request) throws BadRequestException {
+
+        String orgUuid = (String) request.getAttribute("organizationUuid");
+
+        return ResponseEntity.ok(
+                new StandardResponse(
+                        200,
+                        "Geofence updated successfully",
+                        geofenceService.updateGeofence(id, geofence, orgUuid)
+                )
+        );
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ORG_ADMIN')")
+    public ResponseEntity<StandardResponse> deleteGeofence(
+            @PathVariable Long id,
+            HttpServletRequest request) {
+
+        String orgUuid = (String) request.getAttribute("organizationUuid");
+        geofenceService.deleteGeofence(id, orgUuid);
+
+        return ResponseEntity.ok(
+                new StandardResponse(
+                        200,
+                        "Geofence deleted successfully",
+                        null
+                )
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package com.corehive.backend.controller;
+
+import com.corehive.backend.service.LeaveAccrualService;
+import com.corehive.backend.util.StandardResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.apache.coyote.BadRequestException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/org-admin/leave-accrual")
+@RequiredArgsConstructor
+public class LeaveAccrualController {
+
+    private final LeaveAccrualService leaveAccrualService;
+
+    // Run (or resume) the accrual for a month; dry run by default
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('ORG_ADMIN')")
+    public ResponseEntity<StandardResponse> runAccrual(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth period,
+            @RequestParam(defaultValue = "true") boolean dryRun,
+            HttpServletRequest request) throws BadRequestException {
+
+        String orgUuid = (String) request.getAttribute("organizationUuid");
+
+        return ResponseEntity.ok(
+                new StandardResponse(
+                        200,
+                        dryRun ? "Leave accrual dry run finished" : "Leave accrual finished",
+                        leaveAccrualService.run(orgUuid, period != null ? period : YearMonth.now(), dryRun)
+                )
+        );
+    }
+
+    @GetMapping("/runs")
+    @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
+    public ResponseEntity<StandardResponse> getRuns(HttpServletRequest request) {
+        String orgUuid = (String) request.getAttribute("organizationUuid");
+
+        return ResponseEntity.ok(
+                new StandardResponse(
+                        200,
+                        "Leave accrual runs loaded",
+                        leaveAccrualService.getRecentRuns(orgUuid)
+                )
+        );
+    }
+}
@@ -59,8 +59,9 @@ public class LeaveController {
 
     //HR can view all leave requests
     @GetMapping("/leaves")
-    public List<LeaveRequest> getAllLeaves() {
-        return leaveService.getAllLeaves();
+    public List<LeaveRequest> getAllLeaves(HttpServletRequest request) {
+        String organizationUuid = authService.getOrganizationUuidFromRequest(request);
+        return leaveService.getAllLeaves(organizationUuid);
     }
 
     // HR can view all leaves of a specific employee
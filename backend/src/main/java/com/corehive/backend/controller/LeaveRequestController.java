@@ -1,21 +1,30 @@
 package com.corehive.backend.controller;
 
+import com.corehive.backend.dto.request.BulkLeaveApprovalRequest;
 import com.corehive.backend.dto.request.CreateLeaveRequestDTO;
+import com.corehive.backend.model.LeaveRequest;
 import com.corehive.backend.service.LeaveRequestService;
+import com.corehive.backend.service.TeamCalendarService;
 import com.corehive.backend.util.StandardResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.apache.coyote.BadRequestException;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+
 @RestController
 @RequestMapping("/api/leave-requests")
 @RequiredArgsConstructor
 public class LeaveRequestController {
 
     private final LeaveRequestService leaveRequestService;
+    private final TeamCalendarService teamCalendarService;
 
     // /////////////////////////////////////////////
     // CREATE LEAVE REQUEST
@@ -54,6 +63,56 @@ public class LeaveRequestController {
         );
     }
 
+    // /////////////////////////////////////////////
+    // GET LEAVE REQUESTS PAGE (keyset, filterable)
+    // ////////////////////////////////////////////
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
+    public ResponseEntity<StandardResponse> getLeavesPage(
+            HttpServletRequest request,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) LeaveRequest.LeaveStatus status,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long leaveTypeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) throws BadRequestException {
+
+        String orgUuid = (String) request.getAttribute("organizationUuid");
+
+        return ResponseEntity.ok(
+                new StandardResponse(
+                        200,
+                        "Leave requests loaded",
+                        leaveRequestService.getRequestsPage(
+                                orgUuid, cursor, size, status, employeeId, departmentId, leaveTypeId, from, to)
+                )
+        );
+    }
+
+    // /////////////////////////////////////////////
+    // TEAM CALENDAR (month of leave / attendance day bitmaps)
+    // ////////////////////////////////////////////
+    @GetMapping("/calendar")
+    @PreAuthorize("hasRole('ORG_ADMIN') or hasRole('HR_STAFF')")
+    public ResponseEntity<StandardResponse> getTeamCalendar(
+            HttpServletRequest request,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(required = false) Long departmentId
+    ) {
+        String orgUuid = (String) request.getAttribute("organizationUuid");
+
+        return ResponseEntity.ok(
+                new StandardResponse(
+                        200,
+                        "Team calendar loaded",
+                        teamCalendarService.getMonth(orgUuid, month != null ? month : YearMonth.now(), departmentId)
+                )
+        );
+    }
+
     // /////////////////////////////////////////////
     // APPROVE LEAVE REQUEST
     // ////////////////////////////////////////////
@@ -75,4 +134,25 @@ public class LeaveRequestController {
         );
     }
 
+    // /////////////////////////////////////////////
+    // APPROVE / REJECT MANY LEAVE REQUESTS
+    // ////////////////////////////////////////////
+    @PutMapping("/bulk-approve")
+    @PreAuthorize("hasRole('HR_STAFF')")
+    public ResponseEntity<StandardResponse> approveLeaves(
+            @Valid @RequestBody BulkLeaveApprovalRequest body,
+            HttpServletRequest request
+    ) throws BadRequestException {
+        Long approverUserId = (Long) request.getAttribute("userId");
+        String approverEmail = (String) request.getAttribute("userEmail");
+        String orgUuid = (String) request.getAttribute("organizationUuid");
+
+        int updated = leaveRequestService.approveLeaves(
+                body.getRequestIds(), approverUserId, approverEmail, orgUuid, body.isApprove());
+
+        return ResponseEntity.ok(
+                new StandardResponse(200, updated + " leave requests updated", updated)
+        );
+    }
+
 }
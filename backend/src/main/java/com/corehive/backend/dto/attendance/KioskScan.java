@@ -0,0 +1,39 @@
+package com.corehive.backend.dto.attendance;
+
+import com.corehive.backend.model.Attendance;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A resolved QR / face scan waiting to be persisted.
+ * Live kiosk scans carry no idempotency key; offline replays always do.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KioskScan {
+
+    private Long employeeId;
+    private String organizationUuid;
+
+    // Real event time (not the time it reached the server)
+    private LocalDateTime scannedAt;
+
+    @Builder.Default
+    private Attendance.VerificationType verificationType = Attendance.VerificationType.QR_CODE;
+    private String verificationConfidence;
+
+    private String ipAddress;
+    private String deviceInfo;
+
+    // Client-generated key for offline replay (null for live scans)
+    private String idempotencyKey;
+
+    // Uploaded by the employee's own device rather than an organization kiosk
+    private boolean selfReported;
+}
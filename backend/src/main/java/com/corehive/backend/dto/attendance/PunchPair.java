@@ -0,0 +1,22 @@
+package com.corehive.backend.dto.attendance;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * First-in / last-out punches of one employee on one day, from an imported punch log
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PunchPair {
+
+    private Long employeeId;
+    private LocalDateTime checkIn;
+
+    // null when the day has no usable check-out punch
+    private LocalDateTime checkOut;
+}
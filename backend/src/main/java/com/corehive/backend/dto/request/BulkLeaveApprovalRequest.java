@@ -0,0 +1,20 @@
+package com.corehive.backend.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Approve / reject several leave requests at once
+ */
+@Data
+public class BulkLeaveApprovalRequest {
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<Long> requestIds;
+
+    private boolean approve;
+}
@@ -0,0 +1,21 @@
+package com.corehive.backend.dto.request;
+
+import com.corehive.backend.model.EmployeeOffboardingJob;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Delete or archive several employees as one offboarding job
+ */
+@Data
+public class EmployeeOffboardingRequest {
+
+    @NotEmpty
+    private List<Long> employeeIds;
+
+    @NotNull
+    private EmployeeOffboardingJob.Action action;
+}
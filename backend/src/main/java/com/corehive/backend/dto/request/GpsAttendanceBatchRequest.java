@@ -0,0 +1,54 @@
+package com.corehive.backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * GPS check-ins a mobile device recorded while offline
+ */
+@Data
+public class GpsAttendanceBatchRequest {
+
+    private String deviceInfo;
+
+    @NotEmpty
+    @Size(max = 1000)
+    @Valid
+    private List<GpsEvent> events;
+
+    @Data
+    public static class GpsEvent {
+
+        // Generated on the device, unique per event - makes re-uploads safe
+        @NotBlank
+        @Size(max = 100)
+        private String idempotencyKey;
+
+        @NotNull
+        @DecimalMin("-90.0")
+        @DecimalMax("90.0")
+        private Double latitude;
+
+        @NotNull
+        @DecimalMin("-180.0")
+        @DecimalMax("180.0")
+        private Double longitude;
+
+        @PositiveOrZero
+        private Double accuracyMeters;
+
+        // When the fix was taken on the device
+        @NotNull
+        private LocalDateTime capturedAt;
+    }
+}
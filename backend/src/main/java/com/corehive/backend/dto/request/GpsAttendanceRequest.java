@@ -0,0 +1,30 @@
+package com.corehive.backend.dto.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+/**
+ * GPS check-in / check-out from the employee's mobile device
+ */
+@Data
+public class GpsAttendanceRequest {
+
+    @NotNull
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+
+    @NotNull
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+
+    // Reported horizontal accuracy of the fix, in meters
+    @PositiveOrZero
+    private Double accuracyMeters;
+
+    private String deviceInfo;
+}
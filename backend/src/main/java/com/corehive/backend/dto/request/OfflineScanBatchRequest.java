@@ -0,0 +1,50 @@
+package com.corehive.backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Batch of QR / face scans collected by a kiosk while offline
+ */
+@Data
+public class OfflineScanBatchRequest {
+
+    private String deviceInfo;
+
+    @NotEmpty
+    @Size(max = 10000)
+    @Valid
+    private List<OfflineScanEvent> events;
+
+    @Data
+    public static class OfflineScanEvent {
+
+        // Generated on the kiosk, unique per event - makes re-uploads safe
+        @NotBlank
+        @Size(max = 100)
+        private String idempotencyKey;
+
+        // QR or FACE
+        @NotBlank
+        private String type;
+
+        // Required for QR events
+        private String qrToken;
+
+        // Required for FACE events (already matched on the kiosk)
+        private Long employeeId;
+        private String verificationConfidence;
+
+        // When the scan actually happened at the gate; OfflineScanService rejects
+        // future times and anything older than attendance.offline.max-age-hours
+        @NotNull
+        private LocalDateTime scannedAt;
+    }
+}
@@ -0,0 +1,40 @@
+package com.corehive.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BiometricImportResponse {
+
+    private long linesRead;
+    private long punchesAccepted;
+    private long rejectedLines;
+
+    // Punches whose terminal user id matches no employee code
+    private long unknownUserPunches;
+
+    // Employee-days merged into attendance
+    private long attendanceDaysWritten;
+
+    private long durationMs;
+    private long linesPerSecond;
+
+    // First rejects only, enough to fix the export
+    @Builder.Default
+    private List<RejectedLine> rejectSamples = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class RejectedLine {
+        private long lineNumber;
+        private String reason;
+    }
+}
@@ -0,0 +1,33 @@
+package com.corehive.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeDirectoryPage {
+    private List<Entry> items;
+    // Pass back as "cursor" for the next page; null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+    private long totalMatches;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private Long id;
+        private String name;
+        private String employeeCode;
+        private String email;
+        private String designation;
+        private Long departmentId;
+        private boolean active;
+    }
+}
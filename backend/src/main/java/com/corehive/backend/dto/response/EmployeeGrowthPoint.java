@@ -0,0 +1,20 @@
+package com.corehive.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One month of the employee growth series: hires and exits during the
+ * month and the headcount at its end.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeGrowthPoint {
+    private int year;
+    private int month;
+    private long hires;
+    private long exits;
+    private long headcount;
+}
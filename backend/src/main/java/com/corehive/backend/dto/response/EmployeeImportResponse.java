@@ -0,0 +1,42 @@
+package com.corehive.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeImportResponse {
+
+    private long rowsRead;
+    private long validRows;
+    private long employeesCreated;
+    private boolean dryRun;
+
+    // Codes given to the created employees, in file order
+    private String firstEmployeeCode;
+    private String lastEmployeeCode;
+
+    private long durationMs;
+
+    // Nothing is created while any row has an error
+    private long errorCount;
+
+    // First errors only, enough to fix the file
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long rowNumber;
+        private String field;
+        private String message;
+    }
+}
@@ -0,0 +1,19 @@
+package com.corehive.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaveRequestPageResponse {
+    private List<LeaveRequestResponseDTO> items;
+    // Pass back as "cursor" for the next page; null on the last page
+    private Long nextCursor;
+    private boolean hasMore;
+}
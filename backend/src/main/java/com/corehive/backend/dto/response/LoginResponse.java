@@ -16,7 +16,9 @@ import java.util.Map;
 @AllArgsConstructor
 @Builder
 public class LoginResponse {
-    private String token; // JWT token
+    private String token; // JWT access token (short-lived)
+    private String refreshToken; // Opaque refresh token, exchanged at /api/auth/refresh
+    private Long expiresIn; // Access token lifetime in seconds
     private Long userId;
     private String email;
     private String userType; // "SYSTEM_ADMIN" or "ORG_USER"
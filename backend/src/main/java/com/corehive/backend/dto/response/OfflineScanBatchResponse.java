@@ -0,0 +1,34 @@
+package com.corehive.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OfflineScanBatchResponse {
+
+    private int received;
+    private int checkIns;
+    private int checkOuts;
+    private int ignored;
+
+    // Already applied by an earlier upload of the same events
+    private int duplicates;
+
+    @Builder.Default
+    private List<RejectedEvent> rejected = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    public static class RejectedEvent {
+        private String idempotencyKey;
+        private String reason;
+    }
+}
@@ -21,8 +21,15 @@ public class RevenueReportDTO {
     private LocalDateTime endDate;
     private List<OrganizationRevenue> organizationRevenues;
     private Map<String, BigDecimal> revenueByPlan;
+    private Bucket bucket;
+    private List<PeriodRevenue> revenueByPeriod;
     private LocalDateTime generatedAt;
 
+    public enum Bucket {
+        DAILY,
+        MONTHLY
+    }
+
     @Data
     public static class OrganizationRevenue {
         private String organizationUuid;
@@ -33,4 +40,15 @@ public class RevenueReportDTO {
         private int activeUsers;
         private String billingCycle;
     }
+
+    /**
+     * Revenue of one bucket; period is yyyy-MM-dd (DAILY) or yyyy-MM (MONTHLY).
+     * Buckets without payments are left out.
+     */
+    @Data
+    public static class PeriodRevenue {
+        private String period;
+        private BigDecimal revenue;
+        private long transactionCount;
+    }
 }
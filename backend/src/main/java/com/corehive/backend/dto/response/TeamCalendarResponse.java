@@ -0,0 +1,41 @@
+package com.corehive.backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Month view of who is off. Each status is a day bitmap: bit (day - 1) is
+ * set when the status applies on that day of the month; empty bitmaps are
+ * left out of the JSON.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamCalendarResponse {
+    private String month;
+    private int days;
+    private List<Row> employees;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public static class Row {
+        private Long id;
+        private String name;
+        private String code;
+        // Approved leave or an ON_LEAVE attendance row
+        private int leave;
+        private int present;
+        private int late;
+        private int halfDay;
+        private int absent;
+        private int wfh;
+    }
+}
@@ -68,6 +68,10 @@ public class Employee {
         @Column(name = "is_active")
         private Boolean isActive = true;
 
+        // When the employee last became inactive; the exit date of growth reports
+        @Column(name = "deactivated_at")
+        private LocalDateTime deactivatedAt;
+
         @Column(name = "created_at", columnDefinition = "DATETIME DEFAULT CURRENT_TIMESTAMP")
         private LocalDateTime createdAt;
 
@@ -86,6 +90,22 @@ public class Employee {
         private String profileImage;
 
 
+    /**
+     * Sets the status and keeps deactivatedAt in step: stamped when the
+     * employee becomes inactive, cleared on reactivation.
+     */
+    public void changeActiveStatus(boolean active, LocalDateTime at) {
+        if (active) {
+            deactivatedAt = null;
+        } else if (!Boolean.FALSE.equals(isActive)) {
+            deactivatedAt = at;
+        } else if (deactivatedAt == null) {
+            // Deactivated before the column existed; pin the exit where reports had it
+            deactivatedAt = updatedAt;
+        }
+        isActive = active;
+    }
+
     public enum SalaryType {
                 MONTHLY,
                 DAILY
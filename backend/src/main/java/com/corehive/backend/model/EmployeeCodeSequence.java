@@ -0,0 +1,34 @@
+package com.corehive.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * EmployeeCodeSequence Entity
+ * Next unreserved employee number per organization. Instances reserve
+ * blocks of numbers from it (see EmployeeCodeAllocator); numbers of blocks
+ * not fully used before a restart are skipped, never reissued.
+ */
+@Entity
+@Table(name = "employee_code_sequence")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeCodeSequence {
+
+    @Id
+    @Column(name = "organization_uuid", nullable = false, length = 36)
+    private String organizationUuid;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
-@Table(name = "employee_leave_balance")
+@Table(name = "employee_leave_balance",
+       indexes = {
+           @Index(name = "idx_leave_balance_org_employee", columnList = "organization_uuid, employee_id")
+       })
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -32,6 +35,13 @@ public class EmployeeLeaveBalance {
     @Column(name = "balance", nullable = false)
     private Integer balance = 0;
 
+    // Accrual engine markers - a period / year is applied at most once per balance
+    @Column(name = "last_accrual_period", length = 7)
+    private String lastAccrualPeriod;
+
+    @Column(name = "last_rollover_year")
+    private Integer lastRolloverYear;
+
     @Column(name = "created_at", columnDefinition = "DATETIME DEFAULT CURRENT_TIMESTAMP")
     private LocalDateTime createdAt;
 
@@ -0,0 +1,87 @@
+package com.corehive.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * EmployeeOffboardingJob Entity
+ * One bulk offboarding request. Employees are deactivated when the job is
+ * created; DELETE jobs then purge their data in the background
+ * (EmployeeOffboardingWorker), ARCHIVE jobs keep it and finish immediately.
+ */
+@Entity
+@Table(name = "employee_offboarding_job",
+       indexes = {
+           @Index(name = "idx_offboarding_job_status_lease", columnList = "status, lease_until"),
+           @Index(name = "idx_offboarding_job_org", columnList = "organization_uuid, created_at")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeOffboardingJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "organization_uuid", nullable = false, length = 36)
+    private String organizationUuid;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "action", nullable = false, length = 20)
+    private Action action;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    // Comma-separated employee ids
+    @Column(name = "employee_ids", nullable = false, columnDefinition = "TEXT")
+    private String employeeIds;
+
+    @Column(name = "employee_count", nullable = false)
+    private int employeeCount;
+
+    @Column(name = "rows_purged", nullable = false)
+    private long rowsPurged;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // Next time a worker may take the job (also the lease while RUNNING)
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "requested_by", length = 200)
+    private String requestedBy;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Action {
+        DELETE,
+        ARCHIVE
+    }
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
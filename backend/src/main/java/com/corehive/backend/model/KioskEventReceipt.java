@@ -0,0 +1,54 @@
+package com.corehive.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * KioskEventReceipt Entity
+ * One row per offline kiosk event that has been applied, keyed by the
+ * client idempotency key, so a re-uploaded batch is never applied twice.
+ */
+@Entity
+@Table(name = "kiosk_event_receipt",
+       uniqueConstraints = {
+           @UniqueConstraint(columnNames = {"organization_uuid", "idempotency_key"})
+       },
+       indexes = {
+           @Index(name = "idx_kiosk_receipt_created", columnList = "created_at")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KioskEventReceipt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "organization_uuid", nullable = false, length = 36)
+    private String organizationUuid;
+
+    @Column(name = "idempotency_key", nullable = false, length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "scanned_at", nullable = false)
+    private LocalDateTime scannedAt;
+
+    // CHECK_IN / CHECK_OUT / IGNORED
+    @Column(name = "outcome", nullable = false, length = 20)
+    private String outcome;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,80 @@
+package com.corehive.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * LeaveAccrualRun Entity
+ * Audit row per organization and accrual run (dry runs included).
+ * A run left RUNNING or FAILED is resumed by running the same period again.
+ */
+@Entity
+@Table(name = "leave_accrual_run",
+       indexes = {
+           @Index(name = "idx_leave_accrual_run_org", columnList = "organization_uuid, started_at")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LeaveAccrualRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "organization_uuid", nullable = false, length = 36)
+    private String organizationUuid;
+
+    // Accrual month as yyyy-MM; January runs also roll the previous year over
+    @Column(name = "period", nullable = false, length = 7)
+    private String period;
+
+    @Column(name = "dry_run", nullable = false)
+    private boolean dryRun;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.RUNNING;
+
+    // Missing employee / leave type balances created at 0
+    @Column(name = "balances_created", nullable = false)
+    private int balancesCreated;
+
+    // Balances capped by the year-end carry-forward rule
+    @Column(name = "balances_rolled_over", nullable = false)
+    private int balancesRolledOver;
+
+    @Column(name = "days_expired", nullable = false)
+    private long daysExpired;
+
+    @Column(name = "balances_accrued", nullable = false)
+    private int balancesAccrued;
+
+    @Column(name = "days_accrued", nullable = false)
+    private long daysAccrued;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -11,7 +11,12 @@ import java.time.LocalDateTime;
 
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Entity
-@Table(name = "leave_request")
+@Table(name = "leave_request",
+       indexes = {
+           // Keyset listing: equality filters first, then the id sort key
+           @Index(name = "idx_leave_request_org_id", columnList = "organization_uuid, id"),
+           @Index(name = "idx_leave_request_org_status_id", columnList = "organization_uuid, status, id")
+       })
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -31,6 +31,15 @@ public class LeaveType {
     @Column(name = "default_days_per_year")
     private Integer defaultDaysPerYear = 0;
 
+    // YEARLY credits defaultDaysPerYear each January, MONTHLY spreads it over the months
+    @Enumerated(EnumType.STRING)
+    @Column(name = "accrual_frequency", length = 10)
+    private AccrualFrequency accrualFrequency = AccrualFrequency.YEARLY;
+
+    // Days kept at year end, the rest expires; null keeps the whole balance
+    @Column(name = "carry_forward_max_days")
+    private Integer carryForwardMaxDays;
+
     @Column(name = "requires_approval")
     private Boolean requiresApproval = true;
 
@@ -39,4 +48,9 @@ public class LeaveType {
 
     @Column(name = "created_at")
     private LocalDateTime createdAt = LocalDateTime.now();
+
+    public enum AccrualFrequency {
+        YEARLY,
+        MONTHLY
+    }
 }
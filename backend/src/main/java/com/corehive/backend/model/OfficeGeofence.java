@@ -0,0 +1,72 @@
+package com.corehive.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * OfficeGeofence Entity
+ * An area where GPS check-ins are accepted for an organization:
+ *  - CIRCLE: centerLatitude / centerLongitude + radiusMeters
+ *  - POLYGON: vertices as "lat,lng;lat,lng;..." (at least 3 points)
+ */
+@Entity
+@Table(name = "office_geofence",
+       indexes = {
+           @Index(name = "idx_geofence_org", columnList = "organization_uuid, is_active")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OfficeGeofence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "organization_uuid", nullable = false, length = 36)
+    private String organizationUuid;
+
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "shape", nullable = false, length = 20)
+    private Shape shape;
+
+    @Column(name = "center_latitude")
+    private Double centerLatitude;
+
+    @Column(name = "center_longitude")
+    private Double centerLongitude;
+
+    @Column(name = "radius_meters")
+    private Double radiusMeters;
+
+    @Column(name = "polygon", columnDefinition = "TEXT")
+    private String polygon;
+
+    @Builder.Default
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Shape {
+        CIRCLE,
+        POLYGON
+    }
+}
@@ -13,7 +13,11 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payment_transaction")
+@Table(name = "payment_transaction",
+       indexes = {
+           // Revenue reports aggregate SUCCESS payments over a date range
+           @Index(name = "idx_payment_status_date", columnList = "status, transaction_date")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,67 @@
+package com.corehive.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * RefreshToken Entity
+ * Opaque, rotating refresh tokens. Only the SHA-256 hash is stored.
+ *  Every rotation stays in the same family, so reuse of a rotated token
+ *  can revoke the whole chain.
+ */
+@Entity
+@Table(name = "refresh_token",
+       indexes = {
+           @Index(name = "idx_refresh_token_user", columnList = "user_type, user_id"),
+           @Index(name = "idx_refresh_token_org", columnList = "organization_uuid"),
+           @Index(name = "idx_refresh_token_family", columnList = "family_id")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", unique = true, nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 36)
+    private String familyId;
+
+    @Column(name = "user_type", nullable = false, length = 20)
+    private String userType;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "organization_uuid", length = 36)
+    private String organizationUuid;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked", nullable = false)
+    @Builder.Default
+    private Boolean revoked = false;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public boolean isExpired() {
+        return expiresAt.isBefore(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,61 @@
+package com.corehive.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * TokenRevocation Entity
+ * Persisted JWT revocation entries, reloaded into memory at startup.
+ *  USER / ORGANIZATION rows kill every token issued before revokedBefore,
+ *  TOKEN rows kill a single token by its jti.
+ */
+@Entity
+@Table(name = "token_revocation",
+       uniqueConstraints = {
+           @UniqueConstraint(columnNames = {"scope", "subject"})
+       },
+       indexes = {
+           @Index(name = "idx_token_revocation_expires", columnList = "expires_at_epoch")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TokenRevocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 20)
+    private Scope scope;
+
+    // userType:userId for USER, organization uuid for ORGANIZATION, jti for TOKEN
+    @Column(name = "subject", nullable = false, length = 100)
+    private String subject;
+
+    // Tokens with iat (epoch seconds) strictly before this value are revoked
+    @Column(name = "revoked_before_epoch")
+    private Long revokedBeforeEpoch;
+
+    // Row can be purged once every token it covers has expired
+    @Column(name = "expires_at_epoch", nullable = false)
+    private Long expiresAtEpoch;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Scope {
+        USER,
+        ORGANIZATION,
+        TOKEN
+    }
+}
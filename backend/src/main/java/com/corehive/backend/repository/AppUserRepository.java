@@ -2,6 +2,7 @@ package com.corehive.backend.repository;
 
 import com.corehive.backend.model.AppUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -55,4 +56,11 @@ public interface AppUserRepository extends JpaRepository<AppUser, Long> {
 
     @Query("SELECT COUNT(u) FROM AppUser u WHERE u.organizationUuid = :organizationUuid")
     int countByOrganizationUuid(@Param("organizationUuid") String organizationUuid);
-}
\ No newline at end of file
+
+    /**
+     * Disable the logins of offboarded employees
+     */
+    @Modifying
+    @Query("UPDATE AppUser u SET u.isActive = false WHERE u.organizationUuid = :orgUuid AND u.id IN :ids")
+    int deactivateByIds(@Param("orgUuid") String organizationUuid, @Param("ids") List<Long> ids);
+}
@@ -0,0 +1,143 @@
+package com.corehive.backend.repository;
+
+import com.corehive.backend.model.Attendance;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Multi-row attendance writes that Spring Data cannot batch (native
+ * upserts). Runs on the caller's transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttendanceBatchRepository {
+
+    // Rows per INSERT statement
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    private static final String INSERT_PREFIX = """
+            INSERT INTO attendance (organization_uuid, employee_id, attendance_date, check_in_time, check_out_time,
+                                    status, verification_type, device_info, created_at, updated_at)
+            VALUES
+            """;
+
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+
+    // Assignments run left to right: status / source columns are decided
+    // from the pre-merge times, then the times themselves are merged.
+    // ON_LEAVE rows are left as they are.
+    private static final String MERGE_TIMES = """
+
+            AS incoming
+            ON DUPLICATE KEY UPDATE
+                status = CASE
+                    WHEN status <> 'ON_LEAVE'
+                         AND (check_in_time IS NULL OR incoming.check_in_time < check_in_time)
+                    THEN incoming.status ELSE status END,
+                verification_type = CASE
+                    WHEN status <> 'ON_LEAVE'
+                         AND (check_in_time IS NULL OR incoming.check_in_time < check_in_time
+                              OR (incoming.check_out_time IS NOT NULL
+                                  AND (check_out_time IS NULL OR incoming.check_out_time > check_out_time)))
+                    THEN incoming.verification_type ELSE verification_type END,
+                device_info = CASE
+                    WHEN status <> 'ON_LEAVE'
+                         AND (check_in_time IS NULL OR incoming.check_in_time < check_in_time
+                              OR (incoming.check_out_time IS NOT NULL
+                                  AND (check_out_time IS NULL OR incoming.check_out_time > check_out_time)))
+                    THEN incoming.device_info ELSE device_info END,
+                check_in_time = CASE
+                    WHEN status <> 'ON_LEAVE'
+                         AND (check_in_time IS NULL OR incoming.check_in_time < check_in_time)
+                    THEN incoming.check_in_time ELSE check_in_time END,
+                check_out_time = CASE
+                    WHEN status <> 'ON_LEAVE' AND incoming.check_out_time IS NOT NULL
+                         AND (check_out_time IS NULL OR incoming.check_out_time > check_out_time)
+                    THEN incoming.check_out_time ELSE check_out_time END,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private static final String LEAVE_INSERT_PREFIX = """
+            INSERT INTO attendance (organization_uuid, employee_id, attendance_date, status,
+                                    verification_type, notes, created_at, updated_at)
+            VALUES
+            """;
+
+    private static final String LEAVE_ROW = "(?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)";
+
+    // Existing rows keep their punches, only the status and note change
+    private static final String MERGE_LEAVE = """
+
+            AS incoming
+            ON DUPLICATE KEY UPDATE
+                status = incoming.status,
+                notes = incoming.notes,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert or merge day rows: the earliest check-in and the latest
+     * check-out win, so re-importing or overlapping imports are harmless.
+     *
+     * @return number of statements executed
+     */
+    public int upsertCheckTimes(List<Attendance> rows) {
+        return executeChunked(rows, INSERT_PREFIX, ROW, MERGE_TIMES, (row, params) -> {
+            params.add(row.getOrganizationUuid());
+            params.add(row.getEmployeeId());
+            params.add(row.getAttendanceDate());
+            params.add(Timestamp.valueOf(row.getCheckInTime()));
+            params.add(row.getCheckOutTime() != null ? Timestamp.valueOf(row.getCheckOutTime()) : null);
+            params.add(row.getStatus().name());
+            params.add(row.getVerificationType() != null ? row.getVerificationType().name() : null);
+            params.add(row.getDeviceInfo());
+        });
+    }
+
+    /**
+     * Set the status and note of whole leave ranges in one statement per
+     * chunk: missing days are inserted, existing rows are updated in place.
+     *
+     * @return number of statements executed
+     */
+    public int upsertLeaveDays(List<Attendance> rows) {
+        return executeChunked(rows, LEAVE_INSERT_PREFIX, LEAVE_ROW, MERGE_LEAVE, (row, params) -> {
+            params.add(row.getOrganizationUuid());
+            params.add(row.getEmployeeId());
+            params.add(row.getAttendanceDate());
+            params.add(row.getStatus().name());
+            params.add(row.getVerificationType() != null ? row.getVerificationType().name() : null);
+            params.add(row.getNotes());
+        });
+    }
+
+    private int executeChunked(List<Attendance> rows, String prefix, String rowPlaceholders, String suffix,
+                               BiConsumer<Attendance, List<Object>> binder) {
+        int statements = 0;
+        for (int start = 0; start < rows.size(); start += ROWS_PER_STATEMENT) {
+            List<Attendance> chunk = rows.subList(start, Math.min(start + ROWS_PER_STATEMENT, rows.size()));
+
+            StringBuilder sql = new StringBuilder(prefix.length() + chunk.size() * (rowPlaceholders.length() + 2)
+                    + suffix.length());
+            sql.append(prefix);
+            List<Object> params = new ArrayList<>(chunk.size() * 8);
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "" : ",\n").append(rowPlaceholders);
+                binder.accept(chunk.get(i), params);
+            }
+            sql.append(suffix);
+
+            jdbcTemplate.update(sql.toString(), params.toArray());
+            statements++;
+        }
+        return statements;
+    }
+}
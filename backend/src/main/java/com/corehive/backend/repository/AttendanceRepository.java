@@ -3,11 +3,14 @@ package com.corehive.backend.repository;
 import com.corehive.backend.model.Attendance;
 import com.corehive.backend.model.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -121,6 +124,19 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
             @Param("date") LocalDate date
     );
 
+    //Team calendar: [employeeId, attendanceDate, status] for a date range
+    @Query("""
+        SELECT a.employeeId, a.attendanceDate, a.status
+        FROM Attendance a
+        WHERE a.organizationUuid = :orgUuid
+          AND a.attendanceDate BETWEEN :from AND :to
+    """)
+    List<Object[]> findStatusesBetween(
+            @Param("orgUuid") String orgUuid,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
     //Get summary from attendance by status with count
     @Query("""
         SELECT a.status, COUNT(a)
@@ -159,6 +175,91 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     
     Optional<Attendance> findByEmployeeIdAndAttendanceDateAndOrganizationUuid(Long employeeId, LocalDate date, String organizationUuid);
 
+    /**
+     * Atomic attendance upsert on the (employee_id, attendance_date, organization_uuid) key.
+     * No row      -> insert with eventTime as check-in.
+     * Row exists  -> merge:
+     *   - ON_LEAVE rows are never changed
+     *   - toggle and checked in, not out, eventTime >= check-in + minCheckoutMinutes -> check-out = eventTime
+     *   - no check-in yet (e.g. ABSENT row), or earlierCheckIn and eventTime earlier than check-in -> check-in = eventTime
+     *   - otherwise unchanged
+     * Assignments run left to right, so later ones see the merged check-in/check-out.
+     * The NOT EXISTS guard skips the statement when the event would change
+     * nothing, so the affected-row count tells the outcome on any driver
+     * setting: 0 = unchanged, 1 = inserted, 2 = merged into the existing row.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+        INSERT INTO attendance (organization_uuid, employee_id, attendance_date, check_in_time, status,
+                                verification_type, verification_confidence, ip_address, device_info, notes,
+                                created_at, updated_at)
+        SELECT * FROM (
+            SELECT :orgUuid AS event_org, :employeeId AS event_employee, :date AS event_date,
+                   :eventTime AS event_time, :status AS event_status,
+                   :verificationType AS event_verification_type, :confidence AS event_confidence,
+                   :ipAddress AS event_ip, :deviceInfo AS event_device, :notes AS event_notes,
+                   CURRENT_TIMESTAMP AS event_created, CURRENT_TIMESTAMP AS event_updated
+        ) AS incoming
+        WHERE NOT EXISTS (
+            SELECT 1 FROM attendance a
+            WHERE a.organization_uuid = :orgUuid AND a.employee_id = :employeeId AND a.attendance_date = :date
+              AND (a.status = 'ON_LEAVE'
+                   OR (a.check_in_time IS NOT NULL
+                       AND NOT (:earlierCheckIn = TRUE AND :eventTime < a.check_in_time)
+                       AND NOT (:toggle = TRUE AND a.check_out_time IS NULL
+                                AND :eventTime >= TIMESTAMPADD(MINUTE, :minCheckoutMinutes, a.check_in_time))))
+        )
+        ON DUPLICATE KEY UPDATE
+            check_out_time = CASE
+                WHEN :toggle = TRUE AND status <> 'ON_LEAVE' AND check_in_time IS NOT NULL AND check_out_time IS NULL
+                     AND incoming.event_time >= TIMESTAMPADD(MINUTE, :minCheckoutMinutes, check_in_time)
+                THEN incoming.event_time ELSE check_out_time END,
+            check_in_time = CASE
+                WHEN status <> 'ON_LEAVE'
+                     AND (check_in_time IS NULL OR (:earlierCheckIn = TRUE AND incoming.event_time < check_in_time))
+                THEN incoming.event_time ELSE check_in_time END,
+            status = CASE
+                WHEN check_in_time = incoming.event_time THEN incoming.event_status ELSE status END,
+            verification_type = CASE
+                WHEN check_in_time = incoming.event_time OR check_out_time = incoming.event_time
+                THEN incoming.event_verification_type ELSE verification_type END,
+            verification_confidence = CASE
+                WHEN check_in_time = incoming.event_time OR check_out_time = incoming.event_time
+                THEN incoming.event_confidence ELSE verification_confidence END,
+            ip_address = CASE
+                WHEN check_in_time = incoming.event_time OR check_out_time = incoming.event_time
+                THEN incoming.event_ip ELSE ip_address END,
+            device_info = CASE
+                WHEN check_in_time = incoming.event_time OR check_out_time = incoming.event_time
+                THEN incoming.event_device ELSE device_info END,
+            updated_at = CURRENT_TIMESTAMP
+        """, nativeQuery = true)
+    int upsertAttendanceEvent(@Param("orgUuid") String orgUuid,
+                              @Param("employeeId") Long employeeId,
+                              @Param("date") LocalDate date,
+                              @Param("eventTime") LocalDateTime eventTime,
+                              @Param("status") String status,
+                              @Param("verificationType") String verificationType,
+                              @Param("confidence") String confidence,
+                              @Param("ipAddress") String ipAddress,
+                              @Param("deviceInfo") String deviceInfo,
+                              @Param("notes") String notes,
+                              @Param("toggle") boolean toggle,
+                              @Param("earlierCheckIn") boolean earlierCheckIn,
+                              @Param("minCheckoutMinutes") long minCheckoutMinutes);
+
+    // Batch lookup for kiosk micro-batches (one query per org/day instead of one per scan)
+    @Query("""
+        SELECT a FROM Attendance a
+        WHERE a.organizationUuid = :orgUuid
+          AND a.attendanceDate = :date
+          AND a.employeeId IN :employeeIds
+    """)
+    List<Attendance> findByOrgDateAndEmployeeIds(
+            @Param("orgUuid") String orgUuid,
+            @Param("date") LocalDate date,
+            @Param("employeeIds") Collection<Long> employeeIds);
+
     // ===== Report Queries =====
 
     /**
@@ -0,0 +1,56 @@
+package com.corehive.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Employee Code Sequence Repository
+ * Block reservation on employee_code_sequence. Each reservation is its own
+ * short transaction, so the row lock is never held by the caller's work.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeeCodeSequenceRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserve count consecutive numbers for the organization. The first
+     * reservation seeds the sequence from the highest existing EMP- code.
+     *
+     * @return first number of the reserved block
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(String orgUuid, int count) {
+        Long next = current(orgUuid, true);
+        if (next == null) {
+            // Concurrent first reservations: one insert wins, the other is ignored
+            jdbcTemplate.update("""
+                    INSERT IGNORE INTO employee_code_sequence (organization_uuid, next_value, updated_at)
+                    SELECT ?, COALESCE(MAX(CAST(SUBSTRING(employee_code, 5) AS UNSIGNED)), 0) + 1, CURRENT_TIMESTAMP
+                    FROM employee
+                    WHERE organization_uuid = ? AND employee_code LIKE 'EMP-%'
+                    """, orgUuid, orgUuid);
+            next = current(orgUuid, true);
+        }
+        jdbcTemplate.update("UPDATE employee_code_sequence SET next_value = next_value + ?, "
+                + "updated_at = CURRENT_TIMESTAMP WHERE organization_uuid = ?", count, orgUuid);
+        return next;
+    }
+
+    /**
+     * Next unreserved number without reserving it; null before the first reservation
+     */
+    public Long peek(String orgUuid) {
+        return current(orgUuid, false);
+    }
+
+    private Long current(String orgUuid, boolean lock) {
+        return jdbcTemplate.query("SELECT next_value FROM employee_code_sequence WHERE organization_uuid = ?"
+                        + (lock ? " FOR UPDATE" : ""),
+                rs -> rs.next() ? rs.getLong(1) : null, orgUuid);
+    }
+}
@@ -0,0 +1,179 @@
+package com.corehive.backend.repository;
+
+import com.corehive.backend.model.AppUserRole;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Employee Import Batch Repository
+ * JDBC batch writes for bulk employee import: app users, employees, the
+ * user -> employee link and opening leave balances, in one transaction.
+ * Generated ids are read back by the unique email / app user id instead of
+ * per-row generated keys, so every step is a plain batch.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeeImportBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int IN_LIST_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record NewEmployee(String employeeCode, String firstName, String lastName, String email,
+                              String phone, String nationalId, String bankAccNo, String designation,
+                              Long departmentId, BigDecimal basicSalary, String salaryType,
+                              LocalDate dateOfJoining, boolean active, String passwordHash) {
+    }
+
+    // Opening balance given to every imported employee for a leave type
+    public record OpeningBalance(Long leaveTypeId, int balance) {
+    }
+
+    /**
+     * Emails (lower case) among the given ones already used by an employee
+     * or a login anywhere
+     */
+    public Set<String> findTakenEmails(Collection<String> emails) {
+        Set<String> taken = new HashSet<>();
+        for (List<String> chunk : chunks(new ArrayList<>(emails))) {
+            String in = placeholders(chunk.size());
+            Object[] args = chunk.toArray();
+            jdbcTemplate.query("SELECT LOWER(email) FROM employee WHERE email IN (" + in + ")",
+                    rs -> {
+                        taken.add(rs.getString(1));
+                    }, args);
+            jdbcTemplate.query("SELECT LOWER(email) FROM app_user WHERE email IN (" + in + ")",
+                    rs -> {
+                        taken.add(rs.getString(1));
+                    }, args);
+        }
+        return taken;
+    }
+
+    /**
+     * Insert the employees with their logins and opening balances.
+     * Balances are marked as accrued up to accrualPeriod (yyyy-MM).
+     *
+     * @return employee id by lower-case email
+     */
+    @Transactional
+    public Map<String, Long> insert(String orgUuid, List<NewEmployee> employees,
+                                    List<OpeningBalance> balances, String accrualPeriod, int year) {
+        if (employees.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO app_user (organization_uuid, email, password_hash, role, is_active,
+                                      is_password_change_required, created_at, updated_at)
+                VALUES (?, ?, ?, ?, TRUE, TRUE, ?, ?)
+                """, employees, BATCH_SIZE, (ps, e) -> {
+            ps.setString(1, orgUuid);
+            ps.setString(2, e.email());
+            ps.setString(3, e.passwordHash());
+            ps.setString(4, AppUserRole.EMPLOYEE.name());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        });
+        Map<String, Long> userIds = idsByKey(
+                "SELECT LOWER(email), id FROM app_user WHERE organization_uuid = ? AND email IN ",
+                orgUuid, employees.stream().map(NewEmployee::email).toList());
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO employee (organization_uuid, app_user_id, employee_code, first_name, last_name,
+                                      email, phone, national_id, bank_acc_no, designation, department_id,
+                                      basic_salary, salary_type, date_of_joining, is_active, deactivated_at,
+                                      created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, employees, BATCH_SIZE, (ps, e) -> {
+            ps.setString(1, orgUuid);
+            ps.setLong(2, userIds.get(e.email().toLowerCase(Locale.ROOT)));
+            ps.setString(3, e.employeeCode());
+            ps.setString(4, e.firstName());
+            ps.setString(5, e.lastName());
+            ps.setString(6, e.email());
+            ps.setString(7, e.phone());
+            ps.setString(8, e.nationalId());
+            ps.setString(9, e.bankAccNo());
+            ps.setString(10, e.designation());
+            ps.setLong(11, e.departmentId());
+            ps.setBigDecimal(12, e.basicSalary());
+            ps.setString(13, e.salaryType());
+            ps.setDate(14, e.dateOfJoining() != null ? Date.valueOf(e.dateOfJoining()) : null);
+            ps.setBoolean(15, e.active());
+            // Inactive rows get their exit date as Employee.changeActiveStatus would set it
+            ps.setTimestamp(16, e.active() ? null : now);
+            ps.setTimestamp(17, now);
+            ps.setTimestamp(18, now);
+        });
+        Map<String, Long> employeeIds = idsByKey(
+                "SELECT LOWER(email), id FROM employee WHERE organization_uuid = ? AND email IN ",
+                orgUuid, employees.stream().map(NewEmployee::email).toList());
+
+        List<Object[]> links = new ArrayList<>(employees.size());
+        employeeIds.forEach((email, employeeId) -> links.add(new Object[]{employeeId, userIds.get(email)}));
+        jdbcTemplate.batchUpdate("UPDATE app_user SET linked_employee_id = ? WHERE id = ?", links);
+
+        if (!balances.isEmpty()) {
+            List<Object[]> rows = new ArrayList<>(employeeIds.size() * balances.size());
+            for (Long employeeId : employeeIds.values()) {
+                for (OpeningBalance balance : balances) {
+                    rows.add(new Object[]{orgUuid, employeeId, balance.leaveTypeId(), balance.balance(),
+                            accrualPeriod, year, now, now});
+                }
+            }
+            jdbcTemplate.batchUpdate("""
+                    INSERT INTO employee_leave_balance (organization_uuid, employee_id, leave_type_id, balance,
+                                                        last_accrual_period, last_rollover_year, created_at, updated_at)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                    """, rows);
+        }
+        return employeeIds;
+    }
+
+    // Map of the first column to the id in the second, for keys queried in IN-list chunks
+    private Map<String, Long> idsByKey(String sqlPrefix, String orgUuid, List<String> keys) {
+        Map<String, Long> ids = new HashMap<>(keys.size() * 2);
+        for (List<String> chunk : chunks(keys)) {
+            List<Object> args = new ArrayList<>(chunk.size() + 1);
+            args.add(orgUuid);
+            args.addAll(chunk);
+            jdbcTemplate.query(sqlPrefix + "(" + placeholders(chunk.size()) + ")",
+                    rs -> {
+                        ids.put(rs.getString(1), rs.getLong(2));
+                    }, args.toArray());
+        }
+        return ids;
+    }
+
+    private static List<List<String>> chunks(List<String> values) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += IN_LIST_SIZE) {
+            chunks.add(values.subList(i, Math.min(i + IN_LIST_SIZE, values.size())));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
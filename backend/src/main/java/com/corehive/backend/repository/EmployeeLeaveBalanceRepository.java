@@ -1,9 +1,15 @@
 package com.corehive.backend.repository;
 
+import com.corehive.backend.dto.EmployeeLeaveBalanceDTO;
 import com.corehive.backend.model.EmployeeLeaveBalance;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +22,28 @@ public interface EmployeeLeaveBalanceRepository extends JpaRepository<EmployeeLe
     
     Optional<EmployeeLeaveBalance> findByEmployeeIdAndLeaveTypeIdAndOrganizationUuid(
             Long employeeId, Long leaveTypeId, String organizationUuid);
+
+    /**
+     * An employee's balances with their leave type name and code, in one query
+     */
+    @Query("""
+            SELECT new com.corehive.backend.dto.EmployeeLeaveBalanceDTO(b.leaveTypeId, lt.name, lt.code, b.balance)
+            FROM EmployeeLeaveBalance b
+            LEFT JOIN b.leaveType lt
+            WHERE b.employeeId = :employeeId AND b.organizationUuid = :orgUuid
+            ORDER BY b.leaveTypeId
+            """)
+    List<EmployeeLeaveBalanceDTO> findDetailsByEmployeeId(@Param("employeeId") Long employeeId,
+                                                          @Param("orgUuid") String orgUuid);
+
+    List<EmployeeLeaveBalance> findByOrganizationUuidAndEmployeeIdIn(
+            String organizationUuid, Collection<Long> employeeIds);
     
+    // Deduct only while the balance still covers the days - 0 means it no longer does
+    @Modifying
+    @Query("UPDATE EmployeeLeaveBalance b SET b.balance = b.balance - :days, b.updatedAt = :now " +
+           "WHERE b.id = :id AND b.balance >= :days")
+    int deductIfAvailable(@Param("id") Long id, @Param("days") int days, @Param("now") LocalDateTime now);
+
     void deleteByEmployeeIdAndOrganizationUuid(Long employeeId, String organizationUuid);
 }
@@ -0,0 +1,56 @@
+package com.corehive.backend.repository;
+
+import com.corehive.backend.model.EmployeeOffboardingJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmployeeOffboardingJobRepository extends JpaRepository<EmployeeOffboardingJob, Long> {
+
+    List<EmployeeOffboardingJob> findTop50ByOrganizationUuidOrderByCreatedAtDesc(String organizationUuid);
+
+    Optional<EmployeeOffboardingJob> findByIdAndOrganizationUuid(Long id, String organizationUuid);
+
+    /**
+     * Jobs a worker may take: pending and due, or running with an expired lease
+     */
+    @Query("SELECT j FROM EmployeeOffboardingJob j " +
+            "WHERE j.status IN (com.corehive.backend.model.EmployeeOffboardingJob.Status.PENDING, " +
+            "com.corehive.backend.model.EmployeeOffboardingJob.Status.RUNNING) " +
+            "AND j.leaseUntil <= :now ORDER BY j.id")
+    List<EmployeeOffboardingJob> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Lease a job for purging. Returns 0 when another instance got it first.
+     */
+    @Modifying
+    @Query("UPDATE EmployeeOffboardingJob j " +
+            "SET j.status = com.corehive.backend.model.EmployeeOffboardingJob.Status.RUNNING, " +
+            "j.leaseUntil = :leaseUntil, j.attempts = j.attempts + 1 " +
+            "WHERE j.id = :id AND j.status IN (com.corehive.backend.model.EmployeeOffboardingJob.Status.PENDING, " +
+            "com.corehive.backend.model.EmployeeOffboardingJob.Status.RUNNING) AND j.leaseUntil <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE EmployeeOffboardingJob j " +
+            "SET j.status = com.corehive.backend.model.EmployeeOffboardingJob.Status.COMPLETED, " +
+            "j.rowsPurged = :rowsPurged, j.errorMessage = null, j.finishedAt = :now WHERE j.id = :id")
+    int markCompleted(@Param("id") Long id, @Param("rowsPurged") long rowsPurged, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE EmployeeOffboardingJob j SET j.status = :status, j.leaseUntil = :leaseUntil, " +
+            "j.errorMessage = :error, j.finishedAt = :finishedAt WHERE j.id = :id")
+    int markAttemptFailed(@Param("id") Long id,
+                          @Param("status") EmployeeOffboardingJob.Status status,
+                          @Param("leaseUntil") LocalDateTime leaseUntil,
+                          @Param("error") String error,
+                          @Param("finishedAt") LocalDateTime finishedAt);
+}
@@ -0,0 +1,77 @@
+package com.corehive.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Employee Purge Repository
+ * Removes offboarded employees and everything that references them with
+ * set-based DELETE ... LIMIT statements. Each statement runs on its own
+ * (no surrounding transaction), so a large attendance history is removed in
+ * many short lock windows instead of one long one. Every step is idempotent;
+ * an interrupted purge is completed by running it again.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmployeePurgeRepository {
+
+    // Dependent tables keyed by (organization_uuid, employee_id), children first
+    private static final List<String> ORG_EMPLOYEE_TABLES = List.of(
+            "attendance", "kiosk_event_receipt", "leave_request", "payslip",
+            "attendance_configuration", "allowance", "deduction", "employee_leave_balance");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return total rows deleted
+     */
+    public long purge(String orgUuid, List<Long> employeeIds, int chunkSize) {
+        String in = String.join(", ", Collections.nCopies(employeeIds.size(), "?"));
+        long deleted = 0;
+
+        deleted += jdbcTemplate.update("DELETE FROM feedback_survey_answers WHERE response_id IN "
+                + "(SELECT id FROM feedback_survey_responses WHERE employee_id IN (" + in + "))", employeeIds.toArray());
+        deleted += deleteInChunks("DELETE FROM feedback_survey_responses WHERE employee_id IN (" + in + ")",
+                employeeIds, null, chunkSize);
+        deleted += deleteInChunks("DELETE FROM employee_feedback WHERE employee_id IN (" + in + ")",
+                employeeIds, null, chunkSize);
+        for (String table : ORG_EMPLOYEE_TABLES) {
+            deleted += deleteInChunks("DELETE FROM " + table + " WHERE organization_uuid = ? AND employee_id IN (" + in + ")",
+                    employeeIds, orgUuid, chunkSize);
+        }
+
+        // Logins, then the employees themselves
+        deleted += jdbcTemplate.update("DELETE FROM app_user WHERE organization_uuid = ? AND id IN "
+                + "(SELECT app_user_id FROM employee WHERE organization_uuid = ? AND id IN (" + in + "))",
+                args(List.of(orgUuid, orgUuid), employeeIds));
+        deleted += jdbcTemplate.update("DELETE FROM employee WHERE organization_uuid = ? AND id IN (" + in + ")",
+                args(List.of(orgUuid), employeeIds));
+        return deleted;
+    }
+
+    private long deleteInChunks(String sql, List<Long> employeeIds, String orgUuid, int chunkSize) {
+        Object[] params = args(orgUuid != null ? List.of(orgUuid) : List.of(), employeeIds);
+        Object[] withLimit = new Object[params.length + 1];
+        System.arraycopy(params, 0, withLimit, 0, params.length);
+        withLimit[params.length] = chunkSize;
+
+        long total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql + " LIMIT ?", withLimit);
+            total += deleted;
+        } while (deleted == chunkSize);
+        return total;
+    }
+
+    private static Object[] args(List<?> leading, List<Long> employeeIds) {
+        List<Object> args = new ArrayList<>(leading);
+        args.addAll(employeeIds);
+        return args.toArray();
+    }
+}
@@ -5,10 +5,12 @@ import com.corehive.backend.model.Employee;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -108,22 +110,6 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      */
     boolean existsByEmailAndOrganizationUuid(String email, String organizationUuid);
 
-    /**
-     * Find next employee code for organization
-     */
-    @Query(
-            value = """
-                        SELECT COALESCE(
-                            MAX(CAST(SUBSTRING(employee_code, 5) AS UNSIGNED)),
-                            0
-                        ) + 1
-                        FROM employee
-                        WHERE organization_uuid = :organizationUuid
-                          AND employee_code LIKE 'EMP-%'
-                    """,
-            nativeQuery = true
-    )
-    Integer findNextEmployeeNumber(@Param("organizationUuid") String organizationUuid);
 
 
     List<Employee> findAllByorganizationUuidEquals(String orgUuid);
@@ -211,21 +197,81 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
             @Param("year") int year
     );
 
-    //Cont new-hires for specific year
-    @Query("""
-    SELECT MONTH(e.dateOfJoining), COUNT(e.id)
-    FROM Employee e
-    WHERE e.organizationUuid = :orgUuid
-      AND YEAR(e.dateOfJoining) = :year
-    GROUP BY MONTH(e.dateOfJoining)
-""")
-    List<Object[]> yearlyEmployeeGrowth(String orgUuid, int year);
-
-    // Count employees created before a specific date (for cumulative growth chart)
-    long countByOrganizationUuidAndCreatedAtBefore(String organizationUuid, LocalDateTime dateTime);
+    /**
+     * Hires and exits per month (yyyyMM) up to :until, with the running
+     * headcount at each month end. A hire is dated by date_of_joining
+     * (created_at when missing); an exit is an inactive employee dated by
+     * deactivated_at. Rows deactivated before that column existed fall
+     * back to their last update.
+     */
+    @Query(value = """
+        SELECT ym, SUM(hires) AS hires, SUM(exits) AS exits,
+               SUM(SUM(hires) - SUM(exits)) OVER (ORDER BY ym) AS headcount
+        FROM (
+            SELECT EXTRACT(YEAR_MONTH FROM COALESCE(e.date_of_joining, e.created_at)) AS ym, 1 AS hires, 0 AS exits
+            FROM employee e
+            WHERE e.organization_uuid = :orgUuid
+              AND COALESCE(e.date_of_joining, e.created_at) < :until
+            UNION ALL
+            SELECT EXTRACT(YEAR_MONTH FROM COALESCE(e.deactivated_at, e.updated_at)), 0, 1
+            FROM employee e
+            WHERE e.organization_uuid = :orgUuid
+              AND e.is_active = FALSE
+              AND COALESCE(e.deactivated_at, e.updated_at) < :until
+        ) events
+        GROUP BY ym
+        ORDER BY ym
+        """, nativeQuery = true)
+    List<Object[]> monthlyGrowthUntil(@Param("orgUuid") String orgUuid, @Param("until") LocalDate until);
 
     Optional<Object> findByQrToken(String qrToken);
 
+    // QR token index warm-up: [qrToken, id, organizationUuid]
+    @Query("SELECT e.qrToken, e.id, e.organizationUuid FROM Employee e " +
+            "WHERE e.qrToken IS NOT NULL AND e.isActive = true")
+    List<Object[]> findActiveQrTokens();
+
+    // Biometric user index: [employeeCode, id] - inactive employees included for historical punches
+    @Query("SELECT e.employeeCode, e.id FROM Employee e " +
+            "WHERE e.organizationUuid = :orgUuid AND e.employeeCode IS NOT NULL")
+    List<Object[]> findEmployeeCodes(@Param("orgUuid") String orgUuid);
+
+    // Team calendar: [id, firstName, lastName, employeeCode] of active employees, optionally one department
+    @Query("SELECT e.id, e.firstName, e.lastName, e.employeeCode FROM Employee e " +
+            "WHERE e.organizationUuid = :orgUuid AND e.isActive = true " +
+            "AND (:departmentId IS NULL OR e.departmentId = :departmentId) " +
+            "ORDER BY e.firstName, e.lastName")
+    List<Object[]> findCalendarEmployees(@Param("orgUuid") String orgUuid,
+                                         @Param("departmentId") Long departmentId);
+
+    /**
+     * Searchable fields of every employee, for the in-memory directory index:
+     * [id, firstName, lastName, employeeCode, email, designation, departmentId, isActive]
+     */
+    @Query("SELECT e.id, e.firstName, e.lastName, e.employeeCode, e.email, e.designation, " +
+            "e.departmentId, e.isActive FROM Employee e WHERE e.organizationUuid = :orgUuid")
+    List<Object[]> findDirectoryEntries(@Param("orgUuid") String orgUuid);
+
+    /**
+     * [id, appUserId] of the given employees that belong to the organization
+     */
+    @Query("SELECT e.id, e.appUserId FROM Employee e WHERE e.organizationUuid = :orgUuid AND e.id IN :ids")
+    List<Object[]> findOffboardingTargets(@Param("orgUuid") String orgUuid, @Param("ids") List<Long> ids);
+
+    /**
+     * Offboarding soft phase: inactive, and the QR badge stops working.
+     * Employees who were already inactive keep their exit date; MySQL
+     * assigns left to right, so it is set before isActive and updatedAt.
+     */
+    @Modifying
+    @Query("UPDATE Employee e SET " +
+            "e.deactivatedAt = CASE WHEN e.isActive = false THEN COALESCE(e.deactivatedAt, e.updatedAt) ELSE :now END, " +
+            "e.isActive = false, e.qrToken = null, e.updatedAt = :now " +
+            "WHERE e.organizationUuid = :orgUuid AND e.id IN :ids")
+    int deactivateForOffboarding(@Param("orgUuid") String orgUuid,
+                                 @Param("ids") List<Long> ids,
+                                 @Param("now") LocalDateTime now);
+
 
     @Query("""
         SELECT e FROM Employee e
@@ -0,0 +1,28 @@
+package com.corehive.backend.repository;
+
+import com.corehive.backend.model.KioskEventReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface KioskEventReceiptRepository extends JpaRepository<KioskEventReceipt, Long> {
+
+    /**
+     * Keys from the given set that were already applied
+     */
+    @Query("SELECT r.idempotencyKey FROM KioskEventReceipt r " +
+            "WHERE r.organizationUuid = :orgUuid AND r.idempotencyKey IN :keys")
+    List<String> findExistingKeys(@Param("orgUuid") String orgUuid,
+                                  @Param("keys") Collection<String> keys);
+
+    @Modifying
+    @Query("DELETE FROM KioskEventReceipt r WHERE r.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,13 @@
+package com.corehive.backend.repository;
+
+import com.corehive.backend.model.LeaveAccrualRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LeaveAccrualRunRepository extends JpaRepository<LeaveAccrualRun, Long> {
+
+    List<LeaveAccrualRun> findTop50ByOrganizationUuidOrderByStartedAtDesc(String organizationUuid);
+}
@@ -0,0 +1,161 @@
+package com.corehive.backend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Set-based leave balance statements for the accrual engine. Every write is
+ * guarded by the balance's accrual markers, so re-running a period is a no-op
+ * and an interrupted run resumes where it stopped.
+ * Marker format is yyyy-MM; "yyyy-00" marks a balance that has received
+ * nothing in year yyyy yet.
+ */
+@Repository
+@RequiredArgsConstructor
+public class LeaveBalanceBatchRepository {
+
+    // Active employees of the organization who had joined by the end of the period
+    private static final String ELIGIBLE_EMPLOYEES = """
+            SELECT e.id FROM employee e
+            WHERE e.organization_uuid = ? AND e.is_active = TRUE
+              AND (e.date_of_joining IS NULL OR e.date_of_joining <= ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Smallest and largest balance id of the organization; null when it has none
+     */
+    public long[] idRange(String orgUuid) {
+        return jdbcTemplate.query(
+                "SELECT MIN(id), MAX(id) FROM employee_leave_balance WHERE organization_uuid = ?",
+                rs -> rs.next() && rs.getObject(1) != null ? new long[]{rs.getLong(1), rs.getLong(2)} : null,
+                orgUuid);
+    }
+
+    /**
+     * Create a zero balance for every active employee lacking one for the leave
+     * type. New rows start at "yyyy-00" so they receive the year's accrual.
+     *
+     * @return rows created (or that would be, on a dry run)
+     */
+    public int insertMissing(String orgUuid, Long leaveTypeId, int year, boolean dryRun) {
+        String missing = """
+                FROM employee e
+                WHERE e.organization_uuid = ? AND e.is_active = TRUE
+                  AND NOT EXISTS (SELECT 1 FROM employee_leave_balance b
+                                  WHERE b.employee_id = e.id AND b.leave_type_id = ?)
+                """;
+        if (dryRun) {
+            Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) " + missing, Integer.class,
+                    orgUuid, leaveTypeId);
+            return count != null ? count : 0;
+        }
+        return jdbcTemplate.update("""
+                INSERT INTO employee_leave_balance (organization_uuid, employee_id, leave_type_id, balance,
+                                                    last_accrual_period, last_rollover_year, created_at, updated_at)
+                SELECT e.organization_uuid, e.id, ?, 0, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                """ + missing, leaveTypeId, year + "-00", year, orgUuid, leaveTypeId);
+    }
+
+    /**
+     * Balances the engine has never touched were set by HR: take them as
+     * current for the period instead of accruing on top. New balances are
+     * created with their markers set, so this only picks up older rows.
+     */
+    public int markBaseline(String orgUuid, String period, long fromId, long toId) {
+        return jdbcTemplate.update("""
+                UPDATE employee_leave_balance SET last_accrual_period = ?
+                WHERE organization_uuid = ? AND id BETWEEN ? AND ? AND last_accrual_period IS NULL
+                """, period, orgUuid, fromId, toId);
+    }
+
+    /**
+     * Year-end carry-forward: cap balances carried into the year at maxDays,
+     * the excess expires. Balances created during the year are not capped.
+     *
+     * @return {balances capped, days expired}
+     */
+    @Transactional
+    public long[] rollOver(String orgUuid, Long leaveTypeId, int maxDays, int year,
+                           long fromId, long toId, boolean dryRun) {
+        String where = """
+                WHERE organization_uuid = ? AND leave_type_id = ? AND id BETWEEN ? AND ?
+                  AND (last_rollover_year IS NULL OR last_rollover_year < ?)
+                  AND (created_at IS NULL OR created_at < ?)
+                """;
+        Object[] params = {orgUuid, leaveTypeId, fromId, toId, year, Date.valueOf(year + "-01-01")};
+
+        long[] totals = jdbcTemplate.query(
+                "SELECT SUM(CASE WHEN balance > ? THEN 1 ELSE 0 END), SUM(GREATEST(balance - ?, 0)) "
+                        + "FROM employee_leave_balance " + where + (dryRun ? "" : " FOR UPDATE"),
+                rs -> rs.next() ? new long[]{rs.getLong(1), rs.getLong(2)} : new long[2],
+                concat(new Object[]{maxDays, maxDays}, params));
+
+        if (!dryRun) {
+            jdbcTemplate.update("UPDATE employee_leave_balance SET balance = LEAST(balance, ?), "
+                    + "last_rollover_year = ?, updated_at = CURRENT_TIMESTAMP " + where,
+                    concat(new Object[]{maxDays, year}, params));
+        }
+        return totals;
+    }
+
+    /**
+     * Credit the period's accrual to eligible balances whose marker is older.
+     * YEARLY types get daysPerYear once per year; MONTHLY types get their
+     * cumulative share up to the period minus what the marker says was already
+     * credited this year, so skipped months are caught up.
+     *
+     * @return {balances credited, days credited}
+     */
+    @Transactional
+    public long[] accrue(String orgUuid, Long leaveTypeId, boolean monthly, int daysPerYear, int year,
+                         int month, Date periodEnd, long fromId, long toId, boolean dryRun) {
+        String period = String.format("%d-%02d", year, month);
+        String yearStart = year + "-01";
+
+        String amount;
+        Object[] amountParams;
+        if (monthly) {
+            amount = "(? - CASE WHEN last_accrual_period < ? THEN 0 "
+                    + "ELSE FLOOR(? * CAST(SUBSTRING(last_accrual_period, 6, 2) AS UNSIGNED) / 12) END)";
+            amountParams = new Object[]{daysPerYear * month / 12, yearStart, daysPerYear};
+        } else {
+            amount = "(CASE WHEN last_accrual_period < ? THEN ? ELSE 0 END)";
+            amountParams = new Object[]{yearStart, daysPerYear};
+        }
+
+        String where = " WHERE organization_uuid = ? AND leave_type_id = ? AND id BETWEEN ? AND ?"
+                + " AND last_accrual_period < ? AND employee_id IN (" + ELIGIBLE_EMPLOYEES + ")";
+        Object[] params = {orgUuid, leaveTypeId, fromId, toId, period, orgUuid, periodEnd};
+
+        long[] totals = jdbcTemplate.query(
+                "SELECT SUM(CASE WHEN " + amount + " > 0 THEN 1 ELSE 0 END), SUM(" + amount + ") "
+                        + "FROM employee_leave_balance" + where + (dryRun ? "" : " FOR UPDATE"),
+                rs -> rs.next() ? new long[]{rs.getLong(1), rs.getLong(2)} : new long[2],
+                concat(amountParams, amountParams, params));
+
+        if (!dryRun) {
+            // Single-table UPDATE: balance is computed before the marker moves
+            jdbcTemplate.update("UPDATE employee_leave_balance SET balance = balance + " + amount
+                            + ", last_accrual_period = ?, updated_at = CURRENT_TIMESTAMP" + where,
+                    concat(amountParams, new Object[]{period}, params));
+        }
+        return totals;
+    }
+
+    private static Object[] concat(Object[]... parts) {
+        List<Object> all = new ArrayList<>();
+        for (Object[] part : parts) {
+            all.addAll(Arrays.asList(part));
+        }
+        return all.toArray();
+    }
+}
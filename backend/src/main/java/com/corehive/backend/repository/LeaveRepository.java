@@ -12,6 +12,9 @@ public interface LeaveRepository extends JpaRepository <LeaveRequest , Long> {
     // Get leaves by status (PENDING, APPROVED, REJECTED)
     List<LeaveRequest> findByStatus(LeaveRequest.LeaveStatus status);
 
+    // Get all leaves of an organization
+    List<LeaveRequest> findByOrganizationUuid(String organizationUuid);
+
     //Count leave requests per organization
     int countByOrganizationUuid(String organizationUuid);
 }
@@ -1,12 +1,17 @@
 package com.corehive.backend.repository;
 
+import com.corehive.backend.dto.response.LeaveRequestResponseDTO;
 import com.corehive.backend.model.LeaveRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -36,5 +41,67 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest , Lon
     List<Long> findEmployeeIdsWithApprovedLeaveOnDate(@Param("orgUuid") String orgUuid,
                                                        @Param("date") LocalDate date);
 
+    // Leave index - [employeeId, startDate, endDate] of approved leave ending on or after :from
+    @Query("SELECT lr.employee.id, lr.startDate, lr.endDate FROM LeaveRequest lr " +
+           "WHERE lr.organizationUuid = :orgUuid AND lr.status = 'APPROVED' AND lr.endDate >= :from")
+    List<Object[]> findApprovedLeaveRanges(@Param("orgUuid") String orgUuid,
+                                           @Param("from") LocalDate from);
+
+    // Team calendar - [employeeId, startDate, endDate] of approved leave overlapping [from, to]
+    @Query("SELECT lr.employee.id, lr.startDate, lr.endDate FROM LeaveRequest lr " +
+           "WHERE lr.organizationUuid = :orgUuid AND lr.status = 'APPROVED' " +
+           "AND lr.startDate <= :to AND lr.endDate >= :from")
+    List<Object[]> findApprovedLeaveBetween(@Param("orgUuid") String orgUuid,
+                                            @Param("from") LocalDate from,
+                                            @Param("to") LocalDate to);
+
+    /**
+     * Keyset page of leave requests, newest first, as response DTOs.
+     * Null filters are ignored; the range filter matches leave overlapping [from, to].
+     * Pass the last id of the previous page as :beforeId (null for the first page).
+     */
+    @Query("""
+            SELECT new com.corehive.backend.dto.response.LeaveRequestResponseDTO(
+                lr.id, CONCAT(e.firstName, ' ', e.lastName), e.id, lt.name, lt.id,
+                lr.startDate, lr.endDate, lr.totalDays, lr.reason, lr.status,
+                CONCAT(approver.firstName, ' ', approver.lastName), lr.approvedAt, lr.createdAt)
+            FROM LeaveRequest lr
+            JOIN lr.employee e
+            JOIN lr.leaveType lt
+            LEFT JOIN Employee approver ON approver.id = lr.approvedBy
+            WHERE lr.organizationUuid = :orgUuid
+              AND (:beforeId IS NULL OR lr.id < :beforeId)
+              AND (:status IS NULL OR lr.status = :status)
+              AND (:employeeId IS NULL OR e.id = :employeeId)
+              AND (:departmentId IS NULL OR e.departmentId = :departmentId)
+              AND (:leaveTypeId IS NULL OR lt.id = :leaveTypeId)
+              AND (:fromDate IS NULL OR lr.endDate >= :fromDate)
+              AND (:toDate IS NULL OR lr.startDate <= :toDate)
+            ORDER BY lr.id DESC
+            """)
+    List<LeaveRequestResponseDTO> findPage(@Param("orgUuid") String orgUuid,
+                                           @Param("beforeId") Long beforeId,
+                                           @Param("status") LeaveRequest.LeaveStatus status,
+                                           @Param("employeeId") Long employeeId,
+                                           @Param("departmentId") Long departmentId,
+                                           @Param("leaveTypeId") Long leaveTypeId,
+                                           @Param("fromDate") LocalDate fromDate,
+                                           @Param("toDate") LocalDate toDate,
+                                           Pageable pageable);
+
+    // Bulk approval - requests with their employee and leave type in one query
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.employee JOIN FETCH lr.leaveType " +
+           "WHERE lr.id IN :ids")
+    List<LeaveRequest> findAllByIdWithEmployeeAndLeaveType(@Param("ids") Collection<Long> ids);
+
+    // Approve / reject only while still pending - returns how many requests this call decided
+    @Modifying
+    @Query("UPDATE LeaveRequest lr SET lr.status = :status, lr.approvedBy = :approvedBy, lr.approvedAt = :approvedAt " +
+           "WHERE lr.id IN :ids AND lr.status = com.corehive.backend.model.LeaveRequest.LeaveStatus.PENDING")
+    int claimPending(@Param("ids") Collection<Long> ids,
+                     @Param("status") LeaveRequest.LeaveStatus status,
+                     @Param("approvedBy") Long approvedBy,
+                     @Param("approvedAt") LocalDateTime approvedAt);
+
        void deleteByOrganizationUuidAndEmployee_Id(String organizationUuid, Long employeeId);
 }
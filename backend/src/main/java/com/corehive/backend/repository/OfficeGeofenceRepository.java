@@ -0,0 +1,18 @@
+package com.corehive.backend.repository;
+
+import com.corehive.backend.model.OfficeGeofence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OfficeGeofenceRepository extends JpaRepository<OfficeGeofence, Long> {
+
+    List<OfficeGeofence> findByOrganizationUuidAndIsActiveTrue(String organizationUuid);
+
+    List<OfficeGeofence> findByIsActiveTrue();
+
+    Optional<OfficeGeofence> findByIdAndOrganizationUuid(Long id, String organizationUuid);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +25,8 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
      */
     Optional<Organization> findByOrganizationUuid(String organizationUuid);
 
+    List<Organization> findByOrganizationUuidIn(Collection<String> organizationUuids);
+
     /**
      * Organization find by Email address   
      * Registration time duplicate check 
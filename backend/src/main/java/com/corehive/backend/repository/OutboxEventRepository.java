@@ -0,0 +1,51 @@
+package com.corehive.backend.repository;
+
+import com.corehive.backend.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Pending rows whose next attempt is due, oldest first
+     */
+    @Query("SELECT o FROM OutboxEvent o " +
+            "WHERE o.status = com.corehive.backend.model.OutboxEvent.Status.PENDING " +
+            "AND o.nextAttemptAt <= :now ORDER BY o.id")
+    List<OutboxEvent> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Lease a row for delivery. Returns 0 when another instance got it first.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.nextAttemptAt = :leaseUntil " +
+            "WHERE o.id = :id AND o.status = com.corehive.backend.model.OutboxEvent.Status.PENDING " +
+            "AND o.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.status = com.corehive.backend.model.OutboxEvent.Status.DELIVERED, " +
+            "o.deliveredAt = :now, o.attempts = o.attempts + 1, o.lastError = null WHERE o.id = :id")
+    int markDelivered(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.status = :status, o.attempts = o.attempts + 1, " +
+            "o.nextAttemptAt = :nextAttemptAt, o.lastError = :error WHERE o.id = :id")
+    int markAttemptFailed(@Param("id") Long id,
+                          @Param("status") OutboxEvent.Status status,
+                          @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                          @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.status = com.corehive.backend.model.OutboxEvent.Status.DELIVERED " +
+            "AND o.deliveredAt < :before")
+    int deleteDeliveredBefore(@Param("before") LocalDateTime before);
+}
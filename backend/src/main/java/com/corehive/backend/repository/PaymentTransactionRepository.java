@@ -4,8 +4,11 @@ import com.corehive.backend.model.PaymentStatus;
 import com.corehive.backend.model.PaymentTransaction;
 import com.corehive.backend.model.TransactionType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +22,41 @@ public interface PaymentTransactionRepository extends JpaRepository<PaymentTrans
     List<PaymentTransaction> findBySubscriptionIdAndStatus(Long subscriptionId, PaymentStatus status);
 
     boolean existsBySubscriptionIdAndTransactionTypeAndStatus(Long subscriptionId, TransactionType transactionType, PaymentStatus status);
-}
\ No newline at end of file
+
+    // Revenue aggregates over [from, to); all served by idx_payment_status_date
+
+    // [organizationUuid, SUM(amount), COUNT]
+    @Query("""
+        SELECT t.organizationUuid, SUM(t.amount), COUNT(t)
+        FROM PaymentTransaction t
+        WHERE t.status = :status AND t.transactionDate >= :from AND t.transactionDate < :to
+        GROUP BY t.organizationUuid
+    """)
+    List<Object[]> sumByOrganization(@Param("status") PaymentStatus status,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    // [year, month, day, SUM(amount), COUNT] in date order
+    @Query("""
+        SELECT YEAR(t.transactionDate), MONTH(t.transactionDate), DAY(t.transactionDate), SUM(t.amount), COUNT(t)
+        FROM PaymentTransaction t
+        WHERE t.status = :status AND t.transactionDate >= :from AND t.transactionDate < :to
+        GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate), DAY(t.transactionDate)
+        ORDER BY YEAR(t.transactionDate), MONTH(t.transactionDate), DAY(t.transactionDate)
+    """)
+    List<Object[]> sumByDay(@Param("status") PaymentStatus status,
+                            @Param("from") LocalDateTime from,
+                            @Param("to") LocalDateTime to);
+
+    // [year, month, SUM(amount), COUNT] in date order
+    @Query("""
+        SELECT YEAR(t.transactionDate), MONTH(t.transactionDate), SUM(t.amount), COUNT(t)
+        FROM PaymentTransaction t
+        WHERE t.status = :status AND t.transactionDate >= :from AND t.transactionDate < :to
+        GROUP BY YEAR(t.transactionDate), MONTH(t.transactionDate)
+        ORDER BY YEAR(t.transactionDate), MONTH(t.transactionDate)
+    """)
+    List<Object[]> sumByMonth(@Param("status") PaymentStatus status,
+                              @Param("from") LocalDateTime from,
+                              @Param("to") LocalDateTime to);
+}
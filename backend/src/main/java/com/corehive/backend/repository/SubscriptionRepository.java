@@ -6,12 +6,14 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
     Optional<Subscription> findByOrganizationUuid(String organizationUuid);
+    List<Subscription> findByOrganizationUuidIn(Collection<String> organizationUuids);
     Optional<Subscription> findBySubscriptionUuid(String subscriptionUuid);
     List<Subscription> findByStatusInAndNextBillingDateLessThanEqual(List<SubscriptionStatus> statuses, LocalDateTime dateTime);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.corehive.backend.repository;
+
+import com.corehive.backend.model.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    Optional<TokenRevocation> findByScopeAndSubject(TokenRevocation.Scope scope, String subject);
+
+    /**
+     * Entries still covering live tokens (loaded at startup)
+     */
+    List<TokenRevocation> findByExpiresAtEpochGreaterThan(Long nowEpoch);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation t WHERE t.expiresAtEpoch <= :nowEpoch")
+    int deleteExpired(@Param("nowEpoch") Long nowEpoch);
+}
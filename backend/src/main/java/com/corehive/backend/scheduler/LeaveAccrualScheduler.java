@@ -0,0 +1,56 @@
+package com.corehive.backend.scheduler;
+
+import com.corehive.backend.model.LeaveAccrualRun;
+import com.corehive.backend.model.Organization;
+import com.corehive.backend.repository.OrganizationRepository;
+import com.corehive.backend.service.LeaveAccrualService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LeaveAccrualScheduler {
+
+    private final LeaveAccrualService leaveAccrualService;
+    private final OrganizationRepository organizationRepository;
+
+    @Value("${leave.accrual.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Monthly leave accrual for every organization, early on the 1st.
+     * January runs also apply the year-end carry-forward.
+     */
+    @Scheduled(cron = "${leave.accrual.cron:0 30 0 1 * *}")
+    public void accrueMonthly() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth period = YearMonth.now();
+        log.info("Starting leave accrual job for {}", period);
+
+        List<Organization> organizations = organizationRepository.findAll();
+        int failed = 0;
+        for (Organization org : organizations) {
+            try {
+                LeaveAccrualRun run = leaveAccrualService.run(org.getOrganizationUuid(), period, false);
+                if (run.getStatus() != LeaveAccrualRun.Status.COMPLETED) {
+                    failed++;
+                }
+            } catch (Exception e) {
+                failed++;
+                log.error("Error running leave accrual for organization {}: {}", org.getName(), e.getMessage());
+            }
+        }
+
+        log.info("Completed leave accrual job for {}: {} organizations, {} failed (re-run to resume)",
+                period, organizations.size(), failed);
+    }
+}
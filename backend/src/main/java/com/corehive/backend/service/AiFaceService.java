@@ -0,0 +1,78 @@
+package com.corehive.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * AI Face Service client
+ * Calls to the Python face-recognition service. Failures are thrown so the
+ * caller (OutboxDispatcher) can retry.
+ */
+@Service
+@Slf4j
+public class AiFaceService {
+
+    @Value("${ai.service.url:http://localhost:8001}")
+    private String aiServiceUrl;
+
+    private final RestTemplate restTemplate;
+
+    public AiFaceService(@Qualifier("aiServiceRestTemplate") RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    /**
+     * Remove face photo + embedding for an employee. 404 counts as done.
+     */
+    public void deregisterEmployee(String organizationUuid, Long employeeId) {
+        String endpoint = String.format(
+                "%s/api/face/deregister/%s/%s",
+                normalizeAiServiceBaseUrl(aiServiceUrl),
+                organizationUuid,
+                employeeId
+        );
+
+        try {
+            ResponseEntity<String> response = restTemplate.exchange(endpoint, HttpMethod.DELETE, null, String.class);
+            log.info(
+                    "AI face deregistration response for employee {} in org {}: status={}",
+                    employeeId,
+                    organizationUuid,
+                    response.getStatusCode().value()
+            );
+        } catch (HttpStatusCodeException ex) {
+            if (ex.getStatusCode().value() == 404) {
+                log.info(
+                        "No existing face registration found for employee {} in org {}. Skipping AI cleanup.",
+                        employeeId,
+                        organizationUuid
+                );
+                return;
+            }
+            throw ex;
+        }
+    }
+
+    private String normalizeAiServiceBaseUrl(String rawUrl) {
+        if (rawUrl == null || rawUrl.isBlank()) {
+            return "http://localhost:8001";
+        }
+
+        String trimmed = rawUrl.trim();
+        if (!trimmed.startsWith("http://") && !trimmed.startsWith("https://")) {
+            trimmed = "https://" + trimmed;
+        }
+
+        while (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+
+        return trimmed;
+    }
+}
@@ -1,6 +1,7 @@
 package com.corehive.backend.service;
 
 import com.corehive.backend.dto.attendance.*;
+import com.corehive.backend.dto.response.GpsAttendanceResponse;
 import com.corehive.backend.dto.response.QrAttendanceResponse;
 import com.corehive.backend.exception.attendanceException.AttendanceAlreadyCheckedInException;
 import com.corehive.backend.exception.attendanceException.AttendanceNotCheckedInException;
@@ -12,10 +13,12 @@ import com.corehive.backend.model.Attendance.AttendanceStatus;
 import com.corehive.backend.model.Attendance.VerificationType;
 import com.corehive.backend.model.AttendanceConfiguration;
 import com.corehive.backend.model.Employee;
+import com.corehive.backend.model.KioskEventReceipt;
 import com.corehive.backend.model.LeaveRequest;
+import com.corehive.backend.repository.AttendanceBatchRepository;
 import com.corehive.backend.repository.AttendanceRepository;
 import com.corehive.backend.repository.EmployeeRepository;
-import com.corehive.backend.repository.LeaveRequestRepository;
+import com.corehive.backend.repository.KioskEventReceiptRepository;
 import com.corehive.backend.util.JwtUtil;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
@@ -49,9 +52,12 @@ public class AttendanceService {
 
     private final AttendanceRepository attendanceRepository;
     private final EmployeeRepository employeeRepository;
-    private final LeaveRequestRepository leaveRequestRepository;
+    private final LeaveIntervalIndex leaveIntervalIndex;
     private final AttendanceConfigurationService attendanceConfigurationService;
     private final JwtUtil jwtUtil;
+    private final KioskEventReceiptRepository kioskEventReceiptRepository;
+    private final AttendanceBatchRepository attendanceBatchRepository;
+    private final TeamCalendarService teamCalendarService;
 
     private static final LocalTime OFFICE_START_TIME = LocalTime.of(9, 0);
     private static final LocalTime LATE_THRESHOLD = LocalTime.of(9, 30);
@@ -108,8 +114,9 @@ public class AttendanceService {
         row.put("date", attendance.getAttendanceDate());
 
         // Check if employee has approved leave on this date
-        boolean hasApprovedLeave = leaveRequestRepository.hasApprovedLeaveOnDate(
-                emp.getId(), 
+        boolean hasApprovedLeave = leaveIntervalIndex.isOnLeave(
+                attendance.getOrganizationUuid(),
+                emp.getId(),
                 attendance.getAttendanceDate()
         );
 
@@ -163,8 +170,7 @@ public class AttendanceService {
         }
 
         // Add count of employees with approved leaves on this date
-        List<Long> employeeIdsOnLeave = leaveRequestRepository
-                .findEmployeeIdsWithApprovedLeaveOnDate(orgUuid, targetDate);
+        List<Long> employeeIdsOnLeave = leaveIntervalIndex.employeesOnLeave(orgUuid, targetDate);
         
         // Update ON_LEAVE count to include employees with approved leave requests
         summary.put("ON_LEAVE", summary.get("ON_LEAVE") + employeeIdsOnLeave.size());
@@ -215,7 +221,7 @@ public class AttendanceService {
                     .orElse(null);
 
             // Check if employee has approved leave on this date
-            boolean hasApprovedLeave = leaveRequestRepository.hasApprovedLeaveOnDate(emp.getId(), date);
+            boolean hasApprovedLeave = leaveIntervalIndex.isOnLeave(orgUuid, emp.getId(), date);
 
             // 4. Build response DTO with attendance status
             return TodayAttendanceDTO.builder()
@@ -262,17 +268,7 @@ public class AttendanceService {
         // 3. Use the provided target date
         LocalDate date = targetDate;
 
-        // 4. Prevent duplicate check-ins for the same day
-        if (attendanceRepository
-                .findByEmployeeIdAndAttendanceDate(employeeId, date)
-                .isPresent()) {
-
-            throw new AttendanceAlreadyCheckedInException(
-                    "Employee already checked in for this date"
-            );
-        }
-
-        // 5. Get check-in time: manual or current time
+        // 4. Get check-in time: manual or current time
         LocalDateTime checkInDateTime;
         if (manualTime != null && !manualTime.isEmpty()) {
             // Parse manual time (HH:mm format) and combine with the target date
@@ -282,24 +278,30 @@ public class AttendanceService {
             // Use current local time with target date
             checkInDateTime = LocalDateTime.of(date, LocalTime.now());
         }
+        checkInDateTime = checkInDateTime.truncatedTo(ChronoUnit.SECONDS);
         LocalTime checkInTime = checkInDateTime.toLocalTime();
 
 
-        // 6. Determine status based on attendance configuration
+        // 5. Determine status based on attendance configuration
         Attendance.AttendanceStatus status = determineStatusFromConfig(employeeId, orgUuid, checkInTime);
 
-        // 7. Create new attendance record
-        Attendance attendance = Attendance.builder()
+        // 6. Atomic insert-or-merge (no read-then-insert race on the unique key)
+        int applied = upsertAttendanceEvent(Attendance.builder()
                 .organizationUuid(orgUuid)
                 .employeeId(employeeId)
                 .attendanceDate(date)
                 .checkInTime(checkInDateTime)
                 .status(status)
                 .verificationType(Attendance.VerificationType.MANUAL)
-                .build();
+                .build(), false, 0);
 
-        // 8. Save attendance
-        attendanceRepository.save(attendance);
+        // 7. Prevent duplicate check-ins for the same day
+        if (applied == 0) {
+            throw new AttendanceAlreadyCheckedInException(
+                    "Employee already checked in for this date"
+            );
+        }
+        teamCalendarService.evictMonth(orgUuid, date);
     }
 
     // =========================================================
@@ -329,7 +331,7 @@ public class AttendanceService {
                     }
 
                     // Check if employee has approved leave on this date
-                    boolean hasApprovedLeave = leaveRequestRepository.hasApprovedLeaveOnDate(emp.getId(), date);
+                    boolean hasApprovedLeave = leaveIntervalIndex.isOnLeave(orgUuid, emp.getId(), date);
 
                     return TodayAttendanceDTO.builder()
                             .id(att.getId())
@@ -387,6 +389,7 @@ public class AttendanceService {
         calculateAndSetOtHours(attendance, employeeId, orgUuid, checkOutTime);
 
         attendanceRepository.save(attendance);
+        teamCalendarService.evictMonth(orgUuid, date);
 
         Employee emp = attendance.getEmployee();
 
@@ -531,6 +534,7 @@ public class AttendanceService {
 
         // Save attendance
         attendanceRepository.save(attendance);
+        teamCalendarService.evictMonth(orgUuid, date);
 
         // Return DTO
         return TodayAttendanceDTO.builder()
@@ -562,15 +566,27 @@ public class AttendanceService {
         }
 
         LocalDate today = LocalDate.now();
-        LocalDateTime now = LocalDateTime.now();
-
-        // Check if already checked in today
-        Optional<Attendance> existingAttendance = attendanceRepository
-                .findByEmployeeIdAndAttendanceDate(employeeId, today);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        AttendanceStatus status = determineAttendanceStatus(now.toLocalTime());
 
-        if (existingAttendance.isPresent()) {
-            Attendance attendance = existingAttendance.get();
+        // Atomic insert-or-merge; an existing check-in is left untouched
+        Attendance candidate = Attendance.builder()
+                .organizationUuid(organizationUuid)
+                .employeeId(employeeId)
+                .attendanceDate(today)
+                .checkInTime(now)
+                .status(status)
+                .verificationType(VerificationType.FACE_RECOGNITION)
+                .verificationConfidence(request.getVerificationConfidence())
+                .ipAddress(request.getIpAddress())
+                .deviceInfo(request.getDeviceInfo())
+                .notes(request.getNotes())
+                .build();
+        int applied = upsertAttendanceEvent(candidate, false, 0);
+        // The response carries the row id and the stored times
+        Attendance attendance = loadDay(candidate);
 
+        if (applied == 0) {
             // Already has check-in record
             return FaceAttendanceResponse.builder()
                     .success(false)
@@ -586,28 +602,10 @@ public class AttendanceService {
                     .build();
         }
 
-        // Create new check-in record
-        AttendanceStatus status = determineAttendanceStatus(now.toLocalTime());
-
-        Attendance newAttendance = Attendance.builder()
-                .organizationUuid(organizationUuid)
-                .employeeId(employeeId)
-                .attendanceDate(today)
-                .checkInTime(now)
-                .status(status)
-                .verificationType(VerificationType.FACE_RECOGNITION)
-                .verificationConfidence(request.getVerificationConfidence())
-                .ipAddress(request.getIpAddress())
-                .deviceInfo(request.getDeviceInfo())
-                .notes(request.getNotes())
-                .build();
-
-        Attendance savedAttendance = attendanceRepository.save(newAttendance);
-
         log.info("Check-in recorded for employee: {} at {} with status: {}",
                 employee.getFirstName(), now, status);
 
-        return buildResponse(savedAttendance, employee, true);
+        return buildResponse(attendance, employee, true);
     }
 
     /**
@@ -685,43 +683,11 @@ public class AttendanceService {
         }
 
         LocalDate today = LocalDate.now();
-        LocalDateTime now = LocalDateTime.now();
-
-        Optional<Attendance> existingAttendance = attendanceRepository
-                .findByEmployeeIdAndAttendanceDate(employeeId, today);
-
-        if (existingAttendance.isPresent()) {
-            Attendance attendance = existingAttendance.get();
-
-            if (attendance.isCheckedIn() && !attendance.isCheckedOut()) {
-                attendance.setCheckOutTime(now);
-                attendanceRepository.save(attendance);
-
-                log.info("Check-out recorded for employee: {} at {}",
-                        employee.getFirstName(), now);
-
-                return buildResponse(attendance, employee, false);
-            }
-
-            if (attendance.isComplete()) {
-                return FaceAttendanceResponse.builder()
-                        .success(false)
-                        .message("You have already completed attendance for today (Check-in: " +
-                                formatTime(attendance.getCheckInTime()) + ", Check-out: " +
-                                formatTime(attendance.getCheckOutTime()) + ")")
-                        .employeeId(employeeId)
-                        .employeeName(employee.getFirstName() + " " + employee.getLastName())
-                        .attendanceDate(today)
-                        .checkInTime(attendance.getCheckInTime())
-                        .checkOutTime(attendance.getCheckOutTime())
-                        .status(attendance.getStatus().name())
-                        .build();
-            }
-        }
-
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
         AttendanceStatus status = determineAttendanceStatus(now.toLocalTime());
 
-        Attendance newAttendance = Attendance.builder()
+        // Atomic toggle: first scan checks in, next scan checks out, then no-op
+        Attendance candidate = Attendance.builder()
                 .organizationUuid(organizationUuid)
                 .employeeId(employeeId)
                 .attendanceDate(today)
@@ -733,13 +699,36 @@ public class AttendanceService {
                 .deviceInfo(request.getDeviceInfo())
                 .notes(request.getNotes())
                 .build();
+        upsertAttendanceEvent(candidate, true, 0);
+        // The response carries the row id and the stored times
+        Attendance attendance = loadDay(candidate);
 
-        Attendance savedAttendance = attendanceRepository.save(newAttendance);
+        if (now.equals(attendance.getCheckOutTime())) {
+            log.info("Check-out recorded for employee: {} at {}",
+                    employee.getFirstName(), now);
+
+            return buildResponse(attendance, employee, false);
+        }
+
+        if (!now.equals(attendance.getCheckInTime())) {
+            return FaceAttendanceResponse.builder()
+                    .success(false)
+                    .message("You have already completed attendance for today (Check-in: " +
+                            formatTime(attendance.getCheckInTime()) + ", Check-out: " +
+                            formatTime(attendance.getCheckOutTime()) + ")")
+                    .employeeId(employeeId)
+                    .employeeName(employee.getFirstName() + " " + employee.getLastName())
+                    .attendanceDate(today)
+                    .checkInTime(attendance.getCheckInTime())
+                    .checkOutTime(attendance.getCheckOutTime())
+                    .status(attendance.getStatus().name())
+                    .build();
+        }
 
         log.info("Check-in recorded for employee: {} at {} with status: {}",
                 employee.getFirstName(), now, status);
 
-        return buildResponse(savedAttendance, employee, true);
+        return buildResponse(attendance, employee, true);
     }
 
     public FaceAttendanceResponse getTodayAttendance(Long employeeId, String organizationUuid) {
@@ -1052,7 +1041,7 @@ public class AttendanceService {
                 if (existingAttendance.isEmpty() || existingAttendance.get().getCheckInTime() == null) {
                     
                     // Check if employee has approved leave on this date
-                    boolean hasApprovedLeave = leaveRequestRepository.hasApprovedLeaveOnDate(employee.getId(), date);
+                    boolean hasApprovedLeave = leaveIntervalIndex.isOnLeave(orgUuid, employee.getId(), date);
                     
                     // Skip if employee is on leave
                     if (hasApprovedLeave) {
@@ -1098,6 +1087,9 @@ public class AttendanceService {
             }
         }
 
+        if (markedCount > 0) {
+            teamCalendarService.evictMonth(orgUuid, date);
+        }
         log.info("Completed marking absent employees. Total marked: {}", markedCount);
         return markedCount;
     }
@@ -1126,67 +1118,77 @@ public class AttendanceService {
         String orgUuid = employee.getOrganizationUuid();
         LocalDate today = LocalDate.now();
 
-        // 2️⃣ Check existing attendance for today
-        Attendance attendance = attendanceRepository
-                .findByEmployeeIdAndOrganizationUuidAndAttendanceDate(
-                        employeeId, orgUuid, today
-                )
-                .orElse(null);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
 
-        String action;
-
-        // ================= FIRST SCAN → CHECK-IN =================
-        if (attendance == null) {
-
-            attendance = Attendance.builder()
-                    .employeeId(employeeId)
-                    .organizationUuid(orgUuid)
-                    .attendanceDate(today)
-                    .checkInTime(LocalDateTime.now())
-                    .status(Attendance.AttendanceStatus.PRESENT)   // ✅ REQUIRED
-                    .verificationType(Attendance.VerificationType.QR_CODE)
-                    .ipAddress(ip)
-                    .deviceInfo(deviceInfo)
-                    .build();
-
-            attendanceRepository.save(attendance);
-            action = "CHECK_IN";
-        }
-
-        // ================= SECOND SCAN → CHECK-OUT =================
-        else if (attendance.getCheckOutTime() == null) {
+        // 2️⃣ Atomic merge: first scan → check-in, second → check-out, third → no-op
+        Attendance candidate = Attendance.builder()
+                .employeeId(employeeId)
+                .organizationUuid(orgUuid)
+                .attendanceDate(today)
+                .checkInTime(now)
+                .status(Attendance.AttendanceStatus.PRESENT)   // ✅ REQUIRED
+                .verificationType(Attendance.VerificationType.QR_CODE)
+                .ipAddress(ip)
+                .deviceInfo(deviceInfo)
+                .build();
+        int applied = upsertAttendanceEvent(candidate, true, MIN_CHECKOUT_DELAY_MINUTES);
 
-            LocalDateTime checkInTime = attendance.getCheckInTime();
-            LocalDateTime now = LocalDateTime.now();
+        String action = resolveToggleAction(applied == 1 ? candidate : loadDay(candidate), now);
 
-            long minutesBetween = ChronoUnit.MINUTES.between(checkInTime, now);
+        // 3️⃣ Response
+        return QrAttendanceResponse.builder()
+                .employeeId(employeeId)
+                .attendanceDate(today)
+                .action(action)
+                .message(
+                        switch (action) {
+                            case "CHECK_IN" -> "Check-in successful";
+                            case "CHECK_OUT" -> "Check-out successful";
+                            default -> "Attendance already completed for today";
+                        }
+                )
+                .build();
+    }
 
-            if (minutesBetween < MIN_CHECKOUT_DELAY_MINUTES) {
-                throw new BadRequestException(
-                        "Checkout allowed only after "
-                                + MIN_CHECKOUT_DELAY_MINUTES
-                                + " minutes from check-in"
-                );
-            }
+    /**
+     * Mark attendance from a GPS fix already validated against a geofence.
+     * Same toggle as QR: first call check-in, next check-out after the
+     * minimum delay, then no-op.
+     */
+    @Transactional
+    public GpsAttendanceResponse markAttendanceViaGps(
+            Long employeeId,
+            String orgUuid,
+            String accuracy,
+            String ip,
+            String deviceInfo
+    ) throws BadRequestException {
 
-            attendance.setCheckOutTime(now);
-            attendance.setVerificationType(Attendance.VerificationType.QR_CODE);
-            attendance.setIpAddress(ip);
-            attendance.setDeviceInfo(deviceInfo);
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
 
-            attendanceRepository.save(attendance);
-            action = "CHECK_OUT";
-        }
+        Attendance candidate = Attendance.builder()
+                .employeeId(employeeId)
+                .organizationUuid(orgUuid)
+                .attendanceDate(today)
+                .checkInTime(now)
+                .status(determineAttendanceStatus(now.toLocalTime()))
+                .verificationType(VerificationType.GPS)
+                .verificationConfidence(accuracy)
+                .ipAddress(ip)
+                .deviceInfo(deviceInfo)
+                .build();
+        int applied = upsertAttendanceEvent(candidate, true, MIN_CHECKOUT_DELAY_MINUTES);
 
-        // ================= THIRD SCAN → SAFE NO-OP =================
-        else {
-            action = "ALREADY_COMPLETED";
-        }
+        // A fresh insert is exactly the candidate; only merges are read back
+        Attendance attendance = applied == 1 ? candidate : loadDay(candidate);
+        String action = resolveToggleAction(attendance, now);
 
-        // 3️⃣ Response
-        return QrAttendanceResponse.builder()
+        return GpsAttendanceResponse.builder()
                 .employeeId(employeeId)
                 .attendanceDate(today)
+                .checkInTime(attendance.getCheckInTime())
+                .checkOutTime(attendance.getCheckOutTime())
                 .action(action)
                 .message(
                         switch (action) {
@@ -1198,6 +1200,251 @@ public class AttendanceService {
                 .build();
     }
 
+    // CHECK_IN / CHECK_OUT / ALREADY_COMPLETED for a toggle-mode upsert of eventTime
+    private String resolveToggleAction(Attendance merged, LocalDateTime eventTime) throws BadRequestException {
+        if (eventTime.equals(merged.getCheckInTime())) {
+            return "CHECK_IN";
+        }
+        if (eventTime.equals(merged.getCheckOutTime())) {
+            return "CHECK_OUT";
+        }
+        if (merged.getCheckOutTime() == null) {
+            throw new BadRequestException(
+                    "Checkout allowed only after "
+                            + MIN_CHECKOUT_DELAY_MINUTES
+                            + " minutes from check-in"
+            );
+        }
+        return "ALREADY_COMPLETED";
+    }
+
+    /**
+     * Persist a batch of kiosk scans for one organization and day.
+     * Same semantics as markAttendanceViaQr (first scan check-in, next scan
+     * check-out after the minimum delay, then no-op) applied in event-time
+     * order. One lookup for the whole batch predicts the outcome per scan;
+     * each scan is written with the same atomic upsert as the live paths, so
+     * a concurrent live scan can never produce a duplicate row.
+     * Scans carrying an idempotency key get a receipt in the same transaction.
+     *
+     * @return outcome per scan (CHECK_IN / CHECK_OUT / IGNORED), in input order
+     */
+    @Transactional
+    public List<String> recordKioskScans(String orgUuid, LocalDate date, List<KioskScan> scans) {
+        List<Long> employeeIds = scans.stream()
+                .map(KioskScan::getEmployeeId)
+                .distinct()
+                .collect(Collectors.toList());
+
+        // Plain snapshot - managed entities must stay clean, the native upsert flushes them
+        Map<Long, DayState> states = attendanceRepository
+                .findByOrgDateAndEmployeeIds(orgUuid, date, employeeIds)
+                .stream()
+                .collect(Collectors.toMap(Attendance::getEmployeeId,
+                        a -> new DayState(a.getCheckInTime(), a.getCheckOutTime(),
+                                a.getStatus() == AttendanceStatus.ON_LEAVE), (a, b) -> a));
+
+        List<KioskEventReceipt> receipts = new ArrayList<>();
+        List<String> outcomes = new ArrayList<>(scans.size());
+        int written = 0;
+
+        for (KioskScan scan : scans) {
+            LocalDateTime scannedAt = scan.getScannedAt().truncatedTo(ChronoUnit.SECONDS);
+            String outcome = predictKioskOutcome(states, scan.getEmployeeId(), scannedAt, scan.isSelfReported());
+            outcomes.add(outcome);
+
+            if (!"IGNORED".equals(outcome)) {
+                upsertAttendanceEvent(Attendance.builder()
+                        .employeeId(scan.getEmployeeId())
+                        .organizationUuid(orgUuid)
+                        .attendanceDate(date)
+                        .checkInTime(scannedAt)
+                        .status(scan.getVerificationType() == VerificationType.QR_CODE
+                                ? AttendanceStatus.PRESENT
+                                : determineAttendanceStatus(scannedAt.toLocalTime()))
+                        .verificationType(scan.getVerificationType())
+                        .verificationConfidence(scan.getVerificationConfidence())
+                        .ipAddress(scan.getIpAddress())
+                        .deviceInfo(scan.getDeviceInfo())
+                        .build(), true, !scan.isSelfReported(), MIN_CHECKOUT_DELAY_MINUTES);
+                written++;
+            }
+
+            if (scan.getIdempotencyKey() != null) {
+                receipts.add(KioskEventReceipt.builder()
+                        .organizationUuid(orgUuid)
+                        .idempotencyKey(scan.getIdempotencyKey())
+                        .employeeId(scan.getEmployeeId())
+                        .scannedAt(scan.getScannedAt())
+                        .outcome(outcome)
+                        .build());
+            }
+        }
+
+        if (!receipts.isEmpty()) {
+            kioskEventReceiptRepository.saveAll(receipts);
+        }
+        if (written > 0) {
+            teamCalendarService.evictMonth(orgUuid, date);
+        }
+        log.debug("Persisted {} kiosk attendance changes for org {} on {}", written, orgUuid, date);
+        return outcomes;
+    }
+
+    /**
+     * Merge imported first-in / last-out punch pairs for one day.
+     * Existing rows keep the earliest check-in and the latest check-out; a
+     * check-out closer than the minimum delay to the check-in is dropped
+     * (double taps on the terminal). Written with multi-row upserts.
+     *
+     * @return number of employee-days written
+     */
+    @Transactional
+    public int importPunchPairs(String orgUuid, LocalDate date, List<PunchPair> pairs,
+                                VerificationType verificationType, String deviceInfo) {
+        Map<Long, Attendance> existing = attendanceRepository
+                .findByOrgDateAndEmployeeIds(orgUuid, date,
+                        pairs.stream().map(PunchPair::getEmployeeId).distinct().collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Attendance::getEmployeeId, a -> a, (a, b) -> a));
+
+        List<Attendance> rows = new ArrayList<>(pairs.size());
+        for (PunchPair pair : pairs) {
+            Attendance current = existing.get(pair.getEmployeeId());
+            if (current != null && current.getStatus() == AttendanceStatus.ON_LEAVE) {
+                // Leave days keep their status, same as the live upsert
+                continue;
+            }
+
+            LocalDateTime checkIn = pair.getCheckIn().truncatedTo(ChronoUnit.SECONDS);
+            LocalDateTime checkOut = pair.getCheckOut() != null ? pair.getCheckOut().truncatedTo(ChronoUnit.SECONDS) : null;
+            if (current != null && current.getCheckInTime() != null && current.getCheckInTime().isBefore(checkIn)) {
+                checkIn = current.getCheckInTime();
+            }
+            if (current != null && current.getCheckOutTime() != null
+                    && (checkOut == null || current.getCheckOutTime().isAfter(checkOut))) {
+                checkOut = current.getCheckOutTime();
+            }
+            if (checkOut != null && ChronoUnit.MINUTES.between(checkIn, checkOut) < MIN_CHECKOUT_DELAY_MINUTES) {
+                checkOut = null;
+            }
+
+            rows.add(Attendance.builder()
+                    .organizationUuid(orgUuid)
+                    .employeeId(pair.getEmployeeId())
+                    .attendanceDate(date)
+                    .checkInTime(checkIn)
+                    .checkOutTime(checkOut)
+                    .status(determineAttendanceStatus(checkIn.toLocalTime()))
+                    .verificationType(verificationType)
+                    .deviceInfo(deviceInfo)
+                    .build());
+        }
+
+        if (!rows.isEmpty()) {
+            attendanceBatchRepository.upsertCheckTimes(rows);
+            teamCalendarService.evictMonth(orgUuid, date);
+        }
+        return rows.size();
+    }
+
+    // Check-in / check-out times of one employee-day while replaying a kiosk batch
+    private static class DayState {
+        private LocalDateTime checkIn;
+        private LocalDateTime checkOut;
+        private final boolean onLeave;
+
+        private DayState(LocalDateTime checkIn, LocalDateTime checkOut, boolean onLeave) {
+            this.checkIn = checkIn;
+            this.checkOut = checkOut;
+            this.onLeave = onLeave;
+        }
+    }
+
+    // Mirrors the merge rules of AttendanceRepository.upsertAttendanceEvent (toggle mode)
+    private String predictKioskOutcome(Map<Long, DayState> states, Long employeeId, LocalDateTime scannedAt,
+                                       boolean selfReported) {
+        DayState state = states.get(employeeId);
+
+        if (state == null) {
+            states.put(employeeId, new DayState(scannedAt, null, false));
+            return "CHECK_IN";
+        }
+
+        if (state.onLeave) {
+            return "IGNORED";
+        }
+
+        // No check-in yet (e.g. pre-marked row), or an offline event older than
+        // the recorded check-in (gate was offline while a later live scan got
+        // through) - it is the real check-in
+        if (state.checkIn == null || (!selfReported && scannedAt.isBefore(state.checkIn))) {
+            state.checkIn = scannedAt;
+            return "CHECK_IN";
+        }
+
+        // An employee's own upload never moves a recorded check-in earlier
+        if (scannedAt.isBefore(state.checkIn)) {
+            return "IGNORED";
+        }
+
+        if (state.checkOut == null) {
+            long minutesBetween = ChronoUnit.MINUTES.between(state.checkIn, scannedAt);
+            if (minutesBetween < MIN_CHECKOUT_DELAY_MINUTES) {
+                log.debug("Ignoring kiosk checkout for employee {} - only {} minutes after check-in",
+                        employeeId, minutesBetween);
+                return "IGNORED";
+            }
+            state.checkOut = scannedAt;
+            return "CHECK_OUT";
+        }
+
+        // Already completed -> safe no-op
+        return "IGNORED";
+    }
+
+    /**
+     * Atomic check-in / check-out merge on the (employee, date, organization)
+     * unique key, see AttendanceRepository.upsertAttendanceEvent. The candidate's
+     * checkInTime is the event time and must be truncated to seconds so callers
+     * can tell from the merged row whether their event was applied.
+     *
+     * @return 0 when nothing changed, 1 when the row was inserted, 2 when the event was merged
+     */
+    private int upsertAttendanceEvent(Attendance candidate, boolean toggle, long minCheckoutMinutes) {
+        return upsertAttendanceEvent(candidate, toggle, toggle, minCheckoutMinutes);
+    }
+
+    // earlierCheckIn: an event older than the recorded check-in replaces it
+    private int upsertAttendanceEvent(Attendance candidate, boolean toggle, boolean earlierCheckIn,
+                                      long minCheckoutMinutes) {
+        return attendanceRepository.upsertAttendanceEvent(
+                candidate.getOrganizationUuid(),
+                candidate.getEmployeeId(),
+                candidate.getAttendanceDate(),
+                candidate.getCheckInTime(),
+                candidate.getStatus().name(),
+                candidate.getVerificationType() != null ? candidate.getVerificationType().name() : null,
+                candidate.getVerificationConfidence(),
+                candidate.getIpAddress(),
+                candidate.getDeviceInfo(),
+                candidate.getNotes(),
+                toggle,
+                earlierCheckIn,
+                minCheckoutMinutes);
+    }
+
+    /**
+     * Stored row of the candidate's day, for responses that report it
+     */
+    private Attendance loadDay(Attendance candidate) {
+        return attendanceRepository
+                .findByEmployeeIdAndOrganizationUuidAndAttendanceDate(
+                        candidate.getEmployeeId(), candidate.getOrganizationUuid(), candidate.getAttendanceDate())
+                .orElseThrow(() -> new IllegalStateException(
+                        "Attendance row missing after upsert for employee " + candidate.getEmployeeId()));
+    }
+
     //=========Get Attendance summary report for date range===========//
     @Transactional(readOnly = true)
     public List<AttendanceSummaryReportDTO> generateAttendanceSummaryReport(
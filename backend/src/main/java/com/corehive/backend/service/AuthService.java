@@ -10,6 +10,7 @@ import com.corehive.backend.model.*;
 import com.corehive.backend.repository.*;
 import com.corehive.backend.util.JwtUtil;
 import com.fasterxml.jackson.core.type.TypeReference;
+import io.jsonwebtoken.Claims;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -43,6 +44,8 @@ public class AuthService {
     private final BillingPlanRepository billingPlanRepository;
     private final ObjectMapper objectMapper;
     private final SubscriptionRepository subscriptionRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
 
     /**
      * Organization Registration (Company Signup)
@@ -259,6 +262,9 @@ public class AuthService {
 
                 LoginResponse response = LoginResponse.builder()
                         .token(token)
+                        .refreshToken(refreshTokenService.issue("SYSTEM", systemUser.getId(), null))
+                        .expiresIn(jwtUtil.getExpirationSeconds())
+                        .userId(systemUser.getId())
                         .email(email)
                         .role("SYS_ADMIN")
                         .userType("SYSTEM")
@@ -332,6 +338,8 @@ public class AuthService {
                 // Build response
                 LoginResponse response = LoginResponse.builder()
                         .token(token)
+                        .refreshToken(refreshTokenService.issue("ORG_USER", appUser.getId(), appUser.getOrganizationUuid()))
+                        .expiresIn(jwtUtil.getExpirationSeconds())
                         .userId(appUser.getId()) // ⭐ ADDED MISSING userId
                         .email(email)
                         .role(appUser.getRole().name())
@@ -400,6 +408,9 @@ public class AuthService {
             
             appUserRepository.save(user);
 
+            // Kill sessions opened with the old password
+            tokenRevocationService.revokeUserTokens("ORG_USER", user.getId());
+
             // 4. Send Email
             emailService.sendForgotPasswordEmail(email, tempPassword);
 
@@ -559,7 +570,7 @@ public class AuthService {
     }
 
     @Transactional
-    public ApiResponse<String> changePassword(Long userId, String newPassword) {
+    public ApiResponse<LoginResponse> changePassword(Long userId, String newPassword) {
         try {
             log.info("Changing password for userId: {}", userId);
             
@@ -582,8 +593,11 @@ public class AuthService {
 
             appUserRepository.save(user);
 
+            // Revoke old tokens, hand back a fresh pair so this session continues
+            tokenRevocationService.revokeUserTokens("ORG_USER", user.getId());
+
             log.info("Password changed successfully for user: {}", user.getEmail());
-            return ApiResponse.success(null, "Password changed successfully");
+            return ApiResponse.success(buildOrgUserTokens(user), "Password changed successfully");
         } catch (Exception e) {
             log.error("Error changing password", e);
             return ApiResponse.error("Failed to change password");
@@ -594,7 +608,7 @@ public class AuthService {
      * Change password by email (fallback when userId is not available)
      */
     @Transactional
-    public ApiResponse<String> changePasswordByEmail(String email, String newPassword) {
+    public ApiResponse<LoginResponse> changePasswordByEmail(String email, String newPassword) {
         try {
             String normalizedEmail = normalizeEmail(email);
             log.info("Changing password by email: {}", normalizedEmail);
@@ -613,14 +627,88 @@ public class AuthService {
 
             appUserRepository.save(user);
 
+            tokenRevocationService.revokeUserTokens("ORG_USER", user.getId());
+
             log.info("Password changed successfully for user: {}", user.getEmail());
-            return ApiResponse.success(null, "Password changed successfully");
+            return ApiResponse.success(buildOrgUserTokens(user), "Password changed successfully");
         } catch (Exception e) {
             log.error("Error changing password by email", e);
             return ApiResponse.error("Failed to change password: " + e.getMessage());
         }
     }
 
+    /**
+     * Refresh - exchange a refresh token for a new access/refresh pair (rotation)
+     */
+    @Transactional
+    public ApiResponse<LoginResponse> refresh(String rawRefreshToken) {
+        try {
+            Optional<RefreshToken> consumedOpt = refreshTokenService.consume(rawRefreshToken);
+            if (consumedOpt.isEmpty()) {
+                return ApiResponse.error("Invalid or expired refresh token");
+            }
+
+            RefreshToken consumed = consumedOpt.get();
+            Map<String, Object> userDetails = new HashMap<>();
+            userDetails.put("userId", consumed.getUserId());
+
+            // Re-read the user so role changes / deactivation apply at refresh time
+            if ("SYSTEM".equals(consumed.getUserType())) {
+                Optional<SystemUser> userOpt = systemUserRepository.findById(consumed.getUserId());
+                if (userOpt.isEmpty() || !Boolean.TRUE.equals(userOpt.get().getIsActive())) {
+                    return ApiResponse.error("Account is deactivated");
+                }
+                userDetails.put("email", normalizeEmail(userOpt.get().getEmail()));
+                userDetails.put("role", "SYS_ADMIN");
+            } else {
+                Optional<AppUser> userOpt = appUserRepository.findById(consumed.getUserId());
+                if (userOpt.isEmpty() || !Boolean.TRUE.equals(userOpt.get().getIsActive())) {
+                    return ApiResponse.error("Your account is inactive. Please contact support.");
+                }
+                AppUser appUser = userOpt.get();
+                userDetails.put("email", normalizeEmail(appUser.getEmail()));
+                userDetails.put("role", appUser.getRole().name());
+                userDetails.put("organizationUuid", appUser.getOrganizationUuid());
+            }
+
+            String token = jwtUtil.generateToken(userDetails, consumed.getUserType());
+            String refreshToken = refreshTokenService.issue(consumed.getUserType(), consumed.getUserId(),
+                    consumed.getOrganizationUuid(), consumed.getFamilyId());
+
+            LoginResponse response = LoginResponse.builder()
+                    .token(token)
+                    .refreshToken(refreshToken)
+                    .expiresIn(jwtUtil.getExpirationSeconds())
+                    .userId(consumed.getUserId())
+                    .email((String) userDetails.get("email"))
+                    .role((String) userDetails.get("role"))
+                    .userType(consumed.getUserType())
+                    .organizationUuid(consumed.getOrganizationUuid())
+                    .build();
+
+            return ApiResponse.success(response, "Token refreshed");
+        } catch (Exception e) {
+            log.error("Error refreshing token", e);
+            return ApiResponse.error("Failed to refresh token");
+        }
+    }
+
+    /**
+     * Logout - revoke the presented access token and refresh token server-side
+     */
+    public ApiResponse<String> logout(String token, String refreshToken) {
+        try {
+            if (token != null) {
+                Claims claims = jwtUtil.extractAllClaims(token);
+                tokenRevocationService.revokeToken(claims.getId(), claims.getExpiration());
+            }
+            refreshTokenService.revoke(refreshToken);
+        } catch (Exception e) {
+            log.error("Error revoking tokens on logout", e);
+        }
+        return ApiResponse.success(null, "Logout successful. Please clear your token.");
+    }
+
     /**
      * Extract organization UUID from HttpServletRequest attributes
      * @param request HttpServletRequest with organizationUuid attribute set by JWT filter
@@ -814,6 +902,29 @@ public class AuthService {
         return ApiResponse.success(response, "User details retrieved");
     }
 
+    /**
+     * Helper method - Issue a fresh access/refresh pair for an org user
+     */
+    private LoginResponse buildOrgUserTokens(AppUser appUser) {
+        Map<String, Object> userDetails = new HashMap<>();
+        userDetails.put("userId", appUser.getId());
+        userDetails.put("email", normalizeEmail(appUser.getEmail()));
+        userDetails.put("role", appUser.getRole().name());
+        userDetails.put("organizationUuid", appUser.getOrganizationUuid());
+
+        return LoginResponse.builder()
+                .token(jwtUtil.generateToken(userDetails, "ORG_USER"))
+                .refreshToken(refreshTokenService.issue("ORG_USER", appUser.getId(), appUser.getOrganizationUuid()))
+                .expiresIn(jwtUtil.getExpirationSeconds())
+                .userId(appUser.getId())
+                .email(appUser.getEmail())
+                .role(appUser.getRole().name())
+                .userType("ORG_USER")
+                .organizationUuid(appUser.getOrganizationUuid())
+                .passwordChangeRequired(false)
+                .build();
+    }
+
     private String normalizeEmail(String email) {
         return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
     }
@@ -0,0 +1,149 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.attendance.PunchPair;
+import com.corehive.backend.dto.response.BiometricImportResponse;
+import com.corehive.backend.model.Attendance;
+import com.corehive.backend.util.PunchLogReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Biometric Import Service
+ * Imports fingerprint terminal punch logs of any size:
+ *  1. PunchLogReader streams the file line by line
+ *  2. terminal user IDs resolve through the cached BiometricUserIndex
+ *  3. punches fold into one first-in / last-out pair per employee-day
+ *  4. pairs are merged into attendance with multi-row upserts whenever
+ *     attendance.biometric.flush-size employee-days are pending
+ * Memory is bounded by the flush size, not by the file. Flushed pairs
+ * merge with earlier ones in the DB, so unsorted logs import correctly.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BiometricImportService {
+
+    private static final int MAX_REJECT_SAMPLES = 100;
+
+    private final BiometricUserIndex biometricUserIndex;
+    private final AttendanceService attendanceService;
+
+    @Value("${attendance.biometric.flush-size:20000}")
+    private int flushSize;
+
+    // Punch times of one employee-day
+    private static class PunchDay {
+        private LocalDateTime firstIn;
+        private LocalDateTime lastOut;
+        private LocalDateTime first;
+        private LocalDateTime last;
+        private boolean directional;
+
+        private void add(PunchLogReader.Punch punch) {
+            LocalDateTime time = punch.getTime();
+            if (first == null || time.isBefore(first)) {
+                first = time;
+            }
+            if (last == null || time.isAfter(last)) {
+                last = time;
+            }
+            if (punch.getDirection() == PunchLogReader.Direction.IN) {
+                directional = true;
+                if (firstIn == null || time.isBefore(firstIn)) {
+                    firstIn = time;
+                }
+            } else if (punch.getDirection() == PunchLogReader.Direction.OUT) {
+                directional = true;
+                if (lastOut == null || time.isAfter(lastOut)) {
+                    lastOut = time;
+                }
+            }
+        }
+
+        // With IN/OUT codes only an OUT punch closes the day; without, the last punch does
+        private PunchPair toPair(Long employeeId) {
+            return new PunchPair(employeeId,
+                    firstIn != null ? firstIn : first,
+                    lastOut != null ? lastOut : directional ? null : last);
+        }
+    }
+
+    public BiometricImportResponse importPunchLog(String orgUuid, InputStream in, String deviceInfo) throws IOException {
+        long startNanos = System.nanoTime();
+        BiometricImportResponse response = BiometricImportResponse.builder().build();
+
+        Map<LocalDate, Map<Long, PunchDay>> pending = new TreeMap<>();
+        int[] pendingDays = {0};
+
+        long lines = PunchLogReader.read(in, new PunchLogReader.Handler() {
+            @Override
+            public void onPunch(PunchLogReader.Punch punch) {
+                Long employeeId = biometricUserIndex.resolve(orgUuid, punch.getUserId());
+                if (employeeId == null) {
+                    response.setUnknownUserPunches(response.getUnknownUserPunches() + 1);
+                    onReject(punch.getLineNumber(), "Unknown user id " + punch.getUserId());
+                    return;
+                }
+
+                Map<Long, PunchDay> day = pending.computeIfAbsent(punch.getTime().toLocalDate(), d -> new HashMap<>());
+                PunchDay punchDay = day.get(employeeId);
+                if (punchDay == null) {
+                    punchDay = new PunchDay();
+                    day.put(employeeId, punchDay);
+                    pendingDays[0]++;
+                }
+                punchDay.add(punch);
+                response.setPunchesAccepted(response.getPunchesAccepted() + 1);
+
+                if (pendingDays[0] >= flushSize) {
+                    flush(orgUuid, pending, deviceInfo, response);
+                    pendingDays[0] = 0;
+                }
+            }
+
+            @Override
+            public void onReject(long lineNumber, String reason) {
+                response.setRejectedLines(response.getRejectedLines() + 1);
+                if (response.getRejectSamples().size() < MAX_REJECT_SAMPLES) {
+                    response.getRejectSamples().add(new BiometricImportResponse.RejectedLine(lineNumber, reason));
+                }
+            }
+        });
+        flush(orgUuid, pending, deviceInfo, response);
+
+        long durationMs = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        response.setLinesRead(lines);
+        response.setDurationMs(durationMs);
+        response.setLinesPerSecond(lines * 1000 / durationMs);
+
+        log.info("Biometric import for org {}: lines={}, punches={}, days={}, rejected={} ({} unknown users), {} ms ({} lines/s)",
+                orgUuid, lines, response.getPunchesAccepted(), response.getAttendanceDaysWritten(),
+                response.getRejectedLines(), response.getUnknownUserPunches(), durationMs, response.getLinesPerSecond());
+        return response;
+    }
+
+    private void flush(String orgUuid, Map<LocalDate, Map<Long, PunchDay>> pending, String deviceInfo,
+                       BiometricImportResponse response) {
+        for (Map.Entry<LocalDate, Map<Long, PunchDay>> day : pending.entrySet()) {
+            List<PunchPair> pairs = new ArrayList<>(day.getValue().size());
+            day.getValue().forEach((employeeId, punchDay) -> pairs.add(punchDay.toPair(employeeId)));
+
+            int written = attendanceService.importPunchPairs(
+                    orgUuid, day.getKey(), pairs, Attendance.VerificationType.BIOMETRIC, deviceInfo);
+            response.setAttendanceDaysWritten(response.getAttendanceDaysWritten() + written);
+        }
+        pending.clear();
+    }
+}
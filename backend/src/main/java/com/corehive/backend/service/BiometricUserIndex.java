@@ -0,0 +1,119 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Biometric User Index
+ * Maps fingerprint terminal user IDs to employees. Terminals are enrolled
+ * with the employee code, so IDs are matched on the normalized code
+ * (trimmed, case-insensitive, leading zeros ignored for numeric codes).
+ * Most terminals only take numeric user IDs, so a generated EMP-### code is
+ * also matched by its number: EMP-007 answers to "7" and "0007". An exact
+ * code wins over such a number, and a number shared by two codes matches
+ * neither.
+ * One query loads an organization's codes; the map is reused for the TTL,
+ * so an import resolves millions of punches without touching the DB.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BiometricUserIndex {
+
+    // Prefix of the codes EmployeeCodeAllocator hands out
+    private static final String GENERATED_PREFIX = "EMP-";
+
+    private final EmployeeRepository employeeRepository;
+
+    @Value("${attendance.biometric.index-ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final Map<String, OrgCodes> byOrg = new ConcurrentHashMap<>();
+
+    private static final class OrgCodes {
+        private final Map<String, Long> employeeByCode;
+        private final long loadedAtMillis;
+
+        private OrgCodes(Map<String, Long> employeeByCode, long loadedAtMillis) {
+            this.employeeByCode = employeeByCode;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+    }
+
+    /**
+     * Employee id for a terminal user id; null when no employee has that code
+     */
+    public Long resolve(String organizationUuid, String deviceUserId) {
+        return codes(organizationUuid).get(normalize(deviceUserId));
+    }
+
+    public void invalidate(String organizationUuid) {
+        byOrg.remove(organizationUuid);
+    }
+
+    private Map<String, Long> codes(String organizationUuid) {
+        long now = System.currentTimeMillis();
+        OrgCodes cached = byOrg.get(organizationUuid);
+        if (cached != null && now - cached.loadedAtMillis < ttlSeconds * 1000) {
+            return cached.employeeByCode;
+        }
+
+        List<Object[]> rows = employeeRepository.findEmployeeCodes(organizationUuid);
+        Map<String, Long> employeeByCode = new HashMap<>(rows.size() * 3);
+        Map<String, Long> employeeByNumber = new HashMap<>(rows.size() * 2);
+        Set<String> sharedNumbers = new HashSet<>();
+        for (Object[] row : rows) {
+            String code = normalize((String) row[0]);
+            Long employeeId = (Long) row[1];
+            employeeByCode.putIfAbsent(code, employeeId);
+
+            String number = generatedNumber(code);
+            if (number != null) {
+                Long previous = employeeByNumber.putIfAbsent(number, employeeId);
+                if (previous != null && !previous.equals(employeeId)) {
+                    sharedNumbers.add(number);
+                }
+            }
+        }
+        employeeByNumber.keySet().removeAll(sharedNumbers);
+        employeeByNumber.forEach(employeeByCode::putIfAbsent);
+        byOrg.put(organizationUuid, new OrgCodes(employeeByCode, now));
+        log.debug("Biometric user index loaded {} codes for org {}", employeeByCode.size(), organizationUuid);
+        return employeeByCode;
+    }
+
+    // "7" for a normalized EMP-007; null for any other code
+    private static String generatedNumber(String code) {
+        if (!code.startsWith(GENERATED_PREFIX) || code.length() == GENERATED_PREFIX.length()) {
+            return null;
+        }
+        String digits = code.substring(GENERATED_PREFIX.length());
+        return digits.chars().allMatch(Character::isDigit) ? normalize(digits) : null;
+    }
+
+    private static String normalize(String code) {
+        if (code == null) {
+            return "";
+        }
+        String value = code.trim().toUpperCase(Locale.ROOT);
+        if (!value.isEmpty() && value.chars().allMatch(Character::isDigit)) {
+            int start = 0;
+            while (start < value.length() - 1 && value.charAt(start) == '0') {
+                start++;
+            }
+            value = value.substring(start);
+        }
+        return value;
+    }
+}
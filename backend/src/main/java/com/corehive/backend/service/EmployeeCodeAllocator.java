@@ -0,0 +1,104 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.repository.EmployeeCodeSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Employee Code Allocator
+ * Hands out EMP-### codes without scanning employees. Each organization's
+ * numbers come from its employee_code_sequence row in blocks of
+ * employee.code.block-size; a block is then served from memory with an
+ * atomic counter, so a code costs one increment and only every block-size-th
+ * code touches the database. Codes are unique across instances and
+ * concurrent creates. They increase per instance but may interleave between
+ * instances, and numbers left in a block at shutdown are skipped.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeCodeAllocator {
+
+    private final EmployeeCodeSequenceRepository employeeCodeSequenceRepository;
+
+    @Value("${employee.code.block-size:20}")
+    private int blockSize;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+    private final Map<String, Object> refillLocks = new ConcurrentHashMap<>();
+
+    // Reserved numbers [next, end) of one organization
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+
+        // -1 once the block is used up
+        private long take() {
+            long value = next.getAndIncrement();
+            return value < end ? value : -1;
+        }
+    }
+
+    public String nextCode(String orgUuid) {
+        while (true) {
+            Block block = blocks.get(orgUuid);
+            long value = block != null ? block.take() : -1;
+            if (value >= 0) {
+                return format(value);
+            }
+            refill(orgUuid, block);
+        }
+    }
+
+    /**
+     * Reserve count consecutive numbers straight from the sequence (bulk import)
+     *
+     * @return first number of the block; format each with {@link #format(long)}
+     */
+    public long reserveBlock(String orgUuid, int count) {
+        return employeeCodeSequenceRepository.reserve(orgUuid, count);
+    }
+
+    /**
+     * The code the next create will most likely get, without reserving it
+     */
+    public String peekCode(String orgUuid) {
+        Block block = blocks.get(orgUuid);
+        if (block != null) {
+            long value = block.next.get();
+            if (value < block.end) {
+                return format(value);
+            }
+        }
+        Long next = employeeCodeSequenceRepository.peek(orgUuid);
+        return next != null ? format(next) : format(employeeCodeSequenceRepository.reserve(orgUuid, 0));
+    }
+
+    public static String format(long number) {
+        return String.format("EMP-%03d", number);
+    }
+
+    // One thread per organization fetches the next block; the others retry with it
+    private void refill(String orgUuid, Block exhausted) {
+        synchronized (refillLocks.computeIfAbsent(orgUuid, k -> new Object())) {
+            if (blocks.get(orgUuid) != exhausted) {
+                return;
+            }
+            int size = Math.max(1, blockSize);
+            long start = employeeCodeSequenceRepository.reserve(orgUuid, size);
+            blocks.put(orgUuid, new Block(start, start + size));
+            log.debug("Reserved employee codes {}-{} for org {}", format(start), format(start + size - 1), orgUuid);
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.response.EmployeeDirectoryPage;
+import com.corehive.backend.model.Employee;
+import com.corehive.backend.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Employee Directory Index
+ * Per-organization in-memory search index over name, employee code, email
+ * and designation for the employee directory.
+ *  - every word is indexed by its 1- and 2-letter prefixes and its trigrams;
+ *    a query word collects candidates from those posting lists, so lookups
+ *    never scan the organization
+ *  - candidates are ranked per query word: exact word > prefix > substring >
+ *    up to 1 typo (2 for long words, none for words with digits), weighted
+ *    by field; every query word must match
+ *  - results are ordered by (score desc, name, id) and paged with an opaque
+ *    keyset cursor holding the last row's sort key
+ * Organizations load lazily from one projection query. Employee writes update
+ * the index in place once their transaction commits; a periodic reset bounds
+ * staleness for writes made through another instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeDirectoryIndex {
+
+    private static final Pattern NON_ALNUM = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Field weights (tenths)
+    private static final int NAME_WEIGHT = 10;
+    private static final int CODE_WEIGHT = 10;
+    private static final int EMAIL_WEIGHT = 7;
+    private static final int DESIGNATION_WEIGHT = 5;
+
+    private static final Comparator<Doc> BY_NAME = Comparator
+            .comparing((Doc doc) -> doc.sortName)
+            .thenComparingLong(doc -> doc.id);
+
+    private final EmployeeRepository employeeRepository;
+
+    @Value("${employee.directory.max-page-size:100}")
+    private int maxPageSize;
+
+    private final Map<String, OrgIndex> orgs = new ConcurrentHashMap<>();
+
+    private static final class Doc {
+        private final long id;
+        private final String name;
+        private final String sortName;
+        private final String code;
+        private final String email;
+        private final String designation;
+        private final Long departmentId;
+        private final boolean active;
+        private final String[] nameWords;
+        private final String[] codeWords;
+        private final String[] emailWords;
+        private final String[] designationWords;
+
+        private Doc(long id, String firstName, String lastName, String code, String email,
+                    String designation, Long departmentId, Boolean active) {
+            this.id = id;
+            this.name = ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).trim();
+            this.sortName = name.toLowerCase(Locale.ROOT);
+            this.code = code;
+            this.email = email;
+            this.designation = designation;
+            this.departmentId = departmentId;
+            this.active = !Boolean.FALSE.equals(active);
+            this.nameWords = words(name);
+            this.codeWords = withJoined(words(code), code);
+            this.emailWords = withJoined(words(email), email != null ? email.split("@", 2)[0] : null);
+            this.designationWords = words(designation);
+        }
+
+        private Set<String> keys() {
+            Set<String> keys = new HashSet<>();
+            for (String[] field : new String[][]{nameWords, codeWords, emailWords, designationWords}) {
+                for (String word : field) {
+                    addKeys(word, keys);
+                }
+            }
+            return keys;
+        }
+    }
+
+    private static final class OrgIndex {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Doc> docs = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+        private final NavigableSet<Doc> byName = new TreeSet<>(BY_NAME);
+
+        private void put(Doc doc) {
+            remove(doc.id);
+            docs.put(doc.id, doc);
+            byName.add(doc);
+            for (String key : doc.keys()) {
+                postings.computeIfAbsent(key, k -> new HashSet<>()).add(doc.id);
+            }
+        }
+
+        private void remove(long id) {
+            Doc old = docs.remove(id);
+            if (old == null) {
+                return;
+            }
+            byName.remove(old);
+            for (String key : old.keys()) {
+                Set<Long> ids = postings.get(key);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    private record Hit(Doc doc, int score) {
+    }
+
+    /**
+     * One page of directory results. A blank query lists everyone by name.
+     *
+     * @param cursor nextCursor of the previous page, null for the first page
+     * @param active null for all employees, otherwise only active / inactive ones
+     */
+    public EmployeeDirectoryPage search(String orgUuid, String query, Long departmentId, Boolean active,
+                                        String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        String[] tokens = words(query);
+        Key after = Key.decode(cursor);
+
+        OrgIndex index = orgs.computeIfAbsent(orgUuid, this::load);
+        index.lock.readLock().lock();
+        try {
+            List<Hit> page = new ArrayList<>(pageSize + 1);
+            long total = 0;
+
+            if (tokens.length == 0) {
+                Iterable<Doc> ordered = after == null ? index.byName
+                        : index.byName.tailSet(probe(after), false);
+                for (Doc doc : ordered) {
+                    if (page.size() > pageSize) {
+                        break;
+                    }
+                    if (matchesFilters(doc, departmentId, active)) {
+                        page.add(new Hit(doc, 0));
+                    }
+                }
+                for (Doc doc : index.byName) {
+                    if (matchesFilters(doc, departmentId, active)) {
+                        total++;
+                    }
+                }
+            } else {
+                List<Hit> hits = new ArrayList<>();
+                for (Long id : candidates(index, tokens[0])) {
+                    Doc doc = index.docs.get(id);
+                    if (doc == null || !matchesFilters(doc, departmentId, active)) {
+                        continue;
+                    }
+                    int score = score(doc, tokens);
+                    if (score > 0) {
+                        hits.add(new Hit(doc, score));
+                    }
+                }
+                hits.sort(Comparator.comparingInt((Hit hit) -> -hit.score)
+                        .thenComparing(hit -> hit.doc, BY_NAME));
+                total = hits.size();
+
+                for (Hit hit : hits) {
+                    if (after == null || after.isBefore(hit)) {
+                        page.add(hit);
+                        if (page.size() > pageSize) {
+                            break;
+                        }
+                    }
+                }
+            }
+
+            boolean hasMore = page.size() > pageSize;
+            List<Hit> items = hasMore ? page.subList(0, pageSize) : page;
+            Hit last = items.isEmpty() ? null : items.get(items.size() - 1);
+            return EmployeeDirectoryPage.builder()
+                    .items(items.stream().map(EmployeeDirectoryIndex::toEntry).toList())
+                    .nextCursor(hasMore ? new Key(last.score, last.doc.sortName, last.doc.id).encode() : null)
+                    .hasMore(hasMore)
+                    .totalMatches(total)
+                    .build();
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add or refresh an employee once the surrounding transaction commits
+     */
+    public void onEmployeeSaved(Employee employee) {
+        if (employee == null || employee.getId() == null) {
+            return;
+        }
+        Doc doc = new Doc(employee.getId(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmployeeCode(), employee.getEmail(), employee.getDesignation(),
+                employee.getDepartmentId(), employee.getIsActive());
+        afterCommit(() -> write(employee.getOrganizationUuid(), index -> index.put(doc)));
+    }
+
+    public void onEmployeeDeleted(String orgUuid, Long employeeId) {
+        if (employeeId == null) {
+            return;
+        }
+        afterCommit(() -> write(orgUuid, index -> index.remove(employeeId)));
+    }
+
+    /**
+     * Drop a whole organization (bulk changes); it reloads on next use
+     */
+    public void invalidate(String orgUuid) {
+        afterCommit(() -> orgs.remove(orgUuid));
+    }
+
+    @Scheduled(fixedDelayString = "${employee.directory.refresh-ms:600000}",
+            initialDelayString = "${employee.directory.refresh-ms:600000}")
+    public void clear() {
+        orgs.clear();
+    }
+
+    private OrgIndex load(String orgUuid) {
+        long start = System.nanoTime();
+        OrgIndex index = new OrgIndex();
+        for (Object[] row : employeeRepository.findDirectoryEntries(orgUuid)) {
+            index.put(new Doc((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                    (String) row[4], (String) row[5], (Long) row[6], (Boolean) row[7]));
+        }
+        log.debug("Employee directory index for org {} loaded {} employees, {} keys in {} ms",
+                orgUuid, index.docs.size(), index.postings.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    private void write(String orgUuid, Consumer<OrgIndex> change) {
+        OrgIndex index = orgUuid != null ? orgs.get(orgUuid) : null;
+        if (index == null) {
+            return; // not loaded - the next search loads the current state
+        }
+        index.lock.writeLock().lock();
+        try {
+            change.accept(index);
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Docs sharing enough keys with the token to possibly match it
+    private static Set<Long> candidates(OrgIndex index, String token) {
+        Set<Long> result = new HashSet<>();
+        Set<Long> prefix = index.postings.get("^" + token.substring(0, Math.min(2, token.length())));
+        if (prefix != null) {
+            result.addAll(prefix);
+        }
+        if (token.length() < 3) {
+            return result;
+        }
+
+        // A typo breaks at most three trigrams; a third of them must survive
+        Map<Long, Integer> counts = new HashMap<>();
+        int grams = token.length() - 2;
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            Set<Long> ids = index.postings.get(token.substring(i, i + 3));
+            if (ids != null) {
+                ids.forEach(id -> counts.merge(id, 1, Integer::sum));
+            }
+        }
+        int needed = Math.max(1, (grams + 2) / 3);
+        counts.forEach((id, count) -> {
+            if (count >= needed) {
+                result.add(id);
+            }
+        });
+        return result;
+    }
+
+    // Sum of each token's best field match; 0 when any token does not match
+    private static int score(Doc doc, String[] tokens) {
+        int total = 0;
+        for (String token : tokens) {
+            int best = Math.max(
+                    Math.max(bestWord(doc.nameWords, token) * NAME_WEIGHT, bestWord(doc.codeWords, token) * CODE_WEIGHT),
+                    Math.max(bestWord(doc.emailWords, token) * EMAIL_WEIGHT,
+                            bestWord(doc.designationWords, token) * DESIGNATION_WEIGHT));
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static int bestWord(String[] words, String token) {
+        int best = 0;
+        for (String word : words) {
+            best = Math.max(best, matchScore(word, token));
+        }
+        return best;
+    }
+
+    static int matchScore(String word, String token) {
+        if (word.equals(token)) {
+            return 100;
+        }
+        if (word.startsWith(token)) {
+            return 80;
+        }
+        if (token.length() >= 3 && word.contains(token)) {
+            return 50;
+        }
+        // Codes and numbers are looked up, not misspelled: "emp004" must not find "emp001"
+        if (token.length() < 4 || token.chars().anyMatch(Character::isDigit)) {
+            return 0;
+        }
+        int allowed = token.length() >= 8 ? 2 : 1;
+        // Typo in a whole word, or in a prefix being typed
+        int distance = Math.min(editDistance(word, token, allowed),
+                word.length() > token.length()
+                        ? editDistance(word.substring(0, token.length()), token, allowed)
+                        : Integer.MAX_VALUE);
+        return distance <= allowed ? 40 - 10 * distance : 0;
+    }
+
+    /**
+     * Optimal string alignment distance (adjacent swaps count as one edit);
+     * returns limit + 1 as soon as the distance is known to exceed limit
+     */
+    static int editDistance(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int rowMin = Integer.MAX_VALUE;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, d[i][j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static boolean matchesFilters(Doc doc, Long departmentId, Boolean active) {
+        return (departmentId == null || departmentId.equals(doc.departmentId))
+                && (active == null || active == doc.active);
+    }
+
+    private static EmployeeDirectoryPage.Entry toEntry(Hit hit) {
+        Doc doc = hit.doc;
+        return new EmployeeDirectoryPage.Entry(doc.id, doc.name, doc.code, doc.email, doc.designation,
+                doc.departmentId, doc.active);
+    }
+
+    private static void addKeys(String word, Set<String> keys) {
+        keys.add("^" + word.substring(0, Math.min(1, word.length())));
+        if (word.length() >= 2) {
+            keys.add("^" + word.substring(0, 2));
+        }
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            keys.add(word.substring(i, i + 3));
+        }
+    }
+
+    static String[] words(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        return NON_ALNUM.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    // Adds the words of text run together, so "EMP-001" also matches "emp001"
+    private static String[] withJoined(String[] words, String text) {
+        String[] parts = words(text);
+        if (parts.length < 2) {
+            return words;
+        }
+        String[] result = Arrays.copyOf(words, words.length + 1);
+        result[words.length] = String.join("", parts);
+        return result;
+    }
+
+    // Stand-in with the cursor's (sortName, id) for navigating byName
+    private static Doc probe(Key key) {
+        return new Doc(key.id, key.sortName, null, null, null, null, null, true);
+    }
+
+    // Sort key of the last row of a page: score desc, name, id
+    private record Key(int score, String sortName, long id) {
+
+        private boolean isBefore(Hit hit) {
+            if (hit.score != score) {
+                return hit.score < score;
+            }
+            int byName = hit.doc.sortName.compareTo(sortName);
+            return byName != 0 ? byName > 0 : hit.doc.id > id;
+        }
+
+        private String encode() {
+            String raw = score + "\n" + id + "\n" + sortName;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static Key decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\n", 3);
+                return new Key(Integer.parseInt(parts[0]), parts[2], Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
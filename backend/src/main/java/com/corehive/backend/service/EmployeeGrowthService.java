@@ -0,0 +1,137 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.response.EmployeeGrowthPoint;
+import com.corehive.backend.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Employee Growth Service
+ * Monthly hires, exits and month-end headcount for a range of years, from
+ * one grouped query with a running total (EmployeeRepository.monthlyGrowthUntil).
+ * Both the dashboard chart and the HR annual report read this series.
+ * Closed years are cached for employee.growth.closed-ttl-minutes; the
+ * current year is always queried.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeGrowthService {
+
+    private static final int MAX_CACHED_YEARS = 1000;
+    private static final int MAX_RANGE_YEARS = 20;
+
+    private final EmployeeRepository employeeRepository;
+
+    @Value("${employee.growth.closed-ttl-minutes:360}")
+    private long closedTtlMinutes;
+
+    private final Map<String, CachedYear> closedYears = new ConcurrentHashMap<>();
+
+    private record CachedYear(List<EmployeeGrowthPoint> months, long expiresAtMillis) {
+    }
+
+    /**
+     * Twelve points per year from fromYear to toYear inclusive
+     */
+    public List<EmployeeGrowthPoint> getMonthlySeries(String orgUuid, int fromYear, int toYear) {
+        if (toYear < fromYear || toYear - fromYear >= MAX_RANGE_YEARS) {
+            throw new IllegalArgumentException("Year range must cover 1 to " + MAX_RANGE_YEARS + " years");
+        }
+
+        List<EmployeeGrowthPoint> series = cached(orgUuid, fromYear, toYear);
+        if (series != null) {
+            return series;
+        }
+
+        series = load(orgUuid, fromYear, toYear);
+        int currentYear = Year.now().getValue();
+        long expiresAt = System.currentTimeMillis() + closedTtlMinutes * 60_000;
+        for (int year = fromYear; year <= toYear && year < currentYear; year++) {
+            if (closedYears.size() >= MAX_CACHED_YEARS) {
+                closedYears.clear();
+            }
+            int offset = (year - fromYear) * 12;
+            closedYears.put(key(orgUuid, year),
+                    new CachedYear(List.copyOf(series.subList(offset, offset + 12)), expiresAt));
+        }
+        return series;
+    }
+
+    public List<EmployeeGrowthPoint> getMonthlySeries(String orgUuid, int year) {
+        return getMonthlySeries(orgUuid, year, year);
+    }
+
+    /**
+     * Drop cached years of an organization, e.g. after back-dated changes,
+     * once the current transaction commits
+     */
+    public void evictOrganization(String orgUuid) {
+        String prefix = orgUuid + ":";
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    closedYears.keySet().removeIf(key -> key.startsWith(prefix));
+                }
+            });
+        } else {
+            closedYears.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    // The whole range from cache, or null when any year is missing or open
+    private List<EmployeeGrowthPoint> cached(String orgUuid, int fromYear, int toYear) {
+        List<EmployeeGrowthPoint> series = new ArrayList<>((toYear - fromYear + 1) * 12);
+        long now = System.currentTimeMillis();
+        for (int year = fromYear; year <= toYear; year++) {
+            CachedYear cached = closedYears.get(key(orgUuid, year));
+            if (cached == null || cached.expiresAtMillis() <= now) {
+                return null;
+            }
+            series.addAll(cached.months());
+        }
+        return series;
+    }
+
+    private List<EmployeeGrowthPoint> load(String orgUuid, int fromYear, int toYear) {
+        List<Object[]> rows = employeeRepository.monthlyGrowthUntil(orgUuid, LocalDate.of(toYear + 1, 1, 1));
+
+        List<EmployeeGrowthPoint> series = new ArrayList<>((toYear - fromYear + 1) * 12);
+        int next = 0;
+        long headcount = 0;
+        for (int year = fromYear; year <= toYear; year++) {
+            for (int month = 1; month <= 12; month++) {
+                int yearMonth = year * 100 + month;
+                long hires = 0;
+                long exits = 0;
+                // Rows are ordered by month; earlier ones only move the running headcount
+                while (next < rows.size() && ((Number) rows.get(next)[0]).intValue() <= yearMonth) {
+                    Object[] row = rows.get(next++);
+                    headcount = ((Number) row[3]).longValue();
+                    if (((Number) row[0]).intValue() == yearMonth) {
+                        hires = ((Number) row[1]).longValue();
+                        exits = ((Number) row[2]).longValue();
+                    }
+                }
+                series.add(new EmployeeGrowthPoint(year, month, hires, exits, headcount));
+            }
+        }
+        return series;
+    }
+
+    private static String key(String orgUuid, int year) {
+        return orgUuid + ":" + year;
+    }
+}
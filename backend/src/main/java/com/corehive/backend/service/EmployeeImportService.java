@@ -0,0 +1,288 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.EmployeeRequestDTO;
+import com.corehive.backend.dto.response.EmployeeImportResponse;
+import com.corehive.backend.exception.employeeCustomException.OrganizationNotFoundException;
+import com.corehive.backend.model.Department;
+import com.corehive.backend.model.LeaveType;
+import com.corehive.backend.model.Organization;
+import com.corehive.backend.repository.DepartmentRepository;
+import com.corehive.backend.repository.EmployeeImportBatchRepository;
+import com.corehive.backend.repository.LeaveTypeRepository;
+import com.corehive.backend.repository.OrganizationRepository;
+import com.corehive.backend.util.EmployeeImportReader;
+import com.corehive.backend.util.EmployeeImportReader.Column;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Employee Import Service
+ * Creates many employees from one uploaded XLSX / CSV sheet:
+ *  1. EmployeeImportReader streams the rows; each is checked with the same
+ *     constraints as EmployeeRequestDTO, plus department, duplicate and
+ *     already-registered emails - every row is validated before anything is written
+ *  2. any error: nothing is created and the row-level report is returned
+ *  3. otherwise one block of employee codes is taken, temporary passwords are
+ *     BCrypt-hashed in parallel, and employees, logins and opening leave
+ *     balances are inserted with JDBC batches in a single transaction
+ *  4. password emails go out once the import has committed
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE, DateTimeFormatter.ofPattern("yyyy/MM/dd"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"), DateTimeFormatter.ofPattern("dd-MM-yyyy"));
+
+    private final OrganizationRepository organizationRepository;
+    private final DepartmentService departmentService;
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeCodeAllocator employeeCodeAllocator;
+    private final LeaveTypeRepository leaveTypeRepository;
+    private final EmployeeImportBatchRepository employeeImportBatchRepository;
+    private final EmployeeDirectoryIndex employeeDirectoryIndex;
+    private final EmployeeGrowthService employeeGrowthService;
+    private final PasswordEncoder passwordEncoder;
+    private final EmailService emailService;
+    private final Validator validator;
+
+    @Value("${employee.import.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${employee.import.hash-threads:0}")
+    private int hashThreads;
+
+    // A valid row waiting to be inserted
+    private static final class ImportRow {
+        private final long rowNumber;
+        private final EmployeeRequestDTO request;
+        private String tempPassword;
+        private String passwordHash;
+
+        private ImportRow(long rowNumber, EmployeeRequestDTO request) {
+            this.rowNumber = rowNumber;
+            this.request = request;
+        }
+    }
+
+    public EmployeeImportResponse importEmployees(String orgUuid, InputStream in, String fileName, boolean dryRun)
+            throws IOException {
+        long startNanos = System.nanoTime();
+        Organization organization = organizationRepository.findByOrganizationUuid(orgUuid)
+                .orElseThrow(() -> new OrganizationNotFoundException("Organization not found"));
+
+        departmentService.ensureDefaultDepartments(orgUuid);
+        Map<String, Long> departments = new HashMap<>();
+        for (Department department : departmentRepository.findByOrganizationUuid(orgUuid)) {
+            departments.put(String.valueOf(department.getId()), department.getId());
+            departments.putIfAbsent(department.getName().trim().toLowerCase(Locale.ROOT), department.getId());
+        }
+
+        EmployeeImportResponse response = EmployeeImportResponse.builder().dryRun(dryRun).build();
+        List<ImportRow> rows = new ArrayList<>();
+        Map<String, Long> firstRowOfEmail = new HashMap<>();
+
+        long read = EmployeeImportReader.read(in, fileName, (rowNumber, values) -> {
+            if (response.getRowsRead() >= maxRows) {
+                throw new IllegalArgumentException("The file has more than " + maxRows + " employees");
+            }
+            response.setRowsRead(response.getRowsRead() + 1);
+
+            // Field -> first problem; an unparseable cell is not also reported as missing
+            Map<String, String> problems = new LinkedHashMap<>();
+            EmployeeRequestDTO request = toRequest(values, departments, problems);
+            for (ConstraintViolation<EmployeeRequestDTO> violation : validator.validate(request)) {
+                problems.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+            }
+            if (request.getEmail() != null) {
+                Long firstRow = firstRowOfEmail.putIfAbsent(request.getEmail().toLowerCase(Locale.ROOT), rowNumber);
+                if (firstRow != null) {
+                    problems.putIfAbsent("email", "Duplicate of row " + firstRow);
+                }
+            }
+
+            if (problems.isEmpty()) {
+                rows.add(new ImportRow(rowNumber, request));
+            } else {
+                problems.forEach((field, message) -> reject(response, rowNumber, field, message));
+            }
+        });
+
+        Set<String> taken = employeeImportBatchRepository.findTakenEmails(firstRowOfEmail.keySet());
+        rows.removeIf(row -> {
+            if (!taken.contains(row.request.getEmail().toLowerCase(Locale.ROOT))) {
+                return false;
+            }
+            reject(response, row.rowNumber, "email", "Email is already registered");
+            return true;
+        });
+        response.getErrors().sort(Comparator.comparingLong(EmployeeImportResponse.RowError::getRowNumber));
+        response.setValidRows(rows.size());
+
+        if (response.getErrorCount() == 0 && !dryRun && !rows.isEmpty()) {
+            insert(orgUuid, organization, rows, response);
+        }
+
+        response.setDurationMs((System.nanoTime() - startNanos) / 1_000_000);
+        log.info("Employee import{} for org {}: {} rows, {} valid, {} errors, {} created in {} ms",
+                dryRun ? " (dry run)" : "", orgUuid, read, response.getValidRows(), response.getErrorCount(),
+                response.getEmployeesCreated(), response.getDurationMs());
+        return response;
+    }
+
+    private void insert(String orgUuid, Organization organization, List<ImportRow> rows,
+                        EmployeeImportResponse response) {
+        hashPasswords(rows);
+
+        // One block of codes for the whole file, in file order
+        long firstNumber = employeeCodeAllocator.reserveBlock(orgUuid, rows.size());
+
+        List<EmployeeImportBatchRepository.NewEmployee> employees = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            EmployeeRequestDTO request = rows.get(i).request;
+            employees.add(new EmployeeImportBatchRepository.NewEmployee(
+                    EmployeeCodeAllocator.format(firstNumber + i), request.getFirstName(), request.getLastName(),
+                    request.getEmail(), request.getPhone(), request.getNationalId(), request.getBankAccNo(),
+                    request.getDesignation(), request.getDepartment(), request.getBasicSalary(),
+                    request.getSalaryType(), request.getDateOfJoining(),
+                    "Active".equalsIgnoreCase(request.getStatus()), rows.get(i).passwordHash));
+        }
+
+        // New hires open with what the accrual engine gives a fresh balance this period
+        YearMonth period = YearMonth.now();
+        List<EmployeeImportBatchRepository.OpeningBalance> balances = new ArrayList<>();
+        for (LeaveType leaveType : leaveTypeRepository.findByOrganizationUuidAndIsActiveTrue(orgUuid)) {
+            balances.add(new EmployeeImportBatchRepository.OpeningBalance(
+                    leaveType.getId(), LeaveAccrualService.freshAmount(leaveType, period.getMonthValue())));
+        }
+
+        Map<String, Long> created = employeeImportBatchRepository.insert(
+                orgUuid, employees, balances, period.toString(), period.getYear());
+        employeeDirectoryIndex.invalidate(orgUuid);
+        // Joining dates may fall in closed, cached years
+        employeeGrowthService.evictOrganization(orgUuid);
+
+        response.setEmployeesCreated(created.size());
+        response.setFirstEmployeeCode(employees.get(0).employeeCode());
+        response.setLastEmployeeCode(employees.get(employees.size() - 1).employeeCode());
+
+        for (ImportRow row : rows) {
+            try {
+                emailService.sendEmployeePasswordEmail(row.request.getEmail(), row.tempPassword, organization.getName());
+            } catch (Exception e) {
+                log.error("Email sending failed for {}: {}", row.request.getEmail(), e.getMessage());
+            }
+        }
+    }
+
+    // BCrypt dominates the import; spread it over a bounded pool
+    private void hashPasswords(List<ImportRow> rows) {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> rows.parallelStream().forEach(row -> {
+                row.tempPassword = UUID.randomUUID().toString().substring(0, 8);
+                row.passwordHash = passwordEncoder.encode(row.tempPassword);
+            })).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Employee import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static EmployeeRequestDTO toRequest(String[] values, Map<String, Long> departments,
+                                                Map<String, String> problems) {
+        EmployeeRequestDTO request = new EmployeeRequestDTO();
+        request.setFirstName(values[Column.FIRST_NAME.ordinal()]);
+        request.setLastName(values[Column.LAST_NAME.ordinal()]);
+        request.setEmail(values[Column.EMAIL.ordinal()]);
+        request.setPhone(values[Column.PHONE.ordinal()]);
+        request.setNationalId(values[Column.NATIONAL_ID.ordinal()]);
+        request.setBankAccNo(values[Column.BANK_ACC_NO.ordinal()]);
+        request.setDesignation(values[Column.DESIGNATION.ordinal()]);
+
+        String department = values[Column.DEPARTMENT.ordinal()];
+        if (department != null) {
+            request.setDepartment(departments.get(department.toLowerCase(Locale.ROOT)));
+            if (request.getDepartment() == null) {
+                problems.put("department", "Unknown department '" + department + "'");
+            }
+        }
+
+        String salary = values[Column.BASIC_SALARY.ordinal()];
+        if (salary != null) {
+            try {
+                request.setBasicSalary(new BigDecimal(salary.replace(",", "")));
+            } catch (NumberFormatException e) {
+                problems.put("basicSalary", "Not a number: " + salary);
+            }
+        }
+
+        String salaryType = values[Column.SALARY_TYPE.ordinal()];
+        request.setSalaryType(salaryType != null ? salaryType.toUpperCase(Locale.ROOT) : "MONTHLY");
+
+        String joined = values[Column.DATE_OF_JOINING.ordinal()];
+        if (joined != null) {
+            request.setDateOfJoining(parseDate(joined));
+            if (request.getDateOfJoining() == null) {
+                problems.put("dateOfJoining", "Not a date: " + joined);
+            }
+        }
+
+        String status = values[Column.STATUS.ordinal()];
+        request.setStatus(status == null || status.equalsIgnoreCase("active") ? "Active"
+                : status.equalsIgnoreCase("inactive") || status.equalsIgnoreCase("nonactive") ? "NonActive"
+                : status);
+        return request;
+    }
+
+    private static LocalDate parseDate(String text) {
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(text, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    private static void reject(EmployeeImportResponse response, long rowNumber, String field, String message) {
+        response.setErrorCount(response.getErrorCount() + 1);
+        if (response.getErrors().size() < MAX_REPORTED_ERRORS) {
+            response.getErrors().add(new EmployeeImportResponse.RowError(rowNumber, field, message));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.exception.employeeCustomException.EmployeeNotFoundException;
+import com.corehive.backend.exception.employeeCustomException.InvalidEmployeeDataException;
+import com.corehive.backend.model.EmployeeOffboardingJob;
+import com.corehive.backend.model.OutboxEvent;
+import com.corehive.backend.repository.AppUserRepository;
+import com.corehive.backend.repository.EmployeeOffboardingJobRepository;
+import com.corehive.backend.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Employee Offboarding Service
+ * Deletes or archives many employees as one job. Creating the job is the
+ * fast, transactional soft phase: the employees are deactivated, their
+ * logins disabled and QR badges revoked in two set-based updates, their
+ * access and refresh tokens revoked, and face deregistration is queued in
+ * the outbox. ARCHIVE jobs end there. DELETE
+ * jobs are then purged in the background by EmployeeOffboardingWorker; the
+ * state transitions it needs live here, as in OutboxService.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeOffboardingService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final EmployeeRepository employeeRepository;
+    private final AppUserRepository appUserRepository;
+    private final EmployeeOffboardingJobRepository employeeOffboardingJobRepository;
+    private final OutboxService outboxService;
+    private final QrTokenIndex qrTokenIndex;
+    private final EmployeeDirectoryIndex employeeDirectoryIndex;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${employee.offboarding.max-employees:1000}")
+    private int maxEmployees;
+
+    @Transactional
+    public EmployeeOffboardingJob offboard(String orgUuid, List<Long> employeeIds,
+                                           EmployeeOffboardingJob.Action action, String requestedBy) {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (employeeIds != null) {
+            ids.addAll(employeeIds);
+            ids.remove(null);
+        }
+        if (ids.isEmpty()) {
+            throw new InvalidEmployeeDataException("No employees selected");
+        }
+        if (ids.size() > maxEmployees) {
+            throw new InvalidEmployeeDataException("At most " + maxEmployees + " employees per job");
+        }
+
+        List<Long> idList = new ArrayList<>(ids);
+        List<Object[]> targets = employeeRepository.findOffboardingTargets(orgUuid, idList);
+        if (targets.size() != ids.size()) {
+            Set<Long> found = targets.stream().map(row -> (Long) row[0]).collect(Collectors.toCollection(HashSet::new));
+            Long missing = idList.stream().filter(id -> !found.contains(id)).findFirst().orElse(null);
+            throw new EmployeeNotFoundException("Employee not found with ID: " + missing);
+        }
+
+        employeeRepository.deactivateForOffboarding(orgUuid, idList, LocalDateTime.now());
+        List<Long> appUserIds = targets.stream().map(row -> (Long) row[1]).filter(id -> id != null).toList();
+        if (!appUserIds.isEmpty()) {
+            appUserRepository.deactivateByIds(orgUuid, appUserIds);
+            // Open sessions end now, not when their access token expires
+            for (Long appUserId : appUserIds) {
+                tokenRevocationService.revokeUserTokens("ORG_USER", appUserId);
+            }
+        }
+        idList.forEach(qrTokenIndex::invalidateEmployee);
+        employeeDirectoryIndex.invalidate(orgUuid);
+
+        boolean delete = action == EmployeeOffboardingJob.Action.DELETE;
+        if (delete) {
+            // AI service cleanup is delivered after commit by OutboxDispatcher
+            for (Long id : idList) {
+                outboxService.enqueue(OutboxEvent.EventType.FACE_DEREGISTER, orgUuid, String.valueOf(id), null);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        EmployeeOffboardingJob job = employeeOffboardingJobRepository.save(EmployeeOffboardingJob.builder()
+                .organizationUuid(orgUuid)
+                .action(action)
+                .status(delete ? EmployeeOffboardingJob.Status.PENDING : EmployeeOffboardingJob.Status.COMPLETED)
+                .employeeIds(idList.stream().map(String::valueOf).collect(Collectors.joining(",")))
+                .employeeCount(idList.size())
+                .leaseUntil(delete ? now : null)
+                .requestedBy(requestedBy)
+                .finishedAt(delete ? null : now)
+                .build());
+
+        log.info("Offboarding job {} ({}) created for org {}: {} employees deactivated",
+                job.getId(), action, orgUuid, idList.size());
+        return job;
+    }
+
+    @Transactional(readOnly = true)
+    public EmployeeOffboardingJob getJob(String orgUuid, Long jobId) {
+        return employeeOffboardingJobRepository.findByIdAndOrganizationUuid(jobId, orgUuid)
+                .orElseThrow(() -> new InvalidEmployeeDataException("Offboarding job not found: " + jobId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmployeeOffboardingJob> getRecentJobs(String orgUuid) {
+        return employeeOffboardingJobRepository.findTop50ByOrganizationUuidOrderByCreatedAtDesc(orgUuid);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmployeeOffboardingJob> findDue(int limit) {
+        return employeeOffboardingJobRepository.findDue(LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+
+    @Transactional
+    public boolean claim(Long id, long leaseSeconds) {
+        LocalDateTime now = LocalDateTime.now();
+        return employeeOffboardingJobRepository.claim(id, now, now.plusSeconds(leaseSeconds)) == 1;
+    }
+
+    @Transactional
+    public void markCompleted(Long id, long rowsPurged) {
+        employeeOffboardingJobRepository.markCompleted(id, rowsPurged, LocalDateTime.now());
+    }
+
+    /**
+     * Schedule another attempt, or give up (FAILED) when nextAttemptAt is null
+     */
+    @Transactional
+    public void markAttemptFailed(Long id, LocalDateTime nextAttemptAt, String error) {
+        String trimmed = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (nextAttemptAt == null) {
+            employeeOffboardingJobRepository.markAttemptFailed(id, EmployeeOffboardingJob.Status.FAILED,
+                    null, trimmed, LocalDateTime.now());
+        } else {
+            employeeOffboardingJobRepository.markAttemptFailed(id, EmployeeOffboardingJob.Status.PENDING,
+                    nextAttemptAt, trimmed, null);
+        }
+    }
+
+    public static List<Long> parseEmployeeIds(EmployeeOffboardingJob job) {
+        return Arrays.stream(job.getEmployeeIds().split(","))
+                .filter(id -> !id.isBlank())
+                .map(Long::valueOf)
+                .toList();
+    }
+}
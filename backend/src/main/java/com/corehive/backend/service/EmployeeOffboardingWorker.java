@@ -0,0 +1,87 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.EmployeeOffboardingJob;
+import com.corehive.backend.repository.EmployeePurgeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Employee Offboarding Worker
+ * Purges the data of DELETE offboarding jobs outside any DB transaction,
+ * in chunks of employee.offboarding.chunk-size rows per statement. Each job
+ * is leased first (multi-instance safe); a failed or abandoned job is
+ * retried after a backoff until max attempts, which is safe because the
+ * purge is idempotent.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmployeeOffboardingWorker {
+
+    private final EmployeeOffboardingService employeeOffboardingService;
+    private final EmployeePurgeRepository employeePurgeRepository;
+    private final LeaveIntervalIndex leaveIntervalIndex;
+    private final TeamCalendarService teamCalendarService;
+    private final EmployeeDirectoryIndex employeeDirectoryIndex;
+    private final EmployeeGrowthService employeeGrowthService;
+
+    @Value("${employee.offboarding.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${employee.offboarding.lease-seconds:1800}")
+    private long leaseSeconds;
+
+    @Value("${employee.offboarding.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${employee.offboarding.retry-seconds:300}")
+    private long retrySeconds;
+
+    @Scheduled(fixedDelayString = "${employee.offboarding.poll-ms:10000}")
+    public void purgeDue() {
+        try {
+            for (EmployeeOffboardingJob job : employeeOffboardingService.findDue(10)) {
+                if (employeeOffboardingService.claim(job.getId(), leaseSeconds)) {
+                    purge(job);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error running offboarding jobs: {}", e.getMessage());
+        }
+    }
+
+    void purge(EmployeeOffboardingJob job) {
+        long startNanos = System.nanoTime();
+        String orgUuid = job.getOrganizationUuid();
+        try {
+            List<Long> employeeIds = EmployeeOffboardingService.parseEmployeeIds(job);
+            long rows = employeePurgeRepository.purge(orgUuid, employeeIds, Math.max(1, chunkSize));
+            employeeOffboardingService.markCompleted(job.getId(), rows);
+
+            leaveIntervalIndex.invalidate(orgUuid);
+            teamCalendarService.evictOrganization(orgUuid);
+            employeeDirectoryIndex.invalidate(orgUuid);
+            // Purged employees leave the hires of closed years too
+            employeeGrowthService.evictOrganization(orgUuid);
+            log.info("Offboarding job {} purged {} employees ({} rows) for org {} in {} ms",
+                    job.getId(), employeeIds.size(), rows, orgUuid, (System.nanoTime() - startNanos) / 1_000_000);
+
+        } catch (Exception e) {
+            int attempt = job.getAttempts() + 1;
+            if (attempt >= maxAttempts) {
+                log.error("Offboarding job {} failed permanently after {} attempts: {}", job.getId(), attempt, e.getMessage());
+                employeeOffboardingService.markAttemptFailed(job.getId(), null, e.getMessage());
+            } else {
+                LocalDateTime next = LocalDateTime.now().plusSeconds(retrySeconds * attempt);
+                log.warn("Offboarding job {} attempt {} failed, retrying at {}: {}", job.getId(), attempt, next, e.getMessage());
+                employeeOffboardingService.markAttemptFailed(job.getId(), next, e.getMessage());
+            }
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.corehive.backend.dto.EmployeeLeaveBalanceDTO;
 import com.corehive.backend.dto.EmployeeRequestDTO;
 import com.corehive.backend.dto.paginated.PaginatedResponseItemDTO;
 import com.corehive.backend.dto.response.ApiResponse;
+import com.corehive.backend.dto.response.EmployeeGrowthPoint;
 import com.corehive.backend.dto.response.EmployeeResponseDTO;
 import com.corehive.backend.exception.employeeCustomException.EmployeeAlreadyInactiveException;
 import com.corehive.backend.exception.employeeCustomException.EmployeeNotFoundException;
@@ -23,10 +24,6 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.dao.DataAccessException;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
 import java.math.BigDecimal;
@@ -36,7 +33,9 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -57,26 +56,18 @@ public class EmployeeService {
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
     private final EmployeeLeaveBalanceRepository employeeLeaveBalanceRepository;
-    private final LeaveTypeRepository leaveTypeRepository;
     private final AzureBlobStorageService azureBlobStorageService;
-    private final EmployeeFeedbackRepository employeeFeedbackRepository;
-    private final LeaveRequestRepository leaveRequestRepository;
-    private final AttendanceRepository attendanceRepository;
-    private final PayslipRepository payslipRepository;
-    private final FeedbackSurveyResponseRepository feedbackSurveyResponseRepository;
-    private final AttendanceConfigurationRepository attendanceConfigurationRepository;
-    private final AllowanceRepository allowanceRepository;
-    private final DeductionRepository deductionRepository;
+    private final QrTokenIndex qrTokenIndex;
+    private final EmployeeDirectoryIndex employeeDirectoryIndex;
+    private final EmployeeCodeAllocator employeeCodeAllocator;
+    private final EmployeeGrowthService employeeGrowthService;
+    private final EmployeeOffboardingService employeeOffboardingService;
 
     @Value("${storage.mode:local}")
     private String storageMode;
 
-    @Value("${ai.service.url:http://localhost:8001}")
-    private String aiServiceUrl;
-    
     private static final String PROFILE_IMAGES_DIR = "uploads/profile-images";
     private static final String PROFILE_IMAGES_URL_PREFIX = "/uploads/profile-images";
-    private final RestTemplate restTemplate = new RestTemplate();
 
 
 
@@ -85,16 +76,12 @@ public class EmployeeService {
                           DepartmentService departmentService, AppUserRepository appUserRepository, 
                           EmailService emailService, PasswordEncoder passwordEncoder,
                           EmployeeLeaveBalanceRepository employeeLeaveBalanceRepository,
-                          LeaveTypeRepository leaveTypeRepository,
                           AzureBlobStorageService azureBlobStorageService,
-                          EmployeeFeedbackRepository employeeFeedbackRepository,
-                          LeaveRequestRepository leaveRequestRepository,
-                          AttendanceRepository attendanceRepository,
-                          PayslipRepository payslipRepository,
-                          FeedbackSurveyResponseRepository feedbackSurveyResponseRepository,
-                          AttendanceConfigurationRepository attendanceConfigurationRepository,
-                          AllowanceRepository allowanceRepository,
-                          DeductionRepository deductionRepository) {
+                          QrTokenIndex qrTokenIndex,
+                          EmployeeDirectoryIndex employeeDirectoryIndex,
+                          EmployeeCodeAllocator employeeCodeAllocator,
+                          EmployeeGrowthService employeeGrowthService,
+                          EmployeeOffboardingService employeeOffboardingService) {
         this.employeeRepository = employeeRepository;
         this.employeeMapper = employeeMapper;
         this.departmentRepository = departmentRepository;
@@ -104,16 +91,12 @@ public class EmployeeService {
         this.emailService = emailService;
         this.passwordEncoder = passwordEncoder;
         this.employeeLeaveBalanceRepository = employeeLeaveBalanceRepository;
-        this.leaveTypeRepository = leaveTypeRepository;
         this.azureBlobStorageService = azureBlobStorageService;
-        this.employeeFeedbackRepository = employeeFeedbackRepository;
-        this.leaveRequestRepository = leaveRequestRepository;
-        this.attendanceRepository = attendanceRepository;
-        this.payslipRepository = payslipRepository;
-        this.feedbackSurveyResponseRepository = feedbackSurveyResponseRepository;
-        this.attendanceConfigurationRepository = attendanceConfigurationRepository;
-        this.allowanceRepository = allowanceRepository;
-        this.deductionRepository = deductionRepository;
+        this.qrTokenIndex = qrTokenIndex;
+        this.employeeDirectoryIndex = employeeDirectoryIndex;
+        this.employeeCodeAllocator = employeeCodeAllocator;
+        this.employeeGrowthService = employeeGrowthService;
+        this.employeeOffboardingService = employeeOffboardingService;
     }
 
     //************************************************//
@@ -291,7 +274,7 @@ public class EmployeeService {
             throw new InvalidEmployeeDataException("Invalid salary type");
         }
 
-        employee.setIsActive("Active".equalsIgnoreCase(request.getStatus()));
+        employee.changeActiveStatus("Active".equalsIgnoreCase(request.getStatus()), LocalDateTime.now());
         employee.setCreatedAt(LocalDateTime.now());
         employee.setUpdatedAt(LocalDateTime.now());
 
@@ -300,6 +283,9 @@ public class EmployeeService {
          * save() is enough – commit happens after method ends
          * ------------------------------------------------- */
         Employee savedEmployee = employeeRepository.save(employee);
+        employeeDirectoryIndex.onEmployeeSaved(savedEmployee);
+        // The joining date may fall in a closed, cached year
+        employeeGrowthService.evictOrganization(organizationUuid);
         log.info("Employee persisted with id={}", savedEmployee.getId());
 
         /* -------------------------------------------------
@@ -322,15 +308,8 @@ public class EmployeeService {
                     request.getLeaveBalances().size(), savedEmployee.getId());
             
             for (EmployeeLeaveBalanceDTO balanceDTO : request.getLeaveBalances()) {
-                EmployeeLeaveBalance balance = new EmployeeLeaveBalance();
-                balance.setOrganizationUuid(organizationUuid);
-                balance.setEmployeeId(savedEmployee.getId());
-                balance.setLeaveTypeId(balanceDTO.getLeaveTypeId());
-                balance.setBalance(balanceDTO.getBalance());
-                balance.setCreatedAt(LocalDateTime.now());
-                balance.setUpdatedAt(LocalDateTime.now());
-                
-                employeeLeaveBalanceRepository.save(balance);
+                employeeLeaveBalanceRepository.save(
+                        newLeaveBalance(organizationUuid, savedEmployee.getId(), balanceDTO));
             }
             
             List<EmployeeLeaveBalanceDTO> savedBalances = getEmployeeLeaveBalances(
@@ -498,7 +477,7 @@ public class EmployeeService {
                     .orElseThrow(() -> new EmployeeNotFoundException("Employee with ID " + id + " not found in this organization"));
 
             // 2. Toggle status
-            employee.setIsActive(!employee.getIsActive());
+            employee.changeActiveStatus(!employee.getIsActive(), LocalDateTime.now());
             employee.setUpdatedAt(LocalDateTime.now());
 
             Employee savedEmployee;
@@ -507,6 +486,10 @@ public class EmployeeService {
             } catch (DataAccessException dae) {
                 throw new RuntimeException("Failed to update employee status in database: " + dae.getMessage(), dae);
             }
+            qrTokenIndex.invalidateEmployee(savedEmployee.getId());
+            employeeDirectoryIndex.onEmployeeSaved(savedEmployee);
+            // Reactivation removes an exit that may lie in a closed, cached year
+            employeeGrowthService.evictOrganization(orgUuid);
 
             // 3. Update linked AppUser (if exists)
             if (savedEmployee.getAppUserId() != null) {
@@ -617,10 +600,14 @@ public class EmployeeService {
             employee.setSalaryType(Employee.SalaryType.valueOf(request.getSalaryType().toUpperCase()));
             employee.setBasicSalary(request.getBasicSalary());
             employee.setDateOfJoining(request.getDateOfJoining());
-            employee.setIsActive(request.getStatus().equalsIgnoreCase("Active"));
+            employee.changeActiveStatus(request.getStatus().equalsIgnoreCase("Active"), LocalDateTime.now());
             employee.setUpdatedAt(LocalDateTime.now());
 
             Employee savedEmployee = employeeRepository.save(employee);
+            qrTokenIndex.invalidateEmployee(savedEmployee.getId());
+            employeeDirectoryIndex.onEmployeeSaved(savedEmployee);
+            // Joining date and status both place the employee in the growth series
+            employeeGrowthService.evictOrganization(organizationUuid);
 
             // Update leave balances
             if (request.getLeaveBalances() != null && !request.getLeaveBalances().isEmpty()) {
@@ -638,14 +625,8 @@ public class EmployeeService {
                         balance.setUpdatedAt(LocalDateTime.now());
                         employeeLeaveBalanceRepository.save(balance);
                     } else {
-                        EmployeeLeaveBalance balance = new EmployeeLeaveBalance();
-                        balance.setOrganizationUuid(organizationUuid);
-                        balance.setEmployeeId(savedEmployee.getId());
-                        balance.setLeaveTypeId(balanceDTO.getLeaveTypeId());
-                        balance.setBalance(balanceDTO.getBalance());
-                        balance.setCreatedAt(LocalDateTime.now());
-                        balance.setUpdatedAt(LocalDateTime.now());
-                        employeeLeaveBalanceRepository.save(balance);
+                        employeeLeaveBalanceRepository.save(
+                                newLeaveBalance(organizationUuid, savedEmployee.getId(), balanceDTO));
                     }
                 }
             }
@@ -690,18 +671,11 @@ public class EmployeeService {
         }
 
         try {
-            // 2️⃣ Fetch next number from DB
-            Integer nextNumber = employeeRepository.findNextEmployeeNumber(organizationUuid);
-
-            if (nextNumber == null || nextNumber <= 0) {
-                throw new IllegalStateException("Failed to generate next employee number");
-            }
-
-            // 3️⃣ Format employee code
-            return String.format("EMP-%03d", nextNumber);
+            // 2️⃣ Take the next code from the organization's sequence block
+            return employeeCodeAllocator.nextCode(organizationUuid);
 
         } catch (Exception ex) {
-            // 4️⃣ Log & wrap exception
+            // 3️⃣ Log & wrap exception
             log.error(
                     "Error generating employee code for organizationUuid={}",
                     organizationUuid,
@@ -711,6 +685,16 @@ public class EmployeeService {
         }
     }
 
+    /**
+     * Preview of the next employee code (READ-ONLY, nothing is reserved)
+     */
+    public String peekEmployeeCode(String organizationUuid) {
+        if (organizationUuid == null || organizationUuid.isBlank()) {
+            throw new IllegalArgumentException("Organization UUID cannot be null or empty");
+        }
+        return employeeCodeAllocator.peekCode(organizationUuid);
+    }
+
     //************************************************//
     //get count of total employees//
     //************************************************//
@@ -800,6 +784,7 @@ public class EmployeeService {
             employee.setUpdatedAt(LocalDateTime.now());
 
             Employee savedEmployee = employeeRepository.save(employee);
+            employeeDirectoryIndex.onEmployeeSaved(savedEmployee);
             applyProfileImageNormalization(savedEmployee);
 
             log.info("Employee profile updated successfully for: {}", email);
@@ -908,30 +893,71 @@ public class EmployeeService {
         employee.setUpdatedAt(LocalDateTime.now());
 
         employeeRepository.save(employee);
+        qrTokenIndex.invalidateEmployee(employee.getId());
         log.info("Generated and saved new QR token for employee: {}", employeeCode);
 
         return qrToken;
     }
     
+    /**
+     * Active employees for a badge sheet (optionally one department), ordered by code.
+     * Missing QR tokens are generated and saved in one batch instead of per employee.
+     */
+    @Transactional
+    public List<Employee> getEmployeesForQrBadges(String organizationUuid, Long departmentId) {
+        List<Employee> employees = employeeRepository.findByOrganizationUuidAndIsActiveTrue(organizationUuid)
+                .stream()
+                .filter(e -> departmentId == null || departmentId.equals(e.getDepartmentId()))
+                .sorted(Comparator.comparing(Employee::getEmployeeCode,
+                        Comparator.nullsLast(String::compareTo)))
+                .collect(Collectors.toList());
+
+        List<Employee> missingToken = employees.stream()
+                .filter(e -> e.getQrToken() == null || e.getQrToken().isEmpty())
+                .collect(Collectors.toList());
+
+        if (!missingToken.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            missingToken.forEach(e -> {
+                e.setQrToken(RandomTokenUtil.generateEmployeeQrToken());
+                e.setUpdatedAt(now);
+            });
+            employeeRepository.saveAll(missingToken);
+            missingToken.forEach(e -> qrTokenIndex.invalidateEmployee(e.getId()));
+            log.info("Generated {} QR tokens for badge printing in organization: {}", missingToken.size(), organizationUuid);
+        }
+
+        return employees;
+    }
+
     /**
      * Get employee leave balances with leave type details
      */
     private List<EmployeeLeaveBalanceDTO> getEmployeeLeaveBalances(Long employeeId, String organizationUuid) {
-        List<EmployeeLeaveBalance> balances = employeeLeaveBalanceRepository
-                .findByEmployeeIdAndOrganizationUuid(employeeId, organizationUuid);
-        
-        return balances.stream().map(balance -> {
-            EmployeeLeaveBalanceDTO dto = new EmployeeLeaveBalanceDTO();
-            dto.setLeaveTypeId(balance.getLeaveTypeId());
-            dto.setBalance(balance.getBalance());
-            
-            leaveTypeRepository.findById(balance.getLeaveTypeId()).ifPresent(leaveType -> {
-                dto.setLeaveTypeName(leaveType.getName());
-                dto.setLeaveTypeCode(leaveType.getCode());
-            });
-            
-            return dto;
-        }).collect(Collectors.toList());
+        return employeeLeaveBalanceRepository.findDetailsByEmployeeId(employeeId, organizationUuid);
+    }
+
+    /**
+     * Balance entered by HR for a new employee or a newly covered leave type.
+     * The amount counts as this period's, so the accrual engine continues
+     * from the next period instead of baselining the row to its own run
+     * (same markers as EmployeeImportBatchRepository).
+     */
+    private EmployeeLeaveBalance newLeaveBalance(String organizationUuid, Long employeeId,
+                                                 EmployeeLeaveBalanceDTO balanceDTO) {
+        YearMonth period = YearMonth.now();
+        LocalDateTime now = LocalDateTime.now();
+
+        EmployeeLeaveBalance balance = new EmployeeLeaveBalance();
+        balance.setOrganizationUuid(organizationUuid);
+        balance.setEmployeeId(employeeId);
+        balance.setLeaveTypeId(balanceDTO.getLeaveTypeId());
+        balance.setBalance(balanceDTO.getBalance());
+        balance.setLastAccrualPeriod(period.toString());
+        balance.setLastRolloverYear(period.getYear());
+        balance.setCreatedAt(now);
+        balance.setUpdatedAt(now);
+        return balance;
     }
 
     /**
@@ -943,22 +969,17 @@ public class EmployeeService {
             Employee employee = employeeRepository.findByEmailAndOrganizationUuid(userEmail, organizationUuid)
                     .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with email: " + userEmail));
 
-            // Get leave balances
-            List<EmployeeLeaveBalance> balances = employeeLeaveBalanceRepository
-                    .findByEmployeeIdAndOrganizationUuid(employee.getId(), organizationUuid);
+            // Balances with leave type details, in one query
+            List<EmployeeLeaveBalanceDTO> balances = getEmployeeLeaveBalances(employee.getId(), organizationUuid);
 
-            // Build response with leave type details
             List<java.util.Map<String, Object>> result = balances.stream().map(balance -> {
                 java.util.Map<String, Object> balanceData = new java.util.HashMap<>();
                 balanceData.put("leaveTypeId", balance.getLeaveTypeId());
                 balanceData.put("balance", balance.getBalance());
-
-                // Get leave type details
-                leaveTypeRepository.findById(balance.getLeaveTypeId()).ifPresent(leaveType -> {
-                    balanceData.put("leaveTypeName", leaveType.getName());
-                    balanceData.put("leaveTypeCode", leaveType.getCode());
-                });
-
+                if (balance.getLeaveTypeName() != null) {
+                    balanceData.put("leaveTypeName", balance.getLeaveTypeName());
+                    balanceData.put("leaveTypeCode", balance.getLeaveTypeCode());
+                }
                 return balanceData;
             }).collect(Collectors.toList());
 
@@ -974,9 +995,9 @@ public class EmployeeService {
 
     /**
      * Get yearly employee growth chart data for dashboard charts
-     * Returns monthly employee counts for a specific year
+     * Returns month-end headcount plus hires and exits per month, fromYear to toYear
      */
-    public List<Map<String, Object>> getYearlyEmployeeGrowthChartData(String organizationUuid, int year) {
+    public List<Map<String, Object>> getYearlyEmployeeGrowthChartData(String organizationUuid, int fromYear, int toYear) {
         List<Map<String, Object>> chartData = new ArrayList<>();
         
         String[] monthNames = {
@@ -984,21 +1005,14 @@ public class EmployeeService {
             "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
         };
         
-        for (int month = 1; month <= 12; month++) {
-            LocalDate endOfMonth = LocalDate.of(year, month, 1).withDayOfMonth(
-                LocalDate.of(year, month, 1).lengthOfMonth()
-            );
-            
-            // Count employees who were created before or on end of month
-            long employeeCount = employeeRepository.countByOrganizationUuidAndCreatedAtBefore(
-                organizationUuid, endOfMonth.atTime(23, 59, 59)
-            );
-            
+        for (EmployeeGrowthPoint point : employeeGrowthService.getMonthlySeries(organizationUuid, fromYear, toYear)) {
             Map<String, Object> monthData = new HashMap<>();
-            monthData.put("month", monthNames[month - 1]);
-            monthData.put("monthNumber", month);
-            monthData.put("totalEmployees", employeeCount);
-            monthData.put("year", year);
+            monthData.put("month", monthNames[point.getMonth() - 1]);
+            monthData.put("monthNumber", point.getMonth());
+            monthData.put("totalEmployees", point.getHeadcount());
+            monthData.put("hires", point.getHires());
+            monthData.put("exits", point.getExits());
+            monthData.put("year", point.getYear());
             
             chartData.add(monthData);
         }
@@ -1022,97 +1036,10 @@ public class EmployeeService {
             throw new InvalidEmployeeDataException("Employee does not belong to this organization");
         }
 
-        // Best-effort cleanup in AI service: remove face photo + embedding record for this employee.
-        deregisterEmployeeFaceData(organizationUuid, employeeId);
-
-        // Delete records that directly depend on employee FK or employee id.
-        employeeFeedbackRepository.deleteByEmployee_Id(employeeId);
-        leaveRequestRepository.deleteByOrganizationUuidAndEmployee_Id(organizationUuid, employeeId);
-        attendanceRepository.deleteByOrganizationUuidAndEmployeeId(organizationUuid, employeeId);
-        payslipRepository.deleteByOrganizationUuidAndEmployeeId(organizationUuid, employeeId);
-        feedbackSurveyResponseRepository.deleteByEmployeeId(employeeId);
-
-        // Delete employee-targeted rules/configurations.
-        attendanceConfigurationRepository.deleteByOrganizationUuidAndEmployeeId(organizationUuid, employeeId);
-        allowanceRepository.deleteByOrganizationUuidAndEmployeeId(organizationUuid, employeeId);
-        deductionRepository.deleteByOrganizationUuidAndEmployeeId(organizationUuid, employeeId);
-        
-        // Delete associated leave balances first (to avoid foreign key constraint)
-        List<EmployeeLeaveBalance> leaveBalances = employeeLeaveBalanceRepository.findByEmployeeIdAndOrganizationUuid(employeeId, organizationUuid);
-        if (!leaveBalances.isEmpty()) {
-            employeeLeaveBalanceRepository.deleteAll(leaveBalances);
-            log.info("Deleted {} leave balance records for employee ID: {}", leaveBalances.size(), employeeId);
-        }
-        
-        // Delete associated AppUser if exists
-        if (employee.getAppUserId() != null) {
-            appUserRepository.deleteById(employee.getAppUserId());
-            log.info("Deleted associated AppUser with ID: {}", employee.getAppUserId());
-        }
-        
-        // Delete employee
-        employeeRepository.delete(employee);
-        log.info("Successfully deleted employee with ID: {}", employeeId);
-    }
-
-    private void deregisterEmployeeFaceData(String organizationUuid, Long employeeId) {
-        String baseUrl = normalizeAiServiceBaseUrl(aiServiceUrl);
-        String endpoint = String.format(
-                "%s/api/face/deregister/%s/%s",
-                baseUrl,
-                organizationUuid,
-                employeeId
-        );
-
-        try {
-            ResponseEntity<String> response = restTemplate.exchange(endpoint, HttpMethod.DELETE, null, String.class);
-            log.info(
-                    "AI face deregistration response for employee {} in org {}: status={}",
-                    employeeId,
-                    organizationUuid,
-                    response.getStatusCode().value()
-            );
-        } catch (HttpStatusCodeException ex) {
-            if (ex.getStatusCode().value() == 404) {
-                log.info(
-                        "No existing face registration found for employee {} in org {}. Skipping AI cleanup.",
-                        employeeId,
-                        organizationUuid
-                );
-                return;
-            }
-
-            log.warn(
-                    "AI face deregistration failed for employee {} in org {}: status={} body={}",
-                    employeeId,
-                    organizationUuid,
-                    ex.getStatusCode().value(),
-                    ex.getResponseBodyAsString()
-            );
-        } catch (Exception ex) {
-            log.warn(
-                    "Could not call AI face deregistration for employee {} in org {}: {}",
-                    employeeId,
-                    organizationUuid,
-                    ex.getMessage()
-            );
-        }
-    }
-
-    private String normalizeAiServiceBaseUrl(String rawUrl) {
-        if (rawUrl == null || rawUrl.isBlank()) {
-            return "http://localhost:8001";
-        }
-
-        String trimmed = rawUrl.trim();
-        if (!trimmed.startsWith("http://") && !trimmed.startsWith("https://")) {
-            trimmed = "https://" + trimmed;
-        }
-
-        while (trimmed.endsWith("/")) {
-            trimmed = trimmed.substring(0, trimmed.length() - 1);
-        }
-
-        return trimmed;
+        // Soft phase (deactivate, disable login, revoke QR) runs in this transaction;
+        // the employee's data is purged in the background by EmployeeOffboardingWorker.
+        EmployeeOffboardingJob job = employeeOffboardingService.offboard(
+                organizationUuid, List.of(employeeId), EmployeeOffboardingJob.Action.DELETE, null);
+        log.info("Employee with ID: {} deactivated, purge queued as offboarding job {}", employeeId, job.getId());
     }
 }
@@ -0,0 +1,92 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.attendance.FaceAttendanceResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Face Attendance Coalescer
+ * Kiosks often submit the same face match several times within seconds.
+ * Submissions are keyed by action + organization + employee + day:
+ *  - concurrent identical submissions wait on a striped lock, the first one
+ *    runs the lookup + DB transaction, the rest get its response
+ *  - repeats within the dedup window get the cached response without a DB hit
+ * Only completed responses are cached; exceptions are not.
+ */
+@Service
+@Slf4j
+public class FaceAttendanceCoalescer {
+
+    private static final int STRIPES = 64; // power of two
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    @Value("${attendance.face.dedup-seconds:10}")
+    private long dedupSeconds;
+
+    private static class CachedResponse {
+        private final FaceAttendanceResponse response;
+        private final long expiresAtMillis;
+
+        private CachedResponse(FaceAttendanceResponse response, long expiresAtMillis) {
+            this.response = response;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    public FaceAttendanceCoalescer() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public FaceAttendanceResponse submit(String action, String organizationUuid, Object employeeKey,
+                                         Supplier<FaceAttendanceResponse> work) {
+        String key = action + ":" + organizationUuid + ":" + employeeKey + ":" + LocalDate.now();
+
+        FaceAttendanceResponse cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Unrelated employees hash to different stripes and proceed in parallel
+        ReentrantLock lock = locks[(key.hashCode() ^ (key.hashCode() >>> 16)) & (STRIPES - 1)];
+        lock.lock();
+        try {
+            cached = lookup(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            FaceAttendanceResponse response = work.get();
+            responses.put(key, new CachedResponse(response, System.currentTimeMillis() + dedupSeconds * 1000));
+            return response;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        responses.values().removeIf(entry -> entry.expiresAtMillis <= now);
+    }
+
+    private FaceAttendanceResponse lookup(String key) {
+        CachedResponse entry = responses.get(key);
+        if (entry == null || entry.expiresAtMillis <= System.currentTimeMillis()) {
+            return null;
+        }
+        log.debug("Coalesced duplicate face submission {}", key);
+        return entry.response;
+    }
+}
@@ -0,0 +1,305 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.OfficeGeofence;
+import com.corehive.backend.repository.OfficeGeofenceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Geofence Index
+ * In-memory grid of active office geofences for GPS check-in validation.
+ * The globe is cut into fixed lat/lng cells (attendance.gps.cell-degrees,
+ * ~1 km by default) and each fence is registered in every cell its bounding
+ * box touches, so a lookup is one hash probe plus an exact test against the
+ * few fences in that cell - no DB hit.
+ * Per-organization grids are immutable and swapped whole: GeofenceService
+ * rebuilds an organization after each fence change, and a periodic reload
+ * picks up changes made through another instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GeofenceIndex {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = 111_320d;
+
+    // Fences spanning more cells than this are tested on every lookup instead
+    private static final int MAX_CELLS_PER_FENCE = 4096;
+
+    private final OfficeGeofenceRepository geofenceRepository;
+
+    @Value("${attendance.gps.cell-degrees:0.01}")
+    private double cellDegrees;
+
+    private final Map<String, OrgGrid> grids = new ConcurrentHashMap<>();
+
+    /**
+     * Compiled, immutable form of an OfficeGeofence
+     */
+    @Getter
+    public static class Fence {
+        private final Long id;
+        private final String name;
+        private final OfficeGeofence.Shape shape;
+        private final double centerLatitude;
+        private final double centerLongitude;
+        private final double radiusMeters;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final double minLatitude;
+        private final double maxLatitude;
+        private final double minLongitude;
+        private final double maxLongitude;
+
+        private Fence(OfficeGeofence source, double[] latitudes, double[] longitudes) {
+            this.id = source.getId();
+            this.name = source.getName();
+            this.shape = source.getShape();
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+
+            if (shape == OfficeGeofence.Shape.CIRCLE) {
+                this.centerLatitude = source.getCenterLatitude();
+                this.centerLongitude = source.getCenterLongitude();
+                this.radiusMeters = source.getRadiusMeters();
+                double dLat = radiusMeters / METERS_PER_DEGREE;
+                double dLng = radiusMeters / (METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(centerLatitude)), 0.01));
+                this.minLatitude = centerLatitude - dLat;
+                this.maxLatitude = centerLatitude + dLat;
+                this.minLongitude = centerLongitude - dLng;
+                this.maxLongitude = centerLongitude + dLng;
+            } else {
+                double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+                double minLng = Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+                for (int i = 0; i < latitudes.length; i++) {
+                    minLat = Math.min(minLat, latitudes[i]);
+                    maxLat = Math.max(maxLat, latitudes[i]);
+                    minLng = Math.min(minLng, longitudes[i]);
+                    maxLng = Math.max(maxLng, longitudes[i]);
+                }
+                this.centerLatitude = (minLat + maxLat) / 2;
+                this.centerLongitude = (minLng + maxLng) / 2;
+                this.radiusMeters = 0;
+                this.minLatitude = minLat;
+                this.maxLatitude = maxLat;
+                this.minLongitude = minLng;
+                this.maxLongitude = maxLng;
+            }
+        }
+
+        public boolean contains(double latitude, double longitude) {
+            if (latitude < minLatitude || latitude > maxLatitude
+                    || longitude < minLongitude || longitude > maxLongitude) {
+                return false;
+            }
+            if (shape == OfficeGeofence.Shape.CIRCLE) {
+                return distanceMeters(centerLatitude, centerLongitude, latitude, longitude) <= radiusMeters;
+            }
+
+            // Ray casting, longitude as x and latitude as y (fine at office scale)
+            boolean inside = false;
+            for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+                if ((latitudes[i] > latitude) != (latitudes[j] > latitude)
+                        && longitude < (longitudes[j] - longitudes[i]) * (latitude - latitudes[i])
+                        / (latitudes[j] - latitudes[i]) + longitudes[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+    }
+
+    private static final class OrgGrid {
+        private static final OrgGrid EMPTY = new OrgGrid(Map.of(), new Fence[0], 0);
+
+        private final Map<Long, Fence[]> cells;
+        private final Fence[] wide;
+        private final int size;
+
+        private OrgGrid(Map<Long, Fence[]> cells, Fence[] wide, int size) {
+            this.cells = cells;
+            this.wide = wide;
+            this.size = size;
+        }
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        reloadAll();
+    }
+
+    /**
+     * Periodic full reload - bounds staleness across instances
+     */
+    @Scheduled(fixedDelayString = "${attendance.gps.index-refresh-ms:300000}",
+            initialDelayString = "${attendance.gps.index-refresh-ms:300000}")
+    public void reloadAll() {
+        try {
+            Map<String, List<OfficeGeofence>> byOrg = geofenceRepository.findByIsActiveTrue().stream()
+                    .collect(Collectors.groupingBy(OfficeGeofence::getOrganizationUuid));
+
+            // Organizations whose last fence was removed elsewhere
+            grids.keySet().stream()
+                    .filter(org -> !byOrg.containsKey(org))
+                    .forEach(org -> grids.put(org, OrgGrid.EMPTY));
+            byOrg.forEach((org, fences) -> grids.put(org, build(org, fences)));
+
+            log.info("Geofence index loaded {} fences for {} organizations",
+                    byOrg.values().stream().mapToInt(List::size).sum(), byOrg.size());
+        } catch (Exception e) {
+            log.error("Failed to load geofence index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reload one organization after its fences changed
+     */
+    public void rebuild(String organizationUuid) {
+        grids.put(organizationUuid,
+                build(organizationUuid, geofenceRepository.findByOrganizationUuidAndIsActiveTrue(organizationUuid)));
+    }
+
+    /**
+     * First active fence containing the point; null when outside all of them
+     */
+    public Fence match(String organizationUuid, double latitude, double longitude) {
+        OrgGrid grid = grids.computeIfAbsent(organizationUuid,
+                org -> build(org, geofenceRepository.findByOrganizationUuidAndIsActiveTrue(org)));
+        if (grid.size == 0) {
+            return null;
+        }
+
+        Fence[] candidates = grid.cells.get(cellKey(cellIndex(latitude + 90), cellIndex(longitude + 180)));
+        if (candidates != null) {
+            for (Fence fence : candidates) {
+                if (fence.contains(latitude, longitude)) {
+                    return fence;
+                }
+            }
+        }
+        for (Fence fence : grid.wide) {
+            if (fence.contains(latitude, longitude)) {
+                return fence;
+            }
+        }
+        return null;
+    }
+
+    public boolean hasFences(String organizationUuid) {
+        OrgGrid grid = grids.get(organizationUuid);
+        return grid != null ? grid.size > 0
+                : !geofenceRepository.findByOrganizationUuidAndIsActiveTrue(organizationUuid).isEmpty();
+    }
+
+    /**
+     * Validate and compile a fence definition
+     *
+     * @throws IllegalArgumentException when the shape is incomplete or out of range
+     */
+    public static Fence compile(OfficeGeofence geofence) {
+        if (geofence.getShape() == null) {
+            throw new IllegalArgumentException("Geofence shape is required");
+        }
+
+        if (geofence.getShape() == OfficeGeofence.Shape.CIRCLE) {
+            if (geofence.getCenterLatitude() == null || geofence.getCenterLongitude() == null
+                    || geofence.getRadiusMeters() == null || geofence.getRadiusMeters() <= 0) {
+                throw new IllegalArgumentException("Circle geofence needs a center and a positive radius");
+            }
+            checkCoordinate(geofence.getCenterLatitude(), geofence.getCenterLongitude());
+            return new Fence(geofence, null, null);
+        }
+
+        if (geofence.getPolygon() == null || geofence.getPolygon().isBlank()) {
+            throw new IllegalArgumentException("Polygon geofence needs vertices as 'lat,lng;lat,lng;...'");
+        }
+        String[] points = geofence.getPolygon().trim().split("\\s*;\\s*");
+        if (points.length < 3) {
+            throw new IllegalArgumentException("Polygon geofence needs at least 3 vertices");
+        }
+        double[] latitudes = new double[points.length];
+        double[] longitudes = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            String[] parts = points[i].split("\\s*,\\s*");
+            try {
+                latitudes[i] = Double.parseDouble(parts[0]);
+                longitudes[i] = Double.parseDouble(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid polygon vertex: " + points[i]);
+            }
+            checkCoordinate(latitudes[i], longitudes[i]);
+        }
+        return new Fence(geofence, latitudes, longitudes);
+    }
+
+    /**
+     * Great-circle (haversine) distance in meters
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private OrgGrid build(String organizationUuid, List<OfficeGeofence> geofences) {
+        Map<Long, List<Fence>> cells = new HashMap<>();
+        List<Fence> wide = new ArrayList<>();
+
+        for (OfficeGeofence geofence : geofences) {
+            Fence fence;
+            try {
+                fence = compile(geofence);
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping invalid geofence {} for org {}: {}", geofence.getId(), organizationUuid, e.getMessage());
+                continue;
+            }
+
+            long minLatCell = cellIndex(fence.minLatitude + 90), maxLatCell = cellIndex(fence.maxLatitude + 90);
+            long minLngCell = cellIndex(fence.minLongitude + 180), maxLngCell = cellIndex(fence.maxLongitude + 180);
+            if ((maxLatCell - minLatCell + 1) * (maxLngCell - minLngCell + 1) > MAX_CELLS_PER_FENCE) {
+                wide.add(fence);
+                continue;
+            }
+            for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (long lngCell = minLngCell; lngCell <= maxLngCell; lngCell++) {
+                    cells.computeIfAbsent(cellKey(latCell, lngCell), k -> new ArrayList<>(2)).add(fence);
+                }
+            }
+        }
+
+        Map<Long, Fence[]> frozen = new HashMap<>(cells.size() * 2);
+        cells.forEach((key, fences) -> frozen.put(key, fences.toArray(new Fence[0])));
+        int size = (int) cells.values().stream().flatMap(List::stream).distinct().count() + wide.size();
+        return new OrgGrid(frozen, wide.toArray(new Fence[0]), size);
+    }
+
+    private long cellIndex(double shiftedDegrees) {
+        return (long) Math.floor(shiftedDegrees / cellDegrees);
+    }
+
+    private static long cellKey(long latCell, long lngCell) {
+        return (latCell << 32) | (lngCell & 0xFFFFFFFFL);
+    }
+
+    private static void checkCoordinate(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinate out of range: " + latitude + "," + longitude);
+        }
+    }
+}
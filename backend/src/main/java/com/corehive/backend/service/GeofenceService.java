@@ -0,0 +1,81 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.OfficeGeofence;
+import com.corehive.backend.repository.OfficeGeofenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.BadRequestException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Geofence Service
+ * Office geofence management for GPS attendance. Every change is saved
+ * (and committed) before the organization's GeofenceIndex grid is rebuilt.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GeofenceService {
+
+    private final OfficeGeofenceRepository geofenceRepository;
+    private final GeofenceIndex geofenceIndex;
+
+    public List<OfficeGeofence> getGeofences(String organizationUuid) {
+        return geofenceRepository.findByOrganizationUuidAndIsActiveTrue(organizationUuid);
+    }
+
+    public OfficeGeofence getGeofence(Long id, String organizationUuid) {
+        return geofenceRepository.findByIdAndOrganizationUuid(id, organizationUuid)
+                .filter(fence -> Boolean.TRUE.equals(fence.getIsActive()))
+                .orElseThrow(() -> new RuntimeException("Geofence not found"));
+    }
+
+    public OfficeGeofence createGeofence(OfficeGeofence geofence, String organizationUuid) throws BadRequestException {
+        validate(geofence);
+        geofence.setId(null);
+        geofence.setOrganizationUuid(organizationUuid);
+        geofence.setIsActive(true);
+
+        OfficeGeofence saved = geofenceRepository.save(geofence);
+        geofenceIndex.rebuild(organizationUuid);
+        log.info("Geofence {} created for org {}", saved.getId(), organizationUuid);
+        return saved;
+    }
+
+    public OfficeGeofence updateGeofence(Long id, OfficeGeofence geofence, String organizationUuid)
+            throws BadRequestException {
+        validate(geofence);
+        OfficeGeofence existing = getGeofence(id, organizationUuid);
+
+        existing.setName(geofence.getName());
+        existing.setShape(geofence.getShape());
+        existing.setCenterLatitude(geofence.getCenterLatitude());
+        existing.setCenterLongitude(geofence.getCenterLongitude());
+        existing.setRadiusMeters(geofence.getRadiusMeters());
+        existing.setPolygon(geofence.getPolygon());
+
+        OfficeGeofence saved = geofenceRepository.save(existing);
+        geofenceIndex.rebuild(organizationUuid);
+        return saved;
+    }
+
+    public void deleteGeofence(Long id, String organizationUuid) {
+        OfficeGeofence existing = getGeofence(id, organizationUuid);
+        existing.setIsActive(false);
+        geofenceRepository.save(existing);
+        geofenceIndex.rebuild(organizationUuid);
+    }
+
+    private void validate(OfficeGeofence geofence) throws BadRequestException {
+        if (geofence.getName() == null || geofence.getName().isBlank()) {
+            throw new BadRequestException("Geofence name is required");
+        }
+        try {
+            GeofenceIndex.compile(geofence);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+}
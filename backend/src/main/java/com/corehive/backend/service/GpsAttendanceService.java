@@ -0,0 +1,168 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.attendance.KioskScan;
+import com.corehive.backend.dto.request.GpsAttendanceBatchRequest;
+import com.corehive.backend.dto.request.GpsAttendanceBatchRequest.GpsEvent;
+import com.corehive.backend.dto.request.GpsAttendanceRequest;
+import com.corehive.backend.dto.response.GpsAttendanceResponse;
+import com.corehive.backend.dto.response.OfflineScanBatchResponse;
+import com.corehive.backend.model.Attendance;
+import com.corehive.backend.model.Employee;
+import com.corehive.backend.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * GPS Attendance Service
+ * Check-in / check-out from the employee's phone, accepted only inside one
+ * of the organization's office geofences. Positions are validated against
+ * the in-memory GeofenceIndex; offline uploads are validated event by event
+ * and replayed through the same ordered, idempotent path as kiosk uploads.
+ * Offline events are reported by the employee's own device, so their
+ * capture time must be recent and they can never move a check-in earlier.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GpsAttendanceService {
+
+    private final GeofenceIndex geofenceIndex;
+    private final AttendanceService attendanceService;
+    private final OfflineScanService offlineScanService;
+    private final EmployeeRepository employeeRepository;
+
+    // Fixes less precise than this cannot prove the device is on site
+    @Value("${attendance.gps.max-accuracy-meters:100}")
+    private double maxAccuracyMeters;
+
+    // Oldest offline fix accepted, relative to the upload
+    @Value("${attendance.gps.offline-max-age-hours:24}")
+    private long offlineMaxAgeHours;
+
+    // Tolerated device clock drift for fixes dated after the upload
+    @Value("${attendance.gps.max-clock-skew-seconds:120}")
+    private long maxClockSkewSeconds;
+
+    public GpsAttendanceResponse markAttendance(String orgUuid, String userEmail, GpsAttendanceRequest request,
+                                                String ip) throws BadRequestException {
+        Employee employee = resolveEmployee(orgUuid, userEmail);
+
+        String problem = checkAccuracy(request.getAccuracyMeters());
+        if (problem != null) {
+            throw new BadRequestException(problem);
+        }
+        GeofenceIndex.Fence fence = geofenceIndex.match(orgUuid, request.getLatitude(), request.getLongitude());
+        if (fence == null) {
+            throw new BadRequestException(geofenceIndex.hasFences(orgUuid)
+                    ? "You are outside the office area"
+                    : "GPS attendance is not configured for this organization");
+        }
+
+        GpsAttendanceResponse response = attendanceService.markAttendanceViaGps(
+                employee.getId(), orgUuid, formatAccuracy(request.getAccuracyMeters()), ip, request.getDeviceInfo());
+        response.setGeofenceId(fence.getId());
+        response.setGeofenceName(fence.getName());
+        return response;
+    }
+
+    public OfflineScanBatchResponse replay(String orgUuid, String userEmail, GpsAttendanceBatchRequest request,
+                                           String ip) throws BadRequestException {
+        Employee employee = resolveEmployee(orgUuid, userEmail);
+        List<GpsEvent> events = request.getEvents();
+        OfflineScanBatchResponse response = OfflineScanBatchResponse.builder()
+                .received(events.size())
+                .build();
+
+        // 1. Idempotency - within the batch and against earlier uploads
+        Set<String> alreadyApplied = offlineScanService.findAppliedKeys(orgUuid, events.stream()
+                .map(GpsEvent::getIdempotencyKey)
+                .collect(Collectors.toList()));
+        Set<String> seen = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        // 2. Validate every fix against the geofences, in memory
+        List<KioskScan> scans = new ArrayList<>();
+        for (GpsEvent event : events) {
+            if (alreadyApplied.contains(event.getIdempotencyKey()) || !seen.add(event.getIdempotencyKey())) {
+                response.setDuplicates(response.getDuplicates() + 1);
+                continue;
+            }
+
+            String problem = checkCapturedAt(event.getCapturedAt(), now);
+            if (problem == null) {
+                problem = checkAccuracy(event.getAccuracyMeters());
+            }
+            if (problem == null && geofenceIndex.match(orgUuid, event.getLatitude(), event.getLongitude()) == null) {
+                problem = "Outside office area";
+            }
+            if (problem != null) {
+                response.getRejected().add(new OfflineScanBatchResponse.RejectedEvent(event.getIdempotencyKey(), problem));
+                continue;
+            }
+
+            scans.add(KioskScan.builder()
+                    .employeeId(employee.getId())
+                    .organizationUuid(orgUuid)
+                    .scannedAt(event.getCapturedAt())
+                    .verificationType(Attendance.VerificationType.GPS)
+                    .verificationConfidence(formatAccuracy(event.getAccuracyMeters()))
+                    .ipAddress(ip)
+                    .deviceInfo(request.getDeviceInfo())
+                    .idempotencyKey(event.getIdempotencyKey())
+                    .selfReported(true)
+                    .build());
+        }
+
+        // 3. Ordered, chunked writes
+        offlineScanService.applyScans(orgUuid, scans, response);
+
+        log.info("GPS offline replay for employee {}: received={}, checkIns={}, checkOuts={}, ignored={}, duplicates={}, rejected={}",
+                employee.getId(), response.getReceived(), response.getCheckIns(), response.getCheckOuts(),
+                response.getIgnored(), response.getDuplicates(), response.getRejected().size());
+        return response;
+    }
+
+    private Employee resolveEmployee(String orgUuid, String userEmail) throws BadRequestException {
+        Employee employee = employeeRepository.findByEmailAndOrganizationUuid(userEmail, orgUuid)
+                .orElseThrow(() -> new BadRequestException("Employee not found"));
+        if (!Boolean.TRUE.equals(employee.getIsActive())) {
+            throw new BadRequestException("Employee inactive");
+        }
+        return employee;
+    }
+
+    private String checkCapturedAt(LocalDateTime capturedAt, LocalDateTime now) {
+        if (capturedAt.isAfter(now.plusSeconds(maxClockSkewSeconds))) {
+            return "Capture time is in the future";
+        }
+        if (capturedAt.isBefore(now.minusHours(offlineMaxAgeHours))) {
+            return "Capture time is older than " + offlineMaxAgeHours + " hours";
+        }
+        return null;
+    }
+
+    private String checkAccuracy(Double accuracyMeters) {
+        // Without an accuracy the fix cannot prove the device is on site
+        if (accuracyMeters == null) {
+            return "Location accuracy is required";
+        }
+        if (accuracyMeters > maxAccuracyMeters) {
+            return "Location accuracy too low (" + Math.round(accuracyMeters) + " m)";
+        }
+        return null;
+    }
+
+    private String formatAccuracy(Double accuracyMeters) {
+        return accuracyMeters != null ? "±" + Math.round(accuracyMeters) + "m" : null;
+    }
+}
@@ -42,6 +42,9 @@ public class HRStaffService {
     private final DepartmentService departmentService;
     private final EmailService emailService;
     private final OrganizationRepository organizationRepository;
+    private final EmployeeDirectoryIndex employeeDirectoryIndex;
+    private final EmployeeCodeAllocator employeeCodeAllocator;
+    private final EmployeeGrowthService employeeGrowthService;
 
     /**
      * Get all HR staff members for an organization with pagination
@@ -207,7 +210,7 @@ public class HRStaffService {
 
 
             // Generate employee code with better error handling
-            String employeeCode = generateEmployeeCodeSafe(organizationUuid);
+            String employeeCode = employeeCodeAllocator.nextCode(organizationUuid);
             log.info("Generated employee code: {}", employeeCode);
 
             // Create Employee
@@ -230,6 +233,9 @@ public class HRStaffService {
 
 
             Employee savedEmployee = employeeRepository.save(employee);
+            employeeDirectoryIndex.onEmployeeSaved(savedEmployee);
+            // The joining date may fall in a closed, cached year
+            employeeGrowthService.evictOrganization(organizationUuid);
             log.info("Employee created with ID: {} and code: {}", savedEmployee.getId(), employeeCode);
 
             // Update AppUser with linked employee ID
@@ -298,12 +304,15 @@ public class HRStaffService {
             employee.setSalaryType(Employee.SalaryType.valueOf(request.getSalaryType()));
             
             if (request.getIsActive() != null) {
-                employee.setIsActive(request.getIsActive());
+                employee.changeActiveStatus(request.getIsActive(), LocalDateTime.now());
             }
             
             employee.setUpdatedAt(LocalDateTime.now());
 
             Employee savedEmployee = employeeRepository.save(employee);
+            employeeDirectoryIndex.onEmployeeSaved(savedEmployee);
+            // Joining date and status both place the employee in the growth series
+            employeeGrowthService.evictOrganization(organizationUuid);
 
             // Update AppUser if linked
             if (savedEmployee.getAppUserId() != null) {
@@ -364,6 +373,8 @@ public class HRStaffService {
 
             // Delete Employee
             employeeRepository.delete(employee);
+            employeeDirectoryIndex.onEmployeeDeleted(employee.getOrganizationUuid(), employee.getId());
+            employeeGrowthService.evictOrganization(organizationUuid);
 
             log.info("HR staff deleted successfully with ID: {}", hrStaffId);
             return ApiResponse.success(null, "HR staff deleted successfully");
@@ -444,23 +455,6 @@ public class HRStaffService {
                 .build();
     }
 
-    /**
-     * Generate employee code with proper error handling
-     */
-    private String generateEmployeeCodeSafe(String organizationUuid) {
-        try {
-            Integer nextNumber = employeeRepository.findNextEmployeeNumber(organizationUuid);
-            if (nextNumber == null) {
-                nextNumber = 1;
-            }
-            return String.format("EMP%03d", nextNumber);
-        } catch (Exception e) {
-            log.error("Error generating employee code for organization: {}", organizationUuid, e);
-            // Fallback to timestamp-based code if query fails
-            return "EMP" + System.currentTimeMillis() % 10000;
-        }
-    }
-
     /**
      * Generate temporary password (same pattern as AuthService)
      */
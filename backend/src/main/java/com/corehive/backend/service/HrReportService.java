@@ -1,5 +1,6 @@
 package com.corehive.backend.service;
 
+import com.corehive.backend.dto.response.EmployeeGrowthPoint;
 import com.corehive.backend.exception.hrReportsException.InvalidRequestException;
 import com.corehive.backend.exception.hrReportsException.ReportGenerationException;
 import com.corehive.backend.exception.hrReportsException.ResourceNotFoundException;
@@ -10,7 +11,6 @@ import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 
 @Service
@@ -22,6 +22,9 @@ public class HrReportService {
     @Autowired
     private AttendanceRepository attendanceRepository;
 
+    @Autowired
+    private EmployeeGrowthService employeeGrowthService;
+
     // Headcount report
     public Map<String, Object> getHeadcountReport(String orgUuid) {
 
@@ -95,19 +98,11 @@ public class HrReportService {
         }
 
         try {
-            List<Object[]> rawData =
-                    employeeRepository.yearlyEmployeeGrowth(orgUuid, year);
-
+            // New hires per month, from the same series as the dashboard chart
             Map<Integer, Long> growthMap = new LinkedHashMap<>();
 
-            for (int i = 1; i <= 12; i++) {
-                growthMap.put(i, 0L);
-            }
-
-            for (Object[] row : rawData) {
-                Integer month = (Integer) row[0];
-                Long count = (Long) row[1];
-                growthMap.put(month, count);
+            for (EmployeeGrowthPoint point : employeeGrowthService.getMonthlySeries(orgUuid, year)) {
+                growthMap.put(point.getMonth(), point.getHires());
             }
 
             return growthMap;
@@ -0,0 +1,140 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.LeaveAccrualRun;
+import com.corehive.backend.model.LeaveType;
+import com.corehive.backend.repository.LeaveAccrualRunRepository;
+import com.corehive.backend.repository.LeaveBalanceBatchRepository;
+import com.corehive.backend.repository.LeaveTypeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Date;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leave Accrual Service
+ * Monthly batch that keeps EmployeeLeaveBalance in step with
+ * LeaveType.defaultDaysPerYear, per organization:
+ *  1. active employees missing a balance for an active leave type get one at 0
+ *  2. balances carried into the year are capped at carryForwardMaxDays (excess expires)
+ *  3. the period's accrual is credited (YEARLY: full allowance in the first run
+ *     of the year, MONTHLY: cumulative monthly share)
+ * Steps 2 and 3 run as set-based statements over id-range chunks, each chunk
+ * in its own short transaction. Per-balance markers make every step
+ * idempotent, so a failed or interrupted run is resumed by running the same
+ * period again. Each run, dry runs included, leaves a LeaveAccrualRun audit row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaveAccrualService {
+
+    private final LeaveTypeRepository leaveTypeRepository;
+    private final LeaveBalanceBatchRepository leaveBalanceBatchRepository;
+    private final LeaveAccrualRunRepository leaveAccrualRunRepository;
+
+    @Value("${leave.accrual.chunk-size:5000}")
+    private int chunkSize;
+
+    // Organizations with a run in progress on this instance
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    public LeaveAccrualRun run(String orgUuid, YearMonth period, boolean dryRun) throws BadRequestException {
+        if (!running.add(orgUuid)) {
+            throw new BadRequestException("An accrual run is already in progress for this organization");
+        }
+
+        long startNanos = System.nanoTime();
+        LeaveAccrualRun run = leaveAccrualRunRepository.save(LeaveAccrualRun.builder()
+                .organizationUuid(orgUuid)
+                .period(period.toString())
+                .dryRun(dryRun)
+                .startedAt(LocalDateTime.now())
+                .build());
+        try {
+            accrue(orgUuid, period, dryRun, run);
+            run.setStatus(LeaveAccrualRun.Status.COMPLETED);
+        } catch (RuntimeException e) {
+            log.error("Leave accrual {} failed for org {}: {}", period, orgUuid, e.getMessage());
+            run.setStatus(LeaveAccrualRun.Status.FAILED);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            run.setErrorMessage(message.length() > 500 ? message.substring(0, 500) : message);
+        } finally {
+            running.remove(orgUuid);
+            run.setDurationMs((System.nanoTime() - startNanos) / 1_000_000);
+            run.setFinishedAt(LocalDateTime.now());
+            leaveAccrualRunRepository.save(run);
+        }
+
+        log.info("Leave accrual {}{} for org {}: {} created, {} rolled over ({} days expired), {} accrued ({} days), {} ms",
+                period, dryRun ? " (dry run)" : "", orgUuid, run.getBalancesCreated(), run.getBalancesRolledOver(),
+                run.getDaysExpired(), run.getBalancesAccrued(), run.getDaysAccrued(), run.getDurationMs());
+        return run;
+    }
+
+    public List<LeaveAccrualRun> getRecentRuns(String orgUuid) {
+        return leaveAccrualRunRepository.findTop50ByOrganizationUuidOrderByStartedAtDesc(orgUuid);
+    }
+
+    private void accrue(String orgUuid, YearMonth period, boolean dryRun, LeaveAccrualRun run) {
+        int year = period.getYear();
+        int month = period.getMonthValue();
+        Date periodEnd = Date.valueOf(period.atEndOfMonth());
+        List<LeaveType> leaveTypes = leaveTypeRepository.findByOrganizationUuidAndIsActiveTrue(orgUuid);
+
+        for (LeaveType leaveType : leaveTypes) {
+            int created = leaveBalanceBatchRepository.insertMissing(orgUuid, leaveType.getId(), year, dryRun);
+            run.setBalancesCreated(run.getBalancesCreated() + created);
+            if (dryRun && created > 0) {
+                // Rows a real run would create start empty and get the full amount so far this year
+                int amount = freshAmount(leaveType, month);
+                run.setBalancesAccrued(run.getBalancesAccrued() + (amount > 0 ? created : 0));
+                run.setDaysAccrued(run.getDaysAccrued() + (long) created * amount);
+            }
+        }
+
+        long[] ids = leaveBalanceBatchRepository.idRange(orgUuid);
+        if (ids == null) {
+            return;
+        }
+        for (long from = ids[0]; from <= ids[1]; from += chunkSize) {
+            long to = Math.min(from + chunkSize - 1, ids[1]);
+            if (!dryRun) {
+                leaveBalanceBatchRepository.markBaseline(orgUuid, period.toString(), from, to);
+            }
+
+            for (LeaveType leaveType : leaveTypes) {
+                if (leaveType.getCarryForwardMaxDays() != null) {
+                    long[] rolled = leaveBalanceBatchRepository.rollOver(orgUuid, leaveType.getId(),
+                            Math.max(leaveType.getCarryForwardMaxDays(), 0), year, from, to, dryRun);
+                    run.setBalancesRolledOver(run.getBalancesRolledOver() + (int) rolled[0]);
+                    run.setDaysExpired(run.getDaysExpired() + rolled[1]);
+                }
+
+                int daysPerYear = leaveType.getDefaultDaysPerYear() != null ? leaveType.getDefaultDaysPerYear() : 0;
+                if (daysPerYear > 0) {
+                    long[] accrued = leaveBalanceBatchRepository.accrue(orgUuid, leaveType.getId(),
+                            leaveType.getAccrualFrequency() == LeaveType.AccrualFrequency.MONTHLY,
+                            daysPerYear, year, month, periodEnd, from, to, dryRun);
+                    run.setBalancesAccrued(run.getBalancesAccrued() + (int) accrued[0]);
+                    run.setDaysAccrued(run.getDaysAccrued() + accrued[1]);
+                }
+            }
+        }
+    }
+
+    // Accrual due to a balance that has received nothing this year
+    static int freshAmount(LeaveType leaveType, int month) {
+        int daysPerYear = leaveType.getDefaultDaysPerYear() != null ? leaveType.getDefaultDaysPerYear() : 0;
+        return leaveType.getAccrualFrequency() == LeaveType.AccrualFrequency.MONTHLY
+                ? daysPerYear * month / 12
+                : daysPerYear;
+    }
+}
@@ -0,0 +1,221 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leave Interval Index
+ * In-memory index of approved leave per organization for the attendance
+ * screens and the absent-marking job, which ask "is X on leave on D" once per
+ * employee and "who is on leave on D" once per day.
+ *  - each employee's approved ranges are merged and kept as sorted epoch-day
+ *    pairs, so "is X on leave" is one hash probe plus a binary search
+ *  - all ranges of the organization are also sorted by start with a running
+ *    maximum end, so "who is on leave" scans back from the last range starting
+ *    on or before D and stops as soon as no earlier range can still cover D
+ * Only leave ending within attendance.leave-index.history-days is loaded;
+ * older dates are answered by the repository. Organizations are loaded lazily
+ * and dropped after approve / reject / delete (once the transaction commits);
+ * a periodic reset bounds staleness for changes made through another instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LeaveIntervalIndex {
+
+    private final LeaveRequestRepository leaveRequestRepository;
+
+    @Value("${attendance.leave-index.history-days:400}")
+    private long historyDays;
+
+    private final Map<String, OrgLeaves> orgs = new ConcurrentHashMap<>();
+
+    private static final class OrgLeaves {
+        // Dates before this day are not indexed
+        private final long fromDay;
+        // employeeId -> merged, sorted [start, end, start, end, ...] epoch days
+        private final Map<Long, long[]> byEmployee;
+        // All merged ranges sorted by start
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEnds;
+        private final Long[] employeeIds;
+
+        private OrgLeaves(long fromDay, Map<Long, long[]> byEmployee, long[] starts, long[] ends,
+                          long[] maxEnds, Long[] employeeIds) {
+            this.fromDay = fromDay;
+            this.byEmployee = byEmployee;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = maxEnds;
+            this.employeeIds = employeeIds;
+        }
+    }
+
+    /**
+     * Whether the employee has approved leave covering the date
+     */
+    public boolean isOnLeave(String organizationUuid, Long employeeId, LocalDate date) {
+        OrgLeaves leaves = load(organizationUuid);
+        long day = date.toEpochDay();
+        if (day < leaves.fromDay) {
+            return leaveRequestRepository.hasApprovedLeaveOnDate(employeeId, date);
+        }
+
+        long[] ranges = leaves.byEmployee.get(employeeId);
+        if (ranges == null) {
+            return false;
+        }
+        // Last range starting on or before the day
+        int low = 0, high = ranges.length / 2 - 1, found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (ranges[mid * 2] <= day) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found >= 0 && ranges[found * 2 + 1] >= day;
+    }
+
+    /**
+     * Distinct employees with approved leave covering the date
+     */
+    public List<Long> employeesOnLeave(String organizationUuid, LocalDate date) {
+        OrgLeaves leaves = load(organizationUuid);
+        long day = date.toEpochDay();
+        if (day < leaves.fromDay) {
+            return leaveRequestRepository.findEmployeeIdsWithApprovedLeaveOnDate(organizationUuid, date)
+                    .stream().distinct().toList();
+        }
+
+        int last = upperBound(leaves.starts, day) - 1;
+        List<Long> result = new ArrayList<>();
+        // Ranges of one employee are merged, so every hit is a distinct employee
+        for (int i = last; i >= 0 && leaves.maxEnds[i] >= day; i--) {
+            if (leaves.ends[i] >= day) {
+                result.add(leaves.employeeIds[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drop an organization after its approved leave changed. Inside a
+     * transaction the drop waits for the commit, so a concurrent reload
+     * cannot cache the pre-commit state.
+     */
+    public void invalidate(String organizationUuid) {
+        if (organizationUuid == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    orgs.remove(organizationUuid);
+                }
+            });
+        } else {
+            orgs.remove(organizationUuid);
+        }
+    }
+
+    /**
+     * Periodic reset - bounds staleness across instances and moves the history window
+     */
+    @Scheduled(fixedDelayString = "${attendance.leave-index.refresh-ms:300000}",
+            initialDelayString = "${attendance.leave-index.refresh-ms:300000}")
+    public void clear() {
+        orgs.clear();
+    }
+
+    private OrgLeaves load(String organizationUuid) {
+        return orgs.computeIfAbsent(organizationUuid, this::build);
+    }
+
+    private OrgLeaves build(String organizationUuid) {
+        LocalDate from = LocalDate.now().minusDays(historyDays);
+        List<Object[]> rows = leaveRequestRepository.findApprovedLeaveRanges(organizationUuid, from);
+
+        Map<Long, List<long[]>> raw = new HashMap<>();
+        for (Object[] row : rows) {
+            long start = ((LocalDate) row[1]).toEpochDay();
+            long end = ((LocalDate) row[2]).toEpochDay();
+            if (end >= start) {
+                raw.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(new long[]{start, end});
+            }
+        }
+
+        // Merge each employee's overlapping or adjacent ranges
+        Map<Long, long[]> byEmployee = new HashMap<>(raw.size() * 2);
+        List<long[]> all = new ArrayList<>(rows.size());
+        raw.forEach((employeeId, ranges) -> {
+            ranges.sort((a, b) -> Long.compare(a[0], b[0]));
+            long[] merged = new long[ranges.size() * 2];
+            int n = 0;
+            for (long[] range : ranges) {
+                if (n > 0 && range[0] <= merged[n - 1] + 1) {
+                    merged[n - 1] = Math.max(merged[n - 1], range[1]);
+                } else {
+                    merged[n++] = range[0];
+                    merged[n++] = range[1];
+                }
+            }
+            long[] packed = Arrays.copyOf(merged, n);
+            byEmployee.put(employeeId, packed);
+            for (int i = 0; i < n; i += 2) {
+                all.add(new long[]{packed[i], packed[i + 1], employeeId});
+            }
+        });
+
+        all.sort((a, b) -> Long.compare(a[0], b[0]));
+        long[] starts = new long[all.size()];
+        long[] ends = new long[all.size()];
+        long[] maxEnds = new long[all.size()];
+        Long[] employeeIds = new Long[all.size()];
+        long maxEnd = Long.MIN_VALUE;
+        for (int i = 0; i < all.size(); i++) {
+            long[] range = all.get(i);
+            starts[i] = range[0];
+            ends[i] = range[1];
+            maxEnd = Math.max(maxEnd, range[1]);
+            maxEnds[i] = maxEnd;
+            employeeIds[i] = range[2];
+        }
+
+        log.debug("Leave index loaded {} ranges for {} employees of org {}",
+                all.size(), byEmployee.size(), organizationUuid);
+        return new OrgLeaves(from.toEpochDay(), byEmployee, starts, ends, maxEnds, employeeIds);
+    }
+
+    // First index whose value is greater than the key
+    private static int upperBound(long[] sorted, long key) {
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
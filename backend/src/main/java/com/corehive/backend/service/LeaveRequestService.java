@@ -1,6 +1,7 @@
 package com.corehive.backend.service;
 
 import com.corehive.backend.dto.request.CreateLeaveRequestDTO;
+import com.corehive.backend.dto.response.LeaveRequestPageResponse;
 import com.corehive.backend.dto.response.LeaveRequestResponseDTO;
 import com.corehive.backend.exception.employeeCustomException.EmployeeNotFoundException;
 import com.corehive.backend.exception.leaveException.InsufficientLeaveBalanceException;
@@ -11,30 +12,58 @@ import com.corehive.backend.model.EmployeeLeaveBalance;
 import com.corehive.backend.model.LeaveRequest;
 import com.corehive.backend.model.LeaveType;
 import com.corehive.backend.model.Attendance;
+import com.corehive.backend.repository.AttendanceBatchRepository;
 import com.corehive.backend.repository.EmployeeLeaveBalanceRepository;
 import com.corehive.backend.repository.EmployeeRepository;
 import com.corehive.backend.repository.LeaveRequestRepository;
 import com.corehive.backend.repository.LeaveTypeRepository;
-import com.corehive.backend.repository.AttendanceRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.apache.coyote.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class LeaveRequestService {
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final LeaveRequestRepository leaveRequestRepo;
     private final LeaveTypeRepository leaveTypeRepo;
     private final EmployeeRepository employeeRepo;
     private final EmployeeLeaveBalanceRepository employeeLeaveBalanceRepo;
-    private final AttendanceRepository attendanceRepository;
+    private final AttendanceBatchRepository attendanceBatchRepository;
+    private final LeaveIntervalIndex leaveIntervalIndex;
+    private final TeamCalendarService teamCalendarService;
+
+    // Leave days on weekends / holidays are not written to attendance when enabled
+    @Value("${leave.attendance.skip-weekends:false}")
+    private boolean skipWeekends;
+
+    private Set<LocalDate> holidays = Set.of();
+
+    @Value("${leave.attendance.holidays:}")
+    void setHolidays(String value) {
+        this.holidays = parseHolidays(value);
+    }
 
     // CREATE LEAVE REQUEST (For employee part implementation)
     public void createLeaveRequest(String orgUuid, CreateLeaveRequestDTO dto) {
@@ -84,20 +113,36 @@ public class LeaveRequestService {
             String orgUuid,
             boolean approve
     ) throws BadRequestException {
+        approveLeaves(List.of(requestId), approverUserId, approverEmail, orgUuid, approve);
+    }
 
-        // 1️⃣ Fetch leave request
-        LeaveRequest request = leaveRequestRepo.findById(requestId)
-                .orElseThrow(() ->
-                        new LeaveRequestNotFoundException("Leave request not found")
-                );
+    // APPROVE / REJECT many leave requests - all or nothing, one transaction
+    @Transactional
+    public int approveLeaves(
+            List<Long> requestIds,
+            Long approverUserId,
+            String approverEmail,
+            String orgUuid,
+            boolean approve
+    ) throws BadRequestException {
 
-        if (!request.getOrganizationUuid().equals(orgUuid)) {
-            throw new BadRequestException("Leave request does not belong to this organization");
+        // 1️⃣ Fetch leave requests (employee + leave type in the same query)
+        Set<Long> ids = new LinkedHashSet<>(requestIds);
+        List<LeaveRequest> requests = leaveRequestRepo.findAllByIdWithEmployeeAndLeaveType(ids);
+        if (requests.size() != ids.size()) {
+            throw new LeaveRequestNotFoundException("Leave request not found");
         }
+        requests.sort(Comparator.comparing(LeaveRequest::getId));
 
-        // 3️⃣ Prevent double approval
-        if (request.getStatus() != LeaveRequest.LeaveStatus.PENDING) {
-            throw new IllegalStateException("Leave request already processed");
+        for (LeaveRequest request : requests) {
+            if (!request.getOrganizationUuid().equals(orgUuid)) {
+                throw new BadRequestException("Leave request does not belong to this organization");
+            }
+
+            // 2️⃣ Prevent double approval
+            if (request.getStatus() != LeaveRequest.LeaveStatus.PENDING) {
+                throw new IllegalStateException("Leave request already processed");
+            }
         }
 
         // Resolve approver as employee.id since leave_request.approved_by has FK to employee(id).
@@ -108,49 +153,30 @@ public class LeaveRequestService {
                 "Approver employee profile not found for authenticated user"
             ));
 
-
-        // 3️⃣ Get employee & remaining leaves from EmployeeLeaveBalance
-        Employee employee = request.getEmployee(); // ✅ correct employee
-        Long leaveTypeId = request.getLeaveType().getId();
-        int requestedDays = request.getTotalDays();
-
-        // Get leave balance for this specific leave type
-        EmployeeLeaveBalance leaveBalance = employeeLeaveBalanceRepo
-                .findByEmployeeIdAndLeaveTypeIdAndOrganizationUuid(
-                        employee.getId(), leaveTypeId, request.getOrganizationUuid())
-                .orElseThrow(() -> new BadRequestException(
-                        "No leave balance found for this leave type"));
-
-        int remainingLeaves = leaveBalance.getBalance();
-
-        // 4️⃣ Approve or Reject
+        // 3️⃣ Deduct leaves (all checks run before the first write)
         if (approve) {
-
-            if (requestedDays > remainingLeaves) {
-                throw new BadRequestException(
-                        "Cannot approve leave. Requested " + requestedDays +
-                                " days but only " + remainingLeaves + " days remaining."
-                );
-            }
-
-            // 5️⃣ Approve & deduct leaves from EmployeeLeaveBalance
-            request.setStatus(LeaveRequest.LeaveStatus.APPROVED);
-            leaveBalance.setBalance(remainingLeaves - requestedDays);
-            employeeLeaveBalanceRepo.save(leaveBalance);
-            
-            // 6️⃣ Mark attendance as ON_LEAVE for all days in the leave period
-            markAttendanceAsOnLeave(employee.getId(), request.getOrganizationUuid(), 
-                                   request.getStartDate(), request.getEndDate());
-        } else {
-            request.setStatus(LeaveRequest.LeaveStatus.REJECTED);
+            deductLeaveBalances(requests, orgUuid);
         }
 
-        // 5️⃣ Set approver details
-        request.setApprovedBy(approver.getId());
-        request.setApprovedAt(LocalDateTime.now());
+        // 4️⃣ Set status & approver details - only while still PENDING, so two
+        //    approvers racing on the same request cannot both win
+        int claimed = leaveRequestRepo.claimPending(
+                ids,
+                approve ? LeaveRequest.LeaveStatus.APPROVED : LeaveRequest.LeaveStatus.REJECTED,
+                approver.getId(),
+                LocalDateTime.now()
+        );
+        if (claimed != ids.size()) {
+            throw new IllegalStateException("Leave request already processed");
+        }
 
-        // 6️⃣ Save changes
-        leaveRequestRepo.save(request);
+        // 5️⃣ Mark every leave day in bulk (rejecting a pending request leaves the approved set as is)
+        if (approve) {
+            markAttendanceAsOnLeave(requests, orgUuid);
+            leaveIntervalIndex.invalidate(orgUuid);
+            teamCalendarService.evictOrganization(orgUuid);
+        }
+        return requests.size();
     }
 
 
@@ -161,66 +187,144 @@ public class LeaveRequestService {
             throw new IllegalArgumentException("Organization UUID must not be null or empty");
         }
 
-        List<LeaveRequest> requests =
-                leaveRequestRepo.findByOrganizationUuid(orgUuid);
-
-        return requests.stream()
-                .map(req -> LeaveRequestResponseDTO.builder()
-                        .id(req.getId())
-                        .employeeId(req.getEmployee().getId())
-                        .employeeName(
-                                req.getEmployee().getFirstName() + " " +
-                                        req.getEmployee().getLastName()
-                        )
-                        .leaveTypeId(req.getLeaveType().getId())
-                        .leaveTypeName(req.getLeaveType().getName())
-                        .startDate(req.getStartDate())
-                        .endDate(req.getEndDate())
-                        .totalDays(req.getTotalDays())
-                        .reason(req.getReason())
-                        .status(req.getStatus())
-                        .approvedAt(req.getApprovedAt())
-                        .createdAt(req.getCreatedAt())
-                        .build()
-                )
-                .toList();
+        // Single projection query - no per-row employee / leave type loads
+        return leaveRequestRepo.findPage(orgUuid, null, null, null, null, null, null, null, Pageable.unpaged());
+    }
+
+    /**
+     * Keyset page of leave requests, newest first. The cursor is the last id
+     * of the previous page, so page N costs the same as page 1.
+     */
+    public LeaveRequestPageResponse getRequestsPage(
+            String orgUuid,
+            Long cursor,
+            int size,
+            LeaveRequest.LeaveStatus status,
+            Long employeeId,
+            Long departmentId,
+            Long leaveTypeId,
+            LocalDate fromDate,
+            LocalDate toDate
+    ) throws BadRequestException {
+
+        if (orgUuid == null || orgUuid.isBlank()) {
+            throw new IllegalArgumentException("Organization UUID must not be null or empty");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (fromDate != null && toDate != null && toDate.isBefore(fromDate)) {
+            throw new BadRequestException("'to' date cannot be before 'from' date");
+        }
+
+        // One extra row tells whether another page exists
+        List<LeaveRequestResponseDTO> rows = leaveRequestRepo.findPage(
+                orgUuid, cursor, status, employeeId, departmentId, leaveTypeId, fromDate, toDate,
+                PageRequest.of(0, size + 1));
+
+        boolean hasMore = rows.size() > size;
+        List<LeaveRequestResponseDTO> items = hasMore ? rows.subList(0, size) : rows;
+        return LeaveRequestPageResponse.builder()
+                .items(items)
+                .nextCursor(hasMore ? items.get(items.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Deduct requested days from EmployeeLeaveBalance, one balance query for all requests.
+     * Requests of the same employee and leave type draw from the same balance.
+     * Each balance is decremented by a conditional UPDATE that only applies while
+     * it still covers the days, so concurrent approvals cannot overdraw it.
+     */
+    private void deductLeaveBalances(List<LeaveRequest> requests, String orgUuid) throws BadRequestException {
+        Set<Long> employeeIds = requests.stream()
+                .map(request -> request.getEmployee().getId())
+                .collect(Collectors.toSet());
+
+        Map<String, EmployeeLeaveBalance> balances = new HashMap<>();
+        for (EmployeeLeaveBalance balance : employeeLeaveBalanceRepo
+                .findByOrganizationUuidAndEmployeeIdIn(orgUuid, employeeIds)) {
+            balances.putIfAbsent(balance.getEmployeeId() + ":" + balance.getLeaveTypeId(), balance);
+        }
+
+        // balance id -> requested days; sorted so concurrent approvals lock rows in the same order
+        Map<Long, Integer> requestedByBalance = new TreeMap<>();
+        for (LeaveRequest request : requests) {
+            EmployeeLeaveBalance leaveBalance = balances.get(
+                    request.getEmployee().getId() + ":" + request.getLeaveType().getId());
+            if (leaveBalance == null) {
+                throw new BadRequestException("No leave balance found for this leave type");
+            }
+
+            int requestedDays = requestedByBalance.merge(leaveBalance.getId(), request.getTotalDays(), Integer::sum);
+            int remainingLeaves = leaveBalance.getBalance();
+            if (requestedDays > remainingLeaves) {
+                throw new BadRequestException(
+                        "Cannot approve leave. Requested " + requestedDays +
+                                " days but only " + remainingLeaves + " days remaining."
+                );
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, Integer> entry : requestedByBalance.entrySet()) {
+            if (employeeLeaveBalanceRepo.deductIfAvailable(entry.getKey(), entry.getValue(), now) == 0) {
+                // Another approval used the balance since it was read; unchecked, so the claim rolls back
+                throw new InsufficientLeaveBalanceException(
+                        "Cannot approve leave. The leave balance changed and no longer covers " +
+                                entry.getValue() + " days."
+                );
+            }
+        }
     }
 
     /**
-     * Helper method to mark attendance as ON_LEAVE for all days in a leave period
+     * Mark attendance as ON_LEAVE for every day of the given leave periods.
+     * One multi-row upsert per 500 days: missing days are inserted and
+     * existing rows get the ON_LEAVE status, instead of a find + save per day.
+     * Weekends / configured holidays are skipped when enabled.
      */
-    private void markAttendanceAsOnLeave(Long employeeId, String orgUuid, 
-                                         LocalDate startDate, LocalDate endDate) {
-        LocalDate currentDate = startDate;
-        
-        while (!currentDate.isAfter(endDate)) {
-            // Check if attendance record already exists for this date
-            final LocalDate dateToCheck = currentDate;
-            attendanceRepository.findByEmployeeIdAndAttendanceDateAndOrganizationUuid(
-                employeeId, dateToCheck, orgUuid
-            ).ifPresentOrElse(
-                // Update existing record
-                existingAttendance -> {
-                    existingAttendance.setStatus(Attendance.AttendanceStatus.ON_LEAVE);
-                    existingAttendance.setNotes("Leave approved");
-                    attendanceRepository.save(existingAttendance);
-                },
-                // Create new record
-                () -> {
-                    Attendance newAttendance = Attendance.builder()
-                        .employeeId(employeeId)
+    private void markAttendanceAsOnLeave(List<LeaveRequest> requests, String orgUuid) {
+        List<Attendance> leaveDays = new ArrayList<>();
+        for (LeaveRequest request : requests) {
+            for (LocalDate date = request.getStartDate(); !date.isAfter(request.getEndDate()); date = date.plusDays(1)) {
+                if (isNonWorkingDay(date)) {
+                    continue;
+                }
+                leaveDays.add(Attendance.builder()
+                        .employeeId(request.getEmployee().getId())
                         .organizationUuid(orgUuid)
-                        .attendanceDate(dateToCheck)
+                        .attendanceDate(date)
                         .status(Attendance.AttendanceStatus.ON_LEAVE)
                         .verificationType(Attendance.VerificationType.MANUAL)
                         .notes("Leave approved")
-                        .build();
-                    attendanceRepository.save(newAttendance);
-                }
-            );
-            
-            currentDate = currentDate.plusDays(1);
+                        .build());
+            }
+        }
+
+        if (!leaveDays.isEmpty()) {
+            attendanceBatchRepository.upsertLeaveDays(leaveDays);
+        }
+    }
+
+    private boolean isNonWorkingDay(LocalDate date) {
+        if (skipWeekends && (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY)) {
+            return true;
+        }
+        return holidays.contains(date);
+    }
+
+    // leave.attendance.holidays: comma separated ISO dates
+    private static Set<LocalDate> parseHolidays(String value) {
+        if (value == null || value.isBlank()) {
+            return Set.of();
         }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(day -> !day.isEmpty())
+                .map(LocalDate::parse)
+                .collect(Collectors.toUnmodifiableSet());
     }
 
 
@@ -27,6 +27,8 @@ public class LeaveService {
     private final LeaveRepository leaveRepository;
     private final EmployeeRepository employeeRepository;
     private final LeaveTypeService leaveTypeService;
+    private final LeaveIntervalIndex leaveIntervalIndex;
+    private final TeamCalendarService teamCalendarService;
 
     /**
      * Employee submits a leave request
@@ -150,9 +152,9 @@ public class LeaveService {
                 .build();
     }
 
-    //HR can view all leave requests
-    public List<LeaveRequest> getAllLeaves() {
-        return leaveRepository.findAll();
+    //HR can view all leave requests of their organization
+    public List<LeaveRequest> getAllLeaves(String organizationUuid) {
+        return leaveRepository.findByOrganizationUuid(organizationUuid);
     }
 
     //HR can filter leaves by employee
@@ -177,7 +179,10 @@ public class LeaveService {
         leaveRequest.setApprovedBy(approvedById);
         leaveRequest.setApprovedAt(LocalDateTime.now());
 
-        return leaveRepository.save(leaveRequest);
+        LeaveRequest saved = leaveRepository.save(leaveRequest);
+        leaveIntervalIndex.invalidate(saved.getOrganizationUuid());
+        teamCalendarService.evictOrganization(saved.getOrganizationUuid());
+        return saved;
     }
 
     //HR rejects a leave
@@ -190,5 +195,9 @@ public class LeaveService {
         LeaveRequest leaveRequest = leaveRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Leave request not found"));
         leaveRepository.delete(leaveRequest);
+        if (leaveRequest.getStatus() == LeaveRequest.LeaveStatus.APPROVED) {
+            leaveIntervalIndex.invalidate(leaveRequest.getOrganizationUuid());
+            teamCalendarService.evictOrganization(leaveRequest.getOrganizationUuid());
+        }
     }
 }
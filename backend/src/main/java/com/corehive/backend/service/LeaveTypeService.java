@@ -4,12 +4,25 @@ import com.corehive.backend.model.LeaveType;
 import com.corehive.backend.repository.LeaveTypeRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Leave Type Service
+ * Active leave types are read on every leave form, dashboard and balance
+ * screen but change almost never, so each organization's list is cached for
+ * leave.types.cache-ttl-seconds. Changes made here evict the organization
+ * once their transaction commits. The cache holds detached copies and every
+ * caller gets copies of its own, so no caller can change what others read.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -17,12 +30,27 @@ public class LeaveTypeService {
 
     private final LeaveTypeRepository leaveTypeRepository;
 
+    @Value("${leave.types.cache-ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    private final Map<String, CachedTypes> activeTypes = new ConcurrentHashMap<>();
+
+    private record CachedTypes(List<LeaveType> leaveTypes, long expiresAtMillis) {
+    }
+
     public List<LeaveType> getActiveLeaveTypes(String organizationUuid) {
-        return leaveTypeRepository.findByOrganizationUuidAndIsActiveTrue(organizationUuid);
+        CachedTypes cached = activeTypes.get(organizationUuid);
+        if (cached == null || cached.expiresAtMillis() <= System.currentTimeMillis()) {
+            List<LeaveType> leaveTypes = leaveTypeRepository.findByOrganizationUuidAndIsActiveTrue(organizationUuid)
+                    .stream().map(LeaveTypeService::copy).toList();
+            cached = new CachedTypes(leaveTypes, System.currentTimeMillis() + cacheTtlSeconds * 1000);
+            activeTypes.put(organizationUuid, cached);
+        }
+        return cached.leaveTypes().stream().map(LeaveTypeService::copy).toList();
     }
 
     public List<LeaveType> getLeaveTypes(String organizationUuid) {
-        return leaveTypeRepository.findByOrganizationUuidAndIsActiveTrue(organizationUuid);
+        return getActiveLeaveTypes(organizationUuid);
     }
 
     public LeaveType findById(Long id) {
@@ -34,6 +62,7 @@ public class LeaveTypeService {
         leaveType.setOrganizationUuid(organizationUuid);
         leaveType.setIsActive(true);
         leaveType.setCreatedAt(LocalDateTime.now());
+        evictOrganization(organizationUuid);
         return leaveTypeRepository.save(leaveType);
     }
 
@@ -47,7 +76,12 @@ public class LeaveTypeService {
         existing.setCode(leaveType.getCode());
         existing.setDefaultDaysPerYear(leaveType.getDefaultDaysPerYear());
         existing.setRequiresApproval(leaveType.getRequiresApproval());
+        if (leaveType.getAccrualFrequency() != null) {
+            existing.setAccrualFrequency(leaveType.getAccrualFrequency());
+        }
+        existing.setCarryForwardMaxDays(leaveType.getCarryForwardMaxDays());
 
+        evictOrganization(organizationUuid);
         return leaveTypeRepository.save(existing);
     }
 
@@ -59,5 +93,28 @@ public class LeaveTypeService {
 
         leaveType.setIsActive(false);
         leaveTypeRepository.save(leaveType);
+        evictOrganization(organizationUuid);
+    }
+
+    private static LeaveType copy(LeaveType source) {
+        return new LeaveType(source.getId(), source.getOrganizationUuid(), source.getName(), source.getCode(),
+                source.getDefaultDaysPerYear(), source.getAccrualFrequency(), source.getCarryForwardMaxDays(),
+                source.getRequiresApproval(), source.getIsActive(), source.getCreatedAt());
+    }
+
+    /**
+     * Drop the cached leave types of an organization once the current transaction commits
+     */
+    public void evictOrganization(String organizationUuid) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    activeTypes.remove(organizationUuid);
+                }
+            });
+        } else {
+            activeTypes.remove(organizationUuid);
+        }
     }
 }
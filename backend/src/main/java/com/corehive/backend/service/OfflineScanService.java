@@ -0,0 +1,265 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.attendance.KioskScan;
+import com.corehive.backend.dto.request.OfflineScanBatchRequest;
+import com.corehive.backend.dto.request.OfflineScanBatchRequest.OfflineScanEvent;
+import com.corehive.backend.dto.response.OfflineScanBatchResponse;
+import com.corehive.backend.model.Attendance;
+import com.corehive.backend.model.Employee;
+import com.corehive.backend.repository.EmployeeRepository;
+import com.corehive.backend.repository.KioskEventReceiptRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Offline Scan Service
+ * Replays scans a kiosk collected while disconnected:
+ *  - drops events whose idempotency key was already applied (re-uploads)
+ *  - rejects events stamped in the future or older than attendance.offline.max-age-hours
+ *  - resolves employees in bulk (QR index / one employee query for face events)
+ *  - orders events per employee by their real timestamp
+ *  - applies them in chunks, each chunk one transaction with its receipts
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OfflineScanService {
+
+    private static final int KEY_LOOKUP_SIZE = 1000;
+
+    private final AttendanceService attendanceService;
+    private final QrTokenIndex qrTokenIndex;
+    private final EmployeeRepository employeeRepository;
+    private final KioskEventReceiptRepository kioskEventReceiptRepository;
+
+    @Value("${attendance.offline.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${attendance.offline.receipt-retention-days:30}")
+    private int receiptRetentionDays;
+
+    // Older uploads are refused; keep it within the receipt retention so re-uploads stay idempotent
+    @Value("${attendance.offline.max-age-hours:168}")
+    private long maxAgeHours;
+
+    // Tolerated drift of a kiosk clock ahead of the server
+    @Value("${attendance.offline.max-clock-skew-seconds:120}")
+    private long maxClockSkewSeconds;
+
+    public OfflineScanBatchResponse replay(String orgUuid, OfflineScanBatchRequest request, String ip) {
+        List<OfflineScanEvent> events = request.getEvents();
+        OfflineScanBatchResponse response = OfflineScanBatchResponse.builder()
+                .received(events.size())
+                .build();
+
+        // 1. Idempotency - within the batch and against earlier uploads
+        Set<String> alreadyApplied = findAppliedKeys(orgUuid, events.stream()
+                .map(OfflineScanEvent::getIdempotencyKey)
+                .collect(Collectors.toList()));
+        Set<String> seen = new HashSet<>();
+        List<OfflineScanEvent> fresh = new ArrayList<>();
+        for (OfflineScanEvent event : events) {
+            if (alreadyApplied.contains(event.getIdempotencyKey()) || !seen.add(event.getIdempotencyKey())) {
+                response.setDuplicates(response.getDuplicates() + 1);
+            } else {
+                fresh.add(event);
+            }
+        }
+
+        // 2. Resolve employees without a query per event
+        Map<Long, Employee> faceEmployees = loadFaceEmployees(orgUuid, fresh);
+        List<KioskScan> scans = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (OfflineScanEvent event : fresh) {
+            String problem = checkScannedAt(event.getScannedAt(), now);
+            if (problem != null) {
+                reject(response, event, problem);
+                continue;
+            }
+            Long employeeId = resolveEmployee(orgUuid, event, faceEmployees, response);
+            if (employeeId == null) {
+                continue;
+            }
+            boolean face = "FACE".equalsIgnoreCase(event.getType());
+            scans.add(KioskScan.builder()
+                    .employeeId(employeeId)
+                    .organizationUuid(orgUuid)
+                    .scannedAt(event.getScannedAt())
+                    .verificationType(face ? Attendance.VerificationType.FACE_RECOGNITION
+                            : Attendance.VerificationType.QR_CODE)
+                    .verificationConfidence(event.getVerificationConfidence())
+                    .ipAddress(ip)
+                    .deviceInfo(request.getDeviceInfo())
+                    .idempotencyKey(event.getIdempotencyKey())
+                    .build());
+        }
+
+        // 3. Ordered, chunked writes
+        applyScans(orgUuid, scans, response);
+
+        log.info("Offline replay for org {}: received={}, checkIns={}, checkOuts={}, ignored={}, duplicates={}, rejected={}",
+                orgUuid, response.getReceived(), response.getCheckIns(), response.getCheckOuts(),
+                response.getIgnored(), response.getDuplicates(), response.getRejected().size());
+        return response;
+    }
+
+    /**
+     * Apply resolved scans per day and per employee in event-time order,
+     * tallying outcomes into the response
+     */
+    public void applyScans(String orgUuid, List<KioskScan> scans, OfflineScanBatchResponse response) {
+        // Per day, per employee, in event-time order
+        Map<LocalDate, Map<Long, List<KioskScan>>> byDay = scans.stream()
+                .sorted(Comparator.comparing(KioskScan::getScannedAt)
+                        .thenComparing(KioskScan::getIdempotencyKey))
+                .collect(Collectors.groupingBy(
+                        scan -> scan.getScannedAt().toLocalDate(),
+                        TreeMap::new,
+                        Collectors.groupingBy(KioskScan::getEmployeeId, TreeMap::new, Collectors.toList())));
+
+        // Chunked writes - an employee's events never straddle two chunks
+        for (Map.Entry<LocalDate, Map<Long, List<KioskScan>>> day : byDay.entrySet()) {
+            List<List<KioskScan>> pending = new ArrayList<>();
+            int pendingSize = 0;
+            for (List<KioskScan> employeeScans : day.getValue().values()) {
+                pending.add(employeeScans);
+                pendingSize += employeeScans.size();
+                if (pendingSize >= chunkSize) {
+                    applyChunk(orgUuid, day.getKey(), pending, response);
+                    pending = new ArrayList<>();
+                    pendingSize = 0;
+                }
+            }
+            if (!pending.isEmpty()) {
+                applyChunk(orgUuid, day.getKey(), pending, response);
+            }
+        }
+    }
+
+    /**
+     * Daily purge of old receipts - uploads older than the retention window are not expected
+     */
+    @Scheduled(cron = "0 45 3 * * *")
+    @Transactional
+    public void purgeReceipts() {
+        try {
+            int deleted = kioskEventReceiptRepository.deleteOlderThan(
+                    LocalDateTime.now().minusDays(receiptRetentionDays));
+            log.info("Purged {} kiosk event receipts", deleted);
+        } catch (Exception e) {
+            log.error("Error purging kiosk event receipts: {}", e.getMessage());
+        }
+    }
+
+    private void applyChunk(String orgUuid, LocalDate date, List<List<KioskScan>> chunk,
+                            OfflineScanBatchResponse response) {
+        List<KioskScan> flat = chunk.stream().flatMap(List::stream).collect(Collectors.toList());
+        try {
+            tally(attendanceService.recordKioskScans(orgUuid, date, flat), response);
+        } catch (Exception e) {
+            // Typically a concurrent upload of the same keys - isolate per employee
+            log.warn("Offline chunk of {} events failed for org {} on {}: {} - retrying per employee",
+                    flat.size(), orgUuid, date, e.getMessage());
+            for (List<KioskScan> employeeScans : chunk) {
+                try {
+                    tally(attendanceService.recordKioskScans(orgUuid, date, employeeScans), response);
+                } catch (Exception ex) {
+                    employeeScans.forEach(scan -> response.getRejected().add(
+                            new OfflineScanBatchResponse.RejectedEvent(scan.getIdempotencyKey(), "Failed to persist")));
+                }
+            }
+        }
+    }
+
+    private void tally(List<String> outcomes, OfflineScanBatchResponse response) {
+        for (String outcome : outcomes) {
+            switch (outcome) {
+                case "CHECK_IN" -> response.setCheckIns(response.getCheckIns() + 1);
+                case "CHECK_OUT" -> response.setCheckOuts(response.getCheckOuts() + 1);
+                default -> response.setIgnored(response.getIgnored() + 1);
+            }
+        }
+    }
+
+    // A wrong kiosk clock or a crafted batch must not write far-off days
+    private String checkScannedAt(LocalDateTime scannedAt, LocalDateTime now) {
+        if (scannedAt.isAfter(now.plusSeconds(maxClockSkewSeconds))) {
+            return "Scan time is in the future";
+        }
+        if (scannedAt.isBefore(now.minusHours(maxAgeHours))) {
+            return "Scan time is older than " + maxAgeHours + " hours";
+        }
+        return null;
+    }
+
+    private Long resolveEmployee(String orgUuid, OfflineScanEvent event, Map<Long, Employee> faceEmployees,
+                                 OfflineScanBatchResponse response) {
+        if ("QR".equalsIgnoreCase(event.getType())) {
+            QrTokenIndex.Entry entry = qrTokenIndex.resolve(event.getQrToken());
+            if (entry == null || !orgUuid.equals(entry.getOrganizationUuid())) {
+                reject(response, event, "Invalid QR");
+                return null;
+            }
+            return entry.getEmployeeId();
+        }
+
+        if ("FACE".equalsIgnoreCase(event.getType())) {
+            if (event.getEmployeeId() == null || !faceEmployees.containsKey(event.getEmployeeId())) {
+                reject(response, event, "Unknown or inactive employee");
+                return null;
+            }
+            return event.getEmployeeId();
+        }
+
+        reject(response, event, "Unsupported event type: " + event.getType());
+        return null;
+    }
+
+    private Map<Long, Employee> loadFaceEmployees(String orgUuid, List<OfflineScanEvent> events) {
+        Set<Long> ids = events.stream()
+                .filter(event -> "FACE".equalsIgnoreCase(event.getType()) && event.getEmployeeId() != null)
+                .map(OfflineScanEvent::getEmployeeId)
+                .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return employeeRepository.findAllById(ids).stream()
+                .filter(e -> orgUuid.equals(e.getOrganizationUuid()) && Boolean.TRUE.equals(e.getIsActive()))
+                .collect(Collectors.toMap(Employee::getId, e -> e));
+    }
+
+    /**
+     * Idempotency keys from the given list that an earlier upload already applied
+     */
+    public Set<String> findAppliedKeys(String orgUuid, List<String> idempotencyKeys) {
+        List<String> keys = idempotencyKeys.stream()
+                .distinct()
+                .collect(Collectors.toList());
+
+        Set<String> applied = new HashSet<>();
+        for (int i = 0; i < keys.size(); i += KEY_LOOKUP_SIZE) {
+            applied.addAll(kioskEventReceiptRepository.findExistingKeys(
+                    orgUuid, keys.subList(i, Math.min(i + KEY_LOOKUP_SIZE, keys.size()))));
+        }
+        return applied;
+    }
+
+    private void reject(OfflineScanBatchResponse response, OfflineScanEvent event, String reason) {
+        response.getRejected().add(new OfflineScanBatchResponse.RejectedEvent(event.getIdempotencyKey(), reason));
+    }
+}
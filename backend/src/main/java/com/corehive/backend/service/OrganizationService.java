@@ -42,6 +42,8 @@ public class OrganizationService {
     private final PaymentTransactionRepository paymentTransactionRepository;
     private final AttendanceRepository attendanceRepository;
     private final LeaveRequestRepository leaveRequestRepository;
+    private final LeaveIntervalIndex leaveIntervalIndex;
+    private final EmployeeDirectoryIndex employeeDirectoryIndex;
     private final PayslipRepository payslipRepository;
     private final PayrollConfigurationRepository payrollConfigurationRepository;
     private final AttendanceConfigurationRepository attendanceConfigurationRepository;
@@ -50,6 +52,8 @@ public class OrganizationService {
     private final DeductionRepository deductionRepository;
     private final DesignationRepository designationRepository;
     private final SupportTicketRepository supportTicketRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final LeaveTypeService leaveTypeService;
     /**
      * Get all pending organization approvals
      */
@@ -276,6 +280,11 @@ public class OrganizationService {
                 appUserRepository.save(user);
             }
 
+            // Deactivated orgs must not keep working with already-issued tokens
+            if (!shouldActivateUsers) {
+                tokenRevocationService.revokeOrganizationTokens(organizationUuid);
+            }
+
             log.info("Organization status changed: {} -> {}", organization.getName(), targetStatus.getDisplayName());
             return ApiResponse.success(null, "Organization status updated successfully");
 
@@ -609,6 +618,7 @@ public class OrganizationService {
             employee.setUpdatedAt(LocalDateTime.now());
 
             Employee savedEmployee = employeeRepository.save(employee);
+            employeeDirectoryIndex.onEmployeeSaved(savedEmployee);
 
             log.info("Employee profile updated successfully for: {}", email);
             return ApiResponse.success(savedEmployee, "Profile updated successfully");
@@ -660,6 +670,7 @@ public class OrganizationService {
                 List<LeaveRequest> leaveRequests = leaveRequestRepository.findByOrganizationUuid(organizationUuid);
                 if (!leaveRequests.isEmpty()) {
                     leaveRequestRepository.deleteAll(leaveRequests);
+                    leaveIntervalIndex.invalidate(organizationUuid);
                     log.info("Deleted {} leave requests", leaveRequests.size());
                     totalDeleted += leaveRequests.size();
                 }
@@ -707,6 +718,7 @@ public class OrganizationService {
                 List<LeaveType> leaveTypes = leaveTypeRepository.findByOrganizationUuidAndIsActiveTrue(organizationUuid);
                 if (!leaveTypes.isEmpty()) {
                     leaveTypeRepository.deleteAll(leaveTypes);
+                    leaveTypeService.evictOrganization(organizationUuid);
                     log.info("Deleted {} leave types", leaveTypes.size());
                     totalDeleted += leaveTypes.size();
                 }
@@ -754,6 +766,7 @@ public class OrganizationService {
             List<Employee> employees = employeeRepository.findByOrganizationUuid(organizationUuid);
             if (!employees.isEmpty()) {
                 employeeRepository.deleteAll(employees);
+                employeeDirectoryIndex.invalidate(organizationUuid);
                 log.info("Deleted {} employees", employees.size());
                 totalDeleted += employees.size();
             }
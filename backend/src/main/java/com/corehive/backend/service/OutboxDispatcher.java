@@ -0,0 +1,105 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Outbox Dispatcher
+ * Delivers pending outbox rows in batches outside any DB transaction.
+ * Each row is leased first (multi-instance safe), then marked delivered or
+ * rescheduled with exponential backoff + jitter until max attempts.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxService outboxService;
+    private final AiFaceService aiFaceService;
+
+    @Value("${outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.backoff-base-seconds:30}")
+    private long backoffBaseSeconds;
+
+    @Value("${outbox.backoff-max-seconds:3600}")
+    private long backoffMaxSeconds;
+
+    @Value("${outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    @Value("${outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${outbox.dispatch-ms:5000}")
+    public void dispatch() {
+        try {
+            List<OutboxEvent> due;
+            do {
+                due = outboxService.findDue(batchSize);
+                for (OutboxEvent event : due) {
+                    if (outboxService.claim(event.getId(), leaseSeconds)) {
+                        deliver(event);
+                    }
+                }
+            } while (due.size() == batchSize);
+        } catch (Exception e) {
+            log.error("Error dispatching outbox events: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Daily purge of delivered rows
+     */
+    @Scheduled(cron = "0 0 4 * * *")
+    public void purgeDelivered() {
+        try {
+            int deleted = outboxService.purgeDelivered(LocalDateTime.now().minusDays(retentionDays));
+            log.info("Purged {} delivered outbox events", deleted);
+        } catch (Exception e) {
+            log.error("Error purging outbox events: {}", e.getMessage());
+        }
+    }
+
+    private void deliver(OutboxEvent event) {
+        try {
+            switch (event.getEventType()) {
+                case FACE_DEREGISTER -> aiFaceService.deregisterEmployee(
+                        event.getOrganizationUuid(), Long.valueOf(event.getAggregateId()));
+            }
+            outboxService.markDelivered(event.getId());
+
+        } catch (Exception e) {
+            int attempt = event.getAttempts() + 1;
+            if (attempt >= maxAttempts) {
+                log.error("Outbox event {} ({} {}) failed permanently after {} attempts: {}",
+                        event.getId(), event.getEventType(), event.getAggregateId(), attempt, e.getMessage());
+                outboxService.markAttemptFailed(event.getId(), null, e.getMessage());
+            } else {
+                LocalDateTime next = LocalDateTime.now().plusSeconds(backoffSeconds(attempt));
+                log.warn("Outbox event {} ({} {}) attempt {} failed, retrying at {}: {}",
+                        event.getId(), event.getEventType(), event.getAggregateId(), attempt, next, e.getMessage());
+                outboxService.markAttemptFailed(event.getId(), next, e.getMessage());
+            }
+        }
+    }
+
+    // base * 2^(attempt-1), capped, with +/-20% jitter so retries do not synchronize
+    private long backoffSeconds(int attempt) {
+        long delay = Math.min(backoffMaxSeconds, backoffBaseSeconds << Math.min(attempt - 1, 20));
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return Math.max(1, Math.round(delay * jitter));
+    }
+}
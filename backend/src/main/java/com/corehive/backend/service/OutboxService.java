@@ -0,0 +1,77 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.OutboxEvent;
+import com.corehive.backend.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Outbox Service
+ * Records external side effects inside the caller's transaction, and owns
+ * the short state-transition transactions used by OutboxDispatcher.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Record an event - must run inside the transaction making the local change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxEvent.EventType eventType, String organizationUuid, String aggregateId, String payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .organizationUuid(organizationUuid)
+                .aggregateId(aggregateId)
+                .payload(payload)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.debug("Outbox event {} recorded for {}", eventType, aggregateId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OutboxEvent> findDue(int limit) {
+        return outboxEventRepository.findDue(LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+
+    @Transactional
+    public boolean claim(Long id, long leaseSeconds) {
+        LocalDateTime now = LocalDateTime.now();
+        return outboxEventRepository.claim(id, now, now.plusSeconds(leaseSeconds)) == 1;
+    }
+
+    @Transactional
+    public void markDelivered(Long id) {
+        outboxEventRepository.markDelivered(id, LocalDateTime.now());
+    }
+
+    /**
+     * Schedule the next attempt, or give up (FAILED) when nextAttemptAt is null
+     */
+    @Transactional
+    public void markAttemptFailed(Long id, LocalDateTime nextAttemptAt, String error) {
+        String trimmed = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        if (nextAttemptAt == null) {
+            outboxEventRepository.markAttemptFailed(id, OutboxEvent.Status.FAILED, LocalDateTime.now(), trimmed);
+        } else {
+            outboxEventRepository.markAttemptFailed(id, OutboxEvent.Status.PENDING, nextAttemptAt, trimmed);
+        }
+    }
+
+    @Transactional
+    public int purgeDelivered(LocalDateTime before) {
+        return outboxEventRepository.deleteDeliveredBefore(before);
+    }
+}
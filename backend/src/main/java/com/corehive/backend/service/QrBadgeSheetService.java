@@ -0,0 +1,127 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.Employee;
+import com.corehive.backend.util.QrImageCache;
+import com.lowagie.text.*;
+import com.lowagie.text.Font;
+import com.lowagie.text.Image;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.awt.*;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * QR Badge Sheet Service
+ * Lays out employee QR badges on printable A4 pages (3 x 4 per page).
+ * QR images come from QrImageCache and are rendered in parallel a few pages
+ * at a time; each finished page is flushed to the output stream, so memory
+ * stays flat no matter how many employees are printed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QrBadgeSheetService {
+
+    private static final int COLUMNS = 3;
+    private static final int ROWS = 4;
+    private static final int BADGES_PER_PAGE = COLUMNS * ROWS;
+
+    // Pages rendered per parallel window
+    private static final int PAGES_PER_WINDOW = 4;
+
+    private static final int QR_PIXELS = 300;
+    private static final float QR_POINTS = 130f;
+    private static final float CELL_HEIGHT = 185f;
+
+    private final QrImageCache qrImageCache;
+
+    public void writeBadgeSheet(List<Employee> employees, String organizationName, OutputStream out) {
+        Document document = new Document(PageSize.A4, 36, 36, 36, 36);
+        try {
+            PdfWriter.getInstance(document, out);
+            document.open();
+
+            Font nameFont = new Font(Font.HELVETICA, 11, Font.BOLD);
+            Font metaFont = new Font(Font.HELVETICA, 9, Font.NORMAL, Color.DARK_GRAY);
+
+            if (employees.isEmpty()) {
+                document.add(new Paragraph("No active employees to print", metaFont));
+            }
+
+            int window = BADGES_PER_PAGE * PAGES_PER_WINDOW;
+            for (int start = 0; start < employees.size(); start += window) {
+                List<Employee> slice = employees.subList(start, Math.min(start + window, employees.size()));
+
+                // CPU-bound encode + PNG compression, fanned out across cores
+                List<byte[]> images = slice.parallelStream()
+                        .map(e -> qrImageCache.getPng(e.getQrToken(), QR_PIXELS))
+                        .collect(Collectors.toList());
+
+                for (int page = 0; page < slice.size(); page += BADGES_PER_PAGE) {
+                    int end = Math.min(page + BADGES_PER_PAGE, slice.size());
+                    if (start + page > 0) {
+                        document.newPage();
+                    }
+                    document.add(buildPage(slice.subList(page, end), images.subList(page, end),
+                            organizationName, nameFont, metaFont));
+                }
+            }
+
+            document.close();
+            log.info("Badge sheet generated for {} employees", employees.size());
+
+        } catch (Exception e) {
+            throw new RuntimeException("Badge sheet generation failed", e);
+        }
+    }
+
+    private PdfPTable buildPage(List<Employee> employees, List<byte[]> images, String organizationName,
+                                Font nameFont, Font metaFont) throws Exception {
+        PdfPTable table = new PdfPTable(COLUMNS);
+        table.setWidthPercentage(100);
+
+        for (int i = 0; i < employees.size(); i++) {
+            table.addCell(buildBadge(employees.get(i), images.get(i), organizationName, nameFont, metaFont));
+        }
+        table.completeRow(); // pad a partial last row with empty cells
+
+        return table;
+    }
+
+    private PdfPCell buildBadge(Employee employee, byte[] png, String organizationName,
+                                Font nameFont, Font metaFont) throws Exception {
+        Image qr = Image.getInstance(png);
+        qr.scaleToFit(QR_POINTS, QR_POINTS);
+        qr.setAlignment(Element.ALIGN_CENTER);
+
+        PdfPCell cell = new PdfPCell();
+        cell.setFixedHeight(CELL_HEIGHT);
+        cell.setPadding(6);
+        cell.setBorderColor(Color.LIGHT_GRAY);
+        cell.addElement(qr);
+
+        Paragraph name = new Paragraph(employee.getFirstName() + " " + employee.getLastName(), nameFont);
+        name.setAlignment(Element.ALIGN_CENTER);
+        cell.addElement(name);
+
+        StringBuilder meta = new StringBuilder(employee.getEmployeeCode() != null ? employee.getEmployeeCode() : "");
+        if (employee.getDesignation() != null) {
+            meta.append(" | ").append(employee.getDesignation());
+        }
+        if (organizationName != null) {
+            meta.append("\n").append(organizationName);
+        }
+        Paragraph details = new Paragraph(meta.toString(), metaFont);
+        details.setAlignment(Element.ALIGN_CENTER);
+        cell.addElement(details);
+
+        return cell;
+    }
+}
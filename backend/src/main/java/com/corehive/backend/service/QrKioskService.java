@@ -0,0 +1,218 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.attendance.KioskScan;
+import com.corehive.backend.dto.response.QrAttendanceResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * QR Kiosk Service
+ * High-throughput ingestion for gate kiosks at shift change:
+ *  1. resolve the token from the warm QrTokenIndex (no DB hit)
+ *  2. drop repeat scans of the same employee inside the dedup window
+ *  3. enqueue into a bounded queue and ACK the kiosk immediately
+ *  4. a drain on its own thread persists scans in micro-batches (one lookup per org/day)
+ * When the queue is full, or the service is shutting down, the scan falls
+ * back to the synchronous QR path. Shutdown persists whatever is still queued,
+ * so acknowledged scans survive a restart.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QrKioskService {
+
+    private final QrTokenIndex qrTokenIndex;
+    private final AttendanceService attendanceService;
+
+    @Value("${attendance.kiosk.queue-capacity:5000}")
+    private int queueCapacity;
+
+    @Value("${attendance.kiosk.batch-size:200}")
+    private int batchSize;
+
+    @Value("${attendance.kiosk.dedup-seconds:60}")
+    private long dedupSeconds;
+
+    @Value("${attendance.kiosk.flush-ms:500}")
+    private long flushMs;
+
+    @Value("${attendance.kiosk.shutdown-wait-seconds:30}")
+    private long shutdownWaitSeconds;
+
+    private BlockingQueue<KioskScan> queue;
+
+    // Not the shared @Scheduled thread, so long jobs there never delay acknowledged scans
+    private ScheduledExecutorService flusher;
+
+    private volatile boolean stopping;
+
+    // employeeId -> last accepted scan (epoch millis)
+    private final Map<Long, Long> lastAccepted = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "kiosk-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushMs, flushMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the drain thread, then persist every scan still queued
+     */
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(shutdownWaitSeconds, TimeUnit.SECONDS)) {
+                log.warn("Kiosk flush still running after {} s", shutdownWaitSeconds);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int pending = queue.size();
+        flush();
+        log.info("Kiosk queue drained on shutdown ({} scans)", pending);
+    }
+
+    /**
+     * Accept a kiosk scan. Returns QUEUED / DUPLICATE, or the synchronous
+     * result when the queue is saturated.
+     */
+    public QrAttendanceResponse accept(String qrToken, String kioskOrganizationUuid,
+                                       String ip, String deviceInfo) throws BadRequestException {
+
+        QrTokenIndex.Entry entry = qrTokenIndex.resolve(qrToken);
+        if (entry == null) {
+            throw new BadRequestException("Invalid QR");
+        }
+        if (kioskOrganizationUuid != null && !kioskOrganizationUuid.equals(entry.getOrganizationUuid())) {
+            throw new BadRequestException("QR does not belong to this organization");
+        }
+
+        Long employeeId = entry.getEmployeeId();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (!claimDedupSlot(employeeId, System.currentTimeMillis())) {
+            return ack(employeeId, now.toLocalDate(), "DUPLICATE", "Scan already received");
+        }
+
+        KioskScan scan = KioskScan.builder()
+                .employeeId(employeeId)
+                .organizationUuid(entry.getOrganizationUuid())
+                .scannedAt(now)
+                .ipAddress(ip)
+                .deviceInfo(deviceInfo)
+                .build();
+        if (stopping || !queue.offer(scan)) {
+            log.warn("Kiosk queue full ({}) or stopping, processing scan for employee {} synchronously",
+                    queueCapacity, employeeId);
+            return attendanceService.markAttendanceViaQr(qrToken, ip, deviceInfo);
+        }
+
+        return ack(employeeId, now.toLocalDate(), "QUEUED", "Scan received");
+    }
+
+    /**
+     * Drain the queue in micro-batches
+     */
+    public void flush() {
+        List<KioskScan> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            persist(batch);
+            batch.clear();
+        }
+        evictDedupEntries(System.currentTimeMillis());
+    }
+
+    // An exception would cancel the periodic task
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Kiosk flush failed: {}", e.getMessage());
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void persist(List<KioskScan> batch) {
+        // Group by org + day so each group needs a single attendance lookup
+        Map<String, List<KioskScan>> groups = batch.stream().collect(Collectors.groupingBy(
+                scan -> scan.getOrganizationUuid() + "|" + scan.getScannedAt().toLocalDate(),
+                LinkedHashMap::new,
+                Collectors.toList()));
+
+        for (List<KioskScan> group : groups.values()) {
+            String orgUuid = group.get(0).getOrganizationUuid();
+            LocalDate date = group.get(0).getScannedAt().toLocalDate();
+            try {
+                attendanceService.recordKioskScans(orgUuid, date, group);
+            } catch (Exception e) {
+                // Isolate the bad row instead of losing the whole batch
+                log.error("Kiosk batch of {} scans failed for org {}: {} - retrying individually",
+                        group.size(), orgUuid, e.getMessage());
+                for (KioskScan scan : group) {
+                    try {
+                        attendanceService.recordKioskScans(orgUuid, date, List.of(scan));
+                    } catch (Exception ex) {
+                        log.error("Dropping kiosk scan for employee {}: {}", scan.getEmployeeId(), ex.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean claimDedupSlot(Long employeeId, long nowMillis) {
+        long windowMillis = dedupSeconds * 1000;
+        boolean[] claimed = {false};
+        lastAccepted.compute(employeeId, (id, last) -> {
+            if (last == null || nowMillis - last >= windowMillis) {
+                claimed[0] = true;
+                return nowMillis;
+            }
+            return last;
+        });
+        return claimed[0];
+    }
+
+    private void evictDedupEntries(long nowMillis) {
+        long windowMillis = dedupSeconds * 1000;
+        lastAccepted.values().removeIf(last -> nowMillis - last >= windowMillis);
+    }
+
+    private QrAttendanceResponse ack(Long employeeId, LocalDate date, String action, String message) {
+        return QrAttendanceResponse.builder()
+                .employeeId(employeeId)
+                .attendanceDate(date)
+                .action(action)
+                .message(message)
+                .build();
+    }
+}
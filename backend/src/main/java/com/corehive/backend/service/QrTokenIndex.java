@@ -0,0 +1,110 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.Employee;
+import com.corehive.backend.repository.EmployeeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * QR Token Index
+ * Warm in-memory qrToken -> employee map for the kiosk scan path, so a scan
+ * resolves without hitting the employee table. Only active employees are indexed.
+ * EmployeeService invalidates entries on QR (re)generation and status changes;
+ * the TTL bounds staleness for changes made through another instance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QrTokenIndex {
+
+    private final EmployeeRepository employeeRepository;
+
+    @Value("${attendance.kiosk.index-ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final Map<String, Entry> byToken = new ConcurrentHashMap<>();
+    // employeeId -> qrToken, for invalidation by employee
+    private final Map<Long, String> tokenByEmployee = new ConcurrentHashMap<>();
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final Long employeeId;
+        private final String organizationUuid;
+        private final long loadedAtMillis;
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        try {
+            long now = System.currentTimeMillis();
+            List<Object[]> rows = employeeRepository.findActiveQrTokens();
+            for (Object[] row : rows) {
+                put((String) row[0], new Entry((Long) row[1], (String) row[2], now));
+            }
+            log.info("QR token index warmed with {} employees", rows.size());
+        } catch (Exception e) {
+            log.error("Failed to warm QR token index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Resolve a QR token; null when unknown or the employee is inactive
+     */
+    public Entry resolve(String qrToken) {
+        if (qrToken == null || qrToken.isBlank()) {
+            return null;
+        }
+
+        Entry entry = byToken.get(qrToken);
+        long now = System.currentTimeMillis();
+        if (entry != null && now - entry.getLoadedAtMillis() < ttlSeconds * 1000) {
+            return entry;
+        }
+
+        // Miss or stale - reload from the source of truth
+        Employee employee = (Employee) employeeRepository.findByQrToken(qrToken).orElse(null);
+        if (employee == null || !Boolean.TRUE.equals(employee.getIsActive())) {
+            byToken.remove(qrToken);
+            return null;
+        }
+
+        Entry loaded = new Entry(employee.getId(), employee.getOrganizationUuid(), now);
+        put(qrToken, loaded);
+        return loaded;
+    }
+
+    /**
+     * Drop any cached token for an employee (QR regenerated, deactivated, deleted)
+     */
+    public void invalidateEmployee(Long employeeId) {
+        if (employeeId == null) {
+            return;
+        }
+        String token = tokenByEmployee.remove(employeeId);
+        if (token != null) {
+            byToken.remove(token);
+        }
+    }
+
+    public int size() {
+        return byToken.size();
+    }
+
+    private void put(String qrToken, Entry entry) {
+        String previous = tokenByEmployee.put(entry.getEmployeeId(), qrToken);
+        if (previous != null && !previous.equals(qrToken)) {
+            byToken.remove(previous);
+        }
+        byToken.put(qrToken, entry);
+    }
+}
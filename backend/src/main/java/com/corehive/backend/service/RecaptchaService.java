@@ -1,6 +1,7 @@
 package com.corehive.backend.service;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -22,6 +23,12 @@ public class RecaptchaService {
     @Value("${recaptcha.verify-url:https://www.google.com/recaptcha/api/siteverify}")
     private String verifyUrl;
 
+    private final RestTemplate restTemplate;
+
+    public RecaptchaService(@Qualifier("recaptchaRestTemplate") RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
     public boolean verifyRecaptcha(String token) {
         if (secretKey == null || secretKey.isEmpty()) {
             log.warn("reCAPTCHA secret key not configured - skipping verification");
@@ -34,8 +41,6 @@ public class RecaptchaService {
         }
 
         try {
-            RestTemplate restTemplate = new RestTemplate();
-
             MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
             params.add("secret", secretKey);
             params.add("response", token);
@@ -0,0 +1,160 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.RefreshToken;
+import com.corehive.backend.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh Token Service
+ * Issues and rotates opaque refresh tokens (stored hashed in refresh_token).
+ * Access tokens stay short-lived; clients exchange a refresh token for a new pair.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // A rotated token presented again within this window is treated as a
+    // client race (e.g. two browser tabs), not as theft
+    private static final long REUSE_GRACE_SECONDS = 30;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh-expiration:1209600000}") // 14 days
+    private Long refreshExpiration;
+
+    /**
+     * Issue a refresh token in a new family (login)
+     */
+    @Transactional
+    public String issue(String userType, Long userId, String organizationUuid) {
+        return issue(userType, userId, organizationUuid, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Issue a refresh token in an existing family (rotation)
+     */
+    @Transactional
+    public String issue(String userType, Long userId, String organizationUuid, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .userType(userType)
+                .userId(userId)
+                .organizationUuid(organizationUuid)
+                .expiresAt(LocalDateTime.now().plusNanos(refreshExpiration * 1_000_000L))
+                .revoked(false)
+                .build());
+
+        return rawToken;
+    }
+
+    /**
+     * Consume a refresh token for rotation.
+     * Returns the consumed token (caller issues the successor in the same family),
+     * or empty when the token is unknown, expired, or already used.
+     */
+    @Transactional
+    public Optional<RefreshToken> consume(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Optional.empty();
+        }
+
+        Optional<RefreshToken> tokenOpt = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if (tokenOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken token = tokenOpt.get();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (Boolean.TRUE.equals(token.getRevoked())) {
+            boolean withinGrace = token.getRevokedAt() != null
+                    && token.getRevokedAt().plusSeconds(REUSE_GRACE_SECONDS).isAfter(now);
+            if (!withinGrace) {
+                // Reuse of a rotated token - assume it leaked and kill the whole chain
+                int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+                log.warn("Refresh token reuse detected for {}:{} - revoked {} tokens in family",
+                        token.getUserType(), token.getUserId(), revoked);
+            }
+            return Optional.empty();
+        }
+
+        if (token.isExpired()) {
+            return Optional.empty();
+        }
+
+        // Conditional update so two concurrent refreshes cannot both rotate
+        if (refreshTokenRepository.markRevoked(token.getId(), now) == 0) {
+            return Optional.empty();
+        }
+
+        return Optional.of(token);
+    }
+
+    /**
+     * Revoke a single refresh token (logout)
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.markRevoked(token.getId(), LocalDateTime.now()));
+    }
+
+    @Transactional
+    public void revokeUserTokens(String userType, Long userId) {
+        refreshTokenRepository.revokeByUser(userType, userId, LocalDateTime.now());
+    }
+
+    @Transactional
+    public void revokeOrganizationTokens(String organizationUuid) {
+        refreshTokenRepository.revokeByOrganization(organizationUuid, LocalDateTime.now());
+    }
+
+    /**
+     * Daily purge of expired refresh tokens
+     */
+    @Scheduled(cron = "0 30 3 * * *")
+    @Transactional
+    public void purgeExpired() {
+        try {
+            int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+            log.info("Purged {} expired refresh tokens", deleted);
+        } catch (Exception e) {
+            log.error("Error purging expired refresh tokens: {}", e.getMessage());
+        }
+    }
+
+    private String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -212,47 +213,68 @@ public class ReportService {
                 endDate = LocalDateTime.now();
         }
 
-        // Get all SUCCESS payment transactions in date range
-        List<PaymentTransaction> allTransactions = paymentTransactionRepository.findAll();
-        List<PaymentTransaction> transactions = allTransactions.stream()
-                .filter(tx -> tx.getStatus() == PaymentStatus.SUCCESS)
-                .filter(tx -> tx.getTransactionDate().isAfter(startDate) && tx.getTransactionDate().isBefore(endDate))
-                .collect(Collectors.toList());
+        return buildRevenueReport(startDate, endDate, defaultBucket(startDate, endDate), timePeriod);
+    }
 
-        // Calculate total revenue
-        BigDecimal totalRevenue = transactions.stream()
-                .map(PaymentTransaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Generate Revenue Report for the days startDate to endDate inclusive.
+     * bucket may be null to pick DAILY for ranges up to two months, else MONTHLY.
+     */
+    public RevenueReportDTO getRevenueReport(LocalDate startDate, LocalDate endDate, RevenueReportDTO.Bucket bucket) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("A start date on or before the end date is required");
+        }
+
+        log.info("Generating revenue report - Start: {}, End: {}, Bucket: {}", startDate, endDate, bucket);
 
-        // Group by organization and calculate revenue per organization
-        Map<String, List<PaymentTransaction>> txByOrg = transactions.stream()
-                .collect(Collectors.groupingBy(PaymentTransaction::getOrganizationUuid));
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+        return buildRevenueReport(from, to, bucket != null ? bucket : defaultBucket(from, to), "CUSTOM");
+    }
 
+    /**
+     * Revenue of SUCCESS payments in [startDate, endDate). Sums and counts are
+     * grouped in the database, so only one row per organization and per
+     * bucket is loaded however many payments the range holds; organization
+     * and subscription details come from one IN query each.
+     */
+    private RevenueReportDTO buildRevenueReport(LocalDateTime startDate, LocalDateTime endDate,
+                                                RevenueReportDTO.Bucket bucket, String timePeriod) {
+
+        List<Object[]> orgRows = paymentTransactionRepository.sumByOrganization(PaymentStatus.SUCCESS, startDate, endDate);
+
+        Set<String> orgUuids = orgRows.stream().map(row -> (String) row[0]).collect(Collectors.toSet());
+        Map<String, Organization> orgsByUuid = orgUuids.isEmpty() ? Map.of()
+                : organizationRepository.findByOrganizationUuidIn(orgUuids).stream()
+                        .collect(Collectors.toMap(Organization::getOrganizationUuid, org -> org, (a, b) -> a));
+        Map<String, Subscription> subsByOrg = orgUuids.isEmpty() ? Map.of()
+                : subscriptionRepository.findByOrganizationUuidIn(orgUuids).stream()
+                        .collect(Collectors.toMap(Subscription::getOrganizationUuid, sub -> sub, (a, b) -> a));
+
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        long totalTransactions = 0;
         List<RevenueReportDTO.OrganizationRevenue> organizationRevenueList = new ArrayList<>();
         Map<String, BigDecimal> revenueByPlan = new HashMap<>();
 
-        for (Map.Entry<String, List<PaymentTransaction>> entry : txByOrg.entrySet()) {
-            String orgUuid = entry.getKey();
-            List<PaymentTransaction> orgTransactions = entry.getValue();
-
-            BigDecimal orgRevenue = orgTransactions.stream()
-                    .map(PaymentTransaction::getAmount)
-                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        for (Object[] row : orgRows) {
+            String orgUuid = (String) row[0];
+            BigDecimal orgRevenue = (BigDecimal) row[1];
+            long transactionCount = ((Number) row[2]).longValue();
+            totalRevenue = totalRevenue.add(orgRevenue);
+            totalTransactions += transactionCount;
 
             // Get organization details
-            Optional<Organization> orgOpt = organizationRepository.findByOrganizationUuid(orgUuid);
-            if (orgOpt.isPresent()) {
-                Organization org = orgOpt.get();
-                Optional<Subscription> subOpt = subscriptionRepository.findByOrganizationUuid(orgUuid);
+            Organization org = orgsByUuid.get(orgUuid);
+            if (org != null) {
+                Subscription sub = subsByOrg.get(orgUuid);
 
                 RevenueReportDTO.OrganizationRevenue orgRev = new RevenueReportDTO.OrganizationRevenue();
                 orgRev.setOrganizationName(org.getName());
                 orgRev.setOrganizationUuid(orgUuid);
                 orgRev.setRevenue(orgRevenue);
-                orgRev.setTransactionCount(orgTransactions.size());
+                orgRev.setTransactionCount((int) transactionCount);
 
-                if (subOpt.isPresent()) {
-                    Subscription sub = subOpt.get();
+                if (sub != null) {
                     orgRev.setBillingPlan(sub.getPlanName());
                     orgRev.setActiveUsers(sub.getActiveUserCount());
                     orgRev.setBillingCycle(sub.getBillingCycle().toString());
@@ -274,20 +296,50 @@ public class ReportService {
 
         RevenueReportDTO report = new RevenueReportDTO();
         report.setTotalRevenue(totalRevenue);
-        report.setTotalTransactions(transactions.size());
+        report.setTotalTransactions((int) totalTransactions);
         report.setTimePeriod(timePeriod);
         report.setStartDate(startDate);
         report.setEndDate(endDate);
         report.setOrganizationRevenues(organizationRevenueList);
         report.setRevenueByPlan(revenueByPlan);
+        report.setBucket(bucket);
+        report.setRevenueByPeriod(revenueByPeriod(startDate, endDate, bucket));
         report.setGeneratedAt(LocalDateTime.now());
 
         log.info("Revenue report generated - Total Revenue: {}, Transactions: {}",
-                totalRevenue, transactions.size());
+                totalRevenue, totalTransactions);
 
         return report;
     }
 
+    private List<RevenueReportDTO.PeriodRevenue> revenueByPeriod(LocalDateTime startDate, LocalDateTime endDate,
+                                                                 RevenueReportDTO.Bucket bucket) {
+        boolean daily = bucket == RevenueReportDTO.Bucket.DAILY;
+        List<Object[]> rows = daily
+                ? paymentTransactionRepository.sumByDay(PaymentStatus.SUCCESS, startDate, endDate)
+                : paymentTransactionRepository.sumByMonth(PaymentStatus.SUCCESS, startDate, endDate);
+
+        List<RevenueReportDTO.PeriodRevenue> periods = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            int year = ((Number) row[0]).intValue();
+            int month = ((Number) row[1]).intValue();
+            int sumColumn = daily ? 3 : 2;
+
+            RevenueReportDTO.PeriodRevenue period = new RevenueReportDTO.PeriodRevenue();
+            period.setPeriod(daily
+                    ? LocalDate.of(year, month, ((Number) row[2]).intValue()).toString()
+                    : YearMonth.of(year, month).toString());
+            period.setRevenue((BigDecimal) row[sumColumn]);
+            period.setTransactionCount(((Number) row[sumColumn + 1]).longValue());
+            periods.add(period);
+        }
+        return periods;
+    }
+
+    private static RevenueReportDTO.Bucket defaultBucket(LocalDateTime startDate, LocalDateTime endDate) {
+        return startDate.plusMonths(2).isBefore(endDate) ? RevenueReportDTO.Bucket.MONTHLY : RevenueReportDTO.Bucket.DAILY;
+    }
+
     /**
      * Generate Module Usage Report
      * Shows actual extended module adoption from OrganizationModule table
@@ -0,0 +1,177 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.response.TeamCalendarResponse;
+import com.corehive.backend.model.Attendance.AttendanceStatus;
+import com.corehive.backend.repository.AttendanceRepository;
+import com.corehive.backend.repository.EmployeeRepository;
+import com.corehive.backend.repository.LeaveRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Team Calendar Service
+ * Builds the month view of leave and attendance per employee from three
+ * set-based queries (employees, approved leave overlapping the month,
+ * attendance statuses of the month), folded into per-status day bitmaps.
+ * Months that have ended are cached for attendance.calendar.closed-ttl-minutes;
+ * leave approval evicts the organization, and attendance written for an
+ * ended month (HR corrections, offline uploads, biometric imports, the
+ * absence job) evicts that month, both once the write commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TeamCalendarService {
+
+    private static final int MAX_CACHED_MONTHS = 1000;
+
+    private final EmployeeRepository employeeRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final AttendanceRepository attendanceRepository;
+
+    @Value("${attendance.calendar.closed-ttl-minutes:360}")
+    private long closedTtlMinutes;
+
+    private final Map<String, CachedCalendar> closedMonths = new ConcurrentHashMap<>();
+
+    private static class CachedCalendar {
+        private final TeamCalendarResponse calendar;
+        private final long expiresAtMillis;
+
+        private CachedCalendar(TeamCalendarResponse calendar, long expiresAtMillis) {
+            this.calendar = calendar;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    public TeamCalendarResponse getMonth(String orgUuid, YearMonth month, Long departmentId) {
+        boolean closed = month.isBefore(YearMonth.now());
+        String key = orgUuid + ":" + departmentId + ":" + month;
+        if (closed) {
+            CachedCalendar cached = closedMonths.get(key);
+            if (cached != null && cached.expiresAtMillis > System.currentTimeMillis()) {
+                return cached.calendar;
+            }
+        }
+
+        TeamCalendarResponse calendar = build(orgUuid, month, departmentId);
+
+        if (closed) {
+            if (closedMonths.size() >= MAX_CACHED_MONTHS) {
+                closedMonths.clear();
+            }
+            closedMonths.put(key, new CachedCalendar(calendar,
+                    System.currentTimeMillis() + closedTtlMinutes * 60_000));
+        }
+        return calendar;
+    }
+
+    /**
+     * Drop cached months of an organization after its leave changed, once
+     * the current transaction commits (see evictMonth)
+     */
+    public void evictOrganization(String orgUuid) {
+        String prefix = orgUuid + ":";
+        afterCommit(() -> closedMonths.keySet().removeIf(key -> key.startsWith(prefix)));
+    }
+
+    /**
+     * Drop the cached views of one month, after the current transaction
+     * commits so a concurrent read cannot cache the old rows again
+     */
+    public void evictMonth(String orgUuid, LocalDate date) {
+        YearMonth month = YearMonth.from(date);
+        if (!month.isBefore(YearMonth.now())) {
+            // Open months are never cached
+            return;
+        }
+        String prefix = orgUuid + ":";
+        String suffix = ":" + month;
+        afterCommit(() -> closedMonths.keySet()
+                .removeIf(key -> key.startsWith(prefix) && key.endsWith(suffix)));
+    }
+
+    // Run now, or after commit when called inside a transaction
+    private static void afterCommit(Runnable evict) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    private TeamCalendarResponse build(String orgUuid, YearMonth month, Long departmentId) {
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.atEndOfMonth();
+
+        List<Object[]> employees = employeeRepository.findCalendarEmployees(orgUuid, departmentId);
+        Map<Long, TeamCalendarResponse.Row> rows = new HashMap<>(employees.size() * 2);
+        List<TeamCalendarResponse.Row> ordered = new ArrayList<>(employees.size());
+        for (Object[] employee : employees) {
+            TeamCalendarResponse.Row row = new TeamCalendarResponse.Row();
+            row.setId((Long) employee[0]);
+            row.setName(employee[1] + " " + employee[2]);
+            row.setCode((String) employee[3]);
+            rows.put(row.getId(), row);
+            ordered.add(row);
+        }
+
+        for (Object[] leave : leaveRequestRepository.findApprovedLeaveBetween(orgUuid, from, to)) {
+            TeamCalendarResponse.Row row = rows.get((Long) leave[0]);
+            if (row == null) {
+                continue;
+            }
+            int firstDay = ((LocalDate) leave[1]).isBefore(from) ? 1 : ((LocalDate) leave[1]).getDayOfMonth();
+            int lastDay = ((LocalDate) leave[2]).isAfter(to) ? to.getDayOfMonth() : ((LocalDate) leave[2]).getDayOfMonth();
+            row.setLeave(row.getLeave() | daySpan(firstDay, lastDay));
+        }
+
+        for (Object[] attendance : attendanceRepository.findStatusesBetween(orgUuid, from, to)) {
+            TeamCalendarResponse.Row row = rows.get((Long) attendance[0]);
+            if (row == null || attendance[2] == null) {
+                continue;
+            }
+            int bit = 1 << (((LocalDate) attendance[1]).getDayOfMonth() - 1);
+            switch ((AttendanceStatus) attendance[2]) {
+                case PRESENT -> row.setPresent(row.getPresent() | bit);
+                case LATE -> row.setLate(row.getLate() | bit);
+                case HALF_DAY -> row.setHalfDay(row.getHalfDay() | bit);
+                case ABSENT -> row.setAbsent(row.getAbsent() | bit);
+                case WORK_FROM_HOME -> row.setWfh(row.getWfh() | bit);
+                case ON_LEAVE -> row.setLeave(row.getLeave() | bit);
+            }
+        }
+
+        return TeamCalendarResponse.builder()
+                .month(month.toString())
+                .days(month.lengthOfMonth())
+                .employees(ordered)
+                .build();
+    }
+
+    // Bits firstDay..lastDay (1-based, inclusive)
+    static int daySpan(int firstDay, int lastDay) {
+        if (lastDay < firstDay) {
+            return 0;
+        }
+        long bits = (1L << lastDay) - (1L << (firstDay - 1));
+        return (int) bits;
+    }
+}
@@ -0,0 +1,228 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.TokenRevocation;
+import com.corehive.backend.repository.TokenRevocationRepository;
+import com.corehive.backend.util.BloomFilter;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token Revocation Service
+ * Keeps JWT revocation state in memory so JwtRequestFilter can check it
+ * without a DB hit per request. MySQL is the source of truth; the in-memory
+ * view is loaded at startup and re-synced periodically (multi-instance safe).
+ *
+ *  - per-user cutoff   : tokens issued before it are dead (password change)
+ *  - per-org cutoff    : tokens issued before it are dead (org suspension)
+ *    (both also revoke the matching refresh tokens)
+ *  - jti denylist      : single tokens (logout), Bloom filter in front of an exact map
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final RefreshTokenService refreshTokenService;
+
+    // Cutoff entries only need to outlive the access tokens they cover
+    @Value("${jwt.access-expiration:900000}")
+    private Long expiration;
+
+    @Value("${jwt.revocation.bloom-capacity:100000}")
+    private int bloomCapacity;
+
+    // "userType:userId" -> cutoff (epoch seconds)
+    private final Map<String, Long> userCutoffs = new ConcurrentHashMap<>();
+    // organizationUuid -> cutoff (epoch seconds)
+    private final Map<String, Long> organizationCutoffs = new ConcurrentHashMap<>();
+    // jti -> token expiry (epoch seconds)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter tokenFilter;
+
+    @PostConstruct
+    public void init() {
+        tokenFilter = new BloomFilter(bloomCapacity, 0.01);
+        try {
+            loadFromDatabase(nowEpoch());
+            log.info("Token revocation state loaded: {} users, {} organizations, {} tokens",
+                    userCutoffs.size(), organizationCutoffs.size(), revokedTokens.size());
+        } catch (Exception e) {
+            log.error("Failed to load token revocation state: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * O(1) revocation check for an already signature-verified token
+     */
+    public boolean isRevoked(Claims claims) {
+        long issuedAt = toEpoch(claims.getIssuedAt());
+
+        Object userId = claims.get("userId");
+        if (userId != null) {
+            Long cutoff = userCutoffs.get(userKey((String) claims.get("userType"), userId));
+            if (cutoff != null && issuedAt < cutoff) {
+                return true;
+            }
+        }
+
+        String organizationUuid = (String) claims.get("organizationUuid");
+        if (organizationUuid != null) {
+            Long cutoff = organizationCutoffs.get(organizationUuid);
+            if (cutoff != null && issuedAt < cutoff) {
+                return true;
+            }
+        }
+
+        String tokenId = claims.getId();
+        return tokenId != null
+                && tokenFilter.mightContain(tokenId)
+                && revokedTokens.containsKey(tokenId);
+    }
+
+    /**
+     * Revoke every token issued to a user up to now (password change / reset)
+     */
+    @Transactional
+    public void revokeUserTokens(String userType, Long userId) {
+        long cutoff = nowEpoch();
+        String key = userKey(userType, userId);
+        userCutoffs.merge(key, cutoff, Math::max);
+        saveCutoff(TokenRevocation.Scope.USER, key, cutoff);
+        refreshTokenService.revokeUserTokens(userType, userId);
+        log.info("Revoked tokens issued before {} for user {}", cutoff, key);
+    }
+
+    /**
+     * Revoke every token issued to an organization's users up to now (suspension)
+     */
+    @Transactional
+    public void revokeOrganizationTokens(String organizationUuid) {
+        long cutoff = nowEpoch();
+        organizationCutoffs.merge(organizationUuid, cutoff, Math::max);
+        saveCutoff(TokenRevocation.Scope.ORGANIZATION, organizationUuid, cutoff);
+        refreshTokenService.revokeOrganizationTokens(organizationUuid);
+        log.info("Revoked tokens issued before {} for organization {}", cutoff, organizationUuid);
+    }
+
+    /**
+     * Revoke a single token by its jti (logout)
+     */
+    @Transactional
+    public void revokeToken(String tokenId, Date expiresAt) {
+        if (tokenId == null) {
+            return;
+        }
+        long expiry = expiresAt != null ? toEpoch(expiresAt) : nowEpoch() + expirationSeconds();
+        if (expiry <= nowEpoch()) {
+            return; // Already dead
+        }
+
+        addRevokedToken(tokenId, expiry);
+
+        if (tokenRevocationRepository.findByScopeAndSubject(TokenRevocation.Scope.TOKEN, tokenId).isEmpty()) {
+            tokenRevocationRepository.save(TokenRevocation.builder()
+                    .scope(TokenRevocation.Scope.TOKEN)
+                    .subject(tokenId)
+                    .expiresAtEpoch(expiry)
+                    .build());
+        }
+    }
+
+    /**
+     * Purge expired rows and pick up revocations recorded by other instances
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-ms:60000}")
+    @Transactional
+    public void refresh() {
+        try {
+            long now = nowEpoch();
+            int purged = tokenRevocationRepository.deleteExpired(now);
+            loadFromDatabase(now);
+            evictExpired(now);
+
+            if (purged > 0) {
+                log.debug("Purged {} expired token revocation entries", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error refreshing token revocation state: {}", e.getMessage());
+        }
+    }
+
+    private void loadFromDatabase(long now) {
+        List<TokenRevocation> entries = tokenRevocationRepository.findByExpiresAtEpochGreaterThan(now);
+
+        for (TokenRevocation entry : entries) {
+            switch (entry.getScope()) {
+                case USER -> userCutoffs.merge(entry.getSubject(), entry.getRevokedBeforeEpoch(), Math::max);
+                case ORGANIZATION -> organizationCutoffs.merge(entry.getSubject(), entry.getRevokedBeforeEpoch(), Math::max);
+                case TOKEN -> addRevokedToken(entry.getSubject(), entry.getExpiresAtEpoch());
+            }
+        }
+    }
+
+    private void evictExpired(long now) {
+        long lifetime = expirationSeconds();
+        userCutoffs.values().removeIf(cutoff -> cutoff + lifetime <= now);
+        organizationCutoffs.values().removeIf(cutoff -> cutoff + lifetime <= now);
+
+        // Bloom filters cannot delete, so rebuild once entries actually drop out
+        if (revokedTokens.values().removeIf(expiry -> expiry <= now)) {
+            rebuildFilter();
+        }
+    }
+
+    // Writes are rare (logout), so they serialize; reads stay lock-free
+    private synchronized void addRevokedToken(String tokenId, long expiry) {
+        revokedTokens.put(tokenId, expiry);
+        if (revokedTokens.size() > bloomCapacity) {
+            bloomCapacity *= 2;
+            rebuildFilter();
+        } else {
+            tokenFilter.put(tokenId);
+        }
+    }
+
+    private synchronized void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(bloomCapacity, 0.01);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        tokenFilter = rebuilt;
+    }
+
+    private void saveCutoff(TokenRevocation.Scope scope, String subject, long cutoff) {
+        TokenRevocation entry = tokenRevocationRepository.findByScopeAndSubject(scope, subject)
+                .orElseGet(() -> TokenRevocation.builder().scope(scope).subject(subject).build());
+
+        entry.setRevokedBeforeEpoch(cutoff);
+        entry.setExpiresAtEpoch(cutoff + expirationSeconds());
+        tokenRevocationRepository.save(entry);
+    }
+
+    private String userKey(String userType, Object userId) {
+        return userType + ":" + userId;
+    }
+
+    private long expirationSeconds() {
+        return expiration / 1000;
+    }
+
+    private static long toEpoch(Date date) {
+        return date == null ? 0L : date.getTime() / 1000;
+    }
+
+    private static long nowEpoch() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,297 @@
+package com.corehive.backend.util;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Employee Import Reader
+ * Streams an employee sheet row by row - the file is never held in memory:
+ *  - .xlsx is spooled to a temp file, so POI reads zip entries on demand,
+ *    and parsed through the event model (SAX over the first worksheet), with
+ *    dates rendered as yyyy-MM-dd and numbers as plain digits; only the
+ *    shared strings table is loaded
+ *  - .csv / .tsv / semicolon separated text, quoted fields allowed
+ * The first non-blank row is the header; columns are matched by name in the
+ * common spellings (e.g. "First Name", "NIC", "Joining Date") and in any order.
+ */
+public final class EmployeeImportReader {
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]");
+
+    private EmployeeImportReader() {
+    }
+
+    public enum Column {
+        FIRST_NAME(true, "firstname", "fname", "givenname"),
+        LAST_NAME(true, "lastname", "lname", "surname", "familyname"),
+        EMAIL(true, "email", "emailaddress", "workemail"),
+        PHONE(false, "phone", "phonenumber", "mobile", "mobilenumber", "contactnumber"),
+        NATIONAL_ID(false, "nationalid", "nic", "nicnumber", "nationalidnumber"),
+        BANK_ACC_NO(false, "bankaccno", "bankaccount", "bankaccountnumber", "accountnumber", "accountno"),
+        DESIGNATION(false, "designation", "jobtitle", "title", "position"),
+        DEPARTMENT(true, "department", "departmentname", "departmentid", "dept"),
+        BASIC_SALARY(false, "basicsalary", "salary", "basicpay"),
+        SALARY_TYPE(false, "salarytype", "paytype"),
+        DATE_OF_JOINING(false, "dateofjoining", "joiningdate", "joineddate", "datejoined", "startdate"),
+        STATUS(false, "status", "employeestatus");
+
+        private final boolean required;
+        private final List<String> names;
+
+        Column(boolean required, String... names) {
+            this.required = required;
+            this.names = List.of(names);
+        }
+    }
+
+    public interface Handler {
+        /**
+         * @param values cell text indexed by Column.ordinal(), null when absent or blank
+         */
+        void onRow(long rowNumber, String[] values);
+    }
+
+    /**
+     * Read the whole file, calling the handler per data row.
+     *
+     * @return number of data rows read
+     * @throws IllegalArgumentException when the header lacks a required column
+     */
+    public static long read(InputStream in, String fileName, Handler handler) throws IOException {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        return name.endsWith(".xlsx") ? readXlsx(in, handler) : readDelimited(in, handler);
+    }
+
+    private static long readDelimited(InputStream in, Handler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(Channels.newReader(Channels.newChannel(in),
+                StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE),
+                BUFFER_CHARS), BUFFER_CHARS);
+
+        RowMapper mapper = new RowMapper(handler);
+        char separator = 0;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (separator == 0) {
+                separator = line.indexOf('\t') >= 0 ? '\t' : line.indexOf(',') >= 0 ? ',' : ';';
+            }
+            mapper.row(lineNumber, split(line, separator));
+        }
+        return mapper.finish();
+    }
+
+    private static long readXlsx(InputStream in, Handler handler) throws IOException {
+        // Opened from a stream, OPCPackage buffers the whole zip in heap
+        Path spool = Files.createTempFile("employee-import-", ".xlsx");
+        try {
+            Files.copy(in, spool, StandardCopyOption.REPLACE_EXISTING);
+            return readXlsx(spool.toFile(), handler);
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    private static long readXlsx(File file, Handler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new IllegalArgumentException("The workbook has no worksheet");
+            }
+
+            RowMapper mapper = new RowMapper(handler);
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(),
+                    new ReadOnlySharedStringsTable(pkg), new SheetRows(mapper), new PlainFormatter(), false));
+            try (InputStream sheet = sheets.next()) {
+                parser.parse(new InputSource(sheet));
+            }
+            return mapper.finish();
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Unreadable Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    // Turns raw rows into Column-indexed values once the header is known
+    private static final class RowMapper {
+        private final Handler handler;
+        private int[] columnOf;
+        private long rows;
+
+        private RowMapper(Handler handler) {
+            this.handler = handler;
+        }
+
+        private void row(long rowNumber, List<String> cells) {
+            if (cells.stream().allMatch(cell -> cell == null || cell.isBlank())) {
+                return;
+            }
+            if (columnOf == null) {
+                columnOf = header(cells);
+                return;
+            }
+
+            String[] values = new String[Column.values().length];
+            for (int i = 0; i < cells.size() && i < columnOf.length; i++) {
+                String cell = cells.get(i);
+                if (columnOf[i] >= 0 && cell != null && !cell.isBlank()) {
+                    values[columnOf[i]] = cell.trim();
+                }
+            }
+            rows++;
+            handler.onRow(rowNumber, values);
+        }
+
+        private long finish() {
+            if (columnOf == null) {
+                throw new IllegalArgumentException("The file has no header row");
+            }
+            return rows;
+        }
+
+        private static int[] header(List<String> cells) {
+            int[] columnOf = new int[cells.size()];
+            boolean[] seen = new boolean[Column.values().length];
+            for (int i = 0; i < cells.size(); i++) {
+                columnOf[i] = -1;
+                String name = cells.get(i) != null
+                        ? NON_ALNUM.matcher(cells.get(i).toLowerCase(Locale.ROOT)).replaceAll("") : "";
+                for (Column column : Column.values()) {
+                    if (!seen[column.ordinal()] && column.names.contains(name)) {
+                        columnOf[i] = column.ordinal();
+                        seen[column.ordinal()] = true;
+                        break;
+                    }
+                }
+            }
+
+            List<String> missing = new ArrayList<>();
+            for (Column column : Column.values()) {
+                if (column.required && !seen[column.ordinal()]) {
+                    missing.add(column.names.get(0));
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new IllegalArgumentException("Missing required columns: " + String.join(", ", missing));
+            }
+            return columnOf;
+        }
+    }
+
+    // Collects the cells of each worksheet row, keeping blank cells in place
+    private static final class SheetRows implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final RowMapper mapper;
+        private final List<String> cells = new ArrayList<>();
+
+        private SheetRows(RowMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            mapper.row(rowNum + 1, cells);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = columnIndex(cellReference);
+            while (cells.size() < column) {
+                cells.add(null);
+            }
+            cells.add(formattedValue);
+        }
+
+        private static int columnIndex(String cellReference) {
+            int column = 0;
+            for (int i = 0; i < cellReference.length() && Character.isLetter(cellReference.charAt(i)); i++) {
+                column = column * 26 + (cellReference.charAt(i) - 'A' + 1);
+            }
+            return column - 1;
+        }
+    }
+
+    // Display formats lose information ("50,000.00", "1/5/24"); emit raw values instead
+    private static final class PlainFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getLocalDateTime(value).toLocalDate().toString();
+            }
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    // One line of delimited text; double quotes enclose separators and escape quotes
+    private static List<String> split(String line, char separator) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
@@ -11,6 +11,7 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -23,18 +24,21 @@ public class JwtUtil {
     @Value("${jwt.secret}")
     private String secret;
 
-    @Value("${jwt.expiration}")
+    // Short-lived access token; sessions are extended through refresh tokens
+    @Value("${jwt.access-expiration:900000}") // 15 minutes
     private Long expiration;
 
+    private volatile SecretKey signingKey;
+
     /**
-     * Generate JWT Token
+     * Generate JWT access token
+     * Payload kept minimal: IDs + role (email travels as the subject)
      */
     public String generateToken(Map<String, Object> userDetails, String userType) {
         Map<String, Object> claims = new HashMap<>();
 
         // Data in token payload
         claims.put("userId", userDetails.get("userId"));
-        claims.put("email", userDetails.get("email"));
         claims.put("role", userDetails.get("role"));
         claims.put("userType", userType);
 
@@ -53,6 +57,7 @@ public class JwtUtil {
         return Jwts.builder()
                 .claims(claims) // Set custom claims
                 .subject(subject) // Usually email address
+                .id(UUID.randomUUID().toString()) // jti - lets a single token be revoked
                 .issuedAt(new Date(System.currentTimeMillis())) // Token issue time
                 .expiration(new Date(System.currentTimeMillis() + expiration)) // Expiry time
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256) // Sign with secret key
@@ -139,7 +144,13 @@ public class JwtUtil {
      * Extract user ID from token
      */
     public Long extractUserId(String token) {
-        final Claims claims = extractAllClaims(token);
+        return extractUserId(extractAllClaims(token));
+    }
+
+    /**
+     * Extract user ID from already parsed claims
+     */
+    public Long extractUserId(Claims claims) {
         Object userIdObj = claims.get("userId");
         if (userIdObj instanceof Number) {
             return ((Number) userIdObj).longValue();
@@ -148,10 +159,22 @@ public class JwtUtil {
     }
 
     /**
-     * Generate signing key
+     * Access token lifetime in seconds (returned to clients as expiresIn)
+     */
+    public long getExpirationSeconds() {
+        return expiration / 1000;
+    }
+
+    /**
+     * Signing key, derived once
      */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes());
+            signingKey = key;
+        }
+        return key;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,313 @@
+package com.corehive.backend.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Punch Log Reader
+ * Streams a fingerprint terminal export (CSV / TSV / semicolon separated)
+ * line by line through an NIO channel - the file is never held in memory.
+ * Understands:
+ *  - an optional header row naming the user id, date-time (or date + time)
+ *    and IN/OUT columns, in the spellings common terminal vendors export
+ *  - headerless "userId, dateTime[, IN|OUT]" or "userId, date, time[, IN|OUT]" rows
+ *  - IN/OUT codes such as IN, OUT, C/In, C/Out, Check In, 0 / 1 (header mode)
+ */
+public final class PunchLogReader {
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    private static final List<String> USER_COLUMNS = List.of(
+            "enno", "userid", "employeeid", "employeecode", "empid", "empno", "empcode",
+            "acno", "pin", "badgenumber", "personid", "user", "id");
+    private static final List<String> DATE_TIME_COLUMNS = List.of(
+            "datetime", "checktime", "timestamp", "punchdatetime", "logdatetime");
+    private static final List<String> DIRECTION_COLUMNS = List.of(
+            "inout", "direction", "checktype", "punchstate", "state", "status", "type");
+
+    private static final Set<String> IN_CODES = Set.of("in", "i", "cin", "checkin", "clockin", "0");
+    private static final Set<String> OUT_CODES = Set.of("out", "o", "cout", "checkout", "clockout", "1");
+
+    private static final List<DateTimeFormatter> DATE_TIME_FORMATS = formats(
+            "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm", "yyyy-MM-dd'T'HH:mm:ss", "yyyy-MM-dd'T'HH:mm",
+            "yyyy/MM/dd HH:mm:ss", "yyyy/MM/dd HH:mm", "dd/MM/yyyy HH:mm:ss", "dd/MM/yyyy HH:mm",
+            "dd-MM-yyyy HH:mm:ss", "dd-MM-yyyy HH:mm", "dd/MM/yyyy hh:mm:ss a", "dd/MM/yyyy hh:mm a",
+            "yyyy-MM-dd hh:mm:ss a", "yyyy-MM-dd hh:mm a");
+    private static final List<DateTimeFormatter> DATE_FORMATS = formats(
+            "yyyy-MM-dd", "yyyy/MM/dd", "dd/MM/yyyy", "dd-MM-yyyy");
+    private static final List<DateTimeFormatter> TIME_FORMATS = formats(
+            "HH:mm:ss", "HH:mm", "hh:mm:ss a", "hh:mm a");
+
+    private static final Pattern NON_ALNUM = Pattern.compile("[^a-z0-9]");
+
+    private PunchLogReader() {
+    }
+
+    public enum Direction {
+        IN,
+        OUT
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Punch {
+        private final long lineNumber;
+        private final String userId;
+        private final LocalDateTime time;
+        // null when the log has no direction for this punch
+        private final Direction direction;
+    }
+
+    public interface Handler {
+        void onPunch(Punch punch);
+
+        void onReject(long lineNumber, String reason);
+    }
+
+    /**
+     * Read the whole stream, calling the handler per line.
+     *
+     * @return number of lines read (blank lines and the header included)
+     */
+    public static long read(InputStream in, Handler handler) throws IOException {
+        BufferedReader reader = new BufferedReader(Channels.newReader(Channels.newChannel(in),
+                StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE),
+                BUFFER_CHARS), BUFFER_CHARS);
+
+        long lineNumber = 0;
+        Layout layout = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+
+            if (layout == null) {
+                layout = Layout.detect(line);
+                if (layout.header) {
+                    continue;
+                }
+            }
+            layout.parse(line, lineNumber, handler);
+        }
+        return lineNumber;
+    }
+
+    private static final class Layout {
+        private final Pattern separator;
+        private final boolean header;
+        private final int userColumn;
+        private final int dateTimeColumn;
+        private final int dateColumn;
+        private final int timeColumn;
+        private final int directionColumn;
+
+        // Index of the format that matched last - logs use a single layout
+        private int dateTimeHint;
+        private int dateHint;
+        private int timeHint;
+
+        private Layout(Pattern separator, boolean header, int userColumn, int dateTimeColumn,
+                       int dateColumn, int timeColumn, int directionColumn) {
+            this.separator = separator;
+            this.header = header;
+            this.userColumn = userColumn;
+            this.dateTimeColumn = dateTimeColumn;
+            this.dateColumn = dateColumn;
+            this.timeColumn = timeColumn;
+            this.directionColumn = directionColumn;
+        }
+
+        private static Layout detect(String firstLine) {
+            Pattern separator = firstLine.indexOf('\t') >= 0 ? Pattern.compile("\t")
+                    : firstLine.indexOf(',') >= 0 ? Pattern.compile(",")
+                    : firstLine.indexOf(';') >= 0 ? Pattern.compile(";")
+                    : Pattern.compile("\\s{2,}");
+
+            String[] cells = split(separator, firstLine);
+            String[] names = new String[cells.length];
+            for (int i = 0; i < cells.length; i++) {
+                names[i] = NON_ALNUM.matcher(cells[i].toLowerCase(Locale.ROOT)).replaceAll("");
+            }
+
+            int user = find(names, USER_COLUMNS);
+            int dateTime = find(names, DATE_TIME_COLUMNS);
+            int date = find(names, List.of("date", "punchdate", "logdate"));
+            int time = find(names, List.of("time", "punchtime", "logtime"));
+            if (user >= 0 && (dateTime >= 0 || time >= 0)) {
+                if (dateTime < 0 && date < 0) {
+                    // A lone "time" column carries the full timestamp
+                    dateTime = time;
+                    time = -1;
+                }
+                return new Layout(separator, true, user,
+                        dateTime, dateTime >= 0 ? -1 : date, dateTime >= 0 ? -1 : time,
+                        find(names, DIRECTION_COLUMNS));
+            }
+
+            // Headerless: userId, dateTime[, dir]  or  userId, date, time[, dir]
+            if (cells.length >= 3 && looksLikeDate(cells[1]) && looksLikeTime(cells[2])) {
+                return new Layout(separator, false, 0, -1, 1, 2, 3);
+            }
+            return new Layout(separator, false, 0, 1, -1, -1, 2);
+        }
+
+        private void parse(String line, long lineNumber, Handler handler) {
+            String[] cells = split(separator, line);
+
+            String userId = cell(cells, userColumn);
+            if (userId == null || userId.isEmpty()) {
+                handler.onReject(lineNumber, "Missing user id");
+                return;
+            }
+
+            LocalDateTime time;
+            if (dateTimeColumn >= 0) {
+                time = parseDateTime(cell(cells, dateTimeColumn));
+            } else {
+                LocalDate date = parseDate(cell(cells, dateColumn));
+                LocalTime clock = parseTime(cell(cells, timeColumn));
+                time = date != null && clock != null ? LocalDateTime.of(date, clock) : null;
+            }
+            if (time == null) {
+                handler.onReject(lineNumber, "Unreadable punch time");
+                return;
+            }
+
+            handler.onPunch(new Punch(lineNumber, userId, time, direction(cell(cells, directionColumn))));
+        }
+
+        private Direction direction(String value) {
+            if (value == null) {
+                return null;
+            }
+            String code = NON_ALNUM.matcher(value.toLowerCase(Locale.ROOT)).replaceAll("");
+            // Bare 0 / 1 only mean IN / OUT when a header named the column
+            if (!header && (code.equals("0") || code.equals("1"))) {
+                return null;
+            }
+            if (IN_CODES.contains(code)) {
+                return Direction.IN;
+            }
+            if (OUT_CODES.contains(code)) {
+                return Direction.OUT;
+            }
+            return null;
+        }
+
+        private LocalDateTime parseDateTime(String value) {
+            if (value == null) {
+                return null;
+            }
+            for (int i = 0; i < DATE_TIME_FORMATS.size(); i++) {
+                int index = (dateTimeHint + i) % DATE_TIME_FORMATS.size();
+                try {
+                    LocalDateTime parsed = LocalDateTime.parse(value, DATE_TIME_FORMATS.get(index));
+                    dateTimeHint = index;
+                    return parsed;
+                } catch (DateTimeParseException ignored) {
+                    // try the next layout
+                }
+            }
+            return null;
+        }
+
+        private LocalDate parseDate(String value) {
+            if (value == null) {
+                return null;
+            }
+            for (int i = 0; i < DATE_FORMATS.size(); i++) {
+                int index = (dateHint + i) % DATE_FORMATS.size();
+                try {
+                    LocalDate parsed = LocalDate.parse(value, DATE_FORMATS.get(index));
+                    dateHint = index;
+                    return parsed;
+                } catch (DateTimeParseException ignored) {
+                    // try the next layout
+                }
+            }
+            return null;
+        }
+
+        private LocalTime parseTime(String value) {
+            if (value == null) {
+                return null;
+            }
+            for (int i = 0; i < TIME_FORMATS.size(); i++) {
+                int index = (timeHint + i) % TIME_FORMATS.size();
+                try {
+                    LocalTime parsed = LocalTime.parse(value, TIME_FORMATS.get(index));
+                    timeHint = index;
+                    return parsed;
+                } catch (DateTimeParseException ignored) {
+                    // try the next layout
+                }
+            }
+            return null;
+        }
+
+        private static int find(String[] names, List<String> candidates) {
+            for (String candidate : candidates) {
+                for (int i = 0; i < names.length; i++) {
+                    if (names[i].equals(candidate)) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private static String cell(String[] cells, int index) {
+            return index >= 0 && index < cells.length && !cells[index].isEmpty() ? cells[index] : null;
+        }
+    }
+
+    private static boolean looksLikeDate(String value) {
+        return new Layout(null, false, 0, -1, -1, -1, -1).parseDate(value) != null;
+    }
+
+    private static boolean looksLikeTime(String value) {
+        return new Layout(null, false, 0, -1, -1, -1, -1).parseTime(value) != null;
+    }
+
+    private static String[] split(Pattern separator, String line) {
+        String[] cells = separator.split(line.trim(), -1);
+        for (int i = 0; i < cells.length; i++) {
+            String cell = cells[i].trim();
+            if (cell.length() >= 2 && cell.startsWith("\"") && cell.endsWith("\"")) {
+                cell = cell.substring(1, cell.length() - 1).trim();
+            }
+            cells[i] = cell;
+        }
+        return cells;
+    }
+
+    private static List<DateTimeFormatter> formats(String... patterns) {
+        return Arrays.stream(patterns)
+                .map(pattern -> DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH))
+                .toList();
+    }
+}
@@ -14,7 +14,13 @@ import java.util.Map;
 
 public class QrCodeUtil {
 
+    public static final int DEFAULT_SIZE = 300;
+
     public static byte[] generateQrImage(String text) {
+        return generateQrImage(text, DEFAULT_SIZE);
+    }
+
+    public static byte[] generateQrImage(String text, int size) {
         try {
             Map<EncodeHintType, Object> hints = new HashMap<>();
             hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M); //Medium error correction (best for short tokens)
@@ -23,8 +29,8 @@ public class QrCodeUtil {
             BitMatrix matrix = new MultiFormatWriter().encode(
                     text,
                     BarcodeFormat.QR_CODE,
-                    300,
-                    300,
+                    size,
+                    size,
                     hints
             );
 
@@ -0,0 +1,63 @@
+package com.corehive.backend.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * QR Image Cache
+ * LRU cache of rendered QR PNGs keyed by token + size, bounded by a byte
+ * budget rather than an entry count. Employee QR tokens are permanent, so a
+ * badge re-print only pays the ZXing encode + PNG compression once.
+ */
+@Component
+public class QrImageCache {
+
+    private final long maxBytes;
+
+    // access-order LinkedHashMap = LRU; guarded by this
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long currentBytes;
+
+    public QrImageCache(@Value("${qr.cache.max-bytes:16777216}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public byte[] getPng(String token, int size) {
+        String key = token + ":" + size;
+
+        synchronized (this) {
+            byte[] cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // Render outside the lock - a concurrent miss may render twice, which is harmless
+        byte[] png = QrCodeUtil.generateQrImage(token, size);
+        put(key, png);
+        return png;
+    }
+
+    private synchronized void put(String key, byte[] png) {
+        if (png.length > maxBytes) {
+            return; // Would evict everything and still not fit
+        }
+
+        byte[] previous = entries.put(key, png);
+        if (previous != null) {
+            currentBytes -= previous.length;
+        }
+        currentBytes += png.length;
+
+        Iterator<Map.Entry<String, byte[]>> it = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, byte[]> eldest = it.next();
+            currentBytes -= eldest.getValue().length;
+            it.remove();
+        }
+    }
+}
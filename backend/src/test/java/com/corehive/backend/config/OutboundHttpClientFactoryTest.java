@@ -0,0 +1,107 @@
+package com.corehive.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundHttpClientFactoryTest {
+
+    private StubHttpServer stub;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboundHttpProperties properties;
+    private OutboundHttpClientFactory factory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new StubHttpServer();
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new OutboundHttpProperties();
+        properties.getDefaults().setRetryBaseDelayMs(1);
+        properties.getDefaults().setReadTimeoutMs(500);
+        factory = new OutboundHttpClientFactory(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.close();
+        stub.close();
+    }
+
+    @Test
+    void testIdempotentCallRetriedAfterServerError() {
+        stub.enqueue(503, "{}").enqueue(200, "{\"ok\":true}");
+        RestTemplate restTemplate = factory.create("stub");
+
+        ResponseEntity<String> response = restTemplate.exchange(stub.url("/face"), HttpMethod.DELETE, null, String.class);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(2, stub.requestCount());
+        assertEquals(1, meterRegistry.get("corehive.http.client")
+                .tag("destination", "stub").tag("outcome", "server_error").timer().count());
+    }
+
+    @Test
+    void testPostIsNotRetried() {
+        stub.enqueue(503, "{}");
+        RestTemplate restTemplate = factory.create("stub");
+
+        assertThrows(HttpServerErrorException.class,
+                () -> restTemplate.postForObject(stub.url("/verify"), "x", String.class));
+        assertEquals(1, stub.requestCount());
+    }
+
+    @Test
+    void testCircuitOpensAndShortCircuits() {
+        properties.getDefaults().setMaxRetries(0);
+        properties.getDefaults().setFailureThreshold(2);
+        stub.enqueue(500, "{}");
+        RestTemplate restTemplate = factory.create("stub");
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(stub.url("/"), String.class));
+        }
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(stub.url("/"), String.class));
+
+        assertEquals(2, stub.requestCount(), "Open circuit must not reach the server");
+        assertEquals(1.0, meterRegistry.get("corehive.http.client.rejects")
+                .tag("reason", "circuit_open").counter().count());
+    }
+
+    @Test
+    void testReadTimeoutApplied() {
+        properties.getDefaults().setMaxRetries(0);
+        stub.enqueue(200, "{}", 2000);
+        RestTemplate restTemplate = factory.create("stub");
+
+        long start = System.currentTimeMillis();
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(stub.url("/"), String.class));
+        assertTrue(System.currentTimeMillis() - start < 1500);
+    }
+
+    @Test
+    void testDestinationOverridesMergeOverConfiguredDefaults() {
+        properties.getDefaults().setMaxRetries(0);
+        properties.getDefaults().setFailureThreshold(7);
+        OutboundHttpProperties.Overrides aiService = new OutboundHttpProperties.Overrides();
+        aiService.setReadTimeoutMs(9000L);
+        properties.getDestinations().put("ai-service", aiService);
+
+        OutboundHttpProperties.Destination merged = properties.forDestination("ai-service");
+
+        assertEquals(9000, merged.getReadTimeoutMs());
+        assertEquals(500, properties.getDefaults().getReadTimeoutMs());
+        // Everything else comes from the configured defaults, not the class defaults
+        assertEquals(0, merged.getMaxRetries());
+        assertEquals(7, merged.getFailureThreshold());
+        assertEquals(1, merged.getRetryBaseDelayMs());
+        assertSame(properties.getDefaults(), properties.forDestination("other"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.corehive.backend.config;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stub HTTP server for outbound client tests.
+ * Replies with queued responses in order, then repeats the last one.
+ */
+class StubHttpServer implements AutoCloseable {
+
+    record StubResponse(int status, String body, long delayMs) {
+    }
+
+    private final HttpServer server;
+    private final Queue<StubResponse> responses = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile StubResponse last = new StubResponse(200, "{}", 0);
+
+    StubHttpServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requestCount.incrementAndGet();
+            StubResponse response = responses.poll();
+            if (response != null) {
+                last = response;
+            } else {
+                response = last;
+            }
+
+            if (response.delayMs() > 0) {
+                try {
+                    Thread.sleep(response.delayMs());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            byte[] bytes = response.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    StubHttpServer enqueue(int status, String body) {
+        return enqueue(status, body, 0);
+    }
+
+    StubHttpServer enqueue(int status, String body, long delayMs) {
+        responses.add(new StubResponse(status, body, delayMs));
+        return this;
+    }
+
+    String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    int requestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
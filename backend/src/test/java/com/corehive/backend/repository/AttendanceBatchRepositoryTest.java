@@ -0,0 +1,73 @@
+package com.corehive.backend.repository;
+
+import com.corehive.backend.model.Attendance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AttendanceBatchRepositoryTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AttendanceBatchRepository attendanceBatchRepository;
+
+    @BeforeEach
+    void setUp() {
+        attendanceBatchRepository = new AttendanceBatchRepository(jdbcTemplate);
+    }
+
+    @Test
+    void testLeaveDaysAreWrittenInMultiRowStatements() {
+        List<Attendance> days = new ArrayList<>();
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < 501; i++) {
+            days.add(Attendance.builder()
+                    .organizationUuid(ORG_UUID)
+                    .employeeId(1L)
+                    .attendanceDate(start.plusDays(i))
+                    .status(Attendance.AttendanceStatus.ON_LEAVE)
+                    .verificationType(Attendance.VerificationType.MANUAL)
+                    .notes("Leave approved")
+                    .build());
+        }
+
+        assertEquals(2, attendanceBatchRepository.upsertLeaveDays(days));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(sql.capture(), params.capture());
+
+        // 500 rows, then the remainder; six values per row
+        assertEquals(500 * 6, params.getAllValues().get(0).length);
+        assertEquals(6, params.getAllValues().get(1).length);
+        assertArrayEquals(new Object[]{ORG_UUID, 1L, start.plusDays(500), "ON_LEAVE", "MANUAL", "Leave approved"},
+                params.getAllValues().get(1));
+
+        String statement = sql.getAllValues().get(1);
+        assertTrue(statement.contains("AS incoming"));
+        assertTrue(statement.contains("status = incoming.status"));
+        assertFalse(statement.contains("VALUES("));
+    }
+
+    @Test
+    void testNothingToWriteRunsNoStatement() {
+        assertEquals(0, attendanceBatchRepository.upsertLeaveDays(List.of()));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -1,9 +1,12 @@
 package com.corehive.backend.service;
 
+import com.corehive.backend.dto.attendance.KioskScan;
+import com.corehive.backend.dto.response.GpsAttendanceResponse;
+import com.corehive.backend.model.Attendance;
 import com.corehive.backend.model.Attendance.AttendanceStatus;
 import com.corehive.backend.repository.AttendanceRepository;
 import com.corehive.backend.repository.EmployeeRepository;
-import com.corehive.backend.repository.LeaveRequestRepository;
+import com.corehive.backend.repository.KioskEventReceiptRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,11 +15,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,11 +40,17 @@ class AttendanceServiceTest {
     private EmployeeRepository employeeRepository;
     
     @Mock
-    private LeaveRequestRepository leaveRequestRepository;
+    private LeaveIntervalIndex leaveIntervalIndex;
 
     @Mock
     private AttendanceConfigurationService attendanceConfigurationService;
 
+    @Mock
+    private KioskEventReceiptRepository kioskEventReceiptRepository;
+
+    @Mock
+    private TeamCalendarService teamCalendarService;
+
     @InjectMocks
     private AttendanceService attendanceService;
 
@@ -92,4 +109,118 @@ class AttendanceServiceTest {
         
         verify(attendanceRepository, times(1)).countByStatus(ORG_UUID, testDate);
     }
+
+    @Test
+    void testRecordKioskScans_AppliesEventsInTimestampOrder() {
+        // Arrange - offline replay: check-in, a too-early repeat, checkout, then a late extra scan
+        when(attendanceRepository.findByOrgDateAndEmployeeIds(eq(ORG_UUID), eq(testDate), anyList()))
+                .thenReturn(new ArrayList<>());
+
+        List<KioskScan> scans = List.of(
+                scan("k1", testDate.atTime(8, 55)),
+                scan("k2", testDate.atTime(8, 57)),
+                scan("k3", testDate.atTime(17, 5)),
+                scan("k4", testDate.atTime(17, 30))
+        );
+
+        // Act
+        List<String> outcomes = attendanceService.recordKioskScans(ORG_UUID, testDate, scans);
+
+        // Assert - real event times are used, not the replay time
+        assertEquals(List.of("CHECK_IN", "IGNORED", "CHECK_OUT", "IGNORED"), outcomes);
+        verify(attendanceRepository).upsertAttendanceEvent(eq(ORG_UUID), eq(1L), eq(testDate),
+                eq(testDate.atTime(8, 55)), eq("PRESENT"), eq("QR_CODE"), any(), any(), any(), any(),
+                eq(true), eq(true), eq(5L));
+        verify(attendanceRepository).upsertAttendanceEvent(eq(ORG_UUID), eq(1L), eq(testDate),
+                eq(testDate.atTime(17, 5)), eq("PRESENT"), eq("QR_CODE"), any(), any(), any(), any(),
+                eq(true), eq(true), eq(5L));
+        verify(attendanceRepository, times(2)).upsertAttendanceEvent(any(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), anyBoolean(), anyBoolean(), anyLong());
+        verify(kioskEventReceiptRepository, times(1)).saveAll(anyList());
+        // Late uploads change an already cached month
+        verify(teamCalendarService).evictMonth(ORG_UUID, testDate);
+    }
+
+    @Test
+    void testGpsCheckIn_UsesAffectedRowsInsteadOfReadingBack() throws Exception {
+        // 1 = the row was inserted, so the event is the check-in
+        when(attendanceRepository.upsertAttendanceEvent(eq(ORG_UUID), eq(1L), any(), any(), any(), eq("GPS"),
+                any(), any(), any(), any(), eq(true), eq(true), eq(5L))).thenReturn(1);
+
+        GpsAttendanceResponse response = attendanceService.markAttendanceViaGps(1L, ORG_UUID, "12.0", "ip", "phone");
+
+        assertEquals("CHECK_IN", response.getAction());
+        assertNotNull(response.getCheckInTime());
+        assertNull(response.getCheckOutTime());
+        verify(attendanceRepository, never())
+                .findByEmployeeIdAndOrganizationUuidAndAttendanceDate(any(), anyString(), any());
+    }
+
+    @Test
+    void testGpsScanOnCompletedDay_ReadsBackTheStoredTimes() throws Exception {
+        Attendance completed = Attendance.builder()
+                .employeeId(1L)
+                .organizationUuid(ORG_UUID)
+                .attendanceDate(LocalDate.now())
+                .checkInTime(LocalDate.now().atTime(0, 0))
+                .checkOutTime(LocalDate.now().atTime(0, 1))
+                .status(AttendanceStatus.PRESENT)
+                .build();
+        when(attendanceRepository.upsertAttendanceEvent(any(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), anyBoolean(), anyBoolean(), anyLong())).thenReturn(0);
+        when(attendanceRepository.findByEmployeeIdAndOrganizationUuidAndAttendanceDate(1L, ORG_UUID, LocalDate.now()))
+                .thenReturn(Optional.of(completed));
+
+        GpsAttendanceResponse response = attendanceService.markAttendanceViaGps(1L, ORG_UUID, "12.0", "ip", "phone");
+
+        assertEquals("ALREADY_COMPLETED", response.getAction());
+        assertEquals(completed.getCheckInTime(), response.getCheckInTime());
+    }
+
+    @Test
+    void testRecordKioskScans_LeavesOnLeaveDaysUnchanged() {
+        when(attendanceRepository.findByOrgDateAndEmployeeIds(eq(ORG_UUID), eq(testDate), anyList()))
+                .thenReturn(List.of(Attendance.builder()
+                        .employeeId(1L)
+                        .organizationUuid(ORG_UUID)
+                        .attendanceDate(testDate)
+                        .status(AttendanceStatus.ON_LEAVE)
+                        .build()));
+
+        List<String> outcomes = attendanceService.recordKioskScans(ORG_UUID, testDate,
+                List.of(scan("k1", testDate.atTime(8, 55))));
+
+        assertEquals(List.of("IGNORED"), outcomes);
+        verify(attendanceRepository, never()).upsertAttendanceEvent(any(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), anyBoolean(), anyBoolean(), anyLong());
+    }
+
+    @Test
+    void testRecordKioskScans_SelfReportedEventsNeverBackdateTheCheckIn() {
+        when(attendanceRepository.findByOrgDateAndEmployeeIds(eq(ORG_UUID), eq(testDate), anyList()))
+                .thenReturn(List.of(Attendance.builder()
+                        .employeeId(1L)
+                        .organizationUuid(ORG_UUID)
+                        .attendanceDate(testDate)
+                        .checkInTime(testDate.atTime(10, 30))
+                        .status(AttendanceStatus.LATE)
+                        .build()));
+        KioskScan backdated = scan("k1", testDate.atTime(8, 0));
+        backdated.setSelfReported(true);
+
+        List<String> outcomes = attendanceService.recordKioskScans(ORG_UUID, testDate, List.of(backdated));
+
+        assertEquals(List.of("IGNORED"), outcomes);
+        verify(attendanceRepository, never()).upsertAttendanceEvent(any(), any(), any(), any(), any(), any(),
+                any(), any(), any(), any(), anyBoolean(), anyBoolean(), anyLong());
+    }
+
+    private KioskScan scan(String key, LocalDateTime at) {
+        return KioskScan.builder()
+                .employeeId(1L)
+                .organizationUuid(ORG_UUID)
+                .scannedAt(at)
+                .idempotencyKey(key)
+                .build();
+    }
 }
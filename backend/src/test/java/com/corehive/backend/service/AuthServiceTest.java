@@ -48,6 +48,10 @@ class AuthServiceTest {
     private ObjectMapper objectMapper;
     @Mock
     private SubscriptionRepository subscriptionRepository;
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+    @Mock
+    private RefreshTokenService refreshTokenService;
 
     // 2. Arrange: create instance of service with @InjectMocks
     @InjectMocks
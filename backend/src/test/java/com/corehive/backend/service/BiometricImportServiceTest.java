@@ -0,0 +1,114 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.attendance.PunchPair;
+import com.corehive.backend.dto.response.BiometricImportResponse;
+import com.corehive.backend.model.Attendance.VerificationType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BiometricImportServiceTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private BiometricUserIndex biometricUserIndex;
+
+    @Mock
+    private AttendanceService attendanceService;
+
+    @InjectMocks
+    private BiometricImportService biometricImportService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(biometricImportService, "flushSize", 20000);
+    }
+
+    @Test
+    void testImportPairsFirstInLastOutPerDay() throws Exception {
+        // Arrange - header row with IN/OUT codes, a double tap and an unknown user
+        String log = String.join("\n",
+                "AC-No.,Name,Date Time,In/Out",
+                "0007,Nimal,2026-03-16 08:52:10,C/In",
+                "0007,Nimal,2026-03-16 08:52:40,C/In",
+                "0007,Nimal,2026-03-16 12:30:00,C/Out",
+                "0007,Nimal,2026-03-16 13:15:00,C/In",
+                "0007,Nimal,2026-03-16 17:40:05,C/Out",
+                "0099,Ghost,2026-03-16 09:00:00,C/In",
+                "0007,Nimal,not a date,C/In",
+                "0008,Kamal,2026-03-16 09:45:00,C/In");
+        when(biometricUserIndex.resolve(eq(ORG_UUID), anyString())).thenAnswer(inv -> switch ((String) inv.getArgument(1)) {
+            case "0007" -> 7L;
+            case "0008" -> 8L;
+            default -> null;
+        });
+        when(attendanceService.importPunchPairs(eq(ORG_UUID), any(), anyList(), any(), any()))
+                .thenAnswer(inv -> ((List<?>) inv.getArgument(2)).size());
+
+        // Act
+        BiometricImportResponse response = biometricImportService.importPunchLog(
+                ORG_UUID, new ByteArrayInputStream(log.getBytes(StandardCharsets.UTF_8)), "Gate A");
+
+        // Assert
+        assertEquals(9, response.getLinesRead());
+        assertEquals(6, response.getPunchesAccepted());
+        assertEquals(2, response.getRejectedLines());
+        assertEquals(1, response.getUnknownUserPunches());
+        assertEquals(2, response.getAttendanceDaysWritten());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PunchPair>> pairs = ArgumentCaptor.forClass(List.class);
+        verify(attendanceService).importPunchPairs(eq(ORG_UUID), eq(LocalDate.of(2026, 3, 16)), pairs.capture(),
+                eq(VerificationType.BIOMETRIC), eq("Gate A"));
+        List<PunchPair> written = pairs.getValue().stream()
+                .sorted(Comparator.comparing(PunchPair::getEmployeeId))
+                .toList();
+
+        assertEquals(LocalDate.of(2026, 3, 16).atTime(8, 52, 10), written.get(0).getCheckIn());
+        assertEquals(LocalDate.of(2026, 3, 16).atTime(17, 40, 5), written.get(0).getCheckOut());
+        // Only an IN punch - no check-out invented
+        assertEquals(LocalDate.of(2026, 3, 16).atTime(9, 45), written.get(1).getCheckIn());
+        assertNull(written.get(1).getCheckOut());
+    }
+
+    @Test
+    void testImportHeaderlessTabSeparatedLog() throws Exception {
+        // Arrange - terminal attlog without directions: first punch in, last punch out
+        String log = String.join("\n",
+                "12\t2026-03-17 08:01:00\t1\t0",
+                "12\t2026-03-17 17:02:00\t1\t0",
+                "12\t2026-03-18 08:05:00\t1\t0");
+        when(biometricUserIndex.resolve(ORG_UUID, "12")).thenReturn(12L);
+        when(attendanceService.importPunchPairs(eq(ORG_UUID), any(), anyList(), any(), any())).thenReturn(1);
+
+        // Act
+        BiometricImportResponse response = biometricImportService.importPunchLog(
+                ORG_UUID, new ByteArrayInputStream(log.getBytes(StandardCharsets.UTF_8)), null);
+
+        // Assert - one write per day, in date order
+        assertEquals(3, response.getPunchesAccepted());
+        assertEquals(0, response.getRejectedLines());
+        verify(attendanceService).importPunchPairs(eq(ORG_UUID), eq(LocalDate.of(2026, 3, 17)),
+                argThat(p -> p.size() == 1 && p.get(0).getCheckOut().equals(LocalDate.of(2026, 3, 17).atTime(17, 2))),
+                eq(VerificationType.BIOMETRIC), isNull());
+        verify(attendanceService).importPunchPairs(eq(ORG_UUID), eq(LocalDate.of(2026, 3, 18)),
+                anyList(), eq(VerificationType.BIOMETRIC), isNull());
+    }
+}
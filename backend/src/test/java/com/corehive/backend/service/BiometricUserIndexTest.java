@@ -0,0 +1,63 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BiometricUserIndexTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private BiometricUserIndex biometricUserIndex;
+
+    @BeforeEach
+    void setUp() {
+        biometricUserIndex = new BiometricUserIndex(employeeRepository);
+        ReflectionTestUtils.setField(biometricUserIndex, "ttlSeconds", 300L);
+    }
+
+    @Test
+    void testGeneratedCodesMatchTheirNumber() {
+        when(employeeRepository.findEmployeeCodes(ORG_UUID)).thenReturn(List.of(
+                new Object[]{"EMP-007", 7L},
+                new Object[]{"EMP-120", 120L},
+                new Object[]{"0042", 42L}));
+
+        assertEquals(7L, biometricUserIndex.resolve(ORG_UUID, "7"));
+        assertEquals(7L, biometricUserIndex.resolve(ORG_UUID, "0007"));
+        assertEquals(7L, biometricUserIndex.resolve(ORG_UUID, " emp-007 "));
+        assertEquals(120L, biometricUserIndex.resolve(ORG_UUID, "120"));
+        assertEquals(42L, biometricUserIndex.resolve(ORG_UUID, "42"));
+        assertNull(biometricUserIndex.resolve(ORG_UUID, "8"));
+
+        // One query serves every lookup until the TTL expires
+        verify(employeeRepository, times(1)).findEmployeeCodes(ORG_UUID);
+    }
+
+    @Test
+    void testExactCodesWinAndSharedNumbersMatchNobody() {
+        when(employeeRepository.findEmployeeCodes(ORG_UUID)).thenReturn(List.of(
+                new Object[]{"EMP-005", 5L},
+                new Object[]{"5", 55L},
+                new Object[]{"EMP-009", 9L},
+                new Object[]{"EMP-0009", 99L}));
+
+        assertEquals(55L, biometricUserIndex.resolve(ORG_UUID, "005"));
+        assertEquals(5L, biometricUserIndex.resolve(ORG_UUID, "EMP-005"));
+        assertNull(biometricUserIndex.resolve(ORG_UUID, "9"));
+        assertEquals(99L, biometricUserIndex.resolve(ORG_UUID, "EMP-0009"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.repository.EmployeeCodeSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeCodeAllocatorTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private EmployeeCodeSequenceRepository employeeCodeSequenceRepository;
+
+    private EmployeeCodeAllocator employeeCodeAllocator;
+
+    @BeforeEach
+    void setUp() {
+        employeeCodeAllocator = new EmployeeCodeAllocator(employeeCodeSequenceRepository);
+        ReflectionTestUtils.setField(employeeCodeAllocator, "blockSize", 3);
+    }
+
+    @Test
+    void testCodesComeFromReservedBlocks() {
+        when(employeeCodeSequenceRepository.peek(ORG_UUID)).thenReturn(8L);
+        when(employeeCodeSequenceRepository.reserve(ORG_UUID, 3)).thenReturn(8L, 11L);
+
+        // Previewing reserves nothing
+        assertEquals("EMP-008", employeeCodeAllocator.peekCode(ORG_UUID));
+        List<String> codes = IntStream.range(0, 4).mapToObj(i -> employeeCodeAllocator.nextCode(ORG_UUID)).toList();
+
+        assertEquals(List.of("EMP-008", "EMP-009", "EMP-010", "EMP-011"), codes);
+        // Served from the current block in memory
+        assertEquals("EMP-012", employeeCodeAllocator.peekCode(ORG_UUID));
+        verify(employeeCodeSequenceRepository, times(2)).reserve(ORG_UUID, 3);
+        verify(employeeCodeSequenceRepository, times(1)).peek(ORG_UUID);
+    }
+
+    @Test
+    void testConcurrentCreatesNeverShareACode() throws Exception {
+        AtomicLong sequence = new AtomicLong(1);
+        when(employeeCodeSequenceRepository.reserve(eq(ORG_UUID), anyInt()))
+                .thenAnswer(inv -> sequence.getAndAdd(inv.<Integer>getArgument(1)));
+
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = IntStream.range(0, 8).<Future<?>>mapToObj(t -> pool.submit(() -> {
+                for (int i = 0; i < 250; i++) {
+                    codes.add(employeeCodeAllocator.nextCode(ORG_UUID));
+                }
+            })).toList();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(2000, codes.size());
+        // One reservation per block of 3 - racing threads do not each fetch a block
+        verify(employeeCodeSequenceRepository, times(667)).reserve(ORG_UUID, 3);
+    }
+}
@@ -0,0 +1,106 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.response.EmployeeDirectoryPage;
+import com.corehive.backend.model.Employee;
+import com.corehive.backend.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeDirectoryIndexTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeDirectoryIndex employeeDirectoryIndex;
+
+    @BeforeEach
+    void setUp() {
+        employeeDirectoryIndex = new EmployeeDirectoryIndex(employeeRepository);
+        ReflectionTestUtils.setField(employeeDirectoryIndex, "maxPageSize", 100);
+
+        when(employeeRepository.findDirectoryEntries(ORG_UUID)).thenReturn(new ArrayList<>(List.of(
+                new Object[]{1L, "Nimal", "Perera", "EMP-001", "nimal.perera@acme.lk", "Software Engineer", 10L, true},
+                new Object[]{2L, "Kamala", "Silva", "EMP-002", "kamala@acme.lk", "HR Manager", 20L, true},
+                new Object[]{3L, "Sunil", "Pereira", "EMP-003", "sunil@acme.lk", "Accountant", 10L, false},
+                new Object[]{4L, "Amal", "Fernando", "EMP-004", "amal@acme.lk", "Senior Engineer", 10L, true}
+        )));
+    }
+
+    @Test
+    void testRanksExactPrefixAndTypoMatches() {
+        // Exact surname first, then the one-typo "pereira"
+        EmployeeDirectoryPage page = employeeDirectoryIndex.search(ORG_UUID, "perera", null, null, null, 10);
+        assertEquals(List.of(1L, 3L), ids(page));
+
+        // Prefix of a name, code without its dash, email local part, designation word
+        assertEquals(List.of(2L), ids(employeeDirectoryIndex.search(ORG_UUID, "kam", null, null, null, 10)));
+        assertEquals(List.of(4L), ids(employeeDirectoryIndex.search(ORG_UUID, "emp004", null, null, null, 10)));
+        assertEquals(List.of(1L), ids(employeeDirectoryIndex.search(ORG_UUID, "nimalperera", null, null, null, 10)));
+        // Transposed letters; every query word must match
+        assertEquals(List.of(4L, 1L), ids(employeeDirectoryIndex.search(ORG_UUID, "enigneer", null, null, null, 10)));
+        assertEquals(List.of(4L), ids(employeeDirectoryIndex.search(ORG_UUID, "senior engineer", null, null, null, 10)));
+
+        // Filters
+        assertEquals(List.of(1L), ids(employeeDirectoryIndex.search(ORG_UUID, "perera", null, true, null, 10)));
+        assertTrue(ids(employeeDirectoryIndex.search(ORG_UUID, "perera", 20L, null, null, 10)).isEmpty());
+
+        verify(employeeRepository, times(1)).findDirectoryEntries(ORG_UUID);
+    }
+
+    @Test
+    void testKeysetPagingAndIncrementalUpdates() {
+        EmployeeDirectoryPage first = employeeDirectoryIndex.search(ORG_UUID, null, null, null, null, 3);
+        assertEquals(List.of(4L, 2L, 1L), ids(first));
+        assertTrue(first.isHasMore());
+        assertEquals(4, first.getTotalMatches());
+
+        EmployeeDirectoryPage second = employeeDirectoryIndex.search(ORG_UUID, "", null, null, first.getNextCursor(), 3);
+        assertEquals(List.of(3L), ids(second));
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+
+        // Renamed and added employees are searchable without a reload
+        Employee renamed = employee(2L, "Kamala", "Jayasuriya");
+        employeeDirectoryIndex.onEmployeeSaved(renamed);
+        employeeDirectoryIndex.onEmployeeSaved(employee(5L, "Ruwan", "Jayasinghe"));
+        // Equal prefix scores fall back to name order
+        assertEquals(List.of(2L, 5L), ids(employeeDirectoryIndex.search(ORG_UUID, "jaya", null, null, null, 10)));
+        assertTrue(ids(employeeDirectoryIndex.search(ORG_UUID, "silva", null, null, null, 10)).isEmpty());
+
+        employeeDirectoryIndex.onEmployeeDeleted(ORG_UUID, 5L);
+        assertEquals(List.of(2L), ids(employeeDirectoryIndex.search(ORG_UUID, "jaya", null, null, null, 10)));
+        verify(employeeRepository, times(1)).findDirectoryEntries(ORG_UUID);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> employeeDirectoryIndex.search(ORG_UUID, "jaya", null, null, "not-a-cursor", 10));
+    }
+
+    private static Employee employee(Long id, String firstName, String lastName) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setOrganizationUuid(ORG_UUID);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setEmployeeCode("EMP-00" + id);
+        employee.setEmail(firstName.toLowerCase() + "@acme.lk");
+        employee.setIsActive(true);
+        return employee;
+    }
+
+    private static List<Long> ids(EmployeeDirectoryPage page) {
+        return page.getItems().stream().map(EmployeeDirectoryPage.Entry::getId).toList();
+    }
+}
@@ -0,0 +1,109 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.response.EmployeeGrowthPoint;
+import com.corehive.backend.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeGrowthServiceTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private EmployeeGrowthService employeeGrowthService;
+
+    @BeforeEach
+    void setUp() {
+        employeeGrowthService = new EmployeeGrowthService(employeeRepository);
+        ReflectionTestUtils.setField(employeeGrowthService, "closedTtlMinutes", 60L);
+    }
+
+    @Test
+    void testSeriesCarriesHeadcountAcrossQuietMonths() {
+        // [yyyyMM, hires, exits, running headcount] as MySQL returns them
+        when(employeeRepository.monthlyGrowthUntil(ORG_UUID, LocalDate.of(2024, 1, 1))).thenReturn(List.<Object[]>of(
+                row(202111, 4, 0, 4),
+                row(202302, 3, 0, 7),
+                row(202306, 1, 2, 6)));
+
+        List<EmployeeGrowthPoint> series = employeeGrowthService.getMonthlySeries(ORG_UUID, 2022, 2023);
+
+        assertEquals(24, series.size());
+        // Hires before the range only set the starting headcount
+        assertEquals(new EmployeeGrowthPoint(2022, 1, 0, 0, 4), series.get(0));
+        assertEquals(new EmployeeGrowthPoint(2023, 1, 0, 0, 4), series.get(12));
+        assertEquals(new EmployeeGrowthPoint(2023, 2, 3, 0, 7), series.get(13));
+        assertEquals(new EmployeeGrowthPoint(2023, 6, 1, 2, 6), series.get(17));
+        assertEquals(new EmployeeGrowthPoint(2023, 12, 0, 0, 6), series.get(23));
+    }
+
+    @Test
+    void testClosedYearsAreServedFromCache() {
+        int lastYear = Year.now().getValue() - 1;
+        when(employeeRepository.monthlyGrowthUntil(eq(ORG_UUID), any())).thenReturn(List.<Object[]>of(row(lastYear * 100 + 3, 2, 0, 2)));
+
+        List<EmployeeGrowthPoint> first = employeeGrowthService.getMonthlySeries(ORG_UUID, lastYear);
+        List<EmployeeGrowthPoint> second = employeeGrowthService.getMonthlySeries(ORG_UUID, lastYear);
+        employeeGrowthService.getMonthlySeries(ORG_UUID, lastYear + 1);
+        employeeGrowthService.getMonthlySeries(ORG_UUID, lastYear + 1);
+
+        assertEquals(first, second);
+        assertEquals(2, second.get(2).getHires());
+        // One query for the closed year, one per call for the current year
+        verify(employeeRepository, times(3)).monthlyGrowthUntil(eq(ORG_UUID), any());
+
+        employeeGrowthService.evictOrganization(ORG_UUID);
+        employeeGrowthService.getMonthlySeries(ORG_UUID, lastYear);
+        verify(employeeRepository, times(4)).monthlyGrowthUntil(eq(ORG_UUID), any());
+    }
+
+    @Test
+    void testEvictionInsideTransactionWaitsForCommit() {
+        int lastYear = Year.now().getValue() - 1;
+        when(employeeRepository.monthlyGrowthUntil(eq(ORG_UUID), any())).thenReturn(List.of());
+        employeeGrowthService.getMonthlySeries(ORG_UUID, lastYear);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            employeeGrowthService.evictOrganization(ORG_UUID);
+            // Reads before commit keep the cached year
+            employeeGrowthService.getMonthlySeries(ORG_UUID, lastYear);
+            verify(employeeRepository, times(1)).monthlyGrowthUntil(eq(ORG_UUID), any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        employeeGrowthService.getMonthlySeries(ORG_UUID, lastYear);
+        verify(employeeRepository, times(2)).monthlyGrowthUntil(eq(ORG_UUID), any());
+    }
+
+    @Test
+    void testRejectsInvalidRanges() {
+        assertThrows(IllegalArgumentException.class, () -> employeeGrowthService.getMonthlySeries(ORG_UUID, 2024, 2023));
+        assertThrows(IllegalArgumentException.class, () -> employeeGrowthService.getMonthlySeries(ORG_UUID, 2000, 2030));
+        verifyNoInteractions(employeeRepository);
+    }
+
+    private static Object[] row(int yearMonth, int hires, int exits, int headcount) {
+        return new Object[]{(long) yearMonth, BigDecimal.valueOf(hires), BigDecimal.valueOf(exits), BigDecimal.valueOf(headcount)};
+    }
+}
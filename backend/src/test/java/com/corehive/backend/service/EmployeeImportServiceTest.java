@@ -0,0 +1,196 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.response.EmployeeImportResponse;
+import com.corehive.backend.model.Department;
+import com.corehive.backend.model.LeaveType;
+import com.corehive.backend.model.Organization;
+import com.corehive.backend.repository.DepartmentRepository;
+import com.corehive.backend.repository.EmployeeImportBatchRepository;
+import com.corehive.backend.repository.LeaveTypeRepository;
+import com.corehive.backend.repository.OrganizationRepository;
+import jakarta.validation.Validation;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeImportServiceTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @Mock
+    private DepartmentService departmentService;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private EmployeeCodeAllocator employeeCodeAllocator;
+
+    @Mock
+    private LeaveTypeRepository leaveTypeRepository;
+
+    @Mock
+    private EmployeeImportBatchRepository employeeImportBatchRepository;
+
+    @Mock
+    private EmployeeDirectoryIndex employeeDirectoryIndex;
+
+    @Mock
+    private EmployeeGrowthService employeeGrowthService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private EmailService emailService;
+
+    private EmployeeImportService employeeImportService;
+
+    @BeforeEach
+    void setUp() {
+        employeeImportService = new EmployeeImportService(organizationRepository, departmentService,
+                departmentRepository, employeeCodeAllocator, leaveTypeRepository, employeeImportBatchRepository,
+                employeeDirectoryIndex, employeeGrowthService, passwordEncoder, emailService,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(employeeImportService, "maxRows", 100);
+        ReflectionTestUtils.setField(employeeImportService, "hashThreads", 2);
+
+        Organization organization = new Organization();
+        organization.setName("Acme");
+        Department engineering = new Department();
+        engineering.setId(3L);
+        engineering.setName("Engineering");
+        when(organizationRepository.findByOrganizationUuid(ORG_UUID)).thenReturn(Optional.of(organization));
+        when(departmentRepository.findByOrganizationUuid(ORG_UUID)).thenReturn(List.of(engineering));
+    }
+
+    @Test
+    void testInvalidRowsAreReportedAndNothingIsCreated() throws Exception {
+        String csv = String.join("\n",
+                "First Name,Last Name,Email,Phone,NIC,Designation,Department,Salary,Joining Date",
+                "Nimal,Perera,nimal@acme.lk,+94717393080,901234567V,Engineer,Engineering,\"150,000\",2026-01-05",
+                "Kamala,Silva,NIMAL@acme.lk,+94717393081,911234567V,Engineer,Engineering,90000,05/01/2026",
+                ",Fernando,amal@acme.lk,+94717393082,921234567V,Engineer,Finance,abc,2026-01-05",
+                "Sunil,Pereira,sunil@acme.lk,+94717393083,931234567V,Engineer,3,80000,2026-01-05");
+        when(employeeImportBatchRepository.findTakenEmails(any())).thenReturn(Set.of("sunil@acme.lk"));
+
+        EmployeeImportResponse response = employeeImportService.importEmployees(ORG_UUID,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "staff.csv", false);
+
+        assertEquals(4, response.getRowsRead());
+        assertEquals(1, response.getValidRows());
+        assertEquals(5, response.getErrorCount());
+        assertEquals(List.of(3L, 4L, 4L, 4L, 5L),
+                response.getErrors().stream().map(EmployeeImportResponse.RowError::getRowNumber).toList());
+        assertEquals("Duplicate of row 2", response.getErrors().get(0).getMessage());
+        assertTrue(response.getErrors().stream().anyMatch(e -> e.getMessage().equals("Unknown department 'Finance'")));
+        assertEquals("Email is already registered", response.getErrors().get(4).getMessage());
+        verify(employeeImportBatchRepository, never()).insert(any(), any(), any(), any(), anyInt());
+        verifyNoInteractions(passwordEncoder, emailService);
+    }
+
+    @Test
+    void testXlsxImportTakesOneCodeBlockAndBatchInserts() throws Exception {
+        LeaveType annual = new LeaveType();
+        annual.setId(1L);
+        annual.setDefaultDaysPerYear(12);
+        annual.setAccrualFrequency(LeaveType.AccrualFrequency.MONTHLY);
+        when(leaveTypeRepository.findByOrganizationUuidAndIsActiveTrue(ORG_UUID)).thenReturn(List.of(annual));
+        when(employeeCodeAllocator.reserveBlock(ORG_UUID, 2)).thenReturn(8L);
+        when(passwordEncoder.encode(anyString())).thenAnswer(inv -> "hash:" + inv.getArgument(0));
+        when(employeeImportBatchRepository.insert(eq(ORG_UUID), any(), any(), any(), anyInt()))
+                .thenReturn(Map.of("nimal@acme.lk", 20L, "kamala@acme.lk", 21L));
+
+        EmployeeImportResponse response = employeeImportService.importEmployees(ORG_UUID,
+                new ByteArrayInputStream(workbook()), "staff.xlsx", false);
+
+        assertEquals(0, response.getErrorCount(), () -> response.getErrors().toString());
+        assertEquals(2, response.getEmployeesCreated());
+        assertEquals("EMP-008", response.getFirstEmployeeCode());
+        assertEquals("EMP-009", response.getLastEmployeeCode());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmployeeImportBatchRepository.NewEmployee>> employees = ArgumentCaptor.forClass(List.class);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EmployeeImportBatchRepository.OpeningBalance>> balances = ArgumentCaptor.forClass(List.class);
+        YearMonth now = YearMonth.now();
+        verify(employeeImportBatchRepository).insert(eq(ORG_UUID), employees.capture(), balances.capture(),
+                eq(now.toString()), eq(now.getYear()));
+
+        EmployeeImportBatchRepository.NewEmployee nimal = employees.getValue().get(0);
+        assertEquals("EMP-008", nimal.employeeCode());
+        assertEquals(3L, nimal.departmentId());
+        assertEquals(new BigDecimal("150000"), nimal.basicSalary());
+        assertEquals(LocalDate.of(2026, 1, 5), nimal.dateOfJoining());
+        assertEquals("+94717393080", nimal.phone());
+        assertTrue(nimal.passwordHash().startsWith("hash:"));
+        assertEquals(List.of(new EmployeeImportBatchRepository.OpeningBalance(1L, now.getMonthValue())),
+                balances.getValue());
+
+        verify(employeeDirectoryIndex).invalidate(ORG_UUID);
+        verify(emailService).sendEmployeePasswordEmail(eq("kamala@acme.lk"), anyString(), eq("Acme"));
+    }
+
+    // Salary with a thousands format and a real date cell, as HR sheets have them
+    private static byte[] workbook() throws Exception {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Employees");
+            CellStyle money = workbook.createCellStyle();
+            money.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+            CellStyle date = workbook.createCellStyle();
+            date.setDataFormat(workbook.createDataFormat().getFormat("d/m/yy"));
+
+            String[] header = {"First Name", "Last Name", "Email", "Phone", "NIC", "Designation",
+                    "Department", "Basic Salary", "Date of Joining", "Status"};
+            Row head = sheet.createRow(0);
+            for (int i = 0; i < header.length; i++) {
+                head.createCell(i).setCellValue(header[i]);
+            }
+            Object[][] data = {
+                    {"Nimal", "Perera", "nimal@acme.lk", "+94717393080", "901234567V", "Engineer", "engineering"},
+                    {"Kamala", "Silva", "kamala@acme.lk", "+94717393081", "911234567V", "Engineer", "Engineering"}
+            };
+            for (int r = 0; r < data.length; r++) {
+                Row row = sheet.createRow(r + 2); // a blank row in between is skipped
+                for (int i = 0; i < data[r].length; i++) {
+                    row.createCell(i).setCellValue((String) data[r][i]);
+                }
+                row.createCell(7).setCellValue(150000);
+                row.getCell(7).setCellStyle(money);
+                row.createCell(8).setCellValue(LocalDate.of(2026, 1, 5));
+                row.getCell(8).setCellStyle(date);
+                row.createCell(9).setCellValue("Active");
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+}
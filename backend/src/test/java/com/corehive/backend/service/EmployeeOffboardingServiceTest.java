@@ -0,0 +1,196 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.exception.employeeCustomException.EmployeeNotFoundException;
+import com.corehive.backend.exception.employeeCustomException.InvalidEmployeeDataException;
+import com.corehive.backend.model.EmployeeOffboardingJob;
+import com.corehive.backend.model.OutboxEvent;
+import com.corehive.backend.repository.AppUserRepository;
+import com.corehive.backend.repository.EmployeeOffboardingJobRepository;
+import com.corehive.backend.repository.EmployeePurgeRepository;
+import com.corehive.backend.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeOffboardingServiceTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    @Mock
+    private EmployeeOffboardingJobRepository employeeOffboardingJobRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private QrTokenIndex qrTokenIndex;
+
+    @Mock
+    private EmployeeDirectoryIndex employeeDirectoryIndex;
+
+    @Mock
+    private EmployeePurgeRepository employeePurgeRepository;
+
+    @Mock
+    private LeaveIntervalIndex leaveIntervalIndex;
+
+    @Mock
+    private TeamCalendarService teamCalendarService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private EmployeeGrowthService employeeGrowthService;
+
+    private EmployeeOffboardingService employeeOffboardingService;
+    private EmployeeOffboardingWorker employeeOffboardingWorker;
+
+    @BeforeEach
+    void setUp() {
+        employeeOffboardingService = new EmployeeOffboardingService(employeeRepository, appUserRepository,
+                employeeOffboardingJobRepository, outboxService, qrTokenIndex, employeeDirectoryIndex,
+                tokenRevocationService);
+        ReflectionTestUtils.setField(employeeOffboardingService, "maxEmployees", 3);
+
+        employeeOffboardingWorker = new EmployeeOffboardingWorker(employeeOffboardingService, employeePurgeRepository,
+                leaveIntervalIndex, teamCalendarService, employeeDirectoryIndex, employeeGrowthService);
+        ReflectionTestUtils.setField(employeeOffboardingWorker, "chunkSize", 100);
+        ReflectionTestUtils.setField(employeeOffboardingWorker, "maxAttempts", 3);
+        ReflectionTestUtils.setField(employeeOffboardingWorker, "retrySeconds", 60L);
+    }
+
+    @Test
+    void testDeleteDeactivatesEveryoneInOneJob() {
+        when(employeeRepository.findOffboardingTargets(ORG_UUID, List.of(1L, 2L, 3L)))
+                .thenReturn(Arrays.asList(new Object[]{1L, 11L}, new Object[]{2L, null}, new Object[]{3L, 13L}));
+        when(employeeOffboardingJobRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        EmployeeOffboardingJob job = employeeOffboardingService.offboard(ORG_UUID,
+                Arrays.asList(1L, 2L, null, 2L, 3L), EmployeeOffboardingJob.Action.DELETE, "hr@test.com");
+
+        // Two set-based updates instead of a cascade per employee
+        verify(employeeRepository).deactivateForOffboarding(eq(ORG_UUID), eq(List.of(1L, 2L, 3L)), any());
+        verify(appUserRepository).deactivateByIds(ORG_UUID, List.of(11L, 13L));
+        // Access and refresh tokens of every linked login are revoked in the same transaction
+        verify(tokenRevocationService).revokeUserTokens("ORG_USER", 11L);
+        verify(tokenRevocationService).revokeUserTokens("ORG_USER", 13L);
+        verifyNoMoreInteractions(tokenRevocationService);
+        verify(qrTokenIndex).invalidateEmployee(2L);
+        verify(outboxService, times(3)).enqueue(eq(OutboxEvent.EventType.FACE_DEREGISTER), eq(ORG_UUID), anyString(), isNull());
+        verifyNoInteractions(employeePurgeRepository);
+
+        assertEquals(EmployeeOffboardingJob.Status.PENDING, job.getStatus());
+        assertEquals("1,2,3", job.getEmployeeIds());
+        assertEquals(3, job.getEmployeeCount());
+        assertNotNull(job.getLeaseUntil());
+    }
+
+    @Test
+    void testArchiveCompletesWithoutPurge() {
+        when(employeeRepository.findOffboardingTargets(ORG_UUID, List.of(5L)))
+                .thenReturn(List.<Object[]>of(new Object[]{5L, 15L}));
+        when(employeeOffboardingJobRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        EmployeeOffboardingJob job = employeeOffboardingService.offboard(ORG_UUID,
+                List.of(5L), EmployeeOffboardingJob.Action.ARCHIVE, null);
+
+        assertEquals(EmployeeOffboardingJob.Status.COMPLETED, job.getStatus());
+        assertNull(job.getLeaseUntil());
+        assertNotNull(job.getFinishedAt());
+        verifyNoInteractions(outboxService);
+        verify(tokenRevocationService).revokeUserTokens("ORG_USER", 15L);
+    }
+
+    @Test
+    void testRejectsUnknownOrTooManyEmployees() {
+        when(employeeRepository.findOffboardingTargets(ORG_UUID, List.of(1L, 9L)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 11L}));
+
+        EmployeeNotFoundException notFound = assertThrows(EmployeeNotFoundException.class,
+                () -> employeeOffboardingService.offboard(ORG_UUID, List.of(1L, 9L),
+                        EmployeeOffboardingJob.Action.DELETE, null));
+        assertTrue(notFound.getMessage().contains("9"));
+
+        assertThrows(InvalidEmployeeDataException.class,
+                () -> employeeOffboardingService.offboard(ORG_UUID, List.of(1L, 2L, 3L, 4L),
+                        EmployeeOffboardingJob.Action.DELETE, null));
+        assertThrows(InvalidEmployeeDataException.class,
+                () -> employeeOffboardingService.offboard(ORG_UUID, null, EmployeeOffboardingJob.Action.DELETE, null));
+        verify(employeeRepository, never()).deactivateForOffboarding(any(), any(), any());
+        verifyNoInteractions(employeeOffboardingJobRepository);
+    }
+
+    @Test
+    void testWorkerPurgesClaimedJobsAndRefreshesCaches() {
+        EmployeeOffboardingJob job = job(7L, 0);
+        when(employeeOffboardingJobRepository.findDue(any(), any())).thenReturn(List.of(job));
+        when(employeeOffboardingJobRepository.claim(eq(7L), any(), any())).thenReturn(1);
+        when(employeePurgeRepository.purge(ORG_UUID, List.of(1L, 2L), 100)).thenReturn(42L);
+
+        employeeOffboardingWorker.purgeDue();
+
+        verify(employeeOffboardingJobRepository).markCompleted(eq(7L), eq(42L), any());
+        verify(leaveIntervalIndex).invalidate(ORG_UUID);
+        verify(teamCalendarService).evictOrganization(ORG_UUID);
+        verify(employeeDirectoryIndex).invalidate(ORG_UUID);
+        verify(employeeGrowthService).evictOrganization(ORG_UUID);
+    }
+
+    @Test
+    void testWorkerSkipsJobsClaimedElsewhere() {
+        when(employeeOffboardingJobRepository.findDue(any(), any())).thenReturn(List.of(job(7L, 0)));
+        when(employeeOffboardingJobRepository.claim(eq(7L), any(), any())).thenReturn(0);
+
+        employeeOffboardingWorker.purgeDue();
+
+        verifyNoInteractions(employeePurgeRepository);
+    }
+
+    @Test
+    void testFailedPurgeIsRetriedThenGivenUp() {
+        when(employeePurgeRepository.purge(anyString(), anyList(), anyInt())).thenThrow(new RuntimeException("lock wait timeout"));
+
+        employeeOffboardingWorker.purge(job(7L, 0));
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(employeeOffboardingJobRepository).markAttemptFailed(eq(7L), eq(EmployeeOffboardingJob.Status.PENDING),
+                retryAt.capture(), eq("lock wait timeout"), isNull());
+        assertTrue(retryAt.getValue().isAfter(LocalDateTime.now()));
+
+        employeeOffboardingWorker.purge(job(7L, 2));
+        verify(employeeOffboardingJobRepository).markAttemptFailed(eq(7L), eq(EmployeeOffboardingJob.Status.FAILED),
+                isNull(), eq("lock wait timeout"), any());
+        verify(employeeOffboardingJobRepository, never()).markCompleted(any(), anyLong(), any());
+    }
+
+    private static EmployeeOffboardingJob job(Long id, int attempts) {
+        return EmployeeOffboardingJob.builder()
+                .id(id)
+                .organizationUuid(ORG_UUID)
+                .action(EmployeeOffboardingJob.Action.DELETE)
+                .status(EmployeeOffboardingJob.Status.RUNNING)
+                .employeeIds("1,2")
+                .employeeCount(2)
+                .attempts(attempts)
+                .build();
+    }
+}
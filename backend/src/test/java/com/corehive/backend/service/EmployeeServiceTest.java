@@ -0,0 +1,193 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.EmployeeLeaveBalanceDTO;
+import com.corehive.backend.dto.EmployeeRequestDTO;
+import com.corehive.backend.dto.response.EmployeeResponseDTO;
+import com.corehive.backend.model.AppUser;
+import com.corehive.backend.model.Employee;
+import com.corehive.backend.model.EmployeeLeaveBalance;
+import com.corehive.backend.model.Organization;
+import com.corehive.backend.repository.*;
+import com.corehive.backend.util.mappers.EmployeeMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeServiceTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private EmployeeMapper employeeMapper;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @Mock
+    private DepartmentService departmentService;
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private EmployeeLeaveBalanceRepository employeeLeaveBalanceRepository;
+
+    @Mock
+    private AzureBlobStorageService azureBlobStorageService;
+
+    @Mock
+    private QrTokenIndex qrTokenIndex;
+
+    @Mock
+    private EmployeeDirectoryIndex employeeDirectoryIndex;
+
+    @Mock
+    private EmployeeCodeAllocator employeeCodeAllocator;
+
+    @Mock
+    private EmployeeGrowthService employeeGrowthService;
+
+    @Mock
+    private EmployeeOffboardingService employeeOffboardingService;
+
+    private EmployeeService employeeService;
+
+    @BeforeEach
+    void setUp() {
+        employeeService = new EmployeeService(employeeRepository, employeeMapper, departmentRepository,
+                organizationRepository, departmentService, appUserRepository, emailService, passwordEncoder,
+                employeeLeaveBalanceRepository, azureBlobStorageService, qrTokenIndex, employeeDirectoryIndex,
+                employeeCodeAllocator, employeeGrowthService, employeeOffboardingService);
+    }
+
+    @Test
+    void testNewEmployeeBalancesStartAtTheCurrentAccrualPeriod() {
+        Organization organization = new Organization();
+        organization.setOrganizationUuid(ORG_UUID);
+        organization.setName("Acme");
+        when(organizationRepository.findByOrganizationUuid(ORG_UUID)).thenReturn(Optional.of(organization));
+        when(departmentService.validateDepartment(10L, ORG_UUID)).thenReturn(true);
+        when(appUserRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(appUserRepository.save(any(AppUser.class))).thenAnswer(inv -> {
+            AppUser user = inv.getArgument(0);
+            user.setId(5L);
+            return user;
+        });
+        when(employeeCodeAllocator.nextCode(ORG_UUID)).thenReturn("EMP-001");
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(inv -> {
+            Employee employee = inv.getArgument(0);
+            employee.setId(1L);
+            return employee;
+        });
+        when(employeeMapper.toDto(any(Employee.class))).thenReturn(new EmployeeResponseDTO());
+
+        EmployeeLeaveBalanceDTO annual = new EmployeeLeaveBalanceDTO();
+        annual.setLeaveTypeId(3L);
+        annual.setBalance(14);
+        EmployeeRequestDTO request = new EmployeeRequestDTO();
+        request.setFirstName("Nimal");
+        request.setLastName("Perera");
+        request.setEmail("nimal@acme.lk");
+        request.setDepartment(10L);
+        request.setBasicSalary(new BigDecimal("1000"));
+        request.setSalaryType("MONTHLY");
+        request.setDateOfJoining(LocalDate.now());
+        request.setStatus("Active");
+        request.setLeaveBalances(List.of(annual));
+
+        employeeService.createEmployee(ORG_UUID, request);
+
+        ArgumentCaptor<EmployeeLeaveBalance> saved = ArgumentCaptor.forClass(EmployeeLeaveBalance.class);
+        verify(employeeLeaveBalanceRepository).save(saved.capture());
+        EmployeeLeaveBalance balance = saved.getValue();
+        assertEquals(14, balance.getBalance());
+        // Marked like imported hires: the next accrual run credits the next period
+        assertEquals(YearMonth.now().toString(), balance.getLastAccrualPeriod());
+        assertEquals(YearMonth.now().getYear(), balance.getLastRolloverYear());
+        // A back-dated joining date may change a cached year
+        verify(employeeGrowthService).evictOrganization(ORG_UUID);
+    }
+
+    @Test
+    void testEditingAnInactiveEmployeeKeepsTheExitDate() {
+        LocalDateTime exit = LocalDateTime.of(2024, 3, 10, 9, 0);
+        Employee employee = inactiveEmployee(exit);
+        when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+        when(departmentService.validateDepartment(10L, ORG_UUID)).thenReturn(true);
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(employeeMapper.toDto(any(Employee.class))).thenReturn(new EmployeeResponseDTO());
+
+        EmployeeRequestDTO request = new EmployeeRequestDTO();
+        request.setFirstName("Nimal");
+        request.setLastName("Perera");
+        request.setEmail("nimal@acme.lk");
+        request.setDepartment(10L);
+        request.setBasicSalary(new BigDecimal("1000"));
+        request.setSalaryType("MONTHLY");
+        request.setDateOfJoining(LocalDate.of(2023, 1, 2));
+        request.setStatus("Inactive");
+
+        assertTrue(employeeService.updateEmployee(ORG_UUID, 1L, request).isSuccess());
+
+        assertFalse(employee.getIsActive());
+        assertEquals(exit, employee.getDeactivatedAt());
+        verify(employeeGrowthService).evictOrganization(ORG_UUID);
+    }
+
+    @Test
+    void testToggleStampsAndClearsTheExitDate() {
+        Employee employee = inactiveEmployee(LocalDateTime.of(2024, 3, 10, 9, 0));
+        when(employeeRepository.findByIdAndOrganizationUuid(1L, ORG_UUID)).thenReturn(Optional.of(employee));
+        when(employeeRepository.save(any(Employee.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        employeeService.toggleEmployeeStatus(ORG_UUID, 1L);
+        assertTrue(employee.getIsActive());
+        assertNull(employee.getDeactivatedAt());
+
+        LocalDateTime before = LocalDateTime.now();
+        employeeService.toggleEmployeeStatus(ORG_UUID, 1L);
+        assertFalse(employee.getIsActive());
+        assertFalse(employee.getDeactivatedAt().isBefore(before));
+
+        verify(employeeGrowthService, times(2)).evictOrganization(ORG_UUID);
+    }
+
+    private static Employee inactiveEmployee(LocalDateTime deactivatedAt) {
+        Employee employee = new Employee();
+        employee.setId(1L);
+        employee.setOrganizationUuid(ORG_UUID);
+        employee.setEmail("nimal@acme.lk");
+        employee.setIsActive(false);
+        employee.setDeactivatedAt(deactivatedAt);
+        employee.setUpdatedAt(deactivatedAt);
+        return employee;
+    }
+}
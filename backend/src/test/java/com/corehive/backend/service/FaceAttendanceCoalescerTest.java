@@ -0,0 +1,85 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.attendance.FaceAttendanceResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaceAttendanceCoalescerTest {
+
+    private FaceAttendanceCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new FaceAttendanceCoalescer();
+        ReflectionTestUtils.setField(coalescer, "dedupSeconds", 10L);
+    }
+
+    @Test
+    void testConcurrentDuplicatesRunOnce() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        List<Future<FaceAttendanceResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return coalescer.submit("CHECK_IN", "org", 1L, () -> {
+                    executions.incrementAndGet();
+                    sleep(50);
+                    return FaceAttendanceResponse.builder().success(true).employeeId(1L).build();
+                });
+            }));
+        }
+        start.countDown();
+
+        FaceAttendanceResponse first = results.get(0).get();
+        for (Future<FaceAttendanceResponse> result : results) {
+            assertSame(first, result.get(), "All callers should get the same response");
+        }
+        assertEquals(1, executions.get(), "Work should run once for identical submissions");
+        pool.shutdown();
+    }
+
+    @Test
+    void testDifferentEmployeesAndFailuresNotCached() {
+        AtomicInteger executions = new AtomicInteger();
+
+        coalescer.submit("CHECK_IN", "org", 1L, () -> {
+            executions.incrementAndGet();
+            return FaceAttendanceResponse.builder().success(true).build();
+        });
+        coalescer.submit("CHECK_IN", "org", 2L, () -> {
+            executions.incrementAndGet();
+            return FaceAttendanceResponse.builder().success(true).build();
+        });
+        assertThrows(RuntimeException.class, () -> coalescer.submit("CHECK_OUT", "org", 1L, () -> {
+            throw new RuntimeException("boom");
+        }));
+        coalescer.submit("CHECK_OUT", "org", 1L, () -> {
+            executions.incrementAndGet();
+            return FaceAttendanceResponse.builder().success(true).build();
+        });
+
+        assertEquals(3, executions.get());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
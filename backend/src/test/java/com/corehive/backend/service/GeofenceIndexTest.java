@@ -0,0 +1,76 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.OfficeGeofence;
+import com.corehive.backend.repository.OfficeGeofenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GeofenceIndexTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private OfficeGeofenceRepository geofenceRepository;
+
+    private GeofenceIndex geofenceIndex;
+
+    @BeforeEach
+    void setUp() {
+        geofenceIndex = new GeofenceIndex(geofenceRepository);
+        ReflectionTestUtils.setField(geofenceIndex, "cellDegrees", 0.01);
+    }
+
+    @Test
+    void testMatchCircleAndPolygon() {
+        // Colombo office: 150 m circle; warehouse: square polygon ~1 km away
+        OfficeGeofence office = OfficeGeofence.builder()
+                .id(1L).organizationUuid(ORG_UUID).name("Office")
+                .shape(OfficeGeofence.Shape.CIRCLE)
+                .centerLatitude(6.9271).centerLongitude(79.8612).radiusMeters(150.0)
+                .build();
+        OfficeGeofence warehouse = OfficeGeofence.builder()
+                .id(2L).organizationUuid(ORG_UUID).name("Warehouse")
+                .shape(OfficeGeofence.Shape.POLYGON)
+                .polygon("6.9350,79.8700; 6.9350,79.8720; 6.9370,79.8720; 6.9370,79.8700")
+                .build();
+        when(geofenceRepository.findByIsActiveTrue()).thenReturn(List.of(office, warehouse));
+
+        geofenceIndex.warmUp();
+
+        assertEquals("Office", geofenceIndex.match(ORG_UUID, 6.9275, 79.8615).getName());
+        assertEquals("Warehouse", geofenceIndex.match(ORG_UUID, 6.9360, 79.8710).getName());
+        // ~300 m from the office center, outside the polygon
+        assertNull(geofenceIndex.match(ORG_UUID, 6.9298, 79.8612));
+        assertNull(geofenceIndex.match(ORG_UUID, 6.9360, 79.8730));
+
+        // Lookups are served from memory
+        verify(geofenceRepository, never()).findByOrganizationUuidAndIsActiveTrue(ORG_UUID);
+    }
+
+    @Test
+    void testRebuildReplacesOrganizationGrid() {
+        when(geofenceRepository.findByIsActiveTrue()).thenReturn(List.of());
+        when(geofenceRepository.findByOrganizationUuidAndIsActiveTrue(ORG_UUID)).thenReturn(List.of(
+                OfficeGeofence.builder()
+                        .id(3L).organizationUuid(ORG_UUID).name("Branch")
+                        .shape(OfficeGeofence.Shape.CIRCLE)
+                        .centerLatitude(51.5007).centerLongitude(-0.1246).radiusMeters(50.0)
+                        .build()));
+
+        geofenceIndex.warmUp();
+        geofenceIndex.rebuild(ORG_UUID);
+
+        assertNotNull(geofenceIndex.match(ORG_UUID, 51.5008, -0.1247));
+        assertNull(geofenceIndex.match(ORG_UUID, 51.5030, -0.1246));
+    }
+}
@@ -0,0 +1,96 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.attendance.KioskScan;
+import com.corehive.backend.dto.request.GpsAttendanceBatchRequest;
+import com.corehive.backend.dto.request.GpsAttendanceBatchRequest.GpsEvent;
+import com.corehive.backend.dto.response.OfflineScanBatchResponse;
+import com.corehive.backend.model.Employee;
+import com.corehive.backend.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GpsAttendanceServiceTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+    private static final String EMAIL = "jane@example.com";
+
+    @Mock
+    private GeofenceIndex geofenceIndex;
+
+    @Mock
+    private AttendanceService attendanceService;
+
+    @Mock
+    private OfflineScanService offlineScanService;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private GpsAttendanceService gpsAttendanceService;
+
+    @BeforeEach
+    void setUp() {
+        gpsAttendanceService = new GpsAttendanceService(geofenceIndex, attendanceService, offlineScanService,
+                employeeRepository);
+        ReflectionTestUtils.setField(gpsAttendanceService, "maxAccuracyMeters", 100.0);
+        ReflectionTestUtils.setField(gpsAttendanceService, "offlineMaxAgeHours", 24L);
+        ReflectionTestUtils.setField(gpsAttendanceService, "maxClockSkewSeconds", 120L);
+
+        Employee employee = new Employee();
+        employee.setId(1L);
+        employee.setIsActive(true);
+        when(employeeRepository.findByEmailAndOrganizationUuid(EMAIL, ORG_UUID)).thenReturn(Optional.of(employee));
+        when(offlineScanService.findAppliedKeys(eq(ORG_UUID), anyList())).thenReturn(Set.of());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testOfflineReplayRejectsUntrustworthyFixes() throws Exception {
+        when(geofenceIndex.match(eq(ORG_UUID), anyDouble(), anyDouble())).thenReturn(mock(GeofenceIndex.Fence.class));
+        LocalDateTime now = LocalDateTime.now();
+
+        GpsAttendanceBatchRequest request = new GpsAttendanceBatchRequest();
+        request.setEvents(List.of(
+                event("ok", now.minusHours(2), 15.0),
+                event("future", now.plusHours(1), 15.0),
+                event("stale", now.minusDays(3), 15.0),
+                event("no-accuracy", now.minusHours(1), null),
+                event("imprecise", now.minusHours(1), 500.0)));
+
+        OfflineScanBatchResponse response = gpsAttendanceService.replay(ORG_UUID, EMAIL, request, "ip");
+
+        assertEquals(List.of("future", "stale", "no-accuracy", "imprecise"), response.getRejected().stream()
+                .map(OfflineScanBatchResponse.RejectedEvent::getIdempotencyKey).toList());
+
+        ArgumentCaptor<List<KioskScan>> scans = ArgumentCaptor.forClass(List.class);
+        verify(offlineScanService).applyScans(eq(ORG_UUID), scans.capture(), same(response));
+        assertEquals(1, scans.getValue().size());
+        // Employee uploads may not move an existing check-in earlier
+        assertTrue(scans.getValue().get(0).isSelfReported());
+    }
+
+    private static GpsEvent event(String key, LocalDateTime capturedAt, Double accuracyMeters) {
+        GpsEvent event = new GpsEvent();
+        event.setIdempotencyKey(key);
+        event.setLatitude(6.9);
+        event.setLongitude(79.8);
+        event.setAccuracyMeters(accuracyMeters);
+        event.setCapturedAt(capturedAt);
+        return event;
+    }
+}
@@ -0,0 +1,104 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.LeaveAccrualRun;
+import com.corehive.backend.model.LeaveType;
+import com.corehive.backend.repository.LeaveAccrualRunRepository;
+import com.corehive.backend.repository.LeaveBalanceBatchRepository;
+import com.corehive.backend.repository.LeaveTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaveAccrualServiceTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private LeaveTypeRepository leaveTypeRepository;
+
+    @Mock
+    private LeaveBalanceBatchRepository leaveBalanceBatchRepository;
+
+    @Mock
+    private LeaveAccrualRunRepository leaveAccrualRunRepository;
+
+    private LeaveAccrualService leaveAccrualService;
+
+    private LeaveType annual;
+
+    @BeforeEach
+    void setUp() {
+        leaveAccrualService = new LeaveAccrualService(
+                leaveTypeRepository, leaveBalanceBatchRepository, leaveAccrualRunRepository);
+        ReflectionTestUtils.setField(leaveAccrualService, "chunkSize", 100);
+
+        annual = new LeaveType();
+        annual.setId(1L);
+        annual.setOrganizationUuid(ORG_UUID);
+        annual.setDefaultDaysPerYear(14);
+        annual.setAccrualFrequency(LeaveType.AccrualFrequency.MONTHLY);
+        annual.setCarryForwardMaxDays(5);
+
+        when(leaveTypeRepository.findByOrganizationUuidAndIsActiveTrue(ORG_UUID)).thenReturn(List.of(annual));
+        when(leaveAccrualRunRepository.save(any(LeaveAccrualRun.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void testDryRunChunksAndCountsWithoutWriting() throws Exception {
+        when(leaveBalanceBatchRepository.insertMissing(ORG_UUID, 1L, 2026, true)).thenReturn(2);
+        when(leaveBalanceBatchRepository.idRange(ORG_UUID)).thenReturn(new long[]{1, 250});
+        when(leaveBalanceBatchRepository.rollOver(eq(ORG_UUID), eq(1L), eq(5), eq(2026), anyLong(), anyLong(), eq(true)))
+                .thenReturn(new long[]{3, 10});
+        when(leaveBalanceBatchRepository.accrue(eq(ORG_UUID), eq(1L), eq(true), eq(14), eq(2026), eq(3),
+                any(), anyLong(), anyLong(), eq(true)))
+                .thenReturn(new long[]{4, 4});
+
+        LeaveAccrualRun run = leaveAccrualService.run(ORG_UUID, YearMonth.of(2026, 3), true);
+
+        assertEquals(LeaveAccrualRun.Status.COMPLETED, run.getStatus());
+        assertTrue(run.isDryRun());
+        assertEquals(2, run.getBalancesCreated());
+        // 3 chunks of ids 1-100, 101-200, 201-250
+        assertEquals(9, run.getBalancesRolledOver());
+        assertEquals(30, run.getDaysExpired());
+        // 2 new balances * (14 * 3 / 12 = 3 days) + 3 chunks * 4 days
+        assertEquals(14, run.getBalancesAccrued());
+        assertEquals(18, run.getDaysAccrued());
+        verify(leaveBalanceBatchRepository, never()).markBaseline(any(), any(), anyLong(), anyLong());
+        verify(leaveBalanceBatchRepository).rollOver(ORG_UUID, 1L, 5, 2026, 201, 250, true);
+    }
+
+    @Test
+    void testFailureIsAuditedAndReleasesTheOrganization() throws Exception {
+        when(leaveBalanceBatchRepository.insertMissing(ORG_UUID, 1L, 2026, false)).thenReturn(0);
+        when(leaveBalanceBatchRepository.idRange(ORG_UUID)).thenReturn(new long[]{1, 10});
+        when(leaveBalanceBatchRepository.rollOver(any(), any(), anyInt(), anyInt(), anyLong(), anyLong(), anyBoolean()))
+                .thenThrow(new IllegalStateException("Lock wait timeout"));
+
+        LeaveAccrualRun failed = leaveAccrualService.run(ORG_UUID, YearMonth.of(2026, 1), false);
+        assertEquals(LeaveAccrualRun.Status.FAILED, failed.getStatus());
+        assertEquals("Lock wait timeout", failed.getErrorMessage());
+        assertNotNull(failed.getFinishedAt());
+
+        // Not stuck as running - the same period can be resumed
+        reset(leaveBalanceBatchRepository);
+        when(leaveBalanceBatchRepository.idRange(ORG_UUID)).thenReturn(null);
+        assertEquals(LeaveAccrualRun.Status.COMPLETED,
+                leaveAccrualService.run(ORG_UUID, YearMonth.of(2026, 1), false).getStatus());
+    }
+}
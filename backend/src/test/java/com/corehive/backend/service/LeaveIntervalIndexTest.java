@@ -0,0 +1,76 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaveIntervalIndexTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    private LeaveIntervalIndex leaveIntervalIndex;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        leaveIntervalIndex = new LeaveIntervalIndex(leaveRequestRepository);
+        ReflectionTestUtils.setField(leaveIntervalIndex, "historyDays", 30L);
+    }
+
+    @Test
+    void testLookupsAgainstApprovedRanges() {
+        // Employee 1: two adjacent ranges (merged); employee 2: one long range; employee 3: past leave
+        when(leaveRequestRepository.findApprovedLeaveRanges(eq(ORG_UUID), any())).thenReturn(List.of(
+                new Object[]{1L, today, today.plusDays(1)},
+                new Object[]{1L, today.plusDays(2), today.plusDays(3)},
+                new Object[]{2L, today.minusDays(10), today.plusDays(10)},
+                new Object[]{3L, today.minusDays(5), today.minusDays(4)}
+        ));
+
+        assertTrue(leaveIntervalIndex.isOnLeave(ORG_UUID, 1L, today.plusDays(3)));
+        assertFalse(leaveIntervalIndex.isOnLeave(ORG_UUID, 1L, today.plusDays(4)));
+        assertTrue(leaveIntervalIndex.isOnLeave(ORG_UUID, 3L, today.minusDays(4)));
+        assertFalse(leaveIntervalIndex.isOnLeave(ORG_UUID, 4L, today));
+
+        assertEquals(List.of(1L, 2L), leaveIntervalIndex.employeesOnLeave(ORG_UUID, today).stream().sorted().toList());
+        assertEquals(List.of(2L, 3L), leaveIntervalIndex.employeesOnLeave(ORG_UUID, today.minusDays(5)).stream().sorted().toList());
+        assertEquals(List.of(), leaveIntervalIndex.employeesOnLeave(ORG_UUID, today.plusDays(11)));
+
+        // Loaded once, answered from memory afterwards
+        verify(leaveRequestRepository, times(1)).findApprovedLeaveRanges(eq(ORG_UUID), any());
+        verify(leaveRequestRepository, never()).hasApprovedLeaveOnDate(any(), any());
+    }
+
+    @Test
+    void testInvalidateReloadsAndOldDatesFallBack() {
+        when(leaveRequestRepository.findApprovedLeaveRanges(eq(ORG_UUID), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.<Object[]>of(new Object[]{1L, today, today}));
+
+        assertFalse(leaveIntervalIndex.isOnLeave(ORG_UUID, 1L, today));
+        leaveIntervalIndex.invalidate(ORG_UUID);
+        assertTrue(leaveIntervalIndex.isOnLeave(ORG_UUID, 1L, today));
+
+        // Outside the history window the repository answers
+        LocalDate old = today.minusDays(60);
+        when(leaveRequestRepository.hasApprovedLeaveOnDate(1L, old)).thenReturn(true);
+        assertTrue(leaveIntervalIndex.isOnLeave(ORG_UUID, 1L, old));
+    }
+}
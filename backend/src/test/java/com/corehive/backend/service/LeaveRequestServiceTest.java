@@ -0,0 +1,216 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.exception.leaveException.InsufficientLeaveBalanceException;
+import com.corehive.backend.model.Attendance;
+import com.corehive.backend.model.Employee;
+import com.corehive.backend.model.EmployeeLeaveBalance;
+import com.corehive.backend.model.LeaveRequest;
+import com.corehive.backend.model.LeaveType;
+import com.corehive.backend.repository.AttendanceBatchRepository;
+import com.corehive.backend.repository.EmployeeLeaveBalanceRepository;
+import com.corehive.backend.repository.EmployeeRepository;
+import com.corehive.backend.repository.LeaveRequestRepository;
+import com.corehive.backend.repository.LeaveTypeRepository;
+import org.apache.coyote.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaveRequestServiceTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+    private static final Long APPROVER_USER_ID = 99L;
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepo;
+
+    @Mock
+    private LeaveTypeRepository leaveTypeRepo;
+
+    @Mock
+    private EmployeeRepository employeeRepo;
+
+    @Mock
+    private EmployeeLeaveBalanceRepository employeeLeaveBalanceRepo;
+
+    @Mock
+    private AttendanceBatchRepository attendanceBatchRepository;
+
+    @Mock
+    private LeaveIntervalIndex leaveIntervalIndex;
+
+    @Mock
+    private TeamCalendarService teamCalendarService;
+
+    private LeaveRequestService leaveRequestService;
+
+    private final LeaveType annual = leaveType(1L);
+
+    @BeforeEach
+    void setUp() {
+        leaveRequestService = new LeaveRequestService(leaveRequestRepo, leaveTypeRepo, employeeRepo,
+                employeeLeaveBalanceRepo, attendanceBatchRepository, leaveIntervalIndex, teamCalendarService);
+
+        Employee approver = employee(50L);
+        lenient().when(employeeRepo.findByAppUserId(APPROVER_USER_ID)).thenReturn(Optional.of(approver));
+    }
+
+    @Test
+    void testRequestsOfOneEmployeeDrawDownTheSameBalance() throws Exception {
+        Employee employee = employee(1L);
+        // Mon 2 - Wed 4 and Thu 5 - Fri 6 March 2026
+        LeaveRequest first = request(10L, employee, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 4));
+        LeaveRequest second = request(11L, employee, LocalDate.of(2026, 3, 5), LocalDate.of(2026, 3, 6));
+        givenRequests(first, second);
+        givenBalances(balance(100L, 1L, 5));
+        when(employeeLeaveBalanceRepo.deductIfAvailable(eq(100L), eq(5), any())).thenReturn(1);
+        when(leaveRequestRepo.claimPending(anySet(), eq(LeaveRequest.LeaveStatus.APPROVED), eq(50L), any()))
+                .thenReturn(2);
+
+        assertEquals(2, leaveRequestService.approveLeaves(List.of(11L, 10L), APPROVER_USER_ID, "hr@acme.lk",
+                ORG_UUID, true));
+
+        // One conditional decrement for both requests
+        verify(employeeLeaveBalanceRepo, times(1)).deductIfAvailable(anyLong(), anyInt(), any());
+        assertEquals(5, leaveDays().size());
+        verify(teamCalendarService).evictOrganization(ORG_UUID);
+    }
+
+    @Test
+    void testOneUncoveredRequestRejectsTheWholeBatch() {
+        Employee employee = employee(1L);
+        LeaveRequest first = request(10L, employee, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 4));
+        LeaveRequest second = request(11L, employee, LocalDate.of(2026, 3, 5), LocalDate.of(2026, 3, 6));
+        givenRequests(first, second);
+        // Covers either request, not both
+        givenBalances(balance(100L, 1L, 4));
+
+        BadRequestException error = assertThrows(BadRequestException.class, () -> leaveRequestService
+                .approveLeaves(List.of(10L, 11L), APPROVER_USER_ID, "hr@acme.lk", ORG_UUID, true));
+
+        assertTrue(error.getMessage().contains("Requested 5 days but only 4"));
+        verify(employeeLeaveBalanceRepo, never()).deductIfAvailable(anyLong(), anyInt(), any());
+        verify(leaveRequestRepo, never()).claimPending(anySet(), any(), any(), any());
+        verifyNoInteractions(attendanceBatchRepository, teamCalendarService);
+    }
+
+    @Test
+    void testConcurrentlyUsedBalanceFailsBeforeAnyAttendanceIsWritten() {
+        Employee employee = employee(1L);
+        givenRequests(request(10L, employee, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 3)));
+        givenBalances(balance(100L, 1L, 5));
+        // Another approval spent the balance after it was read
+        when(employeeLeaveBalanceRepo.deductIfAvailable(eq(100L), eq(2), any())).thenReturn(0);
+
+        assertThrows(InsufficientLeaveBalanceException.class, () -> leaveRequestService
+                .approveLeaves(List.of(10L), APPROVER_USER_ID, "hr@acme.lk", ORG_UUID, true));
+
+        verify(leaveRequestRepo, never()).claimPending(anySet(), any(), any(), any());
+        verifyNoInteractions(attendanceBatchRepository);
+    }
+
+    @Test
+    void testRequestWithoutBalanceRowIsRejected() {
+        Employee employee = employee(1L);
+        givenRequests(request(10L, employee, LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 2)));
+        // Only a balance of another leave type
+        EmployeeLeaveBalance otherType = balance(100L, 1L, 10);
+        otherType.setLeaveTypeId(2L);
+        givenBalances(otherType);
+
+        BadRequestException error = assertThrows(BadRequestException.class, () -> leaveRequestService
+                .approveLeaves(List.of(10L), APPROVER_USER_ID, "hr@acme.lk", ORG_UUID, true));
+
+        assertEquals("No leave balance found for this leave type", error.getMessage());
+        verify(leaveRequestRepo, never()).claimPending(anySet(), any(), any(), any());
+        verifyNoInteractions(attendanceBatchRepository);
+    }
+
+    @Test
+    void testWeekendsAndHolidaysAreNotMarkedOnLeave() throws Exception {
+        ReflectionTestUtils.setField(leaveRequestService, "skipWeekends", true);
+        leaveRequestService.setHolidays("2026-03-09, 2026-12-25");
+
+        Employee employee = employee(1L);
+        // Fri 6 - Tue 10 March 2026; Mon 9 is a holiday
+        givenRequests(request(10L, employee, LocalDate.of(2026, 3, 6), LocalDate.of(2026, 3, 10)));
+        givenBalances(balance(100L, 1L, 10));
+        when(employeeLeaveBalanceRepo.deductIfAvailable(eq(100L), anyInt(), any())).thenReturn(1);
+        when(leaveRequestRepo.claimPending(anySet(), any(), any(), any())).thenReturn(1);
+
+        leaveRequestService.approveLeaves(List.of(10L), APPROVER_USER_ID, "hr@acme.lk", ORG_UUID, true);
+
+        List<Attendance> days = leaveDays();
+        assertEquals(List.of(LocalDate.of(2026, 3, 6), LocalDate.of(2026, 3, 10)),
+                days.stream().map(Attendance::getAttendanceDate).toList());
+        assertTrue(days.stream().allMatch(day -> day.getStatus() == Attendance.AttendanceStatus.ON_LEAVE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Attendance> leaveDays() {
+        ArgumentCaptor<List<Attendance>> captor = ArgumentCaptor.forClass(List.class);
+        verify(attendanceBatchRepository).upsertLeaveDays(captor.capture());
+        return captor.getValue();
+    }
+
+    private void givenRequests(LeaveRequest... requests) {
+        when(leaveRequestRepo.findAllByIdWithEmployeeAndLeaveType(anySet()))
+                .thenReturn(new ArrayList<>(List.of(requests)));
+    }
+
+    private void givenBalances(EmployeeLeaveBalance... balances) {
+        when(employeeLeaveBalanceRepo.findByOrganizationUuidAndEmployeeIdIn(eq(ORG_UUID), anyCollection()))
+                .thenReturn(List.of(balances));
+    }
+
+    private LeaveRequest request(Long id, Employee employee, LocalDate start, LocalDate end) {
+        LeaveRequest request = new LeaveRequest();
+        request.setId(id);
+        request.setOrganizationUuid(ORG_UUID);
+        request.setEmployee(employee);
+        request.setLeaveType(annual);
+        request.setStartDate(start);
+        request.setEndDate(end);
+        request.setTotalDays((int) (end.toEpochDay() - start.toEpochDay()) + 1);
+        return request;
+    }
+
+    private static EmployeeLeaveBalance balance(Long id, Long employeeId, int days) {
+        EmployeeLeaveBalance balance = new EmployeeLeaveBalance();
+        balance.setId(id);
+        balance.setOrganizationUuid(ORG_UUID);
+        balance.setEmployeeId(employeeId);
+        balance.setLeaveTypeId(1L);
+        balance.setBalance(days);
+        return balance;
+    }
+
+    private static Employee employee(Long id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setOrganizationUuid(ORG_UUID);
+        return employee;
+    }
+
+    private static LeaveType leaveType(Long id) {
+        LeaveType leaveType = new LeaveType();
+        leaveType.setId(id);
+        leaveType.setOrganizationUuid(ORG_UUID);
+        return leaveType;
+    }
+}
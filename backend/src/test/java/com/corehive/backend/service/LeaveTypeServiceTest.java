@@ -0,0 +1,85 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.LeaveType;
+import com.corehive.backend.repository.LeaveTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaveTypeServiceTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private LeaveTypeRepository leaveTypeRepository;
+
+    private LeaveTypeService leaveTypeService;
+
+    @BeforeEach
+    void setUp() {
+        leaveTypeService = new LeaveTypeService(leaveTypeRepository);
+        ReflectionTestUtils.setField(leaveTypeService, "cacheTtlSeconds", 300L);
+    }
+
+    @Test
+    void testActiveLeaveTypesAreCachedPerOrganization() {
+        when(leaveTypeRepository.findByOrganizationUuidAndIsActiveTrue(anyString()))
+                .thenAnswer(inv -> List.of(leaveType(1L, inv.getArgument(0))));
+
+        assertEquals(1, leaveTypeService.getActiveLeaveTypes(ORG_UUID).size());
+        assertEquals(1, leaveTypeService.getLeaveTypes(ORG_UUID).size());
+        leaveTypeService.getActiveLeaveTypes("other-org");
+
+        verify(leaveTypeRepository, times(1)).findByOrganizationUuidAndIsActiveTrue(ORG_UUID);
+        verify(leaveTypeRepository, times(1)).findByOrganizationUuidAndIsActiveTrue("other-org");
+    }
+
+    @Test
+    void testCallersGetTheirOwnCopies() {
+        LeaveType annual = leaveType(1L, ORG_UUID);
+        when(leaveTypeRepository.findByOrganizationUuidAndIsActiveTrue(ORG_UUID)).thenReturn(List.of(annual));
+
+        LeaveType first = leaveTypeService.getActiveLeaveTypes(ORG_UUID).get(0);
+        first.setName("Changed");
+        annual.setName("Changed too");
+
+        LeaveType second = leaveTypeService.getActiveLeaveTypes(ORG_UUID).get(0);
+        assertNotSame(first, second);
+        assertNotSame(annual, second);
+        assertEquals("Annual", second.getName());
+    }
+
+    @Test
+    void testChangesEvictTheOrganization() {
+        LeaveType annual = leaveType(1L, ORG_UUID);
+        when(leaveTypeRepository.findByOrganizationUuidAndIsActiveTrue(ORG_UUID))
+                .thenReturn(List.of(annual), List.of());
+        when(leaveTypeRepository.findById(1L)).thenReturn(Optional.of(annual));
+
+        leaveTypeService.getActiveLeaveTypes(ORG_UUID);
+        leaveTypeService.deleteLeaveType(1L, ORG_UUID);
+
+        assertTrue(leaveTypeService.getActiveLeaveTypes(ORG_UUID).isEmpty());
+        verify(leaveTypeRepository, times(2)).findByOrganizationUuidAndIsActiveTrue(ORG_UUID);
+    }
+
+    private static LeaveType leaveType(Long id, String orgUuid) {
+        LeaveType leaveType = new LeaveType();
+        leaveType.setId(id);
+        leaveType.setOrganizationUuid(orgUuid);
+        leaveType.setName("Annual");
+        leaveType.setCode("AL");
+        return leaveType;
+    }
+}
@@ -0,0 +1,85 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.attendance.KioskScan;
+import com.corehive.backend.dto.request.OfflineScanBatchRequest;
+import com.corehive.backend.dto.request.OfflineScanBatchRequest.OfflineScanEvent;
+import com.corehive.backend.dto.response.OfflineScanBatchResponse;
+import com.corehive.backend.repository.EmployeeRepository;
+import com.corehive.backend.repository.KioskEventReceiptRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OfflineScanServiceTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private AttendanceService attendanceService;
+
+    @Mock
+    private QrTokenIndex qrTokenIndex;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private KioskEventReceiptRepository kioskEventReceiptRepository;
+
+    private OfflineScanService offlineScanService;
+
+    @BeforeEach
+    void setUp() {
+        offlineScanService = new OfflineScanService(attendanceService, qrTokenIndex, employeeRepository,
+                kioskEventReceiptRepository);
+        ReflectionTestUtils.setField(offlineScanService, "chunkSize", 500);
+        ReflectionTestUtils.setField(offlineScanService, "maxAgeHours", 168L);
+        ReflectionTestUtils.setField(offlineScanService, "maxClockSkewSeconds", 120L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testScansOutsideTheAcceptedWindowAreRejected() {
+        when(kioskEventReceiptRepository.findExistingKeys(eq(ORG_UUID), anyList())).thenReturn(List.of());
+        when(qrTokenIndex.resolve("token")).thenReturn(new QrTokenIndex.Entry(1L, ORG_UUID, 0L));
+        when(attendanceService.recordKioskScans(eq(ORG_UUID), any(), anyList())).thenReturn(List.of("CHECK_IN"));
+        LocalDateTime now = LocalDateTime.now();
+
+        OfflineScanBatchRequest request = new OfflineScanBatchRequest();
+        request.setEvents(List.of(
+                event("ok", now.minusHours(30)),
+                event("skewed", now.plusSeconds(30)),
+                event("future", now.plusDays(2)),
+                event("stale", now.minusYears(3))));
+
+        OfflineScanBatchResponse response = offlineScanService.replay(ORG_UUID, request, "ip");
+
+        assertEquals(List.of("future", "stale"), response.getRejected().stream()
+                .map(OfflineScanBatchResponse.RejectedEvent::getIdempotencyKey).toList());
+        ArgumentCaptor<List<KioskScan>> scans = ArgumentCaptor.forClass(List.class);
+        verify(attendanceService, times(2)).recordKioskScans(eq(ORG_UUID), any(), scans.capture());
+        assertEquals(List.of("ok", "skewed"), scans.getAllValues().stream()
+                .flatMap(List::stream).map(KioskScan::getIdempotencyKey).toList());
+    }
+
+    private static OfflineScanEvent event(String key, LocalDateTime scannedAt) {
+        OfflineScanEvent event = new OfflineScanEvent();
+        event.setIdempotencyKey(key);
+        event.setType("QR");
+        event.setQrToken("token");
+        event.setScannedAt(scannedAt);
+        return event;
+    }
+}
@@ -0,0 +1,66 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.response.QrAttendanceResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QrKioskServiceTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private QrTokenIndex qrTokenIndex;
+
+    @Mock
+    private AttendanceService attendanceService;
+
+    private QrKioskService qrKioskService;
+
+    @BeforeEach
+    void setUp() {
+        qrKioskService = new QrKioskService(qrTokenIndex, attendanceService);
+        ReflectionTestUtils.setField(qrKioskService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(qrKioskService, "batchSize", 10);
+        ReflectionTestUtils.setField(qrKioskService, "dedupSeconds", 60L);
+        // Never fires during the test: only shutdown drains
+        ReflectionTestUtils.setField(qrKioskService, "flushMs", 3_600_000L);
+        ReflectionTestUtils.setField(qrKioskService, "shutdownWaitSeconds", 5L);
+        qrKioskService.init();
+    }
+
+    @Test
+    void testShutdownPersistsAcknowledgedScans() throws Exception {
+        when(qrTokenIndex.resolve("token-1")).thenReturn(new QrTokenIndex.Entry(1L, ORG_UUID, 0L));
+        when(qrTokenIndex.resolve("token-2")).thenReturn(new QrTokenIndex.Entry(2L, ORG_UUID, 0L));
+
+        assertEquals("QUEUED", qrKioskService.accept("token-1", ORG_UUID, "ip", "kiosk").getAction());
+        assertEquals("QUEUED", qrKioskService.accept("token-2", ORG_UUID, "ip", "kiosk").getAction());
+        verify(attendanceService, never()).recordKioskScans(any(), any(), anyList());
+
+        qrKioskService.shutdown();
+
+        verify(attendanceService).recordKioskScans(eq(ORG_UUID), any(), argThat(scans -> scans.size() == 2));
+        assertEquals(0, qrKioskService.getQueueDepth());
+    }
+
+    @Test
+    void testScansDuringShutdownAreRecordedSynchronously() throws Exception {
+        QrAttendanceResponse recorded = QrAttendanceResponse.builder().action("CHECK_IN").build();
+        when(qrTokenIndex.resolve("token-1")).thenReturn(new QrTokenIndex.Entry(1L, ORG_UUID, 0L));
+        when(attendanceService.markAttendanceViaQr("token-1", "ip", "kiosk")).thenReturn(recorded);
+
+        qrKioskService.shutdown();
+
+        assertSame(recorded, qrKioskService.accept("token-1", ORG_UUID, "ip", "kiosk"));
+        assertEquals(0, qrKioskService.getQueueDepth());
+    }
+}
@@ -0,0 +1,124 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.response.RevenueReportDTO;
+import com.corehive.backend.model.BillingCycle;
+import com.corehive.backend.model.Organization;
+import com.corehive.backend.model.PaymentStatus;
+import com.corehive.backend.model.Subscription;
+import com.corehive.backend.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportServiceTest {
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private PaymentTransactionRepository paymentTransactionRepository;
+
+    @Mock
+    private OrganizationModuleRepository organizationModuleRepository;
+
+    @Mock
+    private ExtendedModuleRepository extendedModuleRepository;
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    @Mock
+    private BillingPlanRepository billingPlanRepository;
+
+    private ReportService reportService;
+
+    @BeforeEach
+    void setUp() {
+        reportService = new ReportService(organizationRepository, subscriptionRepository, paymentTransactionRepository,
+                organizationModuleRepository, extendedModuleRepository, appUserRepository, billingPlanRepository);
+    }
+
+    @Test
+    void testRevenueIsAggregatedInTheDatabase() {
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 4, 1, 0, 0);
+        when(paymentTransactionRepository.sumByOrganization(PaymentStatus.SUCCESS, from, to)).thenReturn(List.of(
+                new Object[]{"org-a", new BigDecimal("300.00"), 3L},
+                new Object[]{"org-b", new BigDecimal("1200.00"), 2L},
+                new Object[]{"org-gone", new BigDecimal("50.00"), 1L}));
+        when(organizationRepository.findByOrganizationUuidIn(Set.of("org-a", "org-b", "org-gone")))
+                .thenReturn(List.of(organization("org-a", "Acme"), organization("org-b", "Globex")));
+        when(subscriptionRepository.findByOrganizationUuidIn(anyCollection()))
+                .thenReturn(List.of(subscription("org-b", "Premium")));
+        when(paymentTransactionRepository.sumByMonth(PaymentStatus.SUCCESS, from, to)).thenReturn(List.of(
+                new Object[]{2025, 1, new BigDecimal("1300.00"), 4L},
+                new Object[]{2025, 3, new BigDecimal("250.00"), 2L}));
+
+        RevenueReportDTO report = reportService.getRevenueReport(
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), null);
+
+        assertEquals(new BigDecimal("1550.00"), report.getTotalRevenue());
+        assertEquals(6, report.getTotalTransactions());
+        assertEquals(RevenueReportDTO.Bucket.MONTHLY, report.getBucket());
+        assertEquals(List.of("Globex", "Acme"), report.getOrganizationRevenues().stream()
+                .map(RevenueReportDTO.OrganizationRevenue::getOrganizationName).toList());
+        assertEquals("N/A", report.getOrganizationRevenues().get(1).getBillingPlan());
+        assertEquals(new BigDecimal("1200.00"), report.getRevenueByPlan().get("Premium"));
+        assertEquals(List.of("2025-01", "2025-03"), report.getRevenueByPeriod().stream()
+                .map(RevenueReportDTO.PeriodRevenue::getPeriod).toList());
+
+        // The ledger itself is never loaded
+        verify(paymentTransactionRepository, never()).findAll();
+        verify(organizationRepository, never()).findByOrganizationUuid(any());
+    }
+
+    @Test
+    void testDailyBucketsAndEmptyRanges() {
+        when(paymentTransactionRepository.sumByOrganization(any(), any(), any())).thenReturn(List.of());
+        when(paymentTransactionRepository.sumByDay(any(), any(), any())).thenReturn(List.<Object[]>of(
+                new Object[]{2025, 2, 14, new BigDecimal("99.00"), 1L}));
+
+        RevenueReportDTO report = reportService.getRevenueReport(
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28), RevenueReportDTO.Bucket.DAILY);
+
+        assertEquals(BigDecimal.ZERO, report.getTotalRevenue());
+        assertEquals("2025-02-14", report.getRevenueByPeriod().get(0).getPeriod());
+        assertEquals(LocalDateTime.of(2025, 3, 1, 0, 0), report.getEndDate());
+        verifyNoInteractions(organizationRepository, subscriptionRepository);
+
+        assertThrows(IllegalArgumentException.class, () -> reportService.getRevenueReport(
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 2, 1), null));
+    }
+
+    private static Organization organization(String uuid, String name) {
+        Organization organization = new Organization();
+        organization.setOrganizationUuid(uuid);
+        organization.setName(name);
+        return organization;
+    }
+
+    private static Subscription subscription(String orgUuid, String planName) {
+        return Subscription.builder()
+                .organizationUuid(orgUuid)
+                .planName(planName)
+                .activeUserCount(12)
+                .billingCycle(BillingCycle.MONTHLY)
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.dto.response.TeamCalendarResponse;
+import com.corehive.backend.model.Attendance.AttendanceStatus;
+import com.corehive.backend.repository.AttendanceRepository;
+import com.corehive.backend.repository.EmployeeRepository;
+import com.corehive.backend.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TeamCalendarServiceTest {
+
+    private static final String ORG_UUID = "test-org-uuid";
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Mock
+    private AttendanceRepository attendanceRepository;
+
+    private TeamCalendarService teamCalendarService;
+
+    @BeforeEach
+    void setUp() {
+        teamCalendarService = new TeamCalendarService(employeeRepository, leaveRequestRepository, attendanceRepository);
+        ReflectionTestUtils.setField(teamCalendarService, "closedTtlMinutes", 60L);
+    }
+
+    @Test
+    void testClosedMonthFoldsIntoBitmapsAndIsCached() {
+        YearMonth month = YearMonth.of(2025, 1);
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.atEndOfMonth();
+
+        when(employeeRepository.findCalendarEmployees(ORG_UUID, null)).thenReturn(List.of(
+                new Object[]{1L, "Nimal", "Perera", "EMP-001"},
+                new Object[]{2L, "Kamala", "Silva", "EMP-002"}
+        ));
+        // Leave from Dec 30 to Jan 3 is clipped to days 1-3
+        when(leaveRequestRepository.findApprovedLeaveBetween(ORG_UUID, from, to)).thenReturn(List.<Object[]>of(
+                new Object[]{1L, LocalDate.of(2024, 12, 30), LocalDate.of(2025, 1, 3)}
+        ));
+        when(attendanceRepository.findStatusesBetween(ORG_UUID, from, to)).thenReturn(List.of(
+                new Object[]{2L, LocalDate.of(2025, 1, 2), AttendanceStatus.PRESENT},
+                new Object[]{2L, LocalDate.of(2025, 1, 31), AttendanceStatus.LATE},
+                new Object[]{2L, LocalDate.of(2025, 1, 6), AttendanceStatus.ON_LEAVE},
+                new Object[]{99L, LocalDate.of(2025, 1, 2), AttendanceStatus.ABSENT}
+        ));
+
+        TeamCalendarResponse calendar = teamCalendarService.getMonth(ORG_UUID, month, null);
+
+        assertEquals(31, calendar.getDays());
+        assertEquals(2, calendar.getEmployees().size());
+        TeamCalendarResponse.Row first = calendar.getEmployees().get(0);
+        TeamCalendarResponse.Row second = calendar.getEmployees().get(1);
+        assertEquals("Nimal Perera", first.getName());
+        assertEquals(0b111, first.getLeave());
+        assertEquals(0b10, second.getPresent());
+        assertEquals(1 << 30, second.getLate());
+        assertEquals(1 << 5, second.getLeave());
+
+        // Served from the cache until the organization is evicted
+        assertSame(calendar, teamCalendarService.getMonth(ORG_UUID, month, null));
+        teamCalendarService.evictOrganization(ORG_UUID);
+        teamCalendarService.getMonth(ORG_UUID, month, null);
+        verify(employeeRepository, times(2)).findCalendarEmployees(ORG_UUID, null);
+    }
+
+    @Test
+    void testAttendanceWritesEvictOnlyTheirMonth() {
+        when(employeeRepository.findCalendarEmployees(eq(ORG_UUID), any())).thenReturn(List.of());
+        when(leaveRequestRepository.findApprovedLeaveBetween(eq(ORG_UUID), any(), any())).thenReturn(List.of());
+        when(attendanceRepository.findStatusesBetween(eq(ORG_UUID), any(), any())).thenReturn(List.of());
+        YearMonth january = YearMonth.of(2025, 1);
+        YearMonth february = YearMonth.of(2025, 2);
+
+        teamCalendarService.getMonth(ORG_UUID, january, null);
+        teamCalendarService.getMonth(ORG_UUID, january, 10L);
+        teamCalendarService.getMonth(ORG_UUID, february, null);
+
+        // e.g. an HR correction of 14 January
+        teamCalendarService.evictMonth(ORG_UUID, LocalDate.of(2025, 1, 14));
+        teamCalendarService.getMonth(ORG_UUID, january, null);
+        teamCalendarService.getMonth(ORG_UUID, january, 10L);
+        teamCalendarService.getMonth(ORG_UUID, february, null);
+
+        verify(attendanceRepository, times(4)).findStatusesBetween(ORG_UUID, january.atDay(1), january.atEndOfMonth());
+        verify(attendanceRepository, times(1)).findStatusesBetween(ORG_UUID, february.atDay(1), february.atEndOfMonth());
+    }
+
+    @Test
+    void testOrganizationEvictionWaitsForCommit() {
+        when(employeeRepository.findCalendarEmployees(eq(ORG_UUID), any())).thenReturn(List.of());
+        when(leaveRequestRepository.findApprovedLeaveBetween(eq(ORG_UUID), any(), any())).thenReturn(List.of());
+        when(attendanceRepository.findStatusesBetween(eq(ORG_UUID), any(), any())).thenReturn(List.of());
+        YearMonth month = YearMonth.of(2025, 1);
+        TeamCalendarResponse calendar = teamCalendarService.getMonth(ORG_UUID, month, null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            teamCalendarService.evictOrganization(ORG_UUID);
+            // A read before commit still gets, and keeps, the cached month
+            assertSame(calendar, teamCalendarService.getMonth(ORG_UUID, month, null));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNotSame(calendar, teamCalendarService.getMonth(ORG_UUID, month, null));
+    }
+
+    @Test
+    void testDaySpan() {
+        assertEquals(0b1110, TeamCalendarService.daySpan(2, 4));
+        assertEquals(Integer.MAX_VALUE, TeamCalendarService.daySpan(1, 31));
+        assertEquals(0, TeamCalendarService.daySpan(5, 4));
+    }
+}
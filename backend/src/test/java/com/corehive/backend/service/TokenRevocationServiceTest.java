@@ -0,0 +1,103 @@
+package com.corehive.backend.service;
+
+import com.corehive.backend.model.TokenRevocation;
+import com.corehive.backend.repository.TokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @InjectMocks
+    private TokenRevocationService tokenRevocationService;
+
+    private final String ORG_UUID = "test-org-uuid";
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRevocationService, "expiration", 86400000L);
+        ReflectionTestUtils.setField(tokenRevocationService, "bloomCapacity", 1000);
+        when(tokenRevocationRepository.findByExpiresAtEpochGreaterThan(anyLong())).thenReturn(List.of());
+        tokenRevocationService.init();
+    }
+
+    private Claims claims(long userId, String tokenId, long issuedAtMillis) {
+        return Jwts.claims()
+                .add("userId", userId)
+                .add("userType", "ORG_USER")
+                .add("organizationUuid", ORG_UUID)
+                .id(tokenId)
+                .issuedAt(new Date(issuedAtMillis))
+                .build();
+    }
+
+    @Test
+    void testUserRevocation_OnlyKillsTokensIssuedBefore() {
+        when(tokenRevocationRepository.findByScopeAndSubject(any(), any())).thenReturn(Optional.empty());
+        long now = System.currentTimeMillis();
+
+        tokenRevocationService.revokeUserTokens("ORG_USER", 5L);
+
+        assertTrue(tokenRevocationService.isRevoked(claims(5L, "a", now - 10_000)), "Old token should be revoked");
+        assertFalse(tokenRevocationService.isRevoked(claims(5L, "b", now + 5_000)), "New token should be valid");
+        assertFalse(tokenRevocationService.isRevoked(claims(6L, "c", now - 10_000)), "Other users unaffected");
+        verify(tokenRevocationRepository, times(1)).save(any(TokenRevocation.class));
+        verify(refreshTokenService, times(1)).revokeUserTokens("ORG_USER", 5L);
+    }
+
+    @Test
+    void testOrganizationRevocation() {
+        when(tokenRevocationRepository.findByScopeAndSubject(any(), any())).thenReturn(Optional.empty());
+
+        tokenRevocationService.revokeOrganizationTokens(ORG_UUID);
+
+        assertTrue(tokenRevocationService.isRevoked(claims(7L, "d", System.currentTimeMillis() - 10_000)));
+    }
+
+    @Test
+    void testSingleTokenRevocation() {
+        when(tokenRevocationRepository.findByScopeAndSubject(any(), any())).thenReturn(Optional.empty());
+        long now = System.currentTimeMillis();
+
+        tokenRevocationService.revokeToken("jti-1", new Date(now + 60_000));
+
+        assertTrue(tokenRevocationService.isRevoked(claims(1L, "jti-1", now)));
+        assertFalse(tokenRevocationService.isRevoked(claims(1L, "jti-2", now)));
+    }
+
+    @Test
+    void testStateReloadedFromDatabase() {
+        long nowEpoch = System.currentTimeMillis() / 1000;
+        TokenRevocation persisted = TokenRevocation.builder()
+                .scope(TokenRevocation.Scope.TOKEN)
+                .subject("persisted-jti")
+                .expiresAtEpoch(nowEpoch + 3600)
+                .build();
+        when(tokenRevocationRepository.findByExpiresAtEpochGreaterThan(anyLong())).thenReturn(List.of(persisted));
+
+        tokenRevocationService.init();
+
+        assertTrue(tokenRevocationService.isRevoked(claims(1L, "persisted-jti", System.currentTimeMillis())));
+    }
+}
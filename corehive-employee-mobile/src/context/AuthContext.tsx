@@ -46,6 +46,9 @@ export const AuthProvider = ({ children }: { children: React.ReactNode }) => {
   const signIn = async (email: string, password: string) => {
     const login = await authApi.login({ email, password });
     await storage.saveToken(login.token);
+    if (login.refreshToken) {
+      await storage.saveRefreshToken(login.refreshToken);
+    }
     await storage.saveUser(login);
     setUser(login);
   };
@@ -51,10 +51,43 @@ apiClient.interceptors.request.use(async (config) => {
   return config;
 });
 
+// Access tokens are short-lived: concurrent 401s share one refresh call
+let refreshPromise: Promise<string> | null = null;
+
+const refreshAccessToken = async () => {
+  const refreshToken = await storage.getRefreshToken();
+  if (!refreshToken) {
+    throw new Error("No refresh token");
+  }
+  const res = await axios.post(`${API_BASE_URL}/auth/refresh`, { refreshToken });
+  const { token, refreshToken: nextRefreshToken } = res.data.data;
+  await storage.saveToken(token);
+  await storage.saveRefreshToken(nextRefreshToken);
+  return token as string;
+};
+
 apiClient.interceptors.response.use(
   (response) => response,
   async (error) => {
     const status = error?.response?.status;
+    const original = error?.config;
+
+    if (status === 401 && original && !original._retry) {
+      original._retry = true;
+      try {
+        if (!refreshPromise) {
+          refreshPromise = refreshAccessToken().finally(() => {
+            refreshPromise = null;
+          });
+        }
+        const token = await refreshPromise;
+        original.headers.Authorization = `Bearer ${token}`;
+        return apiClient(original);
+      } catch {
+        // fall through to sign-out
+      }
+    }
+
     if (status === 401 && onUnauthorized) {
       await onUnauthorized();
     }
@@ -2,6 +2,7 @@ import * as SecureStore from "expo-secure-store";
 import AsyncStorage from "@react-native-async-storage/async-storage";
 
 const TOKEN_KEY = "corehive_token";
+const REFRESH_TOKEN_KEY = "corehive_refresh_token";
 const USER_KEY = "corehive_user";
 
 export const storage = {
@@ -14,6 +15,15 @@ export const storage = {
   async removeToken() {
     await SecureStore.deleteItemAsync(TOKEN_KEY);
   },
+  async saveRefreshToken(token: string) {
+    await SecureStore.setItemAsync(REFRESH_TOKEN_KEY, token);
+  },
+  async getRefreshToken() {
+    return SecureStore.getItemAsync(REFRESH_TOKEN_KEY);
+  },
+  async removeRefreshToken() {
+    await SecureStore.deleteItemAsync(REFRESH_TOKEN_KEY);
+  },
   async saveUser(user: unknown) {
     await AsyncStorage.setItem(USER_KEY, JSON.stringify(user));
   },
@@ -30,6 +40,6 @@ export const storage = {
     await AsyncStorage.removeItem(USER_KEY);
   },
   async clearAuth() {
-    await Promise.all([this.removeToken(), this.removeUser()]);
+    await Promise.all([this.removeToken(), this.removeRefreshToken(), this.removeUser()]);
   }
 };
@@ -5,6 +5,7 @@ export type LoginRequest = {
 
 export type LoginResponse = {
   token: string;
+  refreshToken?: string;
   userId: number;
   email: string;
   userType: string;
@@ -151,8 +151,13 @@ export const logoutUser = () => {
   try {
     console.log(" Logging out user");
 
+    // Revoke tokens server-side (best effort, don't block logout)
+    const refreshToken = localStorage.getItem("corehive_refresh_token");
+    apiPost(AUTH_ENDPOINTS.LOGOUT, { refreshToken }).catch(() => {});
+
     // Clear localStorage
     localStorage.removeItem("corehive_token");
+    localStorage.removeItem("corehive_refresh_token");
     localStorage.removeItem("corehive_user");
 
     console.log(" User logged out successfully");
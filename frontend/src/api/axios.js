@@ -28,7 +28,7 @@ const apiClient = axios.create({
 apiClient.interceptors.request.use(
   (config) => {
     // Token-free endpoints (only login, signup)
-    const tokenFreeEndpoints = ["/auth/login", "/auth/signup"];
+    const tokenFreeEndpoints = ["/auth/login", "/auth/signup", "/auth/refresh"];
     const isTokenFreeEndpoint = tokenFreeEndpoints.some((endpoint) =>
       config.url?.includes(endpoint)
     );
@@ -79,6 +79,52 @@ apiClient.interceptors.request.use(
   }
 );
 
+/**
+ * Access Token Refresh
+ * Access tokens are short-lived; exchange the refresh token once (shared by
+ * concurrent 401s) and replay the failed request.
+ */
+let refreshPromise = null;
+
+const refreshAccessToken = async () => {
+  const refreshToken = localStorage.getItem("corehive_refresh_token");
+  if (!refreshToken) {
+    throw new Error("No refresh token");
+  }
+
+  const response = await axios.post(`${API_BASE_URL}/auth/refresh`, {
+    refreshToken
+  });
+  const { token, refreshToken: nextRefreshToken } = response.data.data;
+
+  localStorage.setItem("corehive_token", token);
+  localStorage.setItem("corehive_refresh_token", nextRefreshToken);
+  return token;
+};
+
+const tryRefreshAndRetry = async (error) => {
+  const originalRequest = error.config;
+  const sentToken = originalRequest.headers?.Authorization?.replace("Bearer ", "");
+  originalRequest._retry = true;
+
+  // Another tab may already have rotated the pair - just replay with it
+  const currentToken = localStorage.getItem("corehive_token");
+  if (currentToken && currentToken !== sentToken) {
+    originalRequest.headers.Authorization = `Bearer ${currentToken}`;
+    return apiClient(originalRequest);
+  }
+
+  if (!refreshPromise) {
+    refreshPromise = refreshAccessToken().finally(() => {
+      refreshPromise = null;
+    });
+  }
+
+  const token = await refreshPromise;
+  originalRequest.headers.Authorization = `Bearer ${token}`;
+  return apiClient(originalRequest);
+};
+
 /**
  * Response Interceptor
  * Handle API responses, catch errors with proper validation error handling
@@ -92,9 +138,23 @@ apiClient.interceptors.response.use(
 
     return response;
   },
-  (error) => {
+  async (error) => {
     const { response, request, message } = error;
     const requestUrl = error.config?.url || "";
+
+    // Expired access token - refresh once before treating it as a logout
+    if (
+      response?.status === 401 &&
+      error.config?.headers?.Authorization &&
+      !error.config._retry &&
+      !requestUrl.includes("/auth/refresh")
+    ) {
+      try {
+        return await tryRefreshAndRetry(error);
+      } catch (refreshError) {
+        console.warn("Token refresh failed:", refreshError);
+      }
+    }
     const locallyHandledAuthEndpoints = [
       "/auth/login",
       "/auth/signup",
@@ -165,6 +225,7 @@ apiClient.interceptors.response.use(
           const hadAuthHeader = !!error.config?.headers?.Authorization;
           if (!error.config?.url?.includes("/error") && hadAuthHeader) {
             localStorage.removeItem("corehive_token");
+            localStorage.removeItem("corehive_refresh_token");
             localStorage.removeItem("corehive_user");
 
             Swal.fire({
@@ -98,6 +98,14 @@ export const ChangePasswordPage = () => {
           allowEscapeKey: false
         });
 
+        // Old tokens are revoked on password change - keep the fresh pair
+        if (response.data?.token) {
+          localStorage.setItem("corehive_token", response.data.token);
+        }
+        if (response.data?.refreshToken) {
+          localStorage.setItem("corehive_refresh_token", response.data.refreshToken);
+        }
+
         // Sync Redux (and localStorage via reducer) before redirect decisions.
         dispatch(updateUser({ passwordChangeRequired: false }));
 
@@ -281,6 +281,9 @@ const authSlice = createSlice({
         // Store in localStorage immediately
         if (loginData.token) {
           localStorage.setItem("corehive_token", loginData.token);
+          if (loginData.refreshToken) {
+            localStorage.setItem("corehive_refresh_token", loginData.refreshToken);
+          }
           localStorage.setItem("corehive_user", JSON.stringify(state.user));
           console.log(
             "🔐 Token stored in localStorage:",